@@ -1,21 +1,35 @@
 package edu.univ.erp.api.admin;
 
+import edu.univ.erp.api.common.ApiExecutor;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.CourseListSort;
+import edu.univ.erp.api.types.GradeAnalyticsReport;
+import edu.univ.erp.api.types.RowPage;
+import edu.univ.erp.api.types.SectionListRow;
+import edu.univ.erp.api.types.SectionListSort;
 import edu.univ.erp.api.types.UserCreationRequest;
+import edu.univ.erp.domain.AuditAction;
+import edu.univ.erp.domain.AuditEvent;
 import edu.univ.erp.domain.Course;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
 import edu.univ.erp.service.AdminException;
 import edu.univ.erp.service.AdminService;
+import edu.univ.erp.service.GradeAnalyticsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class AdminApi {
 
     private static final Logger log = LoggerFactory.getLogger(AdminApi.class);
     private final AdminService adminService = new AdminService();
+    private final GradeAnalyticsService analyticsService = new GradeAnalyticsService();
+    private final ApiExecutor async = ApiExecutor.getInstance();
 
     // User Management
     public ApiResponse<Void> createUser(UserCreationRequest req) {
@@ -51,6 +65,30 @@ public class AdminApi {
         }
     }
 
+    // Paged admin lists: one page of rows plus the number of rows matching 'filter' (may be null)
+    public ApiResponse<RowPage<Course>> getCoursePage(String filter, CourseListSort sort, boolean ascending, int offset, int limit) {
+        try {
+            return ApiResponse.success(adminService.getCoursePage(filter, sort, ascending, offset, limit), "Courses loaded.");
+        } catch (AdminException e) {
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API Error fetching a page of courses", e);
+            return ApiResponse.error("Could not load courses.");
+        }
+    }
+
+    public ApiResponse<RowPage<SectionListRow>> getSectionPage(String filter, SectionListSort sort, boolean ascending, int offset, int limit) {
+        try {
+            return ApiResponse.success(adminService.getCurrentTermSectionPage(filter, sort, ascending, offset, limit),
+                    "Sections loaded.");
+        } catch (AdminException e) {
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API Error fetching a page of sections", e);
+            return ApiResponse.error("Could not load sections.");
+        }
+    }
+
     // Course & Section Management
     public ApiResponse<Void> createCourse(String code, String title, int credits) {
         try {
@@ -147,4 +185,90 @@ public class AdminApi {
             return ApiResponse.error("Error loading sections.");
         }
     }
-}
\ No newline at end of file
+
+    // Analytics
+    public ApiResponse<GradeAnalyticsReport> runGradeAnalytics(String semester, int year, Consumer<String> progress) {
+        try {
+            GradeAnalyticsReport report = analyticsService.analyzeTerm(semester, year, progress);
+            return ApiResponse.success(report, "Analyzed " + report.enrollmentsScanned() + " enrollments.");
+        } catch (AdminException e) {
+            log.warn("API: Grade analytics failed: {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API: Error running grade analytics for {} {}", semester, year, e);
+            return ApiResponse.error("An Error occurred while running grade analytics.");
+        }
+    }
+
+    // Audit trail: newest first, filtered by time range and optionally by actor and action
+    public ApiResponse<List<AuditEvent>> getAuditLog(Instant from, Instant to, Integer actorId, AuditAction action, int limit) {
+        try {
+            List<AuditEvent> events = adminService.getAuditLog(from, to, actorId, action, limit);
+            return ApiResponse.success(events, events.size() + " audit events loaded.");
+        } catch (AdminException e) {
+            log.warn("API: Audit log query failed: {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API: Error querying audit log", e);
+            return ApiResponse.error("An Error occurred while loading the audit log.");
+        }
+    }
+
+    // Non-blocking variants, run on the shared ApiExecutor
+
+    public CompletableFuture<ApiResponse<Void>> createUserAsync(UserCreationRequest req) {
+        return async.submit(() -> createUser(req));
+    }
+
+    public CompletableFuture<ApiResponse<List<Course>>> getAllCoursesAsync() {
+        return async.submit(this::getAllCourses);
+    }
+
+    public CompletableFuture<ApiResponse<List<Instructor>>> getAllInstructorsAsync() {
+        return async.submit(this::getAllInstructors);
+    }
+
+    public CompletableFuture<ApiResponse<RowPage<Course>>> getCoursePageAsync(String filter, CourseListSort sort, boolean ascending, int offset, int limit) {
+        return async.submit(() -> getCoursePage(filter, sort, ascending, offset, limit));
+    }
+
+    public CompletableFuture<ApiResponse<RowPage<SectionListRow>>> getSectionPageAsync(String filter, SectionListSort sort, boolean ascending, int offset, int limit) {
+        return async.submit(() -> getSectionPage(filter, sort, ascending, offset, limit));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> createCourseAsync(String code, String title, int credits) {
+        return async.submit(() -> createCourse(code, title, credits));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> createSectionAsync(int courseId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) {
+        return async.submit(() -> createSection(courseId, instructorId, dayTime, room, capacity, semester, year));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> assignInstructorAsync(int sectionId, Integer instructorId) {
+        return async.submit(() -> assignInstructor(sectionId, instructorId));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> deleteSectionAsync(int sectionId) {
+        return async.submit(() -> deleteSection(sectionId));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> editCourseAsync(int courseId, String newTitle, int newCredits) {
+        return async.submit(() -> editCourse(courseId, newTitle, newCredits));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> editSectionAsync(int sectionId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) {
+        return async.submit(() -> editSection(sectionId, instructorId, dayTime, room, capacity, semester, year));
+    }
+
+    public CompletableFuture<ApiResponse<List<Section>>> getSectionsByCourseAsync(int courseId) {
+        return async.submit(() -> getSectionsByCourse(courseId));
+    }
+
+    public CompletableFuture<ApiResponse<GradeAnalyticsReport>> runGradeAnalyticsAsync(String semester, int year, Consumer<String> progress) {
+        return async.submit(() -> runGradeAnalytics(semester, year, progress));
+    }
+
+    public CompletableFuture<ApiResponse<List<AuditEvent>>> getAuditLogAsync(Instant from, Instant to, Integer actorId, AuditAction action, int limit) {
+        return async.submit(() -> getAuditLog(from, to, actorId, action, limit));
+    }
+}
@@ -20,9 +20,14 @@ public class AuthApi {
     }
 
     public ApiResponse<User> login(String username, String password) {
+        return login(username, password, "local");
+    }
+
+    // 'source' identifies the client for login throttling (its address in server mode)
+    public ApiResponse<User> login(String username, String password, String source) {
         try {
             // 1. Call the service "brain"
-            User user = authService.login(username, password);
+            User user = authService.login(username, password, source);
 
             // 2. On success, wrap in a success response
             log.info("API: Login successful for user '{}'", username);
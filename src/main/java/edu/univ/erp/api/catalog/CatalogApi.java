@@ -1,18 +1,28 @@
 package edu.univ.erp.api.catalog;
 
+import edu.univ.erp.api.common.ApiExecutor;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.common.DeltaTracker;
 import edu.univ.erp.api.types.CourseRow;
+import edu.univ.erp.api.types.RowDelta;
+import edu.univ.erp.api.types.SeatChanges;
+import edu.univ.erp.data.InvalidationBus;
+import edu.univ.erp.data.SeatFeed;
 import edu.univ.erp.data.SettingsRepository;
 import edu.univ.erp.service.CatalogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class CatalogApi {
 
     private static final Logger log = LoggerFactory.getLogger(CatalogApi.class);
     private final CatalogService catalogService = new CatalogService();
     private final SettingsRepository settingsRepo = new SettingsRepository();
+    private final ApiExecutor async = ApiExecutor.getInstance();
+    // Shared by every CatalogApi of the process, so all windows and server clients diff against the same snapshots
+    private static final DeltaTracker<CourseRow> CATALOG_VERSIONS = new DeltaTracker<>(CourseRow::sectionId);
 
     public ApiResponse<List<CourseRow>> getCurrentCatalog() {
         try {
@@ -27,4 +37,60 @@ public class CatalogApi {
             return ApiResponse.error("A critical error occurred while loading the catalog.");
         }
     }
-}
\ No newline at end of file
+
+    // The current catalog as changes since the version the caller holds ('since' null or empty for all).
+    // Nothing is read while courses, sections, settings and seat counts are unchanged.
+    public ApiResponse<RowDelta<CourseRow>> getCatalogChanges(String since) {
+        try {
+            String sourceVersion = InvalidationBus.getInstance().versionOf("courses", "sections", "settings")
+                    + SeatFeed.getInstance().version();
+            String currentSemester = settingsRepo.getCurrentSemester();
+            int currentYear = settingsRepo.getCurrentYear();
+            RowDelta<CourseRow> delta = CATALOG_VERSIONS.since(currentSemester + "-" + currentYear, since, sourceVersion,
+                    () -> catalogService.getCatalog(currentSemester, currentYear));
+            return ApiResponse.success(delta, delta.unchanged() ? "Catalog unchanged." : "Catalog changes loaded.");
+        } catch (Exception e) {
+            log.error("API Error: Failed to fetch catalog changes", e);
+            return ApiResponse.error("A critical error occurred while loading the catalog.");
+        }
+    }
+
+    // Current term label, e.g. "Monsoon 2025"
+    public ApiResponse<String> getCurrentTerm() {
+        try {
+            return ApiResponse.success(settingsRepo.getCurrentSemester() + " " + settingsRepo.getCurrentYear(), "Current term loaded.");
+        } catch (Exception e) {
+            log.error("API Error: Failed to read the current term", e);
+            return ApiResponse.error("Could not load the current term.");
+        }
+    }
+
+    // Seat numbers of the sections changed since 'cursor' (0 on the first call); the open catalog
+    // polls this and redraws only those rows
+    public ApiResponse<SeatChanges> getSeatChanges(long cursor) {
+        try {
+            return ApiResponse.success(SeatFeed.getInstance().changes(cursor), "Seat changes loaded.");
+        } catch (Exception e) {
+            log.error("API Error: Failed to read seat changes", e);
+            return ApiResponse.error("Could not load seat changes.");
+        }
+    }
+
+    // Non-blocking variants, run on the shared ApiExecutor
+
+    public CompletableFuture<ApiResponse<List<CourseRow>>> getCurrentCatalogAsync() {
+        return async.submit(this::getCurrentCatalog);
+    }
+
+    public CompletableFuture<ApiResponse<RowDelta<CourseRow>>> getCatalogChangesAsync(String since) {
+        return async.submit(() -> getCatalogChanges(since));
+    }
+
+    public CompletableFuture<ApiResponse<String>> getCurrentTermAsync() {
+        return async.submit(this::getCurrentTerm);
+    }
+
+    public CompletableFuture<ApiResponse<SeatChanges>> getSeatChangesAsync(long cursor) {
+        return async.submit(() -> getSeatChanges(cursor));
+    }
+}
@@ -0,0 +1,160 @@
+package edu.univ.erp.api.common;
+
+import edu.univ.erp.data.ConfigManager;
+import edu.univ.erp.data.DbManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Admits registration and drop requests to the database a few at a time. Requests beyond maxRunning
+// wait in a bounded queue and run in arrival order; a student has at most one request queued or running,
+// a full queue rejects at once, and a request still queued after maxWait gives up with its position.
+public class AdmissionController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionController.class);
+    private static AdmissionController registration;
+
+    private final int maxRunning;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition turnChanged = lock.newCondition();
+    private final Deque<Integer> queue = new ArrayDeque<>();
+    private final Set<Integer> students = new HashSet<>();
+    private int running;
+
+    public AdmissionController(int maxRunning, int maxQueued, Duration maxWait) {
+        this.maxRunning = maxRunning;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    // Shared by registration and drop; by default half of ErpPool, leaving the rest for reads
+    public static synchronized AdmissionController registration() {
+        if (registration == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            int defaultRunning = Math.max(1, DbManager.erpPoolSize() / 2);
+            registration = new AdmissionController(config.getRegistrationMaxRunning(defaultRunning),
+                    config.getRegistrationQueueSize(), config.getRegistrationMaxWait());
+        }
+        return registration;
+    }
+
+    // Blocks until the student's turn; closing the ticket lets the next request in
+    public Ticket enter(int studentId) throws AdmissionException {
+        lock.lock();
+        try {
+            if (!students.add(studentId)) {
+                throw new AdmissionException("Your previous request is still being processed. Please wait for it to finish.");
+            }
+            if (queue.isEmpty() && running < maxRunning) {
+                running++;
+                return new Ticket(studentId);
+            }
+            if (queue.size() >= maxQueued) {
+                students.remove(studentId);
+                log.warn("Admission queue full ({} waiting), rejected student {}", queue.size(), studentId);
+                throw new AdmissionException("System busy: " + queue.size()
+                        + " requests are ahead of you. Please try again in a moment.");
+            }
+            queue.addLast(studentId);
+            log.debug("Student {} queued for admission at #{}", studentId, queue.size());
+            return awaitTurn(studentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 1-based place in the queue, or 0 when the student is running or not waiting
+    public int queuePosition(int studentId) {
+        lock.lock();
+        try {
+            int position = 1;
+            for (Integer queued : queue) {
+                if (queued == studentId) {
+                    return position;
+                }
+                position++;
+            }
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueLength() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Ticket awaitTurn(int studentId) throws AdmissionException {
+        long remaining = maxWaitNanos;
+        try {
+            while (queue.peekFirst() != studentId || running >= maxRunning) {
+                if (remaining <= 0) {
+                    int position = queuePosition(studentId);
+                    leaveQueue(studentId);
+                    throw new AdmissionException("System busy: you were #" + position
+                            + " in line. Please try again in a moment.");
+                }
+                remaining = turnChanged.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            leaveQueue(studentId);
+            Thread.currentThread().interrupt();
+            throw new AdmissionException("Request cancelled.");
+        }
+        queue.pollFirst();
+        running++;
+        // The next in line may also fit if permits are free
+        turnChanged.signalAll();
+        return new Ticket(studentId);
+    }
+
+    private void leaveQueue(int studentId) {
+        queue.remove(studentId);
+        students.remove(studentId);
+        turnChanged.signalAll();
+    }
+
+    private void release(int studentId) {
+        lock.lock();
+        try {
+            running--;
+            students.remove(studentId);
+            turnChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final class Ticket implements AutoCloseable {
+        private final int studentId;
+        private boolean closed;
+
+        private Ticket(int studentId) {
+            this.studentId = studentId;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(studentId);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package edu.univ.erp.api.common;
+
+public class AdmissionException extends Exception {
+    public AdmissionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,99 @@
+package edu.univ.erp.api.common;
+
+import edu.univ.erp.data.DbManager;
+import edu.univ.erp.data.QueryRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Runs blocking API calls off the EDT, one virtual thread per call. A semaphore sized to ErpPool
+// keeps the number of calls running at once below the pool size, so a burst of parallel loads
+// queues here instead of timing out on connection acquisition.
+public class ApiExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExecutor.class);
+    private static final ApiExecutor instance = new ApiExecutor(DbManager.erpPoolSize());
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+
+    ApiExecutor(int maxConcurrentCalls) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    public static ApiExecutor getInstance() {
+        return instance;
+    }
+
+    // Cancelling the returned future interrupts the call only while it is still waiting for a permit.
+    // A call that has started runs to the end (a write must not stop mid-statement); its response is dropped.
+    public <T> CompletableFuture<ApiResponse<T>> submit(Supplier<ApiResponse<T>> call) {
+        CompletableFuture<ApiResponse<T>> result = new CompletableFuture<>();
+        // Claimed by whichever comes first: the call starting, or a cancel that may interrupt the wait
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> task = executor.submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                result.cancel(false);
+                return;
+            }
+            try {
+                if (claimed.compareAndSet(false, true)) {
+                    result.complete(call.get());
+                }
+            } catch (Throwable t) {
+                log.error("API call failed unexpectedly", t);
+                result.completeExceptionally(t);
+            } finally {
+                QueryRecorder.getInstance().endOperation();
+                permits.release();
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled() && claimed.compareAndSet(false, true)) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Delivers the response on the EDT. Cancelled calls are dropped; unexpected failures arrive as an error response.
+    public static <T> CompletableFuture<Void> onEdt(CompletableFuture<ApiResponse<T>> future, Consumer<ApiResponse<T>> callback) {
+        return future.handle((response, error) -> {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+            if (error instanceof CancellationException) {
+                return null;
+            }
+            ApiResponse<T> delivered = (error == null)
+                    ? response
+                    : ApiResponse.error("An unexpected error occurred. Please contact support.");
+            SwingUtilities.invokeLater(() -> {
+                if (!future.isCancelled()) {
+                    callback.accept(delivered);
+                }
+            });
+            return null;
+        });
+    }
+
+    // Cancels an in-flight call; safe to pass null.
+    public static void cancel(CompletableFuture<?> future) {
+        if (future != null && !future.isDone()) {
+            future.cancel(true);
+        }
+    }
+}
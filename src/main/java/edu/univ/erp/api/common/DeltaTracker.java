@@ -0,0 +1,129 @@
+package edu.univ.erp.api.common;
+
+import edu.univ.erp.api.types.RowDelta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// Versions the rows an API returns so that clients can ask for changes only (see RowDelta). Each
+// scope (a term's catalog, a section's gradebook, ...) keeps its last few distinct snapshots; a new
+// version is issued only when the rows actually differ, so a refresh over unchanged data answers
+// "unchanged". When the caller passes a source version (e.g. from data_versions) equal to the one the
+// latest snapshot was built at, the rows are not even loaded.
+public class DeltaTracker<R> {
+
+    private static final int DEFAULT_HISTORY = 4;
+    // Rows are reloaded at least this often even if the source version did not move, since a load
+    // that hit an SQL error comes back as an empty list and should not be served for long
+    private static final long MAX_REUSE_MILLIS = 30_000;
+
+    private final ToIntFunction<R> keyOf;
+    private final int history;
+    // Versions of another process (e.g. before a restart) are never mistaken for ours
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Object, Scope<R>> scopes = new ConcurrentHashMap<>();
+
+    public DeltaTracker(ToIntFunction<R> keyOf) {
+        this(keyOf, DEFAULT_HISTORY);
+    }
+
+    public DeltaTracker(ToIntFunction<R> keyOf, int history) {
+        this.keyOf = keyOf;
+        this.history = Math.max(1, history);
+    }
+
+    // 'since' is the version the caller holds (null or empty for none); 'sourceVersion' may be null
+    // when the rows have no cheap change marker and must be loaded every time
+    public RowDelta<R> since(Object scopeKey, String since, String sourceVersion, Supplier<List<R>> load) {
+        Scope<R> scope = scopes.computeIfAbsent(scopeKey, k -> new Scope<>(history));
+        // One load per scope at a time; concurrent refreshes of the same scope share its result. A lock,
+        // not synchronized: the load is JDBC and a virtual thread must not pin its carrier across it.
+        scope.lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (scope.latest == null || sourceVersion == null || !sourceVersion.equals(scope.sourceVersion)
+                    || now - scope.loadedAt > MAX_REUSE_MILLIS) {
+                List<R> rows = load.get();
+                if (scope.latest == null || !rows.equals(scope.latest)) {
+                    scope.add(++scope.counter, List.copyOf(rows), keyOf);
+                }
+                scope.sourceVersion = sourceVersion;
+                scope.loadedAt = now;
+            }
+            String current = instanceId + "-" + scope.counter;
+            if (current.equals(since)) {
+                return RowDelta.unchanged(current);
+            }
+            Map<Integer, R> previous = scope.snapshot(versionNumber(since));
+            if (previous == null) {
+                return RowDelta.full(current, scope.latest);
+            }
+            List<R> changed = new ArrayList<>();
+            for (R row : scope.latest) {
+                if (!row.equals(previous.get(keyOf.applyAsInt(row)))) {
+                    changed.add(row);
+                }
+            }
+            List<Integer> removed = new ArrayList<>();
+            for (Integer key : previous.keySet()) {
+                if (!scope.latestKeys.containsKey(key)) {
+                    removed.add(key);
+                }
+            }
+            return RowDelta.changes(current, changed, removed);
+        } finally {
+            scope.lock.unlock();
+        }
+    }
+
+    private long versionNumber(String version) {
+        String prefix = instanceId + "-";
+        if (version == null || !version.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(version.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Scope<R> {
+        private final int history;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Map<Integer, R>> snapshots = new LinkedHashMap<>();
+        private long counter;
+        private List<R> latest;
+        private Map<Integer, R> latestKeys;
+        private String sourceVersion;
+        private long loadedAt;
+
+        private Scope(int history) {
+            this.history = history;
+        }
+
+        private void add(long version, List<R> rows, ToIntFunction<R> keyOf) {
+            Map<Integer, R> byKey = new LinkedHashMap<>();
+            for (R row : rows) {
+                byKey.put(keyOf.applyAsInt(row), row);
+            }
+            snapshots.put(version, byKey);
+            if (snapshots.size() > history) {
+                snapshots.remove(snapshots.keySet().iterator().next());
+            }
+            latest = rows;
+            latestKeys = byKey;
+        }
+
+        private Map<Integer, R> snapshot(long version) {
+            return snapshots.get(version);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package edu.univ.erp.api.common;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// JSON mapping shared by the API server and the remote client, so both sides agree on the wire format.
+public final class JsonCodec {
+
+    public static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter().nullSafe())
+            .registerTypeAdapter(Instant.class, new InstantAdapter().nullSafe())
+            .serializeNulls()
+            .disableHtmlEscaping()
+            .create();
+
+    private JsonCodec() {}
+
+    // Type of ApiResponse<T> for a given data type, e.g. responseType(TypeToken.getParameterized(List.class, GradeRow.class).getType())
+    public static Type responseType(Type dataType) {
+        return TypeToken.getParameterized(ApiResponse.class, dataType).getType();
+    }
+
+    // ISO-8601 dates (yyyy-MM-dd)
+    private static class LocalDateAdapter extends TypeAdapter<LocalDate> {
+        @Override
+        public void write(JsonWriter out, LocalDate value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public LocalDate read(JsonReader in) throws IOException {
+            return LocalDate.parse(in.nextString());
+        }
+    }
+
+    // ISO-8601 instants (e.g. 2025-01-31T10:15:30Z)
+    private static class InstantAdapter extends TypeAdapter<Instant> {
+        @Override
+        public void write(JsonWriter out, Instant value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public Instant read(JsonReader in) throws IOException {
+            return Instant.parse(in.nextString());
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package edu.univ.erp.api.instructor;
 
 import edu.univ.erp.access.AccessControl;
+import edu.univ.erp.api.common.ApiExecutor;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.common.DeltaTracker;
 import edu.univ.erp.api.types.GradebookRow;
 import edu.univ.erp.api.types.InstructorSectionRow;
+import edu.univ.erp.api.types.RowDelta;
 import edu.univ.erp.api.types.ScoreEntryRequest;
 import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.InvalidationBus;
+import edu.univ.erp.data.SeatFeed;
 import edu.univ.erp.domain.User;
 import edu.univ.erp.service.GradeException;
 import edu.univ.erp.service.InstructorService;
@@ -14,6 +19,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class InstructorApi {
 
@@ -21,6 +27,9 @@ public class InstructorApi {
     private final InstructorService instructorService = new InstructorService();
     private final SessionManager sessionManager = SessionManager.getInstance();
     private final AccessControl accessControl = new AccessControl();
+    private final ApiExecutor async = ApiExecutor.getInstance();
+    // Grades have no change marker, so the gradebook is read every time; only the changed rows are sent back
+    private static final DeltaTracker<GradebookRow> GRADEBOOK_VERSIONS = new DeltaTracker<>(GradebookRow::enrollmentId);
 
     public ApiResponse<List<InstructorSectionRow>> getMySections() {
         User currentUser = sessionManager.getCurrentUser();
@@ -53,6 +62,27 @@ public class InstructorApi {
         }
     }
 
+    // The gradebook as changes since the version the caller holds ('since' null or empty for all rows).
+    // Nothing is read while grades and enrollments (the seat feed) are unchanged.
+    public ApiResponse<RowDelta<GradebookRow>> getGradebookChanges(int sectionId, String since) {
+        User currentUser = sessionManager.getCurrentUser();
+        if (currentUser == null || currentUser.role() != edu.univ.erp.domain.Role.Instructor) {
+            return ApiResponse.error("Unauthorized access.");
+        }
+        if (!accessControl.canInstructorGradeSection(currentUser, sectionId)) {
+            return ApiResponse.error("You are not assigned to this section.");
+        }
+        try {
+            String sourceVersion = InvalidationBus.getInstance().versionOf("grades") + SeatFeed.getInstance().version();
+            RowDelta<GradebookRow> delta = GRADEBOOK_VERSIONS.since(sectionId, since, sourceVersion,
+                    () -> instructorService.getGradebookForSection(sectionId));
+            return ApiResponse.success(delta, delta.unchanged() ? "Gradebook unchanged." : "Gradebook loaded.");
+        } catch (Exception e) {
+            log.error("API Error fetching gradebook changes for section {}", sectionId, e);
+            return ApiResponse.error("Could not load gradebook.");
+        }
+    }
+
     public ApiResponse<Void> enterScore(ScoreEntryRequest request) {
         User currentUser = sessionManager.getCurrentUser();
         if (currentUser == null || currentUser.role() != edu.univ.erp.domain.Role.Instructor) {
@@ -105,4 +135,30 @@ public class InstructorApi {
             return ApiResponse.error("Could not load statistics.");
         }
     }
-}
\ No newline at end of file
+
+    // Non-blocking variants, run on the shared ApiExecutor
+
+    public CompletableFuture<ApiResponse<List<InstructorSectionRow>>> getMySectionsAsync() {
+        return async.submit(this::getMySections);
+    }
+
+    public CompletableFuture<ApiResponse<List<GradebookRow>>> getGradebookAsync(int sectionId) {
+        return async.submit(() -> getGradebook(sectionId));
+    }
+
+    public CompletableFuture<ApiResponse<RowDelta<GradebookRow>>> getGradebookChangesAsync(int sectionId, String since) {
+        return async.submit(() -> getGradebookChanges(sectionId, since));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> enterScoreAsync(ScoreEntryRequest request) {
+        return async.submit(() -> enterScore(request));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> computeFinalGradesAsync(int sectionId, List<Double> gradeBoundaries) {
+        return async.submit(() -> computeFinalGrades(sectionId, gradeBoundaries));
+    }
+
+    public CompletableFuture<ApiResponse<Map<String, Double>>> getSectionStatisticsAsync(int sectionId) {
+        return async.submit(() -> getSectionStatistics(sectionId));
+    }
+}
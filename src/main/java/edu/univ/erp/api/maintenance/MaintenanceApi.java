@@ -1,7 +1,18 @@
 package edu.univ.erp.api.maintenance;
 
 import edu.univ.erp.access.AccessControl;
+import edu.univ.erp.api.common.ApiExecutor;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.ConnectionUsageRow;
+import edu.univ.erp.api.types.LoginStatsRow;
+import edu.univ.erp.api.types.OperationQueryRow;
+import edu.univ.erp.api.types.PoolStatsRow;
+import edu.univ.erp.auth.LoginThrottle;
+import edu.univ.erp.auth.PasswordVerifier;
+import edu.univ.erp.data.DbManager;
+import edu.univ.erp.data.DiagnosticsRepository;
+import edu.univ.erp.data.QueryRecorder;
+import edu.univ.erp.data.ReplicaRouter;
 import edu.univ.erp.data.SettingsRepository;
 import edu.univ.erp.service.AdminException;
 import edu.univ.erp.service.AdminService;
@@ -9,7 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class MaintenanceApi {
 
@@ -17,6 +30,8 @@ public class MaintenanceApi {
     private final AdminService adminService = new AdminService();
     private final AccessControl accessControl = new AccessControl();
     private final SettingsRepository settingsRepo = new SettingsRepository();
+    private final DiagnosticsRepository diagnosticsRepo = new DiagnosticsRepository();
+    private final ApiExecutor async = ApiExecutor.getInstance();
 
     public ApiResponse<Void> setMaintenanceMode(boolean enabled) {
         try {
@@ -31,6 +46,34 @@ public class MaintenanceApi {
         }
     }
 
+    public ApiResponse<Void> rebuildGradeStatistics() {
+        try {
+            adminService.rebuildGradeStatistics();
+            return ApiResponse.success(null, "Grade statistics rebuilt from stored scores.");
+        } catch (AdminException e) {
+            log.warn("API: Failed to rebuild grade statistics: {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API: Unexpected error rebuilding grade statistics", e);
+            return ApiResponse.error("An unexpected error occurred.");
+        }
+    }
+
+    public ApiResponse<Integer> repairSeatCounts() {
+        try {
+            int repaired = adminService.repairSeatCounts();
+            return ApiResponse.success(repaired, (repaired == 0)
+                    ? "All section seat counts were correct."
+                    : "Corrected the seat count of " + repaired + " sections.");
+        } catch (AdminException e) {
+            log.warn("API: Failed to repair seat counts: {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API: Unexpected error repairing seat counts", e);
+            return ApiResponse.error("An unexpected error occurred.");
+        }
+    }
+
     public boolean isReadOnlyNow() {
         return accessControl.isMaintenanceModeOn();
     }
@@ -80,4 +123,95 @@ public class MaintenanceApi {
             return ApiResponse.error("An unexpected error occurred.");
         }
     }
-}
\ No newline at end of file
+
+    // Pools of this process only; reading them never opens a connection
+    public ApiResponse<List<PoolStatsRow>> getPoolStats() {
+        DbManager db = DbManager.getInstance();
+        String message = "Pool profile: " + db.getProfile();
+        ReplicaRouter router = db.getReplicaRouter();
+        if (router != null) {
+            message += router.isReplicaHealthy()
+                    ? " | Replica in use (" + router.getLagMillis() / 1000 + "s behind)"
+                    : " | Replica not in use: " + router.getUnavailableReason();
+        }
+        return ApiResponse.success(db.getPoolStats(), message);
+    }
+
+    public ApiResponse<List<ConnectionUsageRow>> getConnectionsByClient() {
+        try {
+            List<ConnectionUsageRow> rows = diagnosticsRepo.getConnectionsByClient();
+            int total = rows.stream().mapToInt(ConnectionUsageRow::connections).sum();
+            return ApiResponse.success(rows, total + " server connections from " +
+                    rows.stream().map(ConnectionUsageRow::clientHost).distinct().count() + " clients.");
+        } catch (Exception e) {
+            log.error("API: Unexpected error reading connections per client", e);
+            return ApiResponse.error("An unexpected error occurred.");
+        }
+    }
+
+    // Password verification load and lockouts, for the admin diagnostics panel
+    public ApiResponse<LoginStatsRow> getLoginStats() {
+        int locked = LoginThrottle.getInstance().getLockedCount(System.currentTimeMillis());
+        LoginStatsRow stats = PasswordVerifier.getInstance().getStats(locked);
+        return ApiResponse.success(stats, String.format("Password checks: %d queued, %d/%d threads busy, avg %.1f ms, max %.1f ms, %d rejected | %d usernames locked",
+                stats.queued(), stats.running(), stats.threads(), stats.avgVerifyMillis(), stats.maxVerifyMillis(),
+                stats.rejected(), stats.lockedAccounts()));
+    }
+
+    // Statement counts per API operation in this process since the last reset
+    public ApiResponse<List<OperationQueryRow>> getQueryReport() {
+        QueryRecorder recorder = QueryRecorder.getInstance();
+        List<OperationQueryRow> rows = recorder.getReport();
+        long flagged = rows.stream().filter(r -> r.flaggedInvocations() > 0).count();
+        return ApiResponse.success(rows, (recorder.isEnabled() ? "Recording. " : "Recording is off. ")
+                + rows.size() + " operations recorded, " + flagged + " flagged for statement count or repeats.");
+    }
+
+    public ApiResponse<Boolean> isQueryRecordingOn() {
+        return ApiResponse.success(QueryRecorder.getInstance().isEnabled(), "Recording state loaded.");
+    }
+
+    public ApiResponse<Void> setQueryRecording(boolean enabled) {
+        QueryRecorder.getInstance().setEnabled(enabled);
+        return ApiResponse.success(null, "Statement recording turned " + (enabled ? "on." : "off."));
+    }
+
+    public ApiResponse<Void> resetQueryReport() {
+        QueryRecorder.getInstance().reset();
+        return ApiResponse.success(null, "Query statistics cleared.");
+    }
+
+    // Non-blocking variants, run on the shared ApiExecutor
+
+    public CompletableFuture<ApiResponse<Void>> setMaintenanceModeAsync(boolean enabled) {
+        return async.submit(() -> setMaintenanceMode(enabled));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> rebuildGradeStatisticsAsync() {
+        return async.submit(this::rebuildGradeStatistics);
+    }
+
+    public CompletableFuture<ApiResponse<Integer>> repairSeatCountsAsync() {
+        return async.submit(this::repairSeatCounts);
+    }
+
+    public CompletableFuture<ApiResponse<LocalDate>> getDropDeadlineAsync() {
+        return async.submit(this::getDropDeadline);
+    }
+
+    public CompletableFuture<ApiResponse<Void>> setDropDeadlineAsync(LocalDate deadline) {
+        return async.submit(() -> setDropDeadline(deadline));
+    }
+
+    public CompletableFuture<ApiResponse<LocalDate>> getRegistrationDeadlineAsync() {
+        return async.submit(this::getRegistrationDeadline);
+    }
+
+    public CompletableFuture<ApiResponse<Void>> setRegistrationDeadlineAsync(LocalDate deadline) {
+        return async.submit(() -> setRegistrationDeadline(deadline));
+    }
+
+    public CompletableFuture<ApiResponse<List<ConnectionUsageRow>>> getConnectionsByClientAsync() {
+        return async.submit(this::getConnectionsByClient);
+    }
+}
@@ -0,0 +1,53 @@
+package edu.univ.erp.api.remote;
+
+import edu.univ.erp.api.admin.AdminApi;
+import edu.univ.erp.api.auth.AuthApi;
+import edu.univ.erp.api.catalog.CatalogApi;
+import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.reports.ReportsApi;
+import edu.univ.erp.api.student.StudentApi;
+import edu.univ.erp.data.ConfigManager;
+
+// Picks the API implementations used by the desktop UI: the local ones by default, the remote
+// ones when client.server_url is configured. All remote APIs share one client and session token.
+public final class ApiClients {
+
+    private static final RemoteClient remote = ConfigManager.getInstance().getServerUrl()
+            .map(RemoteClient::new)
+            .orElse(null);
+
+    private ApiClients() {}
+
+    public static boolean isRemote() {
+        return remote != null;
+    }
+
+    public static AuthApi auth() {
+        return isRemote() ? new RemoteAuthApi(remote) : new AuthApi();
+    }
+
+    public static StudentApi student() {
+        return isRemote() ? new RemoteStudentApi(remote) : new StudentApi();
+    }
+
+    public static InstructorApi instructor() {
+        return isRemote() ? new RemoteInstructorApi(remote) : new InstructorApi();
+    }
+
+    public static CatalogApi catalog() {
+        return isRemote() ? new RemoteCatalogApi(remote) : new CatalogApi();
+    }
+
+    public static MaintenanceApi maintenance() {
+        return isRemote() ? new RemoteMaintenanceApi(remote) : new MaintenanceApi();
+    }
+
+    public static AdminApi admin() {
+        return isRemote() ? new RemoteAdminApi(remote) : new AdminApi();
+    }
+
+    public static ReportsApi reports() {
+        return isRemote() ? new RemoteReportsApi(remote) : new ReportsApi();
+    }
+}
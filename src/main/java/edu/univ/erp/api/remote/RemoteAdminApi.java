@@ -0,0 +1,153 @@
+package edu.univ.erp.api.remote;
+
+import com.google.gson.reflect.TypeToken;
+import edu.univ.erp.api.admin.AdminApi;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.CourseListSort;
+import edu.univ.erp.api.types.GradeAnalyticsReport;
+import edu.univ.erp.api.types.RowPage;
+import edu.univ.erp.api.types.SectionListRow;
+import edu.univ.erp.api.types.SectionListSort;
+import edu.univ.erp.api.types.UserCreationRequest;
+import edu.univ.erp.domain.AuditAction;
+import edu.univ.erp.domain.AuditEvent;
+import edu.univ.erp.domain.Course;
+import edu.univ.erp.domain.Instructor;
+import edu.univ.erp.domain.Section;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// AdminApi served by the API server. Optional arguments (filters, instructor) are left out of
+// the request when null.
+public class RemoteAdminApi extends AdminApi {
+
+    private static final Type COURSES = new TypeToken<List<Course>>() {}.getType();
+    private static final Type INSTRUCTORS = new TypeToken<List<Instructor>>() {}.getType();
+    private static final Type SECTIONS = new TypeToken<List<Section>>() {}.getType();
+    private static final Type COURSE_PAGE = new TypeToken<RowPage<Course>>() {}.getType();
+    private static final Type SECTION_PAGE = new TypeToken<RowPage<SectionListRow>>() {}.getType();
+    private static final Type AUDIT_EVENTS = new TypeToken<List<AuditEvent>>() {}.getType();
+
+    private final RemoteClient client;
+
+    public RemoteAdminApi(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ApiResponse<Void> createUser(UserCreationRequest req) {
+        return client.post("/api/admin/users", req, Void.class);
+    }
+
+    @Override
+    public ApiResponse<List<Course>> getAllCourses() {
+        return client.get("/api/admin/courses", Map.of(), COURSES);
+    }
+
+    @Override
+    public ApiResponse<List<Instructor>> getAllInstructors() {
+        return client.get("/api/admin/instructors", Map.of(), INSTRUCTORS);
+    }
+
+    @Override
+    public ApiResponse<RowPage<Course>> getCoursePage(String filter, CourseListSort sort, boolean ascending, int offset, int limit) {
+        return client.get("/api/admin/courses/page", pageQuery(filter, sort, ascending, offset, limit), COURSE_PAGE);
+    }
+
+    @Override
+    public ApiResponse<RowPage<SectionListRow>> getSectionPage(String filter, SectionListSort sort, boolean ascending, int offset, int limit) {
+        return client.get("/api/admin/sections/page", pageQuery(filter, sort, ascending, offset, limit), SECTION_PAGE);
+    }
+
+    @Override
+    public ApiResponse<Void> createCourse(String code, String title, int credits) {
+        return client.post("/api/admin/courses/create", Map.of("code", code, "title", title, "credits", credits), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Void> createSection(int courseId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) {
+        Map<String, Object> body = sectionBody(instructorId, dayTime, room, capacity, semester, year);
+        body.put("courseId", courseId);
+        return client.post("/api/admin/sections/create", body, Void.class);
+    }
+
+    @Override
+    public ApiResponse<Void> assignInstructor(int sectionId, Integer instructorId) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("sectionId", sectionId);
+        body.put("instructorId", instructorId);
+        return client.post("/api/admin/sections/assign", body, Void.class);
+    }
+
+    @Override
+    public ApiResponse<Void> deleteSection(int sectionId) {
+        return client.post("/api/admin/sections/delete", Map.of("sectionId", sectionId), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Void> editCourse(int courseId, String newTitle, int newCredits) {
+        return client.post("/api/admin/courses/edit", Map.of("courseId", courseId, "title", newTitle, "credits", newCredits), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Void> editSection(int sectionId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) {
+        Map<String, Object> body = sectionBody(instructorId, dayTime, room, capacity, semester, year);
+        body.put("sectionId", sectionId);
+        return client.post("/api/admin/sections/edit", body, Void.class);
+    }
+
+    @Override
+    public ApiResponse<List<Section>> getSectionsByCourse(int courseId) {
+        return client.get("/api/admin/sections", Map.of("courseId", courseId), SECTIONS);
+    }
+
+    // The server does not stream progress, so the caller hears once that the run has started
+    @Override
+    public ApiResponse<GradeAnalyticsReport> runGradeAnalytics(String semester, int year, Consumer<String> progress) {
+        progress.accept("Analyzing " + semester + " " + year + " on the server...");
+        return client.post("/api/admin/analytics", Map.of("semester", semester, "year", year), GradeAnalyticsReport.class);
+    }
+
+    @Override
+    public ApiResponse<List<AuditEvent>> getAuditLog(Instant from, Instant to, Integer actorId, AuditAction action, int limit) {
+        Map<String, Object> query = new HashMap<>();
+        putIfPresent(query, "from", from);
+        putIfPresent(query, "to", to);
+        putIfPresent(query, "actorId", actorId);
+        putIfPresent(query, "action", action);
+        query.put("limit", limit);
+        return client.get("/api/admin/audit", query, AUDIT_EVENTS);
+    }
+
+    private static Map<String, Object> pageQuery(String filter, Enum<?> sort, boolean ascending, int offset, int limit) {
+        Map<String, Object> query = new HashMap<>();
+        putIfPresent(query, "filter", filter);
+        putIfPresent(query, "sort", sort);
+        query.put("ascending", ascending);
+        query.put("offset", offset);
+        query.put("limit", limit);
+        return query;
+    }
+
+    private static Map<String, Object> sectionBody(Integer instructorId, String dayTime, String room, int capacity, String semester, int year) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("instructorId", instructorId);
+        body.put("dayTime", dayTime);
+        body.put("room", room);
+        body.put("capacity", capacity);
+        body.put("semester", semester);
+        body.put("year", year);
+        return body;
+    }
+
+    private static void putIfPresent(Map<String, Object> query, String name, Object value) {
+        if (value != null) {
+            query.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.univ.erp.api.remote;
+
+import edu.univ.erp.api.auth.AuthApi;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.LoginResponse;
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+// AuthApi against the API server: a successful login stores the server token for the other
+// remote APIs and starts the local desktop session.
+public class RemoteAuthApi extends AuthApi {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteAuthApi.class);
+
+    private final RemoteClient client;
+    private final SessionManager sessionManager = SessionManager.getInstance();
+
+    public RemoteAuthApi(RemoteClient client) {
+        this.client = client;
+    }
+
+    // The server throttles by this client's address, so 'source' is not sent
+    @Override
+    public ApiResponse<User> login(String username, String password, String source) {
+        ApiResponse<LoginResponse> response = client.post("/api/auth/login",
+                Map.of("username", username, "password", password), LoginResponse.class);
+        if (!response.isSuccess()) {
+            log.warn("API: Remote login failed for user '{}': {}", username, response.getMessage());
+            return ApiResponse.error(response.getMessage());
+        }
+        LoginResponse login = response.getData();
+        client.setToken(login.token());
+        sessionManager.startSession(login.user());
+        return ApiResponse.success(login.user(), response.getMessage());
+    }
+
+    @Override
+    public ApiResponse<Void> changePassword(String oldPassword, String newPassword) {
+        return client.post("/api/auth/change-password",
+                Map.of("oldPassword", oldPassword, "newPassword", newPassword), Void.class);
+    }
+}
@@ -0,0 +1,45 @@
+package edu.univ.erp.api.remote;
+
+import com.google.gson.reflect.TypeToken;
+import edu.univ.erp.api.catalog.CatalogApi;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.CourseRow;
+import edu.univ.erp.api.types.RowDelta;
+import edu.univ.erp.api.types.SeatChanges;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+// CatalogApi served by the API server.
+public class RemoteCatalogApi extends CatalogApi {
+
+    private static final Type CATALOG = new TypeToken<List<CourseRow>>() {}.getType();
+    private static final Type CATALOG_DELTA = new TypeToken<RowDelta<CourseRow>>() {}.getType();
+
+    private final RemoteClient client;
+
+    public RemoteCatalogApi(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ApiResponse<List<CourseRow>> getCurrentCatalog() {
+        return client.get("/api/catalog", Map.of(), CATALOG);
+    }
+
+    @Override
+    public ApiResponse<RowDelta<CourseRow>> getCatalogChanges(String since) {
+        return client.get("/api/catalog/changes", Map.of("since", since == null ? "" : since), CATALOG_DELTA);
+    }
+
+    @Override
+    public ApiResponse<String> getCurrentTerm() {
+        return client.get("/api/catalog/term", Map.of(), String.class);
+    }
+
+    @Override
+    public ApiResponse<SeatChanges> getSeatChanges(long cursor) {
+        return client.get("/api/catalog/seats", Map.of("cursor", cursor), SeatChanges.class);
+    }
+}
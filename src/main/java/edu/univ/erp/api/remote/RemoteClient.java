@@ -0,0 +1,87 @@
+package edu.univ.erp.api.remote;
+
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.common.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// HTTP transport of the remote APIs: sends JSON to the API server and decodes its ApiResponse.
+// Holds the bearer token of the logged-in user; transport failures come back as error responses.
+public class RemoteClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteClient.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private volatile String token;
+
+    public RemoteClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    void setToken(String token) {
+        this.token = token;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    public <T> ApiResponse<T> get(String path, Map<String, ?> query, Type dataType) {
+        String queryString = query.isEmpty() ? "" : "?" + query.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(String.valueOf(e.getValue()), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return send(request(path + queryString).GET().build(), dataType);
+    }
+
+    public <T> ApiResponse<T> post(String path, Object body, Type dataType) {
+        String json = JsonCodec.GSON.toJson(body);
+        return send(request(path)
+                .header("Content-Type", "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8))
+                .build(), dataType);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        String current = token;
+        if (current != null) {
+            builder.header("Authorization", "Bearer " + current);
+        }
+        return builder;
+    }
+
+    private <T> ApiResponse<T> send(HttpRequest request, Type dataType) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            ApiResponse<T> decoded = JsonCodec.GSON.fromJson(response.body(), JsonCodec.responseType(dataType));
+            if (decoded == null) {
+                log.error("Empty response from {} (HTTP {})", request.uri(), response.statusCode());
+                return ApiResponse.error("The server returned an empty response.");
+            }
+            return decoded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ApiResponse.error("Request cancelled.");
+        } catch (IOException | RuntimeException e) {
+            log.error("Remote call to {} failed", request.uri(), e);
+            return ApiResponse.error("Could not reach the ERP server. Please try again later.");
+        }
+    }
+}
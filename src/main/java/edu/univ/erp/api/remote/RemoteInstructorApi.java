@@ -0,0 +1,60 @@
+package edu.univ.erp.api.remote;
+
+import com.google.gson.reflect.TypeToken;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.types.GradebookRow;
+import edu.univ.erp.api.types.InstructorSectionRow;
+import edu.univ.erp.api.types.RowDelta;
+import edu.univ.erp.api.types.ScoreEntryRequest;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+// InstructorApi served by the API server; section assignment is checked there.
+public class RemoteInstructorApi extends InstructorApi {
+
+    private static final Type SECTIONS = new TypeToken<List<InstructorSectionRow>>() {}.getType();
+    private static final Type GRADEBOOK = new TypeToken<List<GradebookRow>>() {}.getType();
+    private static final Type GRADEBOOK_DELTA = new TypeToken<RowDelta<GradebookRow>>() {}.getType();
+    private static final Type STATISTICS = new TypeToken<Map<String, Double>>() {}.getType();
+
+    private final RemoteClient client;
+
+    public RemoteInstructorApi(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ApiResponse<List<InstructorSectionRow>> getMySections() {
+        return client.get("/api/instructor/sections", Map.of(), SECTIONS);
+    }
+
+    @Override
+    public ApiResponse<List<GradebookRow>> getGradebook(int sectionId) {
+        return client.get("/api/instructor/gradebook", Map.of("sectionId", sectionId), GRADEBOOK);
+    }
+
+    @Override
+    public ApiResponse<RowDelta<GradebookRow>> getGradebookChanges(int sectionId, String since) {
+        return client.get("/api/instructor/gradebook/changes",
+                Map.of("sectionId", sectionId, "since", since == null ? "" : since), GRADEBOOK_DELTA);
+    }
+
+    @Override
+    public ApiResponse<Void> enterScore(ScoreEntryRequest request) {
+        return client.post("/api/instructor/scores", request, Void.class);
+    }
+
+    @Override
+    public ApiResponse<Void> computeFinalGrades(int sectionId, List<Double> gradeBoundaries) {
+        return client.post("/api/instructor/final-grades",
+                Map.of("sectionId", sectionId, "gradeBoundaries", gradeBoundaries), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Map<String, Double>> getSectionStatistics(int sectionId) {
+        return client.get("/api/instructor/statistics", Map.of("sectionId", sectionId), STATISTICS);
+    }
+}
@@ -0,0 +1,113 @@
+package edu.univ.erp.api.remote;
+
+import com.google.gson.reflect.TypeToken;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.types.ConnectionUsageRow;
+import edu.univ.erp.api.types.LoginStatsRow;
+import edu.univ.erp.api.types.OperationQueryRow;
+import edu.univ.erp.api.types.PoolStatsRow;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// MaintenanceApi served by the API server. Pool, login and query statistics are those of the
+// server process, which is the one holding the connections.
+public class RemoteMaintenanceApi extends MaintenanceApi {
+
+    private static final Type POOLS = new TypeToken<List<PoolStatsRow>>() {}.getType();
+    private static final Type CONNECTIONS = new TypeToken<List<ConnectionUsageRow>>() {}.getType();
+    private static final Type QUERIES = new TypeToken<List<OperationQueryRow>>() {}.getType();
+
+    private final RemoteClient client;
+
+    public RemoteMaintenanceApi(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ApiResponse<Void> setMaintenanceMode(boolean enabled) {
+        return client.post("/api/maintenance/mode", Map.of("enabled", enabled), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Void> rebuildGradeStatistics() {
+        return client.post("/api/maintenance/rebuild-grade-statistics", Map.of(), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Integer> repairSeatCounts() {
+        return client.post("/api/maintenance/repair-seat-counts", Map.of(), Integer.class);
+    }
+
+    @Override
+    public boolean isReadOnlyNow() {
+        ApiResponse<Boolean> response = client.get("/api/maintenance/read-only", Map.of(), Boolean.class);
+        return response.isSuccess() && Boolean.TRUE.equals(response.getData());
+    }
+
+    @Override
+    public ApiResponse<LocalDate> getDropDeadline() {
+        return client.get("/api/maintenance/drop-deadline", Map.of(), LocalDate.class);
+    }
+
+    @Override
+    public ApiResponse<Void> setDropDeadline(LocalDate deadline) {
+        return client.post("/api/maintenance/drop-deadline", deadlineBody(deadline), Void.class);
+    }
+
+    @Override
+    public ApiResponse<LocalDate> getRegistrationDeadline() {
+        return client.get("/api/maintenance/registration-deadline", Map.of(), LocalDate.class);
+    }
+
+    @Override
+    public ApiResponse<Void> setRegistrationDeadline(LocalDate deadline) {
+        return client.post("/api/maintenance/registration-deadline", deadlineBody(deadline), Void.class);
+    }
+
+    @Override
+    public ApiResponse<List<PoolStatsRow>> getPoolStats() {
+        return client.get("/api/maintenance/pools", Map.of(), POOLS);
+    }
+
+    @Override
+    public ApiResponse<List<ConnectionUsageRow>> getConnectionsByClient() {
+        return client.get("/api/maintenance/connections", Map.of(), CONNECTIONS);
+    }
+
+    @Override
+    public ApiResponse<LoginStatsRow> getLoginStats() {
+        return client.get("/api/maintenance/logins", Map.of(), LoginStatsRow.class);
+    }
+
+    @Override
+    public ApiResponse<List<OperationQueryRow>> getQueryReport() {
+        return client.get("/api/maintenance/queries", Map.of(), QUERIES);
+    }
+
+    @Override
+    public ApiResponse<Void> resetQueryReport() {
+        return client.post("/api/maintenance/queries/reset", Map.of(), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Boolean> isQueryRecordingOn() {
+        return client.get("/api/maintenance/queries/recording", Map.of(), Boolean.class);
+    }
+
+    @Override
+    public ApiResponse<Void> setQueryRecording(boolean enabled) {
+        return client.post("/api/maintenance/queries/recording", Map.of("enabled", enabled), Void.class);
+    }
+
+    // A null deadline is sent as such and rejected by the server
+    private static Map<String, Object> deadlineBody(LocalDate deadline) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("deadline", deadline);
+        return body;
+    }
+}
@@ -0,0 +1,28 @@
+package edu.univ.erp.api.remote;
+
+import com.google.gson.reflect.TypeToken;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.reports.ReportsApi;
+import edu.univ.erp.api.types.TranscriptEntry;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+// ReportsApi with its data from the API server; the files themselves are still written locally.
+// The server always reports on the logged-in student, so studentId is not sent.
+public class RemoteReportsApi extends ReportsApi {
+
+    private static final Type TRANSCRIPT = new TypeToken<List<TranscriptEntry>>() {}.getType();
+
+    private final RemoteClient client;
+
+    public RemoteReportsApi(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ApiResponse<List<TranscriptEntry>> getTranscript(int studentId) {
+        return client.get("/api/student/transcript", Map.of(), TRANSCRIPT);
+    }
+}
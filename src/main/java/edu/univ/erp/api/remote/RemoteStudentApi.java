@@ -0,0 +1,74 @@
+package edu.univ.erp.api.remote;
+
+import com.google.gson.reflect.TypeToken;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.student.StudentApi;
+import edu.univ.erp.api.types.GradeRow;
+import edu.univ.erp.api.types.RegistrationRow;
+import edu.univ.erp.api.types.TimetableEntry;
+import edu.univ.erp.api.types.WaitlistRow;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+// StudentApi served by the API server. The server always acts for the logged-in student,
+// so the studentId arguments are not sent.
+public class RemoteStudentApi extends StudentApi {
+
+    private static final Type REGISTRATIONS = new TypeToken<List<RegistrationRow>>() {}.getType();
+    private static final Type GRADES = new TypeToken<List<GradeRow>>() {}.getType();
+    private static final Type TIMETABLE = new TypeToken<List<TimetableEntry>>() {}.getType();
+    private static final Type WAITLIST = new TypeToken<List<WaitlistRow>>() {}.getType();
+
+    private final RemoteClient client;
+
+    public RemoteStudentApi(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ApiResponse<Void> registerForSection(int studentId, int sectionId) {
+        return client.post("/api/student/register", Map.of("sectionId", sectionId), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Integer> joinWaitlist(int studentId, int sectionId) {
+        return client.post("/api/student/waitlist/join", Map.of("sectionId", sectionId), Integer.class);
+    }
+
+    @Override
+    public ApiResponse<Void> leaveWaitlist(int studentId, int sectionId) {
+        return client.post("/api/student/waitlist/leave", Map.of("sectionId", sectionId), Void.class);
+    }
+
+    @Override
+    public ApiResponse<List<WaitlistRow>> getMyWaitlist(int studentId) {
+        return client.get("/api/student/waitlist", Map.of(), WAITLIST);
+    }
+
+    @Override
+    public ApiResponse<List<RegistrationRow>> getMyRegistrations(int studentId) {
+        return client.get("/api/student/registrations", Map.of(), REGISTRATIONS);
+    }
+
+    @Override
+    public ApiResponse<Void> dropSection(int studentId, int enrollmentId) {
+        return client.post("/api/student/drop", Map.of("enrollmentId", enrollmentId), Void.class);
+    }
+
+    @Override
+    public ApiResponse<Integer> getQueuePosition(int studentId) {
+        return client.get("/api/student/queue-position", Map.of(), Integer.class);
+    }
+
+    @Override
+    public ApiResponse<List<GradeRow>> getMyGrades(int studentId) {
+        return client.get("/api/student/grades", Map.of(), GRADES);
+    }
+
+    @Override
+    public ApiResponse<List<TimetableEntry>> getMyTimetable(int studentId) {
+        return client.get("/api/student/timetable", Map.of(), TIMETABLE);
+    }
+}
@@ -1,6 +1,7 @@
 package edu.univ.erp.api.reports;
 
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.GradeAnalyticsReport;
 import edu.univ.erp.api.types.TranscriptEntry;
 import edu.univ.erp.service.StudentService;
 import edu.univ.erp.util.CsvExporter;
@@ -17,11 +18,26 @@ public class ReportsApi {
     private final StudentService studentService = new StudentService();
     private final CsvExporter csvExporter = new CsvExporter();
 
+    // Completed courses with final grades, the rows of a transcript
+    public ApiResponse<List<TranscriptEntry>> getTranscript(int studentId) {
+        try {
+            List<TranscriptEntry> transcriptData = studentService.generateTranscriptData(studentId);
+            return ApiResponse.success(transcriptData, "Transcript loaded.");
+        } catch (Exception e) {
+            log.error("API: Unexpected error loading transcript data for student {}", studentId, e);
+            return ApiResponse.error("An unexpected error occurred while generating the transcript.");
+        }
+    }
+
     // API to generate and provide a student transcript file for download.
     public ApiResponse<Void> downloadStudentTranscript(int studentId, File targetFile) {
         try {
-            // 1. Get the data from the service layer
-            List<TranscriptEntry> transcriptData = studentService.generateTranscriptData(studentId);
+            // 1. Get the data from the service layer (or the API server)
+            ApiResponse<List<TranscriptEntry>> loaded = getTranscript(studentId);
+            if (!loaded.isSuccess()) {
+                return ApiResponse.error(loaded.getMessage());
+            }
+            List<TranscriptEntry> transcriptData = loaded.getData();
 
             if (transcriptData.isEmpty()) {
                 log.warn("API: No transcript data found for student {}", studentId);
@@ -44,4 +60,17 @@ public class ReportsApi {
             return ApiResponse.error("An unexpected error occurred while generating the transcript.");
         }
     }
+
+    // API to write a previously computed grade analytics report to a CSV file (local only, reads no data).
+    public ApiResponse<Void> exportGradeAnalytics(GradeAnalyticsReport report, File targetFile) {
+        try {
+            if (csvExporter.exportGradeAnalytics(report, targetFile)) {
+                return ApiResponse.success(null, "Report saved successfully!\nLocation: " + targetFile.getAbsolutePath());
+            }
+            return ApiResponse.error("Failed to write report file. Check application logs.");
+        } catch (Exception e) {
+            log.error("API: Unexpected error exporting grade analytics", e);
+            return ApiResponse.error("An unexpected error occurred while exporting the report.");
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package edu.univ.erp.api.student;
 
+import edu.univ.erp.api.common.AdmissionController;
+import edu.univ.erp.api.common.AdmissionException;
+import edu.univ.erp.api.common.ApiExecutor;
 import edu.univ.erp.api.common.ApiResponse;
 import edu.univ.erp.api.types.GradeRow;
 import edu.univ.erp.api.types.RegistrationRow;
 import edu.univ.erp.api.types.TimetableEntry;
+import edu.univ.erp.api.types.WaitlistRow;
 import edu.univ.erp.service.DropException;
 import edu.univ.erp.service.RegistrationException;
 import edu.univ.erp.service.StudentService;
@@ -11,26 +15,74 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class StudentApi {
 
     private static final Logger log = LoggerFactory.getLogger(StudentApi.class);
     private final StudentService studentService = new StudentService();
+    private final ApiExecutor async = ApiExecutor.getInstance();
+    private final AdmissionController admission = AdmissionController.registration();
 
     public ApiResponse<Void> registerForSection(int studentId, int sectionId) {
         try {
-            studentService.registerForSection(studentId, sectionId);
-            log.info("API: Registration successful for student {} in section {}", studentId, sectionId);
+            AdmissionController.Ticket ticket = admission.enter(studentId);
+            try {
+                studentService.registerForSection(studentId, sectionId);
+            } finally {
+                ticket.close();
+            }
+            log.debug("API: Registration successful for student {} in section {}", studentId, sectionId);
             return ApiResponse.success(null, "Successfully registered for the section!");
         } catch (RegistrationException e) {
             log.warn("API: Registration failed for student {} in section {}: {}", studentId, sectionId, e.getMessage());
             return ApiResponse.error(e.getMessage());
+        } catch (AdmissionException e) {
+            log.warn("API: Registration not admitted for student {} in section {}: {}", studentId, sectionId, e.getMessage());
+            return ApiResponse.error(e.getMessage());
         } catch (Exception e) {
             log.error("API: Unexpected error during registration for student {} in section {}", studentId, sectionId, e);
             return ApiResponse.error("An unexpected error occurred. Please contact support.");
         }
     }
 
+    public ApiResponse<Integer> joinWaitlist(int studentId, int sectionId) {
+        try {
+            int position = studentService.joinWaitlist(studentId, sectionId);
+            log.info("API: Student {} is #{} on the waitlist of section {}", studentId, position, sectionId);
+            return ApiResponse.success(position, "You are #" + position + " on the waitlist. "
+                    + "You will be registered automatically when a seat opens.");
+        } catch (RegistrationException e) {
+            log.warn("API: Joining waitlist failed for student {} in section {}: {}", studentId, sectionId, e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API: Unexpected error joining waitlist for student {} in section {}", studentId, sectionId, e);
+            return ApiResponse.error("An unexpected error occurred. Please contact support.");
+        }
+    }
+
+    public ApiResponse<Void> leaveWaitlist(int studentId, int sectionId) {
+        try {
+            studentService.leaveWaitlist(studentId, sectionId);
+            return ApiResponse.success(null, "You have left the waitlist.");
+        } catch (RegistrationException e) {
+            log.warn("API: Leaving waitlist failed for student {} in section {}: {}", studentId, sectionId, e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("API: Unexpected error leaving waitlist for student {} in section {}", studentId, sectionId, e);
+            return ApiResponse.error("An unexpected error occurred. Please contact support.");
+        }
+    }
+
+    public ApiResponse<List<WaitlistRow>> getMyWaitlist(int studentId) {
+        try {
+            return ApiResponse.success(studentService.getMyWaitlist(studentId), "Waitlist loaded.");
+        } catch (Exception e) {
+            log.error("API: Unexpected error fetching waitlist for student {}", studentId, e);
+            return ApiResponse.error("Could not load your waitlist. Please try again later.");
+        }
+    }
+
     public ApiResponse<List<RegistrationRow>> getMyRegistrations(int studentId) {
         try {
             List<RegistrationRow> registrations = studentService.getMyRegistrations(studentId);
@@ -44,18 +96,34 @@ public class StudentApi {
 
     public ApiResponse<Void> dropSection(int studentId, int enrollmentId) {
         try {
-            studentService.dropSection(studentId, enrollmentId);
+            AdmissionController.Ticket ticket = admission.enter(studentId);
+            try {
+                studentService.dropSection(studentId, enrollmentId);
+            } finally {
+                ticket.close();
+            }
             log.info("API: Drop successful for enrollment {} by student {}", enrollmentId, studentId);
             return ApiResponse.success(null, "Section dropped successfully!");
         } catch (DropException e) {
             log.warn("API: Drop failed for enrollment {} by student {}: {}", enrollmentId, studentId, e.getMessage());
             return ApiResponse.error(e.getMessage());
+        } catch (AdmissionException e) {
+            log.warn("API: Drop not admitted for enrollment {} by student {}: {}", enrollmentId, studentId, e.getMessage());
+            return ApiResponse.error(e.getMessage());
         } catch (Exception e) {
             log.error("API: Unexpected error during drop for enrollment {} by student {}", enrollmentId, studentId, e);
             return ApiResponse.error("An unexpected error occurred. Please contact support.");
         }
     }
 
+    // Place of the student's pending registration or drop in the admission queue (0 when not waiting)
+    public ApiResponse<Integer> getQueuePosition(int studentId) {
+        int position = admission.queuePosition(studentId);
+        return ApiResponse.success(position, (position > 0)
+                ? "System busy, you are #" + position + " in line."
+                : "No request waiting.");
+    }
+
     public ApiResponse<List<GradeRow>> getMyGrades(int studentId) {
         try {
             List<GradeRow> grades = studentService.getMyGrades(studentId);
@@ -77,4 +145,42 @@ public class StudentApi {
             return ApiResponse.error("Could not load your timetable. Please try again later.");
         }
     }
-}
\ No newline at end of file
+
+    // Non-blocking variants, run on the shared ApiExecutor
+
+    public CompletableFuture<ApiResponse<Void>> registerForSectionAsync(int studentId, int sectionId) {
+        return async.submit(() -> registerForSection(studentId, sectionId));
+    }
+
+    public CompletableFuture<ApiResponse<Integer>> joinWaitlistAsync(int studentId, int sectionId) {
+        return async.submit(() -> joinWaitlist(studentId, sectionId));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> leaveWaitlistAsync(int studentId, int sectionId) {
+        return async.submit(() -> leaveWaitlist(studentId, sectionId));
+    }
+
+    public CompletableFuture<ApiResponse<List<WaitlistRow>>> getMyWaitlistAsync(int studentId) {
+        return async.submit(() -> getMyWaitlist(studentId));
+    }
+
+    public CompletableFuture<ApiResponse<List<RegistrationRow>>> getMyRegistrationsAsync(int studentId) {
+        return async.submit(() -> getMyRegistrations(studentId));
+    }
+
+    public CompletableFuture<ApiResponse<Void>> dropSectionAsync(int studentId, int enrollmentId) {
+        return async.submit(() -> dropSection(studentId, enrollmentId));
+    }
+
+    public CompletableFuture<ApiResponse<Integer>> getQueuePositionAsync(int studentId) {
+        return async.submit(() -> getQueuePosition(studentId));
+    }
+
+    public CompletableFuture<ApiResponse<List<GradeRow>>> getMyGradesAsync(int studentId) {
+        return async.submit(() -> getMyGrades(studentId));
+    }
+
+    public CompletableFuture<ApiResponse<List<TimetableEntry>>> getMyTimetableAsync(int studentId) {
+        return async.submit(() -> getMyTimetable(studentId));
+    }
+}
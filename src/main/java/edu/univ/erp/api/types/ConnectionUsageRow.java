@@ -0,0 +1,9 @@
+package edu.univ.erp.api.types;
+
+// Server connections opened from one client host to one database, as seen by MySQL.
+public record ConnectionUsageRow(
+        String clientHost,
+        String database,
+        int connections,
+        int idle
+) {}
@@ -0,0 +1,8 @@
+package edu.univ.erp.api.types;
+
+// Columns the admin course list can be sorted by (in the query, so any page comes out in order)
+public enum CourseListSort {
+    CODE,
+    TITLE,
+    CREDITS
+}
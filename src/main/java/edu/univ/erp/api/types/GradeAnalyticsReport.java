@@ -0,0 +1,12 @@
+package edu.univ.erp.api.types;
+
+import java.util.List;
+
+// Result of a term-wide grade analytics run.
+public record GradeAnalyticsReport(
+        String semester,
+        int year,
+        long enrollmentsScanned,
+        List<GradeDistributionRow> distributions,
+        List<OutlierSectionRow> outlierSections
+) {}
@@ -0,0 +1,25 @@
+package edu.univ.erp.api.types;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Grade distribution of one group (a course, department or program) in the analytics report.
+public record GradeDistributionRow(
+        String dimension, // "Course", "Department" or "Program"
+        String groupKey,
+        long enrollments,
+        double meanScore,
+        double stdDevScore,
+        double minScore,
+        double maxScore,
+        long[] scoreHistogram, // 10 bins of width 10 over total scores
+        Map<String, Long> letterGrades
+) {
+
+    public String getLetterGradeSummary() {
+        if (letterGrades.isEmpty()) return "-";
+        return letterGrades.entrySet().stream()
+                .map(e -> e.getKey() + ":" + e.getValue())
+                .collect(Collectors.joining("  "));
+    }
+}
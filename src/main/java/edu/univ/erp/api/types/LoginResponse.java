@@ -0,0 +1,6 @@
+package edu.univ.erp.api.types;
+
+import edu.univ.erp.domain.User;
+
+// Returned by the API server's login endpoint; the token authenticates the following requests.
+public record LoginResponse(String token, User user) {}
@@ -0,0 +1,13 @@
+package edu.univ.erp.api.types;
+
+// Password verification load of this process.
+public record LoginStatsRow(
+        int queued,
+        int running,
+        int threads,
+        long verified,
+        long rejected,
+        double avgVerifyMillis,
+        double maxVerifyMillis,
+        int lockedAccounts
+) {}
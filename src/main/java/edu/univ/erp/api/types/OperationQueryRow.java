@@ -0,0 +1,13 @@
+package edu.univ.erp.api.types;
+
+// Statement counts of one API operation since the last reset of the query recorder.
+public record OperationQueryRow(
+        String operation,
+        long invocations,
+        double avgStatements,
+        int maxStatements,
+        double avgDbMillis,
+        long flaggedInvocations, // over the statement limit or repeating a statement shape
+        String mostRepeatedStatement,
+        int mostRepeatedCount
+) {}
@@ -0,0 +1,11 @@
+package edu.univ.erp.api.types;
+
+// A section whose mean total score is far from the mean of its course in the same term.
+public record OutlierSectionRow(
+        int sectionId,
+        String courseCode,
+        long enrollments,
+        double sectionMean,
+        double courseMean,
+        double zScore
+) {}
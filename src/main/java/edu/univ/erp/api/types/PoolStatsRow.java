@@ -0,0 +1,12 @@
+package edu.univ.erp.api.types;
+
+// Connection counts of one of this process's pools.
+public record PoolStatsRow(
+        String poolName,
+        boolean started,
+        int active,
+        int idle,
+        int total,
+        int waiting,
+        int maxSize
+) {}
@@ -0,0 +1,28 @@
+package edu.univ.erp.api.types;
+
+import java.util.List;
+
+// Answer to a "what changed since <version>" request for a keyed table. Either the caller's version
+// is current ('unchanged', no rows), or 'rows' holds the added and changed rows and 'removedKeys'
+// the rows that went away; 'full' means the server could not diff against the caller's version and
+// 'rows' is the whole table, in order. Pass 'version' back on the next request.
+public record RowDelta<R>(
+        String version,
+        boolean unchanged,
+        boolean full,
+        List<R> rows,
+        List<Integer> removedKeys
+) {
+
+    public static <R> RowDelta<R> unchanged(String version) {
+        return new RowDelta<>(version, true, false, List.of(), List.of());
+    }
+
+    public static <R> RowDelta<R> full(String version, List<R> rows) {
+        return new RowDelta<>(version, false, true, rows, List.of());
+    }
+
+    public static <R> RowDelta<R> changes(String version, List<R> rows, List<Integer> removedKeys) {
+        return new RowDelta<>(version, false, false, rows, removedKeys);
+    }
+}
@@ -0,0 +1,10 @@
+package edu.univ.erp.api.types;
+
+import java.util.List;
+
+// One page of a sorted, filtered list: 'rows' starts at 'offset' of the 'total' matching rows
+public record RowPage<R>(
+        int total,
+        int offset,
+        List<R> rows
+) {}
@@ -0,0 +1,8 @@
+package edu.univ.erp.api.types;
+
+// Current seat numbers of a section whose enrollment or capacity changed.
+public record SeatChange(
+        int sectionId,
+        int enrolledCount,
+        int capacity
+) {}
@@ -0,0 +1,11 @@
+package edu.univ.erp.api.types;
+
+import java.util.List;
+
+// One poll of the seat feed. Pass 'cursor' to the next poll to get only later changes; a different
+// feedId means the feed restarted (e.g. the server did) and the caller should reload the catalog.
+public record SeatChanges(
+        String feedId,
+        long cursor,
+        List<SeatChange> changes
+) {}
@@ -0,0 +1,17 @@
+package edu.univ.erp.api.types;
+
+// A section as listed on the admin screens, with its course code and instructor name joined in
+public record SectionListRow(
+        int sectionId,
+        String courseCode,
+        String instructorName,
+        String dayTime,
+        String room,
+        int capacity,
+        int enrolledCount
+) {
+
+    public String getSeats() {
+        return enrolledCount + " / " + capacity;
+    }
+}
@@ -0,0 +1,10 @@
+package edu.univ.erp.api.types;
+
+// Columns the admin section list can be sorted by (in the query, so any page comes out in order)
+public enum SectionListSort {
+    COURSE,
+    INSTRUCTOR,
+    DAY_TIME,
+    ROOM,
+    SEATS
+}
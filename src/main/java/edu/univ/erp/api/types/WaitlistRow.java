@@ -0,0 +1,10 @@
+package edu.univ.erp.api.types;
+
+// Record representing a waitlisted section in the "My Registrations" view.
+public record WaitlistRow(
+        int sectionId,
+        String courseCode,
+        String title,
+        String dayTime,
+        int position
+) {}
@@ -0,0 +1,132 @@
+package edu.univ.erp.audit;
+
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.AuditRepository;
+import edu.univ.erp.data.ConfigManager;
+import edu.univ.erp.data.DataAccessException;
+import edu.univ.erp.domain.AuditAction;
+import edu.univ.erp.domain.AuditEvent;
+import edu.univ.erp.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Audit trail of state-changing operations. record() only puts the event in a lock-free ring buffer,
+// so it adds no database work to the caller; the "audit-writer" thread flushes the buffer to audit_log
+// in JDBC batches every audit.flush_interval and once more at shutdown.
+// Loss is bounded: a crash loses at most the buffered events (up to one flush interval's worth, never
+// more than audit.buffer_size), and when the buffer is full new events are dropped and counted
+// rather than blocking. A failed flush is retried with the next one.
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static AuditLog instance;
+
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final AuditRepository auditRepo = new AuditRepository();
+    private final AtomicLong dropped = new AtomicLong();
+    private final List<AuditEvent> retry = new ArrayList<>(); // writer thread only
+    private volatile ScheduledExecutorService writer;
+
+    private AuditLog() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.buffer = new AuditRingBuffer(config.getAuditBufferSize());
+        this.batchSize = config.getAuditBatchSize();
+        this.flushIntervalMillis = Math.max(50, config.getAuditFlushInterval().toMillis());
+    }
+
+    public static synchronized AuditLog getInstance() {
+        if (instance == null) {
+            instance = new AuditLog();
+        }
+        return instance;
+    }
+
+    // Records an action by the current user; never blocks and never throws
+    public void record(AuditAction action, String target, String details) {
+        User actor = SessionManager.getInstance().getCurrentUser();
+        AuditEvent event = new AuditEvent(0, Instant.now(),
+                (actor != null) ? actor.userId() : null, (actor != null) ? actor.username() : null,
+                action, target, details);
+        startWriter();
+        if (!buffer.offer(event)) {
+            long total = dropped.incrementAndGet();
+            if (total == 1 || total % 1000 == 0) {
+                log.warn("Audit buffer full ({} events); {} audit events dropped so far", buffer.capacity(), total);
+            }
+        }
+    }
+
+    public List<AuditEvent> find(Instant from, Instant to, Integer actorId, AuditAction action, int limit) {
+        return auditRepo.find(from, to, actorId, action, limit);
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (writer != null) {
+                return;
+            }
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "audit-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                flush();
+            }, "audit-shutdown-flush"));
+            writer = executor;
+        }
+    }
+
+    // Writer thread (and the shutdown hook once the writer has stopped)
+    private synchronized void flush() {
+        if (!retry.isEmpty() && !write(retry)) {
+            return;
+        }
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                retry.addAll(batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private boolean write(List<AuditEvent> batch) {
+        try {
+            auditRepo.insertBatch(batch);
+            log.debug("Flushed {} audit events", batch.size());
+            if (batch == retry) {
+                retry.clear();
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.error("Failed to write {} audit events; retrying with the next flush", batch.size(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package edu.univ.erp.audit;
+
+import edu.univ.erp.domain.AuditEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded lock-free queue between the threads that record audit events and the single writer thread.
+// Producers claim a slot with a CAS on the head sequence and publish the event into it; the consumer
+// takes slots in sequence order and frees each one before advancing the tail. When the buffer is full
+// offer() fails instead of blocking the caller. offer() is claim() then publish(); the two halves are
+// public so a test can hold a slot claimed but unpublished.
+public class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next sequence to claim
+    private volatile long tail;                        // next sequence to take (written by the consumer only)
+
+    public AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // next power of two
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public boolean offer(AuditEvent event) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return false;
+        }
+        publish(sequence, event);
+        return true;
+    }
+
+    // Reserves the next slot and returns its sequence, or -1 when the buffer is full
+    public long claim() {
+        while (true) {
+            long sequence = head.get();
+            if (sequence - tail >= slots.length()) {
+                return -1;
+            }
+            if (head.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    // Makes the event in a claimed slot visible to the consumer
+    public void publish(long sequence, AuditEvent event) {
+        slots.set((int) (sequence & mask), event);
+    }
+
+    // Consumer only: moves up to max events into 'sink'. Stops early at a slot that was claimed but is
+    // not published yet; that event is taken on the next drain.
+    public int drainTo(List<AuditEvent> sink, int max) {
+        int taken = 0;
+        long next = tail;
+        while (taken < max) {
+            int index = (int) (next & mask);
+            AuditEvent event = slots.get(index);
+            if (event == null) {
+                break;
+            }
+            slots.set(index, null);
+            sink.add(event);
+            next++;
+            tail = next;
+            taken++;
+        }
+        return taken;
+    }
+
+    public int size() {
+        return (int) (head.get() - tail);
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
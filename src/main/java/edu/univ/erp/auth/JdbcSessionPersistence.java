@@ -0,0 +1,98 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.data.DataAccessException;
+import edu.univ.erp.data.JdbcExecutor;
+import edu.univ.erp.data.RowMapper;
+import edu.univ.erp.data.SqlStatement;
+import edu.univ.erp.domain.Role;
+import edu.univ.erp.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// Stores sessions in auth_db.user_sessions. Only the SHA-256 of the token is written, so a leaked
+// table does not leak usable tokens. Restored sessions carry no cached profile.
+public class JdbcSessionPersistence implements SessionPersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcSessionPersistence.class);
+    private final JdbcExecutor jdbc = JdbcExecutor.auth();
+
+    private static final SqlStatement INSERT = SqlStatement.of(
+            "INSERT INTO user_sessions (token_hash, user_id, created_at, last_access) VALUES (?, ?, ?, ?)");
+    private static final SqlStatement TOUCH = SqlStatement.of(
+            "UPDATE user_sessions SET last_access = ? WHERE token_hash = ?");
+    private static final SqlStatement DELETE = SqlStatement.of("DELETE FROM user_sessions WHERE token_hash = ?");
+    private static final SqlStatement FIND = SqlStatement.of(
+            "SELECT u.user_id, u.username, u.role, s.created_at, s.last_access FROM user_sessions s " +
+            "JOIN users_auth u ON u.user_id = s.user_id WHERE s.token_hash = ? AND s.last_access >= ?");
+    private static final SqlStatement DELETE_IDLE = SqlStatement.of("DELETE FROM user_sessions WHERE last_access < ?");
+
+    @Override
+    public void save(Session session) {
+        Timestamp now = new Timestamp(session.lastAccessMillis());
+        try {
+            jdbc.update(INSERT, hash(session.token()), session.user().userId(), Timestamp.from(session.createdAt()), now);
+        } catch (DataAccessException e) {
+            log.error("SQL error persisting session of user {}", session.user().userId(), e);
+        }
+    }
+
+    @Override
+    public void touch(Session session) {
+        try {
+            jdbc.update(TOUCH, new Timestamp(session.lastAccessMillis()), hash(session.token()));
+        } catch (DataAccessException e) {
+            log.error("SQL error refreshing session of user {}", session.user().userId(), e);
+        }
+    }
+
+    @Override
+    public void delete(String token) {
+        try {
+            jdbc.update(DELETE, hash(token));
+        } catch (DataAccessException e) {
+            log.error("SQL error deleting session", e);
+        }
+    }
+
+    @Override
+    public Optional<Session> load(String token, Instant idleCutoff) {
+        // The stored last access lags the real one by up to half the idle timeout (see SessionStore.find),
+        // so a restored session may expire that much early, never late
+        RowMapper<Session> mapper = rs -> {
+            User user = new User(rs.getInt(1), rs.getString(2), Role.valueOf(rs.getString(3)), null);
+            return new Session(token, user, Permission.forRole(user.role()),
+                    rs.getTimestamp(4).toInstant(), rs.getTimestamp(5).getTime());
+        };
+        try {
+            return jdbc.queryOne(FIND, mapper, hash(token), Timestamp.from(idleCutoff));
+        } catch (DataAccessException | IllegalArgumentException e) {
+            log.error("Error restoring session", e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void deleteIdleSince(Instant cutoff) {
+        int removed = jdbc.update(DELETE_IDLE, Timestamp.from(cutoff));
+        if (removed > 0) {
+            log.info("Deleted {} expired persisted sessions", removed);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.data.ConfigManager;
+import edu.univ.erp.data.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind of users_auth.last_login. A login only notes the time in memory; the "last-login-writer"
+// thread writes all pending times in one batch every login.last_login_flush_interval and once more at
+// shutdown. Repeated logins of a user between flushes become a single update. A crash loses at most
+// one interval of last_login times; a failed flush keeps them for the next one.
+public class LastLoginRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginRecorder.class);
+    private static LastLoginRecorder instance;
+
+    private final UserAuthRepository authRepo = new UserAuthRepository();
+    private final Map<Integer, Instant> pending = new ConcurrentHashMap<>();
+    private final long flushIntervalMillis;
+    private volatile ScheduledExecutorService writer;
+
+    private LastLoginRecorder() {
+        this.flushIntervalMillis = Math.max(100, ConfigManager.getInstance().getLastLoginFlushInterval().toMillis());
+    }
+
+    public static synchronized LastLoginRecorder getInstance() {
+        if (instance == null) {
+            instance = new LastLoginRecorder();
+        }
+        return instance;
+    }
+
+    public void record(int userId) {
+        pending.merge(userId, Instant.now(), (earlier, later) -> later.isAfter(earlier) ? later : earlier);
+        startWriter();
+    }
+
+    private void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (writer != null) {
+                return;
+            }
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "last-login-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                flush();
+            }, "last-login-shutdown-flush"));
+            writer = executor;
+        }
+    }
+
+    // Writer thread (and the shutdown hook once the writer has stopped)
+    private synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Integer, Instant> batch = new HashMap<>();
+        for (Integer userId : pending.keySet()) {
+            Instant at = pending.remove(userId);
+            if (at != null) {
+                batch.put(userId, at);
+            }
+        }
+        try {
+            authRepo.updateLastLogins(batch);
+            log.debug("Wrote last_login of {} users", batch.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to write last_login of {} users; retrying with the next flush", batch.size(), e);
+            // Put them back unless a newer login was noted meanwhile
+            batch.forEach((userId, at) -> pending.merge(userId, at, (newer, old) -> newer.isAfter(old) ? newer : old));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.data.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rate limits login attempts with token buckets per username and per source address. Each attempt
+// takes a token from both buckets; buckets refill one token per refill interval up to their burst size.
+// maxFailures failed attempts in a row lock the username for the lockout period; a success clears them.
+public class LoginThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+    private static LoginThrottle instance;
+
+    // Buckets that refilled completely are dropped once a map grows past this
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Limit userLimit;
+    private final Limit sourceLimit;
+    private final int maxFailures;
+    private final long lockoutMillis;
+    private final Map<String, Bucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> sourceBuckets = new ConcurrentHashMap<>();
+
+    private record Limit(int burst, long refillMillis) {}
+
+    public LoginThrottle(int userBurst, Duration userRefill, int sourceBurst, Duration sourceRefill,
+                         int maxFailures, Duration lockout) {
+        this.userLimit = new Limit(userBurst, userRefill.toMillis());
+        this.sourceLimit = new Limit(sourceBurst, sourceRefill.toMillis());
+        this.maxFailures = maxFailures;
+        this.lockoutMillis = lockout.toMillis();
+    }
+
+    public static synchronized LoginThrottle getInstance() {
+        if (instance == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            instance = new LoginThrottle(config.getLoginUserBurst(), config.getLoginUserRefill(),
+                    config.getLoginSourceBurst(), config.getLoginSourceRefill(),
+                    config.getLoginMaxFailures(), config.getLoginLockout());
+        }
+        return instance;
+    }
+
+    // Takes a token for the attempt; returns how long to wait instead when the attempt must be refused
+    public OptionalLong tryAcquire(String username, String source, long nowMillis) {
+        Bucket user = bucket(userBuckets, key(username), userLimit, nowMillis);
+        Bucket origin = bucket(sourceBuckets, source, sourceLimit, nowMillis);
+        synchronized (user) {
+            if (user.lockedUntil > nowMillis) {
+                return OptionalLong.of(user.lockedUntil - nowMillis);
+            }
+            synchronized (origin) {
+                user.refill(userLimit, nowMillis);
+                origin.refill(sourceLimit, nowMillis);
+                if (user.tokens < 1 || origin.tokens < 1) {
+                    long wait = Math.max(user.millisUntilToken(userLimit), origin.millisUntilToken(sourceLimit));
+                    return OptionalLong.of(wait);
+                }
+                user.tokens--;
+                origin.tokens--;
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    public void recordFailure(String username, long nowMillis) {
+        Bucket user = bucket(userBuckets, key(username), userLimit, nowMillis);
+        synchronized (user) {
+            user.failures++;
+            if (user.failures >= maxFailures) {
+                user.failures = 0;
+                user.lockedUntil = nowMillis + lockoutMillis;
+                log.warn("Username '{}' locked for {}s after {} failed logins", username, lockoutMillis / 1000, maxFailures);
+            }
+        }
+    }
+
+    public void recordSuccess(String username) {
+        Bucket user = userBuckets.get(key(username));
+        if (user != null) {
+            synchronized (user) {
+                user.failures = 0;
+            }
+        }
+    }
+
+    public int getLockedCount(long nowMillis) {
+        int locked = 0;
+        for (Bucket bucket : userBuckets.values()) {
+            synchronized (bucket) {
+                if (bucket.lockedUntil > nowMillis) {
+                    locked++;
+                }
+            }
+        }
+        return locked;
+    }
+
+    private static String key(String username) {
+        return (username == null) ? "" : username.toLowerCase();
+    }
+
+    private static Bucket bucket(Map<String, Bucket> buckets, String key, Limit limit, long nowMillis) {
+        if (buckets.size() > PURGE_THRESHOLD) {
+            buckets.values().removeIf(b -> b.isIdle(limit, nowMillis));
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(limit.burst(), nowMillis));
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+        private int failures;
+        private long lockedUntil;
+
+        Bucket(int tokens, long nowMillis) {
+            this.tokens = tokens;
+            this.refilledAt = nowMillis;
+        }
+
+        void refill(Limit limit, long nowMillis) {
+            if (nowMillis > refilledAt) {
+                tokens = Math.min(limit.burst(), tokens + (double) (nowMillis - refilledAt) / limit.refillMillis());
+                refilledAt = nowMillis;
+            }
+        }
+
+        long millisUntilToken(Limit limit) {
+            return (tokens >= 1) ? 0 : (long) Math.ceil((1 - tokens) * limit.refillMillis());
+        }
+
+        synchronized boolean isIdle(Limit limit, long nowMillis) {
+            refill(limit, nowMillis);
+            return tokens >= limit.burst() && failures == 0 && lockedUntil <= nowMillis;
+        }
+    }
+}
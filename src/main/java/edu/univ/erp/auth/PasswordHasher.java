@@ -1,5 +1,6 @@
 package edu.univ.erp.auth;
 
+import edu.univ.erp.data.ConfigManager;
 import org.mindrot.jbcrypt.BCrypt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,20 +10,41 @@ public class PasswordHasher {
 
     private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
 
-    // Hashes a plain-text password using jBCrypt.
+    // Hashes a plain-text password using jBCrypt at the configured cost (login.bcrypt_cost).
     public static String hash(String password) {
         log.debug("Hashing new password.");
-        return BCrypt.hashpw(password, BCrypt.gensalt());
+        return BCrypt.hashpw(password, BCrypt.gensalt(ConfigManager.getInstance().getBcryptCost()));
     }
 
-    // Checks if a plain-text password matches a stored hash.
-    public static boolean checkPassword(String plainPassword, String storedHash) {
-        log.debug("Checking password against stored hash.");
+    // Like hash, but on the bounded PasswordVerifier pool for requests users can repeat at will;
+    // RejectedExecutionException means that pool's queue is full.
+    public static String hashBounded(String password) {
+        log.debug("Hashing new password on the verifier pool.");
+        return PasswordVerifier.getInstance().hash(password, ConfigManager.getInstance().getBcryptCost());
+    }
+
+    // True when the hash was made with a lower cost than the configured one (or cannot be read)
+    public static boolean needsRehash(String storedHash) {
+        return costOf(storedHash) < ConfigManager.getInstance().getBcryptCost();
+    }
+
+    // Hashes look like "$2a$10$<salt and hash>"; the number is the log2 of the rounds
+    static int costOf(String storedHash) {
+        if (storedHash == null || storedHash.length() < 7 || storedHash.charAt(0) != '$') {
+            return 0;
+        }
+        int costStart = storedHash.indexOf('$', 1) + 1;
         try {
-            return BCrypt.checkpw(plainPassword, storedHash);
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid hash format provided for check.", e);
-            return false;
+            return Integer.parseInt(storedHash.substring(costStart, costStart + 2));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return 0;
         }
     }
+
+    // Checks if a plain-text password matches a stored hash. The check runs on the bounded
+    // PasswordVerifier pool; RejectedExecutionException means that pool's queue is full.
+    public static boolean checkPassword(String plainPassword, String storedHash) {
+        log.debug("Checking password against stored hash.");
+        return PasswordVerifier.getInstance().verify(plainPassword, storedHash);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.api.types.LoginStatsRow;
+import edu.univ.erp.data.ConfigManager;
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs BCrypt checks (and the hashing of changed passwords) on a fixed number of platform threads so a
+// burst of logins cannot take every core.
+// Checks beyond the threads wait in a bounded queue; when that is full the check is rejected with
+// RejectedExecutionException and the caller reports the server as busy.
+public class PasswordVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerifier.class);
+    private static PasswordVerifier instance;
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private PasswordVerifier(int threads, int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "bcrypt-verifier-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Password verification uses {} threads, queue of {}", threads, queueSize);
+    }
+
+    public static synchronized PasswordVerifier getInstance() {
+        if (instance == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            instance = new PasswordVerifier(config.getLoginVerifyThreads(), config.getLoginVerifyQueueSize());
+        }
+        return instance;
+    }
+
+    public boolean verify(String plainPassword, String storedHash) {
+        Future<Boolean> check = submit(() -> BCrypt.checkpw(plainPassword, storedHash));
+        try {
+            return check.get();
+        } catch (InterruptedException e) {
+            check.cancel(true);
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                log.warn("Invalid hash format provided for check.", e.getCause());
+                return false;
+            }
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    // Hashes a new password on the same threads as the checks, with the same rejection when busy
+    public String hash(String plainPassword, int cost) {
+        Future<String> hashing = submit(() -> BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost)));
+        try {
+            return hashing.get();
+        } catch (InterruptedException e) {
+            hashing.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> work) {
+        try {
+            return executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    verified.increment();
+                    totalNanos.add(elapsed);
+                    maxNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password check rejected, {} checks already queued", executor.getQueue().size());
+            throw e;
+        }
+    }
+
+    // Runs follow-up hashing work (such as rehashing at a new cost) on the same threads; skipped when busy
+    public void runInBackground(String description, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped {}: password threads busy", description);
+        }
+    }
+
+    public LoginStatsRow getStats(int lockedAccounts) {
+        long count = verified.sum();
+        return new LoginStatsRow(executor.getQueue().size(), executor.getActiveCount(), executor.getMaximumPoolSize(),
+                count, rejected.sum(),
+                (count == 0) ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / count) / 1000.0,
+                TimeUnit.NANOSECONDS.toMicros(maxNanos.get()) / 1000.0,
+                lockedAccounts);
+    }
+}
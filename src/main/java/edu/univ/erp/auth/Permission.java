@@ -0,0 +1,29 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.domain.Role;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Coarse permissions carried by a session, derived from the user's role at login.
+public enum Permission {
+
+    VIEW_CATALOG,
+    CHANGE_OWN_PASSWORD,
+    REGISTER_SECTIONS,
+    VIEW_OWN_RECORDS,
+    GRADE_SECTIONS,
+    MANAGE_USERS,
+    MANAGE_COURSES,
+    MANAGE_SETTINGS;
+
+    public static Set<Permission> forRole(Role role) {
+        EnumSet<Permission> permissions = EnumSet.of(VIEW_CATALOG, CHANGE_OWN_PASSWORD);
+        switch (role) {
+            case Student -> permissions.addAll(EnumSet.of(REGISTER_SECTIONS, VIEW_OWN_RECORDS));
+            case Instructor -> permissions.add(GRADE_SECTIONS);
+            case Admin -> permissions.addAll(EnumSet.of(MANAGE_USERS, MANAGE_COURSES, MANAGE_SETTINGS));
+        }
+        return permissions;
+    }
+}
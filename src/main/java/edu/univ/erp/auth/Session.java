@@ -0,0 +1,67 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.domain.User;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Set;
+
+// One logged-in user behind a token. Immutable apart from the last-access time,
+// which SessionStore updates on lookup for idle expiry.
+public final class Session {
+
+    private final String token;
+    private final User user;
+    private final Set<Permission> permissions;
+    private final Instant createdAt;
+    private volatile long lastAccessMillis;
+    private volatile long lastPersistedMillis;
+
+    Session(String token, User user, Set<Permission> permissions, Instant createdAt, long lastAccessMillis) {
+        this.token = token;
+        this.user = user;
+        this.permissions = Collections.unmodifiableSet(permissions);
+        this.createdAt = createdAt;
+        this.lastAccessMillis = lastAccessMillis;
+        this.lastPersistedMillis = lastAccessMillis;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public User user() {
+        return user;
+    }
+
+    public Set<Permission> permissions() {
+        return permissions;
+    }
+
+    public boolean has(Permission permission) {
+        return permissions.contains(permission);
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public long lastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch(long nowMillis) {
+        // Skip the volatile write on hot sessions that were touched moments ago
+        if (nowMillis - lastAccessMillis > 1000) {
+            lastAccessMillis = nowMillis;
+        }
+    }
+
+    long lastPersistedMillis() {
+        return lastPersistedMillis;
+    }
+
+    void markPersisted(long nowMillis) {
+        lastPersistedMillis = nowMillis;
+    }
+}
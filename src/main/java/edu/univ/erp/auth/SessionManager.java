@@ -1,19 +1,38 @@
 package edu.univ.erp.auth;
 
+import edu.univ.erp.data.ConfigManager;
+import edu.univ.erp.data.DbManager;
 import edu.univ.erp.domain.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 
+// Tracks who the current user is. Every login gets a token-addressed Session in the shared SessionStore.
+// The desktop client has one process-wide current session; in server mode each request runs
+// with the session of its token (see callAs).
 public class SessionManager {
 
     private static final Logger log = LoggerFactory.getLogger(SessionManager.class);
     private static SessionManager instance;
 
-    private final AtomicReference<User> currentUser = new AtomicReference<>();
+    private final SessionStore store;
+    private final AtomicReference<Session> desktopSession = new AtomicReference<>();
+    private final ThreadLocal<AtomicReference<Session>> requestSession = new ThreadLocal<>();
 
     private SessionManager() {
+        ConfigManager config = ConfigManager.getInstance();
+        SessionPersistence persistence = config.isSessionPersistenceEnabled()
+                ? new JdbcSessionPersistence()
+                : SessionPersistence.NONE;
+        this.store = new SessionStore(config.getSessionIdleTimeout(), config.getMaxSessions(),
+                config.isSessionProfileCached(), persistence);
+        // Read-your-writes after replica routing is tracked per user
+        DbManager.identifyWritersBy(() -> {
+            User user = getCurrentUser();
+            return (user != null) ? user.userId() : "anonymous";
+        });
     }
 
     public static synchronized SessionManager getInstance() {
@@ -23,23 +42,54 @@ public class SessionManager {
         return instance;
     }
 
+    public SessionStore getStore() {
+        return store;
+    }
+
     public void startSession(User user) {
-        currentUser.set(user);
+        slot().set(store.create(user));
         log.info("Session started for user: {} (Role: {})", user.username(), user.role());
     }
 
     public void endSession() {
-        User user = currentUser.getAndSet(null);
-        if (user != null) {
-            log.info("Session ended for user: {}", user.username());
+        Session session = slot().getAndSet(null);
+        if (session != null) {
+            store.remove(session.token());
+            log.info("Session ended for user: {}", session.user().username());
         }
     }
 
+    public Session getCurrentSession() {
+        return slot().get();
+    }
+
     public User getCurrentUser() {
-        return currentUser.get();
+        Session session = slot().get();
+        return (session != null) ? session.user() : null;
     }
 
     public boolean isUserLoggedIn() {
-        return currentUser.get() != null;
+        return slot().get() != null;
+    }
+
+    // Runs the call with 'session' as the current session of this thread only (null for an anonymous call).
+    // Sessions started inside the call stay in that scope and do not touch the desktop session.
+    public <T> T callAs(Session session, Supplier<T> call) {
+        AtomicReference<Session> previous = requestSession.get();
+        requestSession.set(new AtomicReference<>(session));
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                requestSession.remove();
+            } else {
+                requestSession.set(previous);
+            }
+        }
+    }
+
+    private AtomicReference<Session> slot() {
+        AtomicReference<Session> scoped = requestSession.get();
+        return (scoped != null) ? scoped : desktopSession;
     }
-}
\ No newline at end of file
+}
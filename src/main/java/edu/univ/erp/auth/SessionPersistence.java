@@ -0,0 +1,32 @@
+package edu.univ.erp.auth;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// Backend that lets sessions outlive the process (e.g. an API server restart). SessionStore keeps the
+// live sessions in memory and only calls the backend on create, remove, cache misses, an occasional
+// last-access refresh and the expiry sweep.
+public interface SessionPersistence {
+
+    void save(Session session);
+
+    // Records that the session is still in use; called at most once per half idle timeout per session.
+    void touch(Session session);
+
+    void delete(String token);
+
+    // Restores a session that is not in memory, e.g. after a restart, unless it was last used before
+    // 'idleCutoff'. The session keeps its stored last-access time.
+    Optional<Session> load(String token, Instant idleCutoff);
+
+    void deleteIdleSince(Instant cutoff);
+
+    // Keeps sessions in memory only.
+    SessionPersistence NONE = new SessionPersistence() {
+        @Override public void save(Session session) {}
+        @Override public void touch(Session session) {}
+        @Override public void delete(String token) {}
+        @Override public Optional<Session> load(String token, Instant idleCutoff) { return Optional.empty(); }
+        @Override public void deleteIdleSince(Instant cutoff) {}
+    };
+}
@@ -0,0 +1,158 @@
+package edu.univ.erp.auth;
+
+import edu.univ.erp.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Concurrent token -> session map. Lookups are a ConcurrentHashMap read plus a relaxed last-access
+// update, so they never block. Sessions idle longer than the timeout are dropped on lookup and by a
+// background sweep; at maxSessions the least recently used session is evicted, which bounds memory.
+// Tokens the persistence did not know are remembered briefly, so repeating an unknown or forged
+// token does not cost a query per request.
+public class SessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStore.class);
+    private static final int TOKEN_BYTES = 32;
+    private static final long MISS_TTL_MILLIS = 5_000;
+    private static final int MAX_MISSES = 10_000;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> recentMisses = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Duration idleTimeout;
+    private final int maxSessions;
+    private final boolean cacheProfile;
+    private final SessionPersistence persistence;
+
+    // cacheProfile == false keeps only the identity (profile dropped) to save memory per session
+    public SessionStore(Duration idleTimeout, int maxSessions, boolean cacheProfile, SessionPersistence persistence) {
+        this.idleTimeout = idleTimeout;
+        this.maxSessions = maxSessions;
+        this.cacheProfile = cacheProfile;
+        this.persistence = persistence;
+
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, idleTimeout.toSeconds() / 4);
+        sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.SECONDS);
+    }
+
+    public Session create(User user) {
+        if (sessions.size() >= maxSessions) {
+            sweep();
+            if (sessions.size() >= maxSessions) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        User stored = cacheProfile ? user : new User(user.userId(), user.username(), user.role(), null);
+        long now = System.currentTimeMillis();
+        Session session = new Session(newToken(), stored, Permission.forRole(user.role()), Instant.ofEpochMilli(now), now);
+        sessions.put(session.token(), session);
+        persistence.save(session);
+        return session;
+    }
+
+    // Returns the live session for the token and marks it as used.
+    public Optional<Session> find(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        Session session = sessions.get(token);
+        if (session == null) {
+            session = restore(token, now);
+            if (session == null) {
+                return Optional.empty();
+            }
+        }
+        if (isExpired(session, now)) {
+            remove(token);
+            return Optional.empty();
+        }
+        session.touch(now);
+        if (now - session.lastPersistedMillis() > idleTimeout.toMillis() / 2) {
+            session.markPersisted(now);
+            persistence.touch(session);
+        }
+        return Optional.of(session);
+    }
+
+    public void remove(String token) {
+        if (sessions.remove(token) != null) {
+            log.debug("Session removed ({} active)", sessions.size());
+        }
+        persistence.delete(token);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    // Drops every session idle past the timeout
+    void sweep() {
+        long now = System.currentTimeMillis();
+        int before = sessions.size();
+        sessions.values().removeIf(session -> isExpired(session, now));
+        recentMisses.values().removeIf(missedAt -> now - missedAt > MISS_TTL_MILLIS);
+        int expired = before - sessions.size();
+        if (expired > 0) {
+            log.info("Expired {} idle sessions ({} active)", expired, sessions.size());
+        }
+        try {
+            persistence.deleteIdleSince(Instant.ofEpochMilli(now - idleTimeout.toMillis()));
+        } catch (RuntimeException e) {
+            log.error("Failed to expire persisted sessions", e);
+        }
+    }
+
+    private Session restore(String token, long now) {
+        Long missedAt = recentMisses.get(token);
+        if (missedAt != null && now - missedAt <= MISS_TTL_MILLIS) {
+            return null;
+        }
+        Optional<Session> restored = persistence.load(token, Instant.ofEpochMilli(now - idleTimeout.toMillis()));
+        if (restored.isEmpty()) {
+            if (recentMisses.size() >= MAX_MISSES) {
+                recentMisses.clear(); // a flood of random tokens; the bound matters more than the hit rate
+            }
+            recentMisses.put(token, now);
+            return null;
+        }
+        sessions.putIfAbsent(token, restored.get());
+        return sessions.get(token);
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return now - session.lastAccessMillis() > idleTimeout.toMillis();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        sessions.values().stream()
+                .min(Comparator.comparingLong(Session::lastAccessMillis))
+                .ifPresent(oldest -> {
+                    log.warn("Session store full ({}); evicting least recently used session of {}", maxSessions, oldest.user().username());
+                    remove(oldest.token());
+                });
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -1,59 +1,58 @@
 package edu.univ.erp.auth;
 
-import edu.univ.erp.data.DbManager;
+import edu.univ.erp.data.DataAccessException;
+import edu.univ.erp.data.JdbcExecutor;
+import edu.univ.erp.data.RowMapper;
+import edu.univ.erp.data.SqlStatement;
 import edu.univ.erp.domain.Role;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.sql.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class UserAuthRepository {
 
     private static final Logger log = LoggerFactory.getLogger(UserAuthRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.auth();
+
+    private static final RowMapper<UserAuthData> USER_AUTH = rs -> new UserAuthData(
+            rs.getInt(1), Role.valueOf(rs.getString(2)), rs.getString(3));
+
+    private static final SqlStatement FIND_BY_USERNAME = SqlStatement.of(
+            "SELECT user_id, role, password_hash FROM users_auth WHERE username = ?");
+    private static final SqlStatement INSERT = SqlStatement.of(
+            "INSERT INTO users_auth (username, password_hash, role, status) VALUES (?, ?, ?, 'Active')").returningGeneratedKeys();
+    private static final SqlStatement UPDATE_PASSWORD = SqlStatement.of("UPDATE users_auth SET password_hash = ? WHERE user_id = ?");
+    private static final SqlStatement REPLACE_PASSWORD = SqlStatement.of(
+            "UPDATE users_auth SET password_hash = ? WHERE user_id = ? AND password_hash = ?");
+    private static final SqlStatement DELETE = SqlStatement.of("DELETE FROM users_auth WHERE user_id = ?");
+    private static final SqlStatement UPDATE_LAST_LOGIN = SqlStatement.of(
+            "UPDATE users_auth SET last_login = ? WHERE user_id = ?");
 
     public Optional<UserAuthData> findUserAuthDataByUsername(String username) {
-        String sql = "SELECT user_id, role, password_hash FROM users_auth WHERE username = ?";
-        try (Connection conn = dbManager.getAuthConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    UserAuthData data = new UserAuthData(
-                            rs.getInt("user_id"),
-                            Role.valueOf(rs.getString("role")),
-                            rs.getString("password_hash")
-                    );
-                    return Optional.of(data);
-                }
-            }
-        } catch (SQLException | IllegalArgumentException e) {
+        try {
+            return jdbc.queryOne(FIND_BY_USERNAME, USER_AUTH, username);
+        } catch (DataAccessException | IllegalArgumentException e) {
             log.error("Error finding user auth data by username: {}", username, e);
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     public Optional<Integer> createUserAuth(String username, String hashedPassword, Role role) {
-        String sql = "INSERT INTO users_auth (username, password_hash, role, status) VALUES (?, ?, ?, 'Active')";
-        try (Connection conn = dbManager.getAuthConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, username);
-            pstmt.setString(2, hashedPassword);
-            pstmt.setString(3, role.name());
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int newUserId = generatedKeys.getInt(1);
-                        log.info("Created user auth record for username '{}' with user_id {}", username, newUserId);
-                        return Optional.of(newUserId);
-                    }
-                }
+        try {
+            Optional<Integer> newUserId = jdbc.insert(INSERT, username, hashedPassword, role.name());
+            if (newUserId.isPresent()) {
+                log.info("Created user auth record for username '{}' with user_id {}", username, newUserId.get());
+            } else {
+                log.warn("User auth creation failed for username '{}'", username);
             }
-            log.warn("User auth creation failed for username '{}'", username);
-            return Optional.empty();
-        } catch (SQLException e) {
-            if (e.getSQLState().startsWith("23")) {
+            return newUserId;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) {
                 log.warn("Username '{}' already exists.", username);
             } else {
                 log.error("SQL error creating user auth for username '{}'", username, e);
@@ -63,54 +62,49 @@ public class UserAuthRepository {
     }
 
     public boolean updatePasswordHash(int userId, String newHashedPassword) {
-        String sql = "UPDATE users_auth SET password_hash = ? WHERE user_id = ?";
         log.debug("Attempting to update password hash for user_id {}", userId);
-        try (Connection conn = dbManager.getAuthConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, newHashedPassword);
-            pstmt.setInt(2, userId);
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(UPDATE_PASSWORD, newHashedPassword, userId) > 0) {
                 log.info("Successfully updated password hash for user_id {}", userId);
                 return true;
-            } else {
-                log.warn("Password hash update failed for user_id {}: User not found?", userId);
-                return false;
             }
-        } catch (SQLException e) {
+            log.warn("Password hash update failed for user_id {}: User not found?", userId);
+            return false;
+        } catch (DataAccessException e) {
             log.error("SQL error updating password hash for user_id {}", userId, e);
             return false;
         }
     }
 
+    // Swaps the hash only if it is still 'currentHash', so a password changed in between is kept
+    public boolean replacePasswordHash(int userId, String currentHash, String newHashedPassword) {
+        try {
+            return jdbc.update(REPLACE_PASSWORD, newHashedPassword, userId, currentHash) > 0;
+        } catch (DataAccessException e) {
+            log.error("SQL error replacing password hash for user_id {}", userId, e);
+            return false;
+        }
+    }
+
     public boolean deleteUserAuthById(int userId) {
-        String sql = "DELETE FROM users_auth WHERE user_id = ?";
         log.warn("Attempting to roll back auth record creation for user_id {}", userId);
-        try (Connection conn = dbManager.getAuthConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(DELETE, userId) > 0) {
                 log.info("Successfully rolled back (deleted) auth record for user_id {}", userId);
                 return true;
-            } else {
-                log.error("Rollback of auth record failed for user_id {}: Record not found?", userId);
-                return false;
             }
-        } catch (SQLException e) {
+            log.error("Rollback of auth record failed for user_id {}: Record not found?", userId);
+            return false;
+        } catch (DataAccessException e) {
             log.error("SQL error during auth record rollback for user_id {}", userId, e);
             return false;
         }
     }
 
-    public void updateLastLogin(int userId) {
-        String sql = "UPDATE users_auth SET last_login = CURRENT_TIMESTAMP WHERE user_id = ?";
-        try (Connection conn = dbManager.getAuthConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            log.error("SQL error updating last_login for user_id {}", userId, e);
-        }
+    // One JDBC batch for many users; throws so the caller can keep the logins for a retry
+    public void updateLastLogins(Map<Integer, Instant> loginTimes) {
+        List<Object[]> rows = new ArrayList<>(loginTimes.size());
+        loginTimes.forEach((userId, at) -> rows.add(new Object[]{Timestamp.from(at), userId}));
+        jdbc.batch(UPDATE_LAST_LOGIN, rows);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.AuditAction;
+import edu.univ.erp.domain.AuditEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditRepository.class);
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+
+    private static final SqlStatement INSERT = SqlStatement.of(
+            "INSERT INTO audit_log (occurred_at, actor_id, actor_name, action, target, details) VALUES (?, ?, ?, ?, ?, ?)");
+    // Null filters match everything; newest first
+    private static final SqlStatement FIND = SqlStatement.of(
+            "SELECT audit_id, occurred_at, actor_id, actor_name, action, target, details FROM audit_log " +
+            "WHERE occurred_at >= ? AND occurred_at < ? AND (? IS NULL OR actor_id = ?) AND (? IS NULL OR action = ?) " +
+            "ORDER BY occurred_at DESC, audit_id DESC LIMIT ?");
+
+    private static final RowMapper<AuditEvent> AUDIT_EVENT = rs -> new AuditEvent(
+            rs.getLong(1), rs.getTimestamp(2).toInstant(), RowMapper.getInteger(rs, 3), rs.getString(4),
+            AuditAction.valueOf(rs.getString(5)), rs.getString(6), rs.getString(7));
+
+    // Writes all events in one batch; DataAccessException propagates so the writer can retry
+    public void insertBatch(List<AuditEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            rows.add(new Object[]{Timestamp.from(event.occurredAt()), event.actorId(), event.actorName(),
+                    event.action().name(), event.target(), event.details()});
+        }
+        jdbc.batch(INSERT, rows);
+    }
+
+    public List<AuditEvent> find(Instant from, Instant to, Integer actorId, AuditAction action, int limit) {
+        String actionName = (action != null) ? action.name() : null;
+        try {
+            return jdbc.query(FIND, AUDIT_EVENT, Timestamp.from(from), Timestamp.from(to),
+                    actorId, actorId, actionName, actionName, limit);
+        } catch (DataAccessException e) {
+            log.error("SQL error querying audit log", e);
+            return new ArrayList<>();
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.time.Duration;
+import java.util.Optional;
 
 public class ConfigManager {
 
@@ -59,6 +61,164 @@ public class ConfigManager {
         return config.getString("db.password");
     }
 
+    // Connection pool sizing (client or server); 'fallback' applies when db.pool_profile is not set
+    public PoolProfile getPoolProfile(PoolProfile fallback) {
+        if (!config.hasPath("db.pool_profile")) {
+            return fallback;
+        }
+        return PoolProfile.valueOf(config.getString("db.pool_profile").trim().toUpperCase());
+    }
+
+    // Optional read replica of erp_db; read-only repository methods are routed to it (see ReplicaRouter)
+    public Optional<String> getReplicaHost() {
+        return config.hasPath("db.replica.host") ? Optional.of(config.getString("db.replica.host")) : Optional.empty();
+    }
+
+    public String getReplicaPort() {
+        return config.hasPath("db.replica.port") ? config.getString("db.replica.port") : getDbPort();
+    }
+
+    public Duration getReplicaMaxLag() {
+        return config.hasPath("db.replica.max_lag") ? config.getDuration("db.replica.max_lag") : Duration.ofSeconds(2);
+    }
+
+    public Duration getReplicaStickyWindow() {
+        return config.hasPath("db.replica.sticky_window") ? config.getDuration("db.replica.sticky_window") : Duration.ofSeconds(5);
+    }
+
+    public Duration getReplicaLagCheckInterval() {
+        return config.hasPath("db.replica.lag_check_interval") ? config.getDuration("db.replica.lag_check_interval") : Duration.ofSeconds(1);
+    }
+
+    // How often each node polls data_versions to evict caches (bounds cross-node staleness). Desktop
+    // clients poll well past the CLIENT pool's idle timeout, so the poll does not keep a connection open.
+    public Duration getInvalidationPollInterval(PoolProfile profile) {
+        if (profile == PoolProfile.CLIENT) {
+            return config.hasPath("cache.client_poll_interval")
+                    ? config.getDuration("cache.client_poll_interval") : Duration.ofSeconds(30);
+        }
+        return config.hasPath("cache.poll_interval") ? config.getDuration("cache.poll_interval") : Duration.ofSeconds(2);
+    }
+
+    // How often the seat feed polls for enrollment changes to push to open catalogs (see SeatFeed)
+    public Duration getSeatPollInterval() {
+        return config.hasPath("catalog.seat_poll_interval") ? config.getDuration("catalog.seat_poll_interval") : Duration.ofSeconds(2);
+    }
+
+    // Login throttling (see LoginThrottle) and password verification threads (see PasswordVerifier)
+    public int getLoginUserBurst() {
+        return config.hasPath("login.user_burst") ? config.getInt("login.user_burst") : 5;
+    }
+
+    public Duration getLoginUserRefill() {
+        return config.hasPath("login.user_refill") ? config.getDuration("login.user_refill") : Duration.ofSeconds(20);
+    }
+
+    public int getLoginSourceBurst() {
+        return config.hasPath("login.source_burst") ? config.getInt("login.source_burst") : 30;
+    }
+
+    public Duration getLoginSourceRefill() {
+        return config.hasPath("login.source_refill") ? config.getDuration("login.source_refill") : Duration.ofSeconds(1);
+    }
+
+    public int getLoginMaxFailures() {
+        return config.hasPath("login.max_failures") ? config.getInt("login.max_failures") : 5;
+    }
+
+    public Duration getLoginLockout() {
+        return config.hasPath("login.lockout") ? config.getDuration("login.lockout") : Duration.ofMinutes(5);
+    }
+
+    public int getLoginVerifyThreads() {
+        return config.hasPath("login.verify_threads") ? config.getInt("login.verify_threads")
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    // BCrypt cost (log2 of the rounds) for new hashes; older hashes are upgraded on the next login
+    public int getBcryptCost() {
+        int cost = config.hasPath("login.bcrypt_cost") ? config.getInt("login.bcrypt_cost") : 10;
+        return Math.max(4, Math.min(31, cost));
+    }
+
+    public Duration getLastLoginFlushInterval() {
+        return config.hasPath("login.last_login_flush_interval") ? config.getDuration("login.last_login_flush_interval") : Duration.ofSeconds(5);
+    }
+
+    public int getLoginVerifyQueueSize() {
+        return config.hasPath("login.verify_queue") ? config.getInt("login.verify_queue") : 64;
+    }
+
+    // Audit trail buffering (see AuditLog)
+    public int getAuditBufferSize() {
+        return config.hasPath("audit.buffer_size") ? config.getInt("audit.buffer_size") : 8192;
+    }
+
+    public int getAuditBatchSize() {
+        return config.hasPath("audit.batch_size") ? config.getInt("audit.batch_size") : 500;
+    }
+
+    public Duration getAuditFlushInterval() {
+        return config.hasPath("audit.flush_interval") ? config.getDuration("audit.flush_interval") : Duration.ofMillis(500);
+    }
+
+    // Admission control of registration and drop requests (see AdmissionController)
+    public int getRegistrationMaxRunning(int fallback) {
+        return config.hasPath("registration.max_running") ? config.getInt("registration.max_running") : fallback;
+    }
+
+    public int getRegistrationQueueSize() {
+        return config.hasPath("registration.queue_size") ? config.getInt("registration.queue_size") : 500;
+    }
+
+    public Duration getRegistrationMaxWait() {
+        return config.hasPath("registration.max_wait") ? config.getDuration("registration.max_wait") : Duration.ofSeconds(10);
+    }
+
+    // Per-operation statement recording (see QueryRecorder)
+    public boolean isQueryRecorderEnabled() {
+        return config.hasPath("diagnostics.record_queries") && config.getBoolean("diagnostics.record_queries");
+    }
+
+    public int getQueryRecorderMaxStatements() {
+        return config.hasPath("diagnostics.max_statements") ? config.getInt("diagnostics.max_statements") : 20;
+    }
+
+    public int getQueryRecorderRepeatThreshold() {
+        return config.hasPath("diagnostics.repeat_threshold") ? config.getInt("diagnostics.repeat_threshold") : 5;
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return config.hasPath("diagnostics.slow_query") ? config.getDuration("diagnostics.slow_query") : Duration.ofMillis(200);
+    }
+
+    // Port of the headless API server (server mode)
+    public int getServerPort() {
+        return config.hasPath("server.port") ? config.getInt("server.port") : 8085;
+    }
+
+    // Base URL of the API server; when set, the desktop client talks to it instead of the database
+    public Optional<String> getServerUrl() {
+        return config.hasPath("client.server_url") ? Optional.of(config.getString("client.server_url")) : Optional.empty();
+    }
+
+    // Session store settings (see SessionStore)
+    public Duration getSessionIdleTimeout() {
+        return config.hasPath("sessions.idle_timeout") ? config.getDuration("sessions.idle_timeout") : Duration.ofMinutes(30);
+    }
+
+    public int getMaxSessions() {
+        return config.hasPath("sessions.max_sessions") ? config.getInt("sessions.max_sessions") : 50_000;
+    }
+
+    public boolean isSessionProfileCached() {
+        return !config.hasPath("sessions.cache_profile") || config.getBoolean("sessions.cache_profile");
+    }
+
+    public boolean isSessionPersistenceEnabled() {
+        return config.hasPath("sessions.persist") && config.getBoolean("sessions.persist");
+    }
+
     public String getMySqlBinDirectory() {
         // Return path
         String path = config.getString("mysql_paths.bin_directory");
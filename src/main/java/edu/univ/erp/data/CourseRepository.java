@@ -1,65 +1,61 @@
 package edu.univ.erp.data;
 
+import edu.univ.erp.api.types.CourseListSort;
+import edu.univ.erp.api.types.RowPage;
 import edu.univ.erp.domain.Course;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class CourseRepository {
 
     private static final Logger log = LoggerFactory.getLogger(CourseRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+    // Catalog/gradebook/transcript reads; may be served by the read replica
+    private final JdbcExecutor replica = JdbcExecutor.erpReadOnly();
 
-    public Optional<Course> findById(int courseId) {
-        String sql = "SELECT course_id, code, title, credits FROM courses WHERE course_id = ?";
+    private static final String COLUMNS = "course_id, code, title, credits";
+    private static final RowMapper<Course> COURSE = rs -> new Course(
+            rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(4));
 
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    private static final SqlStatement FIND_BY_ID = SqlStatement.of("SELECT " + COLUMNS + " FROM courses WHERE course_id = ?");
+    private static final SqlStatement FIND_ALL = SqlStatement.of("SELECT " + COLUMNS + " FROM courses ORDER BY code");
+    private static final SqlStatement INSERT = SqlStatement.of("INSERT INTO courses (code, title, credits) VALUES (?, ?, ?)");
+    private static final SqlStatement UPDATE = SqlStatement.of("UPDATE courses SET title = ?, credits = ? WHERE course_id = ?");
+    // Admin course list, filtered by code or title
+    private static final PagedQuery<CourseListSort, Course> LIST = new PagedQuery<>(CourseListSort.class,
+            COLUMNS, 4, "FROM courses WHERE (? IS NULL OR code LIKE ? OR title LIKE ?)",
+            Map.of(CourseListSort.CODE, "code",
+                    CourseListSort.TITLE, "title",
+                    CourseListSort.CREDITS, "credits"),
+            "course_id", COURSE);
 
-            pstmt.setInt(1, courseId);
+    // Per-course cache for the catalog and section lookups; evicted on any course change on any node
+    private static final VersionedCache<Integer, Optional<Course>> CACHE = new VersionedCache<>("courses");
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Course course = new Course(
-                            rs.getInt("course_id"),
-                            rs.getString("code"),
-                            rs.getString("title"),
-                            rs.getInt("credits")
-                    );
-                    return Optional.of(course);
-                }
-            }
-        } catch (SQLException e) {
+    public Optional<Course> findById(int courseId) {
+        try {
+            return CACHE.get(courseId, id -> jdbc.queryOne(FIND_BY_ID, COURSE, id));
+        } catch (DataAccessException e) {
             log.error("SQL error while finding course by id: {}", courseId, e);
+            return Optional.empty();
         }
-
-        return Optional.empty();
     }
 
     public boolean createCourse(String code, String title, int credits) {
-        String sql = "INSERT INTO courses (code, title, credits) VALUES (?, ?, ?)";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, code);
-            pstmt.setString(2, title);
-            pstmt.setInt(3, credits);
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(INSERT, code, title, credits) > 0) {
                 log.info("Created course: {} - {}", code, title);
                 return true;
-            } else {
-                log.warn("Course creation failed for code {}", code);
-                return false;
             }
-        } catch (SQLException e) {
-            if (e.getSQLState().startsWith("23")) { // Handle UNIQUE code violation
+            log.warn("Course creation failed for code {}", code);
+            return false;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) { // Handle UNIQUE code violation
                 log.warn("Course creation failed for code {}: Code already exists.", code);
             } else {
                 log.error("SQL error creating course {}", code, e);
@@ -69,35 +65,21 @@ public class CourseRepository {
     }
 
     public List<Course> findAll() {
-        List<Course> courses = new ArrayList<>();
-        String sql = "SELECT course_id, code, title, credits FROM courses ORDER BY code";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                courses.add(new Course(
-                        rs.getInt("course_id"), rs.getString("code"),
-                        rs.getString("title"), rs.getInt("credits")
-                ));
-            }
-        } catch (SQLException e) {
+        try {
+            return replica.query(FIND_ALL, COURSE);
+        } catch (DataAccessException e) {
             log.error("SQL error finding all courses", e);
+            return new ArrayList<>();
         }
-        return courses;
     }
 
-    public boolean updateCourse(int courseId, String newTitle, int newCredits) {
-        String sql = "UPDATE courses SET title = ?, credits = ? WHERE course_id = ?";
-        try (Connection con = dbManager.getErpConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-
-            ps.setString(1, newTitle);
-            ps.setInt(2, newCredits);
-            ps.setInt(3, courseId);
+    // One page of the courses for the admin list; 'filter' (may be null) matches anywhere in the code or title
+    public RowPage<Course> findListPage(String filter, CourseListSort sort, boolean ascending, int offset, int limit) {
+        String pattern = PagedQuery.containing(filter);
+        return LIST.page(replica, sort, ascending, offset, limit, pattern, pattern, pattern);
+    }
 
-            return ps.executeUpdate() == 1;
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to update course with ID " + courseId, e);
-        }
+    public boolean updateCourse(int courseId, String newTitle, int newCredits) {
+        return jdbc.update(UPDATE, newTitle, newCredits, courseId) == 1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package edu.univ.erp.data;
+
+import java.sql.SQLException;
+
+// Unchecked wrapper for every SQLException raised through JdbcExecutor.
+public class DataAccessException extends RuntimeException {
+
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    // A failure without an SQLException of its own, e.g. a unit of work rolled back by an earlier one
+    public DataAccessException(String message) {
+        super(message);
+    }
+
+    public String getSqlState() {
+        return getCause() instanceof SQLException e ? e.getSQLState() : null;
+    }
+
+    // Unique key, foreign key or NOT NULL violation (SQLState class 23)
+    public boolean isConstraintViolation() {
+        String state = getSqlState();
+        return state != null && state.startsWith("23");
+    }
+}
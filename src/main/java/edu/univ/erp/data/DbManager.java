@@ -2,57 +2,66 @@ package edu.univ.erp.data;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import edu.univ.erp.api.types.PoolStatsRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+// Owns the auth_db and erp_db connection pools. Each pool is created on its first connection request,
+// sized by the active PoolProfile (client by default, see db.pool_profile). When db.replica is
+// configured, read-only statements may be served by an erp_db replica (see ReplicaRouter).
 public class DbManager {
 
     private static final Logger log = LoggerFactory.getLogger(DbManager.class);
 
     private static DbManager instance;
-    private final HikariDataSource authDataSource;
-    private final HikariDataSource erpDataSource;
+    private static PoolProfile defaultProfile = PoolProfile.CLIENT;
+    private static volatile Supplier<Object> writerIdentity = () -> "process";
+
+    private final PoolProfile profile;
+    private final String jdbcUrlBase;
+    private final String dbUser;
+    private final String dbPassword;
+    private volatile HikariDataSource authDataSource;
+    private volatile HikariDataSource erpDataSource;
+    private final String replicaUrl;
+    private final ReplicaRouter replicaRouter;
+    private volatile HikariDataSource replicaDataSource;
+    private ScheduledExecutorService lagMonitor;
+    private final TransactionManager transactionManager = TransactionManager.getInstance();
+    private final QueryRecorder recorder = QueryRecorder.getInstance();
 
     private DbManager() {
 
         // 1. Get the loaded configuration
         ConfigManager configManager = ConfigManager.getInstance();
-        String dbHost = configManager.getDbHost();
-        String dbPort = configManager.getDbPort();
-        String dbUser = configManager.getDbUser();
-        String dbPassword = configManager.getDbPassword();
-
-        String jdbcUrlBase = "jdbc:mysql://" + dbHost + ":" + dbPort + "/";
-
-        log.info("Configuring Auth database connection pool (auth_db)...");
-        HikariConfig authConfig = new HikariConfig();
-        authConfig.setJdbcUrl(jdbcUrlBase + "auth_db");
-        authConfig.setUsername(dbUser);
-        authConfig.setPassword(dbPassword);
-        authConfig.setPoolName("AuthPool");
-        authConfig.setMaximumPoolSize(10);
-        authConfig.setMinimumIdle(2);
-        authConfig.addDataSourceProperty("cachePrepStmts", "true");
-
-        this.authDataSource = new HikariDataSource(authConfig);
-        log.info("AuthPool successfully initialized.");
-
-        log.info("Configuring ERP database connection pool (erp_db)...");
-        HikariConfig erpConfig = new HikariConfig();
-        erpConfig.setJdbcUrl(jdbcUrlBase + "erp_db");
-        erpConfig.setUsername(dbUser);
-        erpConfig.setPassword(dbPassword);
-        erpConfig.setPoolName("ErpPool");
-        erpConfig.setMaximumPoolSize(20);
-        erpConfig.setMinimumIdle(5);
-        erpConfig.addDataSourceProperty("cachePrepStmts", "true");
-
-        this.erpDataSource = new HikariDataSource(erpConfig);
-        log.info("ErpPool successfully initialized.");
+        this.profile = configManager.getPoolProfile(defaultProfile);
+        this.jdbcUrlBase = "jdbc:mysql://" + configManager.getDbHost() + ":" + configManager.getDbPort() + "/";
+        this.dbUser = configManager.getDbUser();
+        this.dbPassword = configManager.getDbPassword();
+        this.replicaUrl = configManager.getReplicaHost()
+                .map(host -> "jdbc:mysql://" + host + ":" + configManager.getReplicaPort() + "/erp_db")
+                .orElse(null);
+        this.replicaRouter = (replicaUrl == null) ? null : new ReplicaRouter(
+                configManager.getReplicaMaxLag(), configManager.getReplicaStickyWindow(), () -> writerIdentity.get());
+        log.info("Database pools use the {} profile; each pool starts on first use.", profile);
+        if (replicaUrl != null) {
+            log.info("Read replica configured at {}", replicaUrl);
+        }
     }
+
     public static synchronized DbManager getInstance() {
         if (instance == null) {
             instance = new DbManager();
@@ -60,23 +69,231 @@ public class DbManager {
         return instance;
     }
 
+    // Profile used when db.pool_profile is not set; server mode switches to SERVER before any pool starts
+    public static synchronized void setDefaultProfile(PoolProfile profile) {
+        if (instance != null) {
+            log.warn("Pool profile {} requested after DbManager started with {}; ignored.", profile, instance.profile);
+            return;
+        }
+        defaultProfile = profile;
+    }
+
+    // Largest ErpPool of the active profile, without starting anything; the API layer caps concurrent calls at it
+    public static int erpPoolSize() {
+        return activeProfile().erpMaxSize();
+    }
+
+    // Profile the pools use (or will use once started), without starting anything
+    public static PoolProfile activeProfile() {
+        return ConfigManager.getInstance().getPoolProfile(currentDefaultProfile());
+    }
+
+    // Who the read-your-writes window belongs to; SessionManager sets it to the current user
+    public static void identifyWritersBy(Supplier<Object> identity) {
+        writerIdentity = identity;
+    }
+
+    public PoolProfile getProfile() {
+        return profile;
+    }
+
+    // Inside a TransactionManager unit of work these return the connection bound to that unit.
     public Connection getAuthConnection() throws SQLException {
-        return authDataSource.getConnection();
+        return transactionManager.connectionFor("auth_db", () -> recorder.wrap(authPool().getConnection()));
     }
 
     public Connection getErpConnection() throws SQLException {
-        return erpDataSource.getConnection();
+        return transactionManager.connectionFor("erp_db", () -> recorder.wrap(erpPool().getConnection()));
+    }
+
+    // For read-only statements: the replica when the router allows it, otherwise the primary.
+    // Inside a unit of work reads always join the unit's primary connection.
+    public Connection getErpReadConnection() throws SQLException {
+        if (replicaRouter == null || transactionManager.isActive()) {
+            return getErpConnection();
+        }
+        HikariDataSource replica = replicaPool();
+        if (!replicaRouter.useReplica(System.currentTimeMillis())) {
+            return getErpConnection();
+        }
+        try {
+            return recorder.wrap(replica.getConnection());
+        } catch (SQLException e) {
+            log.warn("Replica connection failed, reading from the primary: {}", e.getMessage());
+            replicaRouter.markUnavailable("Replica connection failed");
+            return getErpConnection();
+        }
     }
 
-    public void close() {
+    // Called after every erp_db write so the writer's following reads stay on the primary
+    public void recordErpWrite() {
+        if (replicaRouter != null) {
+            replicaRouter.recordWrite(System.currentTimeMillis());
+        }
+    }
+
+    // Null when no replica is configured
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    // Connection counts of this process's pools; a pool that has not started yet holds none
+    public List<PoolStatsRow> getPoolStats() {
+        List<PoolStatsRow> rows = new ArrayList<>();
+        rows.add(stats("AuthPool", authDataSource, profile.authMaxSize()));
+        rows.add(stats("ErpPool", erpDataSource, profile.erpMaxSize()));
+        if (replicaUrl != null) {
+            rows.add(stats("ReplicaPool", replicaDataSource, profile.erpMaxSize()));
+        }
+        return rows;
+    }
+
+    public synchronized void close() {
         log.info("Closing database connection pools...");
         if (authDataSource != null) {
             authDataSource.close();
+            authDataSource = null;
             log.info("AuthPool closed.");
         }
         if (erpDataSource != null) {
             erpDataSource.close();
+            erpDataSource = null;
             log.info("ErpPool closed.");
         }
+        if (lagMonitor != null) {
+            lagMonitor.shutdownNow();
+            lagMonitor = null;
+        }
+        if (replicaDataSource != null) {
+            replicaDataSource.close();
+            replicaDataSource = null;
+            log.info("ReplicaPool closed.");
+        }
+    }
+
+    private HikariDataSource authPool() {
+        HikariDataSource pool = authDataSource;
+        if (pool == null) {
+            synchronized (this) {
+                if (authDataSource == null) {
+                    authDataSource = createPool("AuthPool", jdbcUrlBase + "auth_db", profile.authMaxSize(), profile.authMinIdle(), false);
+                }
+                pool = authDataSource;
+            }
+        }
+        return pool;
+    }
+
+    private HikariDataSource erpPool() {
+        HikariDataSource pool = erpDataSource;
+        if (pool == null) {
+            synchronized (this) {
+                if (erpDataSource == null) {
+                    erpDataSource = createPool("ErpPool", jdbcUrlBase + "erp_db", profile.erpMaxSize(), profile.erpMinIdle(), false);
+                }
+                pool = erpDataSource;
+            }
+        }
+        return pool;
+    }
+
+    // The replica pool and its lag monitor start with the first routed read
+    private HikariDataSource replicaPool() {
+        HikariDataSource pool = replicaDataSource;
+        if (pool == null) {
+            synchronized (this) {
+                if (replicaDataSource == null) {
+                    replicaDataSource = createPool("ReplicaPool", replicaUrl, profile.erpMaxSize(), profile.erpMinIdle(), true);
+                    startLagMonitor();
+                }
+                pool = replicaDataSource;
+            }
+        }
+        return pool;
+    }
+
+    private void startLagMonitor() {
+        long interval = Math.max(100, ConfigManager.getInstance().getReplicaLagCheckInterval().toMillis());
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        lagMonitor.scheduleWithFixedDelay(this::checkReplicaLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkReplicaLag() {
+        HikariDataSource replica = replicaDataSource;
+        if (replica == null) {
+            return;
+        }
+        boolean wasHealthy = replicaRouter.isReplicaHealthy();
+        try (Connection conn = replica.getConnection()) {
+            replicaRouter.updateLag(readReplicaLag(conn));
+        } catch (SQLException e) {
+            replicaRouter.markUnavailable("Replica unreachable");
+        } catch (RuntimeException e) {
+            log.error("Replica lag check failed", e);
+            replicaRouter.markUnavailable("Replica lag check failed");
+        }
+        replicaRouter.purgeExpired(System.currentTimeMillis());
+        if (wasHealthy != replicaRouter.isReplicaHealthy()) {
+            if (wasHealthy) {
+                log.warn("Reads moved to the primary: {}", replicaRouter.getUnavailableReason());
+            } else {
+                log.info("Replica back in sync ({} ms behind); routing reads to it again.", replicaRouter.getLagMillis());
+            }
+        }
+    }
+
+    // Seconds_Behind_Source (MySQL 8.0.22+, Seconds_Behind_Master before); empty when not replicating
+    private static OptionalLong readReplicaLag(Connection conn) throws SQLException {
+        try {
+            return readLag(conn, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+        } catch (SQLException e) {
+            return readLag(conn, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+        }
+    }
+
+    private static OptionalLong readLag(Connection conn, String sql, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return OptionalLong.empty();
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? OptionalLong.empty() : OptionalLong.of(lag);
+        }
+    }
+
+    private HikariDataSource createPool(String poolName, String jdbcUrl, int maxSize, int minIdle, boolean readOnly) {
+        log.info("Configuring {} connection pool ({}), max {} connections...", poolName, jdbcUrl, maxSize);
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(dbUser);
+        config.setPassword(dbPassword);
+        config.setPoolName(poolName);
+        config.setMaximumPoolSize(maxSize);
+        config.setMinimumIdle(minIdle);
+        config.setIdleTimeout(profile.idleTimeout().toMillis());
+        config.setReadOnly(readOnly);
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        log.info("{} successfully initialized.", poolName);
+        return dataSource;
+    }
+
+    private static PoolStatsRow stats(String poolName, HikariDataSource dataSource, int maxSize) {
+        HikariPoolMXBean pool = (dataSource != null) ? dataSource.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return new PoolStatsRow(poolName, false, 0, 0, 0, 0, maxSize);
+        }
+        return new PoolStatsRow(poolName, true, pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), pool.getThreadsAwaitingConnection(), maxSize);
+    }
+
+    private static synchronized PoolProfile currentDefaultProfile() {
+        return (instance != null) ? instance.profile : defaultProfile;
     }
-}
\ No newline at end of file
+}
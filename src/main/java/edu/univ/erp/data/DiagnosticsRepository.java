@@ -0,0 +1,33 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.api.types.ConnectionUsageRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+// Read-only views of the MySQL server state used by the admin diagnostics panel.
+public class DiagnosticsRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticsRepository.class);
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+
+    // Connections to the ERP databases grouped by client host (port stripped); 'Sleep' threads are idle pool connections.
+    // Without the PROCESS privilege MySQL only lists the connections of the configured user.
+    private static final SqlStatement CONNECTIONS_BY_CLIENT = SqlStatement.of(
+            "SELECT SUBSTRING_INDEX(HOST, ':', 1) AS client_host, DB, COUNT(*), SUM(COMMAND = 'Sleep') " +
+            "FROM information_schema.PROCESSLIST WHERE DB IN ('auth_db', 'erp_db') " +
+            "GROUP BY client_host, DB ORDER BY COUNT(*) DESC, client_host, DB");
+
+    private static final RowMapper<ConnectionUsageRow> CONNECTION_USAGE = rs -> new ConnectionUsageRow(
+            rs.getString(1), rs.getString(2), rs.getInt(3), rs.getInt(4));
+
+    public List<ConnectionUsageRow> getConnectionsByClient() {
+        try {
+            return jdbc.query(CONNECTIONS_BY_CLIENT, CONNECTION_USAGE);
+        } catch (DataAccessException e) {
+            log.error("SQL error reading server connections per client", e);
+            return List.of();
+        }
+    }
+}
@@ -1,13 +1,10 @@
 package edu.univ.erp.data;
 
 import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.domain.RegistrationEligibility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -16,42 +13,74 @@ import java.util.Optional;
 public class EnrollmentRepository {
 
     private static final Logger log = LoggerFactory.getLogger(EnrollmentRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+    // Catalog/gradebook/transcript reads; may be served by the read replica
+    private final JdbcExecutor replica = JdbcExecutor.erpReadOnly();
+    private final TransactionManager txManager = TransactionManager.getInstance();
+
+    private static final String COLUMNS = "enrollment_id, student_id, section_id, status";
+    private static final RowMapper<Enrollment> ENROLLMENT = rs -> new Enrollment(
+            rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getString(4));
+
+    private static final SqlStatement EXISTS = SqlStatement.of(
+            "SELECT 1 FROM enrollments WHERE student_id = ? AND section_id = ? LIMIT 1");
+    private static final SqlStatement INSERT = SqlStatement.of(
+            "INSERT INTO enrollments (student_id, section_id, status) VALUES (?, ?, ?)");
+    private static final SqlStatement FIND_BY_STUDENT = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM enrollments WHERE student_id = ?");
+    private static final SqlStatement DELETE = SqlStatement.of("DELETE FROM enrollments WHERE enrollment_id = ?");
+    private static final SqlStatement FIND_BY_SECTION = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM enrollments WHERE section_id = ?");
+    private static final SqlStatement FIND_BY_ID = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM enrollments WHERE enrollment_id = ?");
+
+    // Locks the section row, so registrations for one section check its capacity one at a time
+    private static final SqlStatement ELIGIBILITY = SqlStatement.of(
+            "SELECT s.section_id, s.course_id, s.capacity, " +
+            "s.enrolled_count, " +
+            "EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = ? AND e.section_id = s.section_id), " +
+            "EXISTS (SELECT 1 FROM enrollments e JOIN sections o ON o.section_id = e.section_id " +
+            "WHERE e.student_id = ? AND e.status = 'Enrolled' AND o.course_id = s.course_id " +
+            "AND o.semester = ? AND o.year = ?) " +
+            "FROM sections s WHERE s.section_id = ? FOR UPDATE");
+    private static final RowMapper<RegistrationEligibility> ELIGIBILITY_ROW = rs -> new RegistrationEligibility(
+            rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getBoolean(5), rs.getBoolean(6));
+
+    // Registration checks for a student and section in one round trip; empty if the section does not exist.
+    // Throws DataAccessException so a failed check is not mistaken for a missing section.
+    public Optional<RegistrationEligibility> findRegistrationEligibility(int studentId, int sectionId,
+                                                                         String semester, int year) {
+        return jdbc.queryOne(ELIGIBILITY, ELIGIBILITY_ROW, studentId, studentId, semester, year, sectionId);
+    }
 
     // Checks if an enrollment already exists for a given student and section.
     public boolean exists(int studentId, int sectionId) {
-        String sql = "SELECT 1 FROM enrollments WHERE student_id = ? AND section_id = ? LIMIT 1";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, studentId);
-            pstmt.setInt(2, sectionId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next();
-            }
-        } catch (SQLException e) {
+        try {
+            return jdbc.queryOne(EXISTS, rs -> true, studentId, sectionId).isPresent();
+        } catch (DataAccessException e) {
             log.error("SQL error checking enrollment existence for student {} in section {}", studentId, sectionId, e);
             return false;
         }
     }
 
-    // Creates a new enrollment record.
+    // Creates a new enrollment record and takes a seat of the section in the same transaction.
     public boolean create(int studentId, int sectionId) {
-        String sql = "INSERT INTO enrollments (student_id, section_id, status) VALUES (?, ?, ?)";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, studentId);
-            pstmt.setInt(2, sectionId);
-            pstmt.setString(3, "Enrolled");
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                log.info("Created new enrollment for student {} in section {}", studentId, sectionId);
+        try {
+            boolean created = txManager.execute(() -> {
+                if (jdbc.update(INSERT, studentId, sectionId, "Enrolled") == 0) {
+                    return false;
+                }
+                jdbc.update(SectionRepository.TAKE_SEAT, sectionId);
+                return true;
+            });
+            if (created) {
+                log.debug("Created new enrollment for student {} in section {}", studentId, sectionId);
                 return true;
-            } else {
-                log.warn("Enrollment creation failed unexpectedly for student {} in section {}", studentId, sectionId);
-                return false;
             }
-        } catch (SQLException e) {
-            if (e.getSQLState().startsWith("23")) {
+            log.warn("Enrollment creation failed unexpectedly for student {} in section {}", studentId, sectionId);
+            return false;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) {
                 log.warn("Attempted to create duplicate enrollment for student {} in section {}", studentId, sectionId);
             } else {
                 log.error("SQL error creating enrollment for student {} in section {}", studentId, sectionId, e);
@@ -62,109 +91,58 @@ public class EnrollmentRepository {
 
     // Finds all enrollments for a specific student.
     public List<Enrollment> findByStudentId(int studentId) {
-        List<Enrollment> enrollments = new ArrayList<>();
-        String sql = "SELECT enrollment_id, student_id, section_id, status FROM enrollments WHERE student_id = ?";
-
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, studentId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Enrollment enrollment = new Enrollment(
-                            rs.getInt("enrollment_id"),
-                            rs.getInt("student_id"),
-                            rs.getInt("section_id"),
-                            rs.getString("status")
-                    );
-                    enrollments.add(enrollment);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return jdbc.query(FIND_BY_STUDENT, ENROLLMENT, studentId);
+        } catch (DataAccessException e) {
             log.error("SQL error while finding enrollments for student {}", studentId, e);
+            return new ArrayList<>();
         }
-        return enrollments;
     }
 
-    // Deletes an enrollment record by its primary key.
+    // Deletes an enrollment record by its primary key and frees its seat in the same transaction.
     public boolean deleteById(int enrollmentId) {
-        String sql = "DELETE FROM enrollments WHERE enrollment_id = ?";
-
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, enrollmentId);
-            int rowsAffected = pstmt.executeUpdate();
-
-            if (rowsAffected > 0) {
+        try {
+            boolean deleted = txManager.execute(() -> {
+                // The seat is freed first, while the enrollment still names its section
+                if (jdbc.update(SectionRepository.FREE_SEAT_OF_ENROLLMENT, enrollmentId) == 0) {
+                    return false;
+                }
+                if (jdbc.update(DELETE, enrollmentId) == 0) {
+                    throw new DataAccessException("Enrollment " + enrollmentId + " disappeared while being deleted", null);
+                }
+                return true;
+            });
+            if (deleted) {
                 log.info("Deleted enrollment with ID: {}", enrollmentId);
                 return true;
-            } else {
-                log.warn("No enrollment found with ID {} to delete.", enrollmentId);
-                return false;
             }
-        } catch (SQLException e) {
+            log.warn("No enrollment found with ID {} to delete.", enrollmentId);
+            return false;
+        } catch (DataAccessException e) {
             log.error("SQL error while deleting enrollment {}", enrollmentId, e);
             return false;
         }
     }
 
     public List<Enrollment> findBySectionId(int sectionId) {
-        List<Enrollment> enrollments = new ArrayList<>();
-        String sql = "SELECT enrollment_id, student_id, section_id, status FROM enrollments WHERE section_id = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, sectionId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Enrollment enrollment = new Enrollment(
-                            rs.getInt("enrollment_id"),
-                            rs.getInt("student_id"),
-                            rs.getInt("section_id"),
-                            rs.getString("status")
-                    );
-                    enrollments.add(enrollment);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return replica.query(FIND_BY_SECTION, ENROLLMENT, sectionId);
+        } catch (DataAccessException e) {
             log.error("SQL error finding enrollments for section {}", sectionId, e);
+            return new ArrayList<>();
         }
-        return enrollments;
     }
 
     public Optional<Enrollment> findById(int enrollmentId) {
-        String sql = "SELECT enrollment_id, student_id, section_id, status FROM enrollments WHERE enrollment_id = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, enrollmentId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Enrollment enrollment = new Enrollment(
-                            rs.getInt("enrollment_id"),
-                            rs.getInt("student_id"),
-                            rs.getInt("section_id"),
-                            rs.getString("status")
-                    );
-                    return Optional.of(enrollment);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return jdbc.queryOne(FIND_BY_ID, ENROLLMENT, enrollmentId);
+        } catch (DataAccessException e) {
             log.error("SQL error finding enrollment by id: {}", enrollmentId, e);
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     public int countEnrollmentsBySection(int sectionId) {
-        String sql = "SELECT COUNT(*) FROM enrollments WHERE section_id = ?";
-        try (Connection con = dbManager.getErpConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setInt(1, sectionId);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to count enrollments", e);
-        }
-        return 0;
+        return jdbc.queryInt(SectionRepository.ENROLLED_COUNT, sectionId);
     }
-}
\ No newline at end of file
+}
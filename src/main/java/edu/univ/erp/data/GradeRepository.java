@@ -1,151 +1,154 @@
 package edu.univ.erp.data;
 
+import edu.univ.erp.domain.EnrollmentGradeRecord;
 import edu.univ.erp.domain.Grade;
+import edu.univ.erp.domain.SectionComponentStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
-import java.sql.*;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class GradeRepository {
 
     private static final Logger log = LoggerFactory.getLogger(GradeRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+    // Catalog/gradebook/transcript reads; may be served by the read replica
+    private final JdbcExecutor replica = JdbcExecutor.erpReadOnly();
+    private final TransactionManager txManager = TransactionManager.getInstance();
+
+    private static final int HISTOGRAM_BINS = 10;
+    private static final String BIN_COLUMNS = IntStream.range(0, HISTOGRAM_BINS)
+            .mapToObj(bin -> "bin_" + bin)
+            .collect(Collectors.joining(", "));
+
+    private static final String COLUMNS = "grade_id, enrollment_id, component, score, final_grade";
+    private static final RowMapper<Grade> GRADE = rs -> new Grade(
+            rs.getInt(1), rs.getInt(2), rs.getString(3), RowMapper.getDouble(rs, 4), rs.getString(5));
+    private static final RowMapper<SectionComponentStats> STATS = rs -> {
+        int[] histogram = new int[HISTOGRAM_BINS];
+        for (int bin = 0; bin < HISTOGRAM_BINS; bin++) {
+            histogram[bin] = rs.getInt(6 + bin);
+        }
+        return new SectionComponentStats(rs.getInt(1), rs.getString(2), rs.getInt(3),
+                rs.getBigDecimal(4).doubleValue(), rs.getBigDecimal(5).doubleValue(), histogram);
+    };
+    private static final RowMapper<EnrollmentGradeRecord> ENROLLMENT_GRADE = rs -> new EnrollmentGradeRecord(
+            rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4), rs.getString(5),
+            rs.getInt(6), RowMapper.getDouble(rs, 7), rs.getString(8));
+
+    private static final SqlStatement FIND_BY_ENROLLMENT = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM grades WHERE enrollment_id = ?");
+    private static final SqlStatement FIND_BY_ENROLLMENT_AND_COMPONENT = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM grades WHERE enrollment_id = ? AND component = ?");
+    private static final SqlStatement LOCK_BY_ENROLLMENT_AND_COMPONENT = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM grades WHERE enrollment_id = ? AND component = ? FOR UPDATE");
+    private static final SqlStatement UPDATE_SCORE = SqlStatement.of("UPDATE grades SET score = ? WHERE grade_id = ?");
+    private static final SqlStatement INSERT_SCORE = SqlStatement.of(
+            "INSERT INTO grades (enrollment_id, component, score) VALUES (?, ?, ?)");
+    private static final SqlStatement UPDATE_FINAL_GRADE = SqlStatement.of(
+            "UPDATE grades SET final_grade = ? WHERE enrollment_id = ?");
+    private static final SqlStatement LOCK_SCORES_BY_ENROLLMENT = SqlStatement.of(
+            "SELECT component, score FROM grades WHERE enrollment_id = ? FOR UPDATE");
+    private static final SqlStatement DELETE_BY_ENROLLMENT = SqlStatement.of("DELETE FROM grades WHERE enrollment_id = ?");
+    private static final SqlStatement FIND_STATS_BY_SECTION = SqlStatement.of(
+            "SELECT section_id, component, score_count, score_sum, score_sum_sq, " + BIN_COLUMNS +
+            " FROM section_component_stats WHERE section_id = ?");
+    // Connector/J streams these rows one at a time instead of buffering the term
+    private static final SqlStatement STREAM_TERM_GRADES = SqlStatement.of(
+            "SELECT e.enrollment_id, s.section_id, c.code, i.department, st.program, " +
+            "COUNT(g.score) AS scored_components, SUM(g.score) AS total_score, MAX(g.final_grade) AS final_grade " +
+            "FROM enrollments e " +
+            "JOIN sections s ON s.section_id = e.section_id " +
+            "JOIN courses c ON c.course_id = s.course_id " +
+            "LEFT JOIN instructors i ON i.user_id = s.instructor_id " +
+            "LEFT JOIN students st ON st.user_id = e.student_id " +
+            "LEFT JOIN grades g ON g.enrollment_id = e.enrollment_id " +
+            "WHERE s.semester = ? AND s.year = ? " +
+            "GROUP BY e.enrollment_id, s.section_id, c.code, i.department, st.program").streaming();
+    private static final SqlStatement CLEAR_STATS = SqlStatement.of("DELETE FROM section_component_stats");
+    private static final SqlStatement REBUILD_STATS = SqlStatement.of(buildRebuildStatsSql());
+    // One upsert per histogram bin, indexed by bin
+    private static final SqlStatement[] APPLY_STATS_DELTA = IntStream.range(0, HISTOGRAM_BINS)
+            .mapToObj(GradeRepository::buildStatsDeltaSql)
+            .map(SqlStatement::of)
+            .toArray(SqlStatement[]::new);
 
     public List<Grade> findByEnrollmentId(int enrollmentId) {
-        List<Grade> grades = new ArrayList<>();
-        String sql = "SELECT grade_id, enrollment_id, component, score, final_grade " +
-                "FROM grades WHERE enrollment_id = ?";
-
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, enrollmentId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    // *** FIX: Retrieve as BigDecimal, then convert to Double ***
-                    BigDecimal scoreBigDecimal = rs.getBigDecimal("score");
-                    // Convert to Double, keeping null if the BigDecimal was null
-                    Double scoreDouble = (scoreBigDecimal != null) ? scoreBigDecimal.doubleValue() : null;
-                    // *** END FIX ***
-
-                    Grade grade = new Grade(
-                            rs.getInt("grade_id"),
-                            rs.getInt("enrollment_id"),
-                            rs.getString("component"),
-                            scoreDouble, // Use the correctly converted Double (or null)
-                            rs.getString("final_grade")
-                    );
-                    grades.add(grade);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return replica.query(FIND_BY_ENROLLMENT, GRADE, enrollmentId);
+        } catch (DataAccessException e) {
             log.error("SQL error while finding grades for enrollment {}", enrollmentId, e);
+            return new ArrayList<>();
         }
-        return grades;
     }
 
     // *** NEW METHOD ***
     public Optional<Grade> findByEnrollmentAndComponent(int enrollmentId, String component) {
-        String sql = "SELECT grade_id, enrollment_id, component, score, final_grade " +
-                "FROM grades WHERE enrollment_id = ? AND component = ?";
         log.debug("Finding existing grade for enrollmentId={}, component='{}'", enrollmentId, component); // Log entry
-
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, enrollmentId);
-            pstmt.setString(2, component);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    BigDecimal scoreBigDecimal = rs.getBigDecimal("score");
-                    Double scoreDouble = (scoreBigDecimal != null) ? scoreBigDecimal.doubleValue() : null;
-                    Grade grade = new Grade(
-                            rs.getInt("grade_id"), rs.getInt("enrollment_id"),
-                            rs.getString("component"), scoreDouble, rs.getString("final_grade")
-                    );
-                    log.debug("Found existing grade with grade_id: {}", grade.gradeId()); // Log success + ID
-                    return Optional.of(grade);
-                } else {
-                    log.debug("No existing grade found for enrollmentId={}, component='{}'. Will perform INSERT.", enrollmentId, component); // Log not found
-                    return Optional.empty();
-                }
+        try {
+            Optional<Grade> grade = jdbc.queryOne(FIND_BY_ENROLLMENT_AND_COMPONENT, GRADE, enrollmentId, component);
+            if (grade.isPresent()) {
+                log.debug("Found existing grade with grade_id: {}", grade.get().gradeId()); // Log success + ID
+            } else {
+                log.debug("No existing grade found for enrollmentId={}, component='{}'. Will perform INSERT.", enrollmentId, component); // Log not found
             }
-        } catch (SQLException e) {
+            return grade;
+        } catch (DataAccessException e) {
             log.error("SQL error finding grade for enrollment {}, component {}", enrollmentId, component, e);
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     // *** NEW METHOD ***
+    // Writes the score and applies the matching delta to section_component_stats in one transaction.
     public boolean saveOrUpdateScore(int enrollmentId, String component, Double score) {
         log.debug("Attempting to save/update score: enrollmentId={}, component='{}', score={}", enrollmentId, component, score);
-        // 1. Check if a grade for this component already exists
-        Optional<Grade> existingGradeOpt = findByEnrollmentAndComponent(enrollmentId, component);
-
-        String sql;
-        boolean isUpdate = existingGradeOpt.isPresent(); // Determine if it's an update
-
-        if (isUpdate) {
-            sql = "UPDATE grades SET score = ? WHERE grade_id = ?";
-            log.debug("Preparing UPDATE statement for grade_id {}", existingGradeOpt.get().gradeId());
-        } else {
-            sql = "INSERT INTO grades (enrollment_id, component, score) VALUES (?, ?, ?)";
-            log.debug("Preparing INSERT statement for enrollmentId {}, component '{}'", enrollmentId, component);
-        }
+        // Round like the DECIMAL(5,2) column does, so the running sums match the stored scores
+        BigDecimal newScore = (score != null) ? BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP) : null;
 
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            // Bind parameters based on whether it's an UPDATE or INSERT
-            if (isUpdate) {
-                // UPDATE: score = ?, grade_id = ?
-                if (score == null) {
-                    pstmt.setNull(1, Types.DECIMAL); // Parameter 1: score
-                    log.trace("Binding NULL to parameter 1 (score)");
-                } else {
-                    pstmt.setDouble(1, score);       // Parameter 1: score
-                    log.trace("Binding {} to parameter 1 (score)", score);
-                }
-                pstmt.setInt(2, existingGradeOpt.get().gradeId()); // Parameter 2: grade_id
-                log.trace("Binding {} to parameter 2 (grade_id)", existingGradeOpt.get().gradeId());
-            } else {
-                // INSERT: enrollment_id = ?, component = ?, score = ?
-                pstmt.setInt(1, enrollmentId);        // Parameter 1: enrollment_id
-                pstmt.setString(2, component);        // Parameter 2: component
-                if (score == null) {
-                    pstmt.setNull(3, Types.DECIMAL); // Parameter 3: score
-                    log.trace("Binding NULL to parameter 3 (score)");
-                } else {
-                    pstmt.setDouble(3, score);       // Parameter 3: score
-                    log.trace("Binding {} to parameter 3 (score)", score);
-                }
-                log.trace("Binding {} to parameter 1 (enrollment_id)", enrollmentId);
-                log.trace("Binding '{}' to parameter 2 (component)", component);
-            }
+        try {
+            return txManager.execute(() -> {
+                // 1. Lock the existing grade row (if any) so concurrent edits see a consistent old score
+                Optional<Grade> existingGradeOpt = jdbc.queryOne(LOCK_BY_ENROLLMENT_AND_COMPONENT, GRADE, enrollmentId, component);
+                boolean isUpdate = existingGradeOpt.isPresent();
 
-            log.debug("Executing SQL: {}", sql.replaceFirst("\\?", score != null ? score.toString() : "NULL")); // Basic logging
-            int rowsAffected = pstmt.executeUpdate();
-            log.info("Finished executing save/update. Rows affected: {}", rowsAffected);
+                int rowsAffected = isUpdate
+                        ? jdbc.update(UPDATE_SCORE, newScore, existingGradeOpt.get().gradeId())
+                        : jdbc.update(INSERT_SCORE, enrollmentId, component, newScore);
+                log.debug("Finished executing save/update. Rows affected: {}", rowsAffected);
 
-            // For INSERT, 1 row is success. For UPDATE, 1 row is success.
-            // 0 rows on UPDATE means the grade_id didn't exist (unlikely if find succeeded), or value was same.
-            // Let's consider 0 rows affected on UPDATE as potentially okay if value didn't change, but log warning.
-            if (rowsAffected > 0) {
-                return true;
-            } else if (isUpdate) {
-                log.warn("UPDATE operation affected 0 rows for grade_id {}. Value might not have changed.", existingGradeOpt.get().gradeId());
-                return true; // Still consider it success as state is achieved
-            } else {
-                log.error("INSERT operation affected 0 rows unexpectedly.");
-                return false; // Insert failing is definitely an error
-            }
+                // 0 rows on UPDATE means the value didn't change; that still counts as success.
+                if (rowsAffected == 0 && !isUpdate) {
+                    log.error("INSERT operation affected 0 rows unexpectedly.");
+                    return false;
+                }
 
-        } catch (SQLException e) {
-            log.error("SQL error during save/update score for enrollment {}, component '{}': {}", enrollmentId, component, e.getMessage());
-            log.error("SQLState: {}, ErrorCode: {}", e.getSQLState(), e.getErrorCode());
+                // 2. Move the score between the running aggregates
+                BigDecimal oldScore = existingGradeOpt
+                        .map(Grade::score)
+                        .map(s -> BigDecimal.valueOf(s).setScale(2, RoundingMode.HALF_UP))
+                        .orElse(null);
+                if (!Objects.equals(oldScore, newScore)) {
+                    if (oldScore != null) {
+                        applyStatsDelta(enrollmentId, component, oldScore, -1);
+                    }
+                    if (newScore != null) {
+                        applyStatsDelta(enrollmentId, component, newScore, 1);
+                    }
+                }
+                return true;
+            });
+        } catch (DataAccessException e) {
+            log.error("SQL error during save/update score for enrollment {}, component '{}' (SQLState: {})",
+                    enrollmentId, component, e.getSqlState(), e);
             return false;
         }
     }
@@ -154,20 +157,11 @@ public class GradeRepository {
         // Update the final grade on all existing rows for this enrollment.
         // This ensures the final grade is visible regardless of which component is viewed,
         // though conceptually it applies to the enrollment as a whole.
-        String sql = "UPDATE grades SET final_grade = ? WHERE enrollment_id = ?";
         log.debug("Updating final grade for enrollment {} to {}", enrollmentId, finalLetterGrade);
+        String finalGrade = (finalLetterGrade == null || finalLetterGrade.isBlank()) ? null : finalLetterGrade;
 
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            if (finalLetterGrade == null || finalLetterGrade.isBlank()) {
-                pstmt.setNull(1, Types.VARCHAR);
-            } else {
-                pstmt.setString(1, finalLetterGrade);
-            }
-            pstmt.setInt(2, enrollmentId);
-
-            int rowsAffected = pstmt.executeUpdate();
+        try {
+            int rowsAffected = jdbc.update(UPDATE_FINAL_GRADE, finalGrade, enrollmentId);
             // It's okay if 0 rows are affected if no grades were entered yet,
             // but we log a warning. The service layer should ideally handle this.
             if (rowsAffected == 0) {
@@ -175,28 +169,100 @@ public class GradeRepository {
             }
             // Consider success even if 0 rows affected, as the state is technically achieved.
             return true;
-        } catch (SQLException e) {
+        } catch (DataAccessException e) {
             log.error("SQL error updating final grade for enrollment {}", enrollmentId, e);
             return false;
         }
     }
 
     public boolean deleteByEnrollmentId(int enrollmentId) {
-        String sql = "DELETE FROM grades WHERE enrollment_id = ?";
         log.debug("Attempting to delete all grades for enrollment_id {}", enrollmentId);
 
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, enrollmentId);
-            int rowsAffected = pstmt.executeUpdate();
+        try {
+            int rowsAffected = txManager.execute(() -> {
+                // Take the scores out of the section aggregates before the rows disappear
+                List<Grade> scored = jdbc.query(LOCK_SCORES_BY_ENROLLMENT,
+                        rs -> new Grade(0, enrollmentId, rs.getString(1), RowMapper.getDouble(rs, 2), null), enrollmentId);
+                for (Grade grade : scored) {
+                    if (grade.score() != null) {
+                        BigDecimal score = BigDecimal.valueOf(grade.score()).setScale(2, RoundingMode.HALF_UP);
+                        applyStatsDelta(enrollmentId, grade.component(), score, -1);
+                    }
+                }
+                return jdbc.update(DELETE_BY_ENROLLMENT, enrollmentId);
+            });
             // It's okay if 0 rows are affected (no grades to delete)
             log.info("Deleted {} grade records for enrollment_id {}", rowsAffected, enrollmentId);
             return true; // Return true as long as no exception occurred
-
-        } catch (SQLException e) {
+        } catch (DataAccessException e) {
             log.error("SQL error deleting grades for enrollment_id {}", enrollmentId, e);
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // Reads the maintained aggregates of every component of a section (primary-key lookup).
+    public List<SectionComponentStats> findStatsBySection(int sectionId) {
+        try {
+            return replica.query(FIND_STATS_BY_SECTION, STATS, sectionId);
+        } catch (DataAccessException e) {
+            log.error("SQL error reading component statistics for section {}", sectionId, e);
+            return new ArrayList<>();
+        }
+    }
+
+    // Streams one row per enrollment of the term (scores summed per enrollment) without buffering the result set.
+    public long streamTermEnrollmentGrades(String semester, int year, Consumer<EnrollmentGradeRecord> consumer) {
+        return replica.stream(STREAM_TERM_GRADES, ENROLLMENT_GRADE, consumer, semester, year);
+    }
+
+    // Repair job: recomputes section_component_stats from the grades table in one transaction.
+    public boolean rebuildAllSectionStats() {
+        log.info("Rebuilding section component statistics from grades...");
+        try {
+            int rows = txManager.execute(() -> {
+                jdbc.update(CLEAR_STATS);
+                return jdbc.update(REBUILD_STATS);
+            });
+            log.info("Rebuilt {} section component statistics rows.", rows);
+            return true;
+        } catch (DataAccessException e) {
+            log.error("SQL error rebuilding section component statistics", e);
+            return false;
+        }
+    }
+
+    // Adds (sign = 1) or removes (sign = -1) one score from the aggregates of the enrollment's section.
+    private void applyStatsDelta(int enrollmentId, String component, BigDecimal score, int sign) {
+        BigDecimal signedScore = (sign < 0) ? score.negate() : score;
+        BigDecimal signedSquare = (sign < 0) ? score.multiply(score).negate() : score.multiply(score);
+        jdbc.update(APPLY_STATS_DELTA[binOf(score)],
+                component, sign, signedScore, signedSquare, sign, enrollmentId,
+                sign, signedScore, signedSquare, sign);
+    }
+
+    // Bin index for a 0-100 score; 100 falls into the last bin.
+    private static int binOf(BigDecimal score) {
+        return Math.max(0, Math.min(score.intValue() / 10, HISTOGRAM_BINS - 1));
+    }
+
+    private static String buildStatsDeltaSql(int bin) {
+        String binColumn = "bin_" + bin;
+        return "INSERT INTO section_component_stats (section_id, component, score_count, score_sum, score_sum_sq, " + binColumn + ") " +
+                "SELECT section_id, ?, ?, ?, ?, ? FROM enrollments WHERE enrollment_id = ? " +
+                "ON DUPLICATE KEY UPDATE score_count = score_count + ?, score_sum = score_sum + ?, " +
+                "score_sum_sq = score_sum_sq + ?, " + binColumn + " = " + binColumn + " + ?";
+    }
+
+    private static String buildRebuildStatsSql() {
+        StringBuilder sql = new StringBuilder("INSERT INTO section_component_stats " +
+                "(section_id, component, score_count, score_sum, score_sum_sq, " + BIN_COLUMNS + ") " +
+                "SELECT e.section_id, g.component, COUNT(*), SUM(g.score), SUM(g.score * g.score)");
+        for (int bin = 0; bin < HISTOGRAM_BINS; bin++) {
+            sql.append(", SUM(GREATEST(LEAST(FLOOR(g.score / 10), ").append(HISTOGRAM_BINS - 1)
+                    .append("), 0) = ").append(bin).append(")");
+        }
+        sql.append(" FROM grades g JOIN enrollments e ON e.enrollment_id = g.enrollment_id " +
+                "WHERE g.score IS NOT NULL GROUP BY e.section_id, g.component");
+        return sql.toString();
+    }
+}
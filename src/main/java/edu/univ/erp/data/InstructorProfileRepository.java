@@ -4,10 +4,6 @@ import edu.univ.erp.domain.Instructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -15,51 +11,42 @@ import java.util.Optional;
 public class InstructorProfileRepository {
 
     private static final Logger log = LoggerFactory.getLogger(InstructorProfileRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+    // Catalog/gradebook/transcript reads; may be served by the read replica
+    private final JdbcExecutor replica = JdbcExecutor.erpReadOnly();
 
-    // Finds an instructor's profile by their user_id. This connects to the 'erp_db'.
-    public Optional<Instructor> findProfileByUserId(int userId) {
-        String sql = "SELECT name, department FROM instructors WHERE user_id = ?";
+    private static final RowMapper<Instructor> INSTRUCTOR = rs -> new Instructor(
+            rs.getInt(1), rs.getString(2), rs.getString(3));
 
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // Profiles do not change once created, so found ones stay cached (missing ones are not cached);
+    // bounded, as there is one per user, and the least recently used are dropped
+    private static final int MAX_CACHED_PROFILES = 1000;
+    private static final VersionedCache<Integer, Instructor> PROFILES = new VersionedCache<>(MAX_CACHED_PROFILES);
 
-            pstmt.setInt(1, userId);
+    private static final SqlStatement FIND_BY_USER_ID = SqlStatement.of("SELECT user_id, name, department FROM instructors WHERE user_id = ?");
+    private static final SqlStatement FIND_ALL = SqlStatement.of("SELECT user_id, name, department FROM instructors ORDER BY name");
+    private static final SqlStatement INSERT = SqlStatement.of("INSERT INTO instructors (user_id, name, department) VALUES (?, ?, ?)");
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Instructor instructor = new Instructor(
-                            userId,
-                            rs.getString("name"),
-                            rs.getString("department")
-                    );
-                    return Optional.of(instructor);
-                }
-            }
-        } catch (SQLException e) {
+    // Finds an instructor's profile by their user_id. This connects to the 'erp_db'.
+    public Optional<Instructor> findProfileByUserId(int userId) {
+        try {
+            return Optional.ofNullable(PROFILES.get(userId, id -> jdbc.queryOne(FIND_BY_USER_ID, INSTRUCTOR, id).orElse(null)));
+        } catch (DataAccessException e) {
             log.error("SQL error while finding instructor profile: {}", userId, e);
+            return Optional.empty();
         }
-
-        return Optional.empty();
     }
 
     public boolean createInstructor(int userId, String name, String department) {
-        String sql = "INSERT INTO instructors (user_id, name, department) VALUES (?, ?, ?)";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.setString(2, name);
-            pstmt.setString(3, department);
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(INSERT, userId, name, department) > 0) {
                 log.info("Created instructor profile for user_id {}", userId);
                 return true;
-            } else {
-                log.warn("Instructor profile creation failed for user_id {}", userId);
-                return false;
             }
-        } catch (SQLException e) {
-            if (e.getSQLState().startsWith("23")) {
+            log.warn("Instructor profile creation failed for user_id {}", userId);
+            return false;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) {
                 log.warn("Instructor profile creation failed for user_id {} due to constraint violation (duplicate user_id?).", userId);
             } else {
                 log.error("SQL error creating instructor profile for user_id {}", userId, e);
@@ -69,19 +56,11 @@ public class InstructorProfileRepository {
     }
 
     public List<Instructor> findAll() {
-        List<Instructor> instructors = new ArrayList<>();
-        String sql = "SELECT user_id, name, department FROM instructors ORDER BY name";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                instructors.add(new Instructor(
-                        rs.getInt("user_id"), rs.getString("name"), rs.getString("department")
-                ));
-            }
-        } catch (SQLException e) {
+        try {
+            return replica.query(FIND_ALL, INSTRUCTOR);
+        } catch (DataAccessException e) {
             log.error("SQL error finding all instructors", e);
+            return new ArrayList<>();
         }
-        return instructors;
     }
-}
\ No newline at end of file
+}
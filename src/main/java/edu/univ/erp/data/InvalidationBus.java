@@ -0,0 +1,130 @@
+package edu.univ.erp.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cross-node cache invalidation. Every write to a versioned table bumps its row in data_versions in
+// the same transaction (see JdbcExecutor); each node polls all versions with one query per interval
+// and tells the subscribed caches which tables changed. A cache therefore converges with other nodes'
+// writes within one poll interval, and with this node's writes immediately. Polling starts when a
+// cache first holds an entry (or a version is asked for), so processes that never cache never poll.
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final InvalidationBus instance = new InvalidationBus();
+
+    // Tables with a data_versions row; writes to other tables are not tracked. grades backs no cache,
+    // only the gradebook's change marker (see InstructorApi.getGradebookChanges).
+    public static final Set<String> VERSIONED_TABLES = Set.of("courses", "sections", "settings", "grades");
+
+    private static final SqlStatement BUMP = SqlStatement.of(
+            "UPDATE data_versions SET version = version + 1 WHERE table_name = ?");
+    private static final SqlStatement READ_VERSIONS = SqlStatement.of("SELECT table_name, version FROM data_versions");
+
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+    private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, Long> seenVersions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> localWrites = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService poller;
+
+    private InvalidationBus() {}
+
+    public static InvalidationBus getInstance() {
+        return instance;
+    }
+
+    static boolean isVersioned(String table) {
+        return table != null && VERSIONED_TABLES.contains(table);
+    }
+
+    static SqlStatement bumpStatement() {
+        return BUMP;
+    }
+
+    public void subscribe(String table, Runnable onChange) {
+        if (!VERSIONED_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Table is not versioned: " + table);
+        }
+        listeners.computeIfAbsent(table, t -> new CopyOnWriteArrayList<>()).add(onChange);
+    }
+
+    // Called by VersionedCache when it stores an entry: from then on it needs invalidations
+    void cacheFilled() {
+        if (poller == null) {
+            startPolling();
+        }
+    }
+
+    // Change marker of the tables for results derived from them (see DeltaTracker): it moves at once
+    // with this node's writes and within one poll interval with other nodes' writes
+    public String versionOf(String... tables) {
+        startPolling();
+        StringBuilder version = new StringBuilder();
+        for (String table : tables) {
+            if (!VERSIONED_TABLES.contains(table)) {
+                throw new IllegalArgumentException("Table is not versioned: " + table);
+            }
+            AtomicLong local = localWrites.get(table);
+            version.append(seenVersions.get(table)).append('.').append(local == null ? 0 : local.get()).append('/');
+        }
+        return version.toString();
+    }
+
+    // Called by JdbcExecutor after this node wrote to a versioned table
+    void localWrite(String table) {
+        localWrites.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+        notifyListeners(table);
+    }
+
+    private synchronized void startPolling() {
+        if (poller != null) {
+            return;
+        }
+        Duration interval = ConfigManager.getInstance().getInvalidationPollInterval(DbManager.activeProfile());
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "data-version-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::poll, 0, Math.max(100, interval.toMillis()), TimeUnit.MILLISECONDS);
+        log.info("Polling data_versions every {} ms for cache invalidation.", interval.toMillis());
+    }
+
+    private void poll() {
+        try {
+            jdbc.stream(READ_VERSIONS, rs -> Map.entry(rs.getString(1), rs.getLong(2)), version -> {
+                Long previous = seenVersions.put(version.getKey(), version.getValue());
+                if (previous != null && !previous.equals(version.getValue())) {
+                    log.debug("{} changed (version {} -> {}); evicting caches", version.getKey(), previous, version.getValue());
+                    notifyListeners(version.getKey());
+                }
+            });
+        } catch (RuntimeException e) {
+            // Without versions nothing bounds staleness, so drop everything and re-read on the next poll
+            log.warn("Could not poll data_versions ({}); evicting all caches", e.getMessage());
+            seenVersions.clear();
+            listeners.keySet().forEach(this::notifyListeners);
+        }
+    }
+
+    private void notifyListeners(String table) {
+        for (Runnable listener : listeners.getOrDefault(table, List.of())) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener for {} failed", table, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package edu.univ.erp.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Shared JDBC plumbing for the repositories: opens the connection (the unit-of-work one when a
+// TransactionManager unit is active), binds parameters in order, maps rows and turns every
+// SQLException into a DataAccessException. Read-only executors (erpReadOnly) may be served by the
+// erp_db read replica; writes through erp() open the writer's read-your-writes window and bump
+// data_versions for cached tables.
+public class JdbcExecutor {
+
+    @FunctionalInterface
+    interface ConnectionProvider {
+        Connection get() throws SQLException;
+    }
+
+    private final ConnectionProvider connections;
+    private final Runnable afterWrite; // null for a read-only executor
+
+    JdbcExecutor(ConnectionProvider connections, Runnable afterWrite) {
+        this.connections = connections;
+        this.afterWrite = afterWrite;
+    }
+
+    // The pools are only looked up when the first statement runs.
+    public static JdbcExecutor erp() {
+        return new JdbcExecutor(() -> DbManager.getInstance().getErpConnection(),
+                () -> DbManager.getInstance().recordErpWrite());
+    }
+
+    // For display queries that tolerate replica lag; never use it for checks that guard a write
+    public static JdbcExecutor erpReadOnly() {
+        return new JdbcExecutor(() -> DbManager.getInstance().getErpReadConnection(), null);
+    }
+
+    public static JdbcExecutor auth() {
+        return new JdbcExecutor(() -> DbManager.getInstance().getAuthConnection(), () -> {});
+    }
+
+    public <T> List<T> query(SqlStatement statement, RowMapper<T> mapper, Object... params) {
+        List<T> rows = new ArrayList<>();
+        stream(statement, mapper, rows::add, params);
+        return rows;
+    }
+
+    public <T> Optional<T> queryOne(SqlStatement statement, RowMapper<T> mapper, Object... params) {
+        try (Connection conn = connections.get();
+             PreparedStatement pstmt = prepare(conn, statement, params);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? Optional.ofNullable(mapper.map(rs)) : Optional.empty();
+        } catch (SQLException e) {
+            throw translate(statement, e);
+        }
+    }
+
+    public int queryInt(SqlStatement statement, Object... params) {
+        return queryOne(statement, rs -> rs.getInt(1), params).orElse(0);
+    }
+
+    // Hands each row to the consumer as it is read; returns the number of rows.
+    public <T> long stream(SqlStatement statement, RowMapper<T> mapper, Consumer<? super T> consumer, Object... params) {
+        long rows = 0;
+        try (Connection conn = connections.get();
+             PreparedStatement pstmt = prepare(conn, statement, params);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                consumer.accept(mapper.map(rs));
+                rows++;
+            }
+        } catch (SQLException e) {
+            throw translate(statement, e);
+        }
+        return rows;
+    }
+
+    public int update(SqlStatement statement, Object... params) {
+        requireWritable(statement);
+        try (Connection conn = connections.get();
+             PreparedStatement pstmt = prepare(conn, statement, params)) {
+            int rows = pstmt.executeUpdate();
+            written(conn, statement, rows);
+            return rows;
+        } catch (SQLException e) {
+            throw translate(statement, e);
+        }
+    }
+
+    // Runs an INSERT and returns the first generated key, if any.
+    public Optional<Integer> insert(SqlStatement statement, Object... params) {
+        requireWritable(statement);
+        SqlStatement keyed = statement.returnGeneratedKeys() ? statement : statement.returningGeneratedKeys();
+        try (Connection conn = connections.get();
+             PreparedStatement pstmt = prepare(conn, keyed, params)) {
+            int rows = pstmt.executeUpdate();
+            written(conn, statement, rows);
+            if (rows == 0) {
+                return Optional.empty();
+            }
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                return keys.next() ? Optional.of(keys.getInt(1)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw translate(statement, e);
+        }
+    }
+
+    // Runs the statement once per parameter row as a single JDBC batch (one round trip with
+    // rewriteBatchedStatements). Meant for background writers: it does not open a read-your-writes window.
+    public void batch(SqlStatement statement, List<Object[]> rows) {
+        requireWritable(statement);
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (Connection conn = connections.get();
+             PreparedStatement pstmt = conn.prepareStatement(statement.sql())) {
+            for (Object[] params : rows) {
+                bind(pstmt, params);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            throw translate(statement, e);
+        }
+    }
+
+    private PreparedStatement prepare(Connection conn, SqlStatement statement, Object[] params) throws SQLException {
+        PreparedStatement pstmt = statement.returnGeneratedKeys()
+                ? conn.prepareStatement(statement.sql(), Statement.RETURN_GENERATED_KEYS)
+                : conn.prepareStatement(statement.sql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            if (statement.fetchSize() != 0) {
+                pstmt.setFetchSize(statement.fetchSize());
+            }
+            bind(pstmt, params);
+            return pstmt;
+        } catch (SQLException e) {
+            pstmt.close();
+            throw e;
+        }
+    }
+
+    private static void bind(PreparedStatement pstmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            pstmt.setObject(i + 1, params[i]);
+        }
+    }
+
+    // Bumps the table's data_versions row on the same connection, so it commits or rolls back with the write.
+    // Local caches are told only once the write commits: evicting earlier lets a reader cache the old rows again.
+    private void written(Connection conn, SqlStatement statement, int rows) throws SQLException {
+        afterWrite.run();
+        String table = statement.writtenTable();
+        if (rows > 0 && InvalidationBus.isVersioned(table)) {
+            try (PreparedStatement bump = prepare(conn, InvalidationBus.bumpStatement(), new Object[]{table})) {
+                bump.executeUpdate();
+            }
+            TransactionManager.getInstance().afterCommit(() -> InvalidationBus.getInstance().localWrite(table));
+        }
+    }
+
+    private void requireWritable(SqlStatement statement) {
+        if (afterWrite == null) {
+            throw new IllegalStateException("Write through a read-only executor: " + statement.sql());
+        }
+    }
+
+    private static DataAccessException translate(SqlStatement statement, SQLException e) {
+        return new DataAccessException("SQL failed [" + e.getSQLState() + "]: " + statement.sql(), e);
+    }
+}
@@ -0,0 +1,73 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.api.types.RowPage;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Paged list query for the admin screens: one page of rows, filtered and sorted by the database.
+// A statement per sort column and direction is built up front (the SQL text is the prepared statement
+// cache key); each ends with the row's key so rows with equal sort values never move between pages.
+// COUNT(*) OVER () carries the number of matching rows on every row, so a page costs one round trip.
+final class PagedQuery<S extends Enum<S>, R> {
+
+    private final Map<S, SqlStatement> ascending;
+    private final Map<S, SqlStatement> descending;
+    private final SqlStatement count;
+    private final RowMapper<R> mapper;
+    private final int totalColumn;
+
+    private record Counted<R>(R row, int total) {}
+
+    // 'fromWhere' is the FROM and WHERE clause; 'orderBy' has the sort expression of every sort column
+    PagedQuery(Class<S> sortType, String columns, int columnCount, String fromWhere, Map<S, String> orderBy,
+               String keyColumn, RowMapper<R> mapper) {
+        this.ascending = new EnumMap<>(sortType);
+        this.descending = new EnumMap<>(sortType);
+        for (S sort : sortType.getEnumConstants()) {
+            String expression = orderBy.get(sort);
+            ascending.put(sort, pageStatement(columns, fromWhere, expression + ", " + keyColumn));
+            descending.put(sort, pageStatement(columns, fromWhere, expression + " DESC, " + keyColumn + " DESC"));
+        }
+        this.count = SqlStatement.of("SELECT COUNT(*) " + fromWhere);
+        this.mapper = mapper;
+        this.totalColumn = columnCount + 1;
+    }
+
+    private static SqlStatement pageStatement(String columns, String fromWhere, String order) {
+        return SqlStatement.of("SELECT " + columns + ", COUNT(*) OVER () " + fromWhere + " ORDER BY " + order + " LIMIT ? OFFSET ?");
+    }
+
+    RowPage<R> page(JdbcExecutor jdbc, S sort, boolean ascendingOrder, int offset, int limit, Object... whereParams) {
+        SqlStatement statement = (ascendingOrder ? ascending : descending).get(sort);
+        Object[] params = new Object[whereParams.length + 2];
+        System.arraycopy(whereParams, 0, params, 0, whereParams.length);
+        params[whereParams.length] = limit;
+        params[whereParams.length + 1] = offset;
+
+        List<Counted<R>> counted = jdbc.query(statement, rs -> new Counted<>(mapper.map(rs), rs.getInt(totalColumn)), params);
+        List<R> rows = new ArrayList<>(counted.size());
+        for (Counted<R> row : counted) {
+            rows.add(row.row());
+        }
+        int total;
+        if (!counted.isEmpty()) {
+            total = counted.getFirst().total();
+        } else {
+            // Past the end (the list shrank since the caller last looked): only the count is left to tell
+            total = (offset == 0) ? 0 : jdbc.queryInt(count, whereParams);
+        }
+        return new RowPage<>(total, offset, rows);
+    }
+
+    // LIKE pattern matching 'filter' anywhere, or null for no filter (the "? IS NULL OR ..." idiom)
+    static String containing(String filter) {
+        if (filter == null || filter.isBlank()) {
+            return null;
+        }
+        String escaped = filter.strip().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
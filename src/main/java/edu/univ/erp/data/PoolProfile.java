@@ -0,0 +1,45 @@
+package edu.univ.erp.data;
+
+import java.time.Duration;
+
+// Sizing of the two connection pools. A desktop client is one user clicking around, so its pools stay
+// empty until first used, keep no idle connections and give them back quickly; the API server holds
+// warm connections for many concurrent requests.
+public enum PoolProfile {
+    CLIENT(2, 0, 4, 0, Duration.ofSeconds(10)),
+    SERVER(10, 2, 20, 5, Duration.ofMinutes(10));
+
+    private final int authMaxSize;
+    private final int authMinIdle;
+    private final int erpMaxSize;
+    private final int erpMinIdle;
+    private final Duration idleTimeout;
+
+    PoolProfile(int authMaxSize, int authMinIdle, int erpMaxSize, int erpMinIdle, Duration idleTimeout) {
+        this.authMaxSize = authMaxSize;
+        this.authMinIdle = authMinIdle;
+        this.erpMaxSize = erpMaxSize;
+        this.erpMinIdle = erpMinIdle;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int authMaxSize() {
+        return authMaxSize;
+    }
+
+    public int authMinIdle() {
+        return authMinIdle;
+    }
+
+    public int erpMaxSize() {
+        return erpMaxSize;
+    }
+
+    public int erpMinIdle() {
+        return erpMinIdle;
+    }
+
+    public Duration idleTimeout() {
+        return idleTimeout;
+    }
+}
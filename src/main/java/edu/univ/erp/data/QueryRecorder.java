@@ -0,0 +1,234 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.api.types.OperationQueryRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Records every statement run on a pooled connection with its time and the API operation that issued
+// it. DbManager hands out connections wrapped by wrap(); the operation is the outermost
+// edu.univ.erp.api method on the stack. The places that issue API calls (ApiHandler per request,
+// UiTaskScheduler and ApiExecutor per task) end it with endOperation() once the call returns; a call
+// made elsewhere ends when a statement of another API method runs on the thread.
+// Operations issuing more than maxStatements statements, or repeating one statement shape
+// repeatThreshold times (the N+1 pattern), are logged; so is every statement slower than slowQuery.
+// Off unless diagnostics.record_queries is set or an admin turns it on; connections checked out while
+// it is off are not wrapped and cost nothing.
+public class QueryRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryRecorder.class);
+    private static final QueryRecorder instance = new QueryRecorder();
+
+    private static final String API_PACKAGE = "edu.univ.erp.api.";
+    private static final String API_COMMON_PACKAGE = "edu.univ.erp.api.common.";
+    private static final StackWalker STACK = StackWalker.getInstance();
+
+    private volatile boolean enabled;
+    private final int maxStatements;
+    private final int repeatThreshold;
+    private final long slowQueryNanos;
+    private final ThreadLocal<Operation> current = new ThreadLocal<>();
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+    private QueryRecorder() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.enabled = config.isQueryRecorderEnabled();
+        this.maxStatements = config.getQueryRecorderMaxStatements();
+        this.repeatThreshold = config.getQueryRecorderRepeatThreshold();
+        this.slowQueryNanos = config.getSlowQueryThreshold().toNanos();
+    }
+
+    public static QueryRecorder getInstance() {
+        return instance;
+    }
+
+    Connection wrap(Connection conn) {
+        if (!enabled) {
+            return conn;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(conn, method, args);
+                    String name = method.getName();
+                    if (result instanceof PreparedStatement pstmt && name.equals("prepareStatement")) {
+                        return recordingStatement(pstmt, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement stmt && name.equals("createStatement")) {
+                        return recordingStatement(stmt, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Takes effect from the next connection checkout; turning it off also stops statements on
+    // connections that are already wrapped from being counted
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        log.info("Statement recording turned {}", enabled ? "on" : "off");
+    }
+
+    // Called once an API call returns, however it returns; closes the operation it opened on this thread
+    public void endOperation() {
+        Operation operation = current.get();
+        if (operation == null) {
+            return;
+        }
+        current.remove();
+        operation.finish();
+    }
+
+    public List<OperationQueryRow> getReport() {
+        List<OperationQueryRow> rows = new ArrayList<>();
+        stats.forEach((name, s) -> rows.add(s.toRow(name)));
+        rows.sort(Comparator.comparingDouble(OperationQueryRow::avgStatements).reversed());
+        return rows;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private <S extends Statement> S recordingStatement(S stmt, Class<S> type, String preparedSql) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!enabled || !method.getName().startsWith("execute")) {
+                        return invoke(stmt, method, args);
+                    }
+                    String sql = (preparedSql != null) ? preparedSql : (args != null && args.length > 0) ? String.valueOf(args[0]) : "?";
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(stmt, method, args);
+                    } finally {
+                        record(sql, System.nanoTime() - start);
+                    }
+                }));
+    }
+
+    private void record(String sql, long nanos) {
+        Operation operation = current.get();
+        String apiMethod = findApiMethod();
+        if (apiMethod != null && (operation == null || !operation.name.equals(apiMethod))) {
+            // A new operation, or the previous one was not ended by an API boundary
+            if (operation != null) {
+                operation.finish();
+            }
+            operation = new Operation(apiMethod);
+            current.set(operation);
+        }
+        if (operation != null && apiMethod != null) {
+            operation.add(sql, nanos);
+        }
+        if (nanos > slowQueryNanos) {
+            log.atWarn().addKeyValue("event", "slow_query").addKeyValue("operation", (apiMethod != null) ? apiMethod : Thread.currentThread().getName())
+                    .addKeyValue("millis", TimeUnit.NANOSECONDS.toMillis(nanos)).log("Slow query: {}", sql);
+        }
+    }
+
+    // Outermost API method on the stack, e.g. "StudentApi.registerForSection"; async lambdas are skipped
+    private static String findApiMethod() {
+        Optional<StackWalker.StackFrame> frame = STACK.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(API_PACKAGE)
+                        && !f.getClassName().startsWith(API_COMMON_PACKAGE)
+                        && !f.getMethodName().startsWith("lambda$"))
+                .reduce((inner, outer) -> outer));
+        return frame.map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+                .orElse(null);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class Operation {
+        private final String name;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int statements;
+        private long dbNanos;
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        void add(String sql, long nanos) {
+            statements++;
+            dbNanos += nanos;
+            shapes.merge(sql, 1, Integer::sum);
+        }
+
+        void finish() {
+            Map.Entry<String, Integer> mostRepeated = shapes.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+            boolean tooMany = statements > maxStatements;
+            boolean repeated = mostRepeated != null && mostRepeated.getValue() >= repeatThreshold;
+            if (tooMany || repeated) {
+                log.atWarn().addKeyValue("event", "query_pattern").addKeyValue("operation", name)
+                        .addKeyValue("statements", statements).addKeyValue("repeats", mostRepeated.getValue())
+                        .log("{} issued {} statements; most repeated ({}x): {}", name, statements,
+                                mostRepeated.getValue(), mostRepeated.getKey());
+            }
+            stats.computeIfAbsent(name, n -> new OperationStats())
+                    .add(statements, dbNanos, tooMany || repeated, mostRepeated);
+        }
+    }
+
+    private static class OperationStats {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder dbNanos = new LongAdder();
+        private final LongAdder flagged = new LongAdder();
+        private int maxStatements;
+        private String mostRepeatedSql;
+        private int mostRepeatedCount;
+
+        void add(int count, long nanos, boolean flaggedCall, Map.Entry<String, Integer> mostRepeated) {
+            invocations.increment();
+            statements.add(count);
+            dbNanos.add(nanos);
+            if (flaggedCall) {
+                flagged.increment();
+            }
+            synchronized (this) {
+                maxStatements = Math.max(maxStatements, count);
+                if (mostRepeated != null && mostRepeated.getValue() > mostRepeatedCount) {
+                    mostRepeatedCount = mostRepeated.getValue();
+                    mostRepeatedSql = mostRepeated.getKey();
+                }
+            }
+        }
+
+        synchronized OperationQueryRow toRow(String name) {
+            long calls = Math.max(1, invocations.sum());
+            return new OperationQueryRow(name, invocations.sum(), (double) statements.sum() / calls, maxStatements,
+                    TimeUnit.NANOSECONDS.toMicros(dbNanos.sum()) / 1000.0 / calls, flagged.sum(),
+                    mostRepeatedSql, mostRepeatedCount);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package edu.univ.erp.data;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Decides whether a read-only statement may go to the read replica. A read stays on the primary when
+// the replica's last lag probe failed or exceeded maxLag, or when the same writer (the logged-in user,
+// see DbManager.identifyWritersBy) wrote within the sticky window, so users always read their own writes.
+public class ReplicaRouter {
+
+    private final long maxLagMillis;
+    private final long stickyWindowMillis;
+    private final Supplier<Object> writerKey;
+    private final Map<Object, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    // Unknown until the first probe, so nothing is routed to a replica that was never checked
+    private volatile long lagMillis = -1;
+    private volatile String unavailableReason = "Replica lag not measured yet";
+
+    public ReplicaRouter(Duration maxLag, Duration stickyWindow, Supplier<Object> writerKey) {
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickyWindowMillis = stickyWindow.toMillis();
+        this.writerKey = writerKey;
+    }
+
+    public void recordWrite(long nowMillis) {
+        lastWriteMillis.put(writerKey.get(), nowMillis);
+    }
+
+    public boolean useReplica(long nowMillis) {
+        if (!isReplicaHealthy()) {
+            return false;
+        }
+        Object key = writerKey.get();
+        Long lastWrite = lastWriteMillis.get(key);
+        if (lastWrite == null) {
+            return true;
+        }
+        if (nowMillis - lastWrite < stickyWindowMillis) {
+            return false;
+        }
+        lastWriteMillis.remove(key, lastWrite);
+        return true;
+    }
+
+    // Result of a lag probe: the replica's delay, or empty when it is not replicating
+    public void updateLag(OptionalLong lagSeconds) {
+        if (lagSeconds.isEmpty()) {
+            markUnavailable("Replica is not replicating");
+            return;
+        }
+        lagMillis = lagSeconds.getAsLong() * 1000;
+        unavailableReason = (lagMillis > maxLagMillis) ? "Replica lag " + lagSeconds.getAsLong() + "s exceeds limit" : null;
+    }
+
+    public void markUnavailable(String reason) {
+        lagMillis = -1;
+        unavailableReason = reason;
+    }
+
+    public boolean isReplicaHealthy() {
+        return unavailableReason == null;
+    }
+
+    // Why reads currently stay on the primary, or null when the replica is in use
+    public String getUnavailableReason() {
+        return unavailableReason;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    // Drops writers whose sticky window has passed; called by the lag monitor
+    void purgeExpired(long nowMillis) {
+        lastWriteMillis.values().removeIf(lastWrite -> nowMillis - lastWrite >= stickyWindowMillis);
+    }
+}
@@ -0,0 +1,24 @@
+package edu.univ.erp.data;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Maps the current row of a result set. Mappers read columns by position, in select-list order,
+// which skips the driver's per-call column label lookup.
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+
+    // Helpers for nullable columns
+    static Integer getInteger(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static Double getDouble(ResultSet rs, int column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return (value != null) ? value.doubleValue() : null;
+    }
+}
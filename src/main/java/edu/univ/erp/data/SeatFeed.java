@@ -0,0 +1,152 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.api.types.SeatChange;
+import edu.univ.erp.api.types.SeatChanges;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Feed of seat availability changes for open catalogs. Every enrollment insert or delete, and every
+// section edit, stamps sections.seats_changed_at in its transaction; one "seat-feed-poller" per process
+// reads the sections stamped since its last poll (an indexed range read) and gives each changed section
+// a sequence number. Catalog windows poll changes(cursor), which is served from memory, so any number
+// of windows or server clients cost one small query per interval. Writes made by this process call
+// nudge() to be picked up at once instead of at the next interval. Once nobody has asked for IDLE_POLLS
+// intervals (every catalog closed) the poller stops; the next request starts it again, and its first
+// poll catches up from the watermark, since the stamps stay in the table.
+public class SeatFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatFeed.class);
+    private static final SeatFeed instance = new SeatFeed();
+
+    // Re-read this far behind the newest stamp seen, so a transaction that committed after a
+    // later-stamped one is not missed; re-read sections that did not change are ignored.
+    private static final long OVERLAP_MILLIS = 10_000;
+    private static final int IDLE_POLLS = 5;
+
+    private record Entry(long sequence, int enrolledCount, int capacity) {}
+
+    private final SectionRepository sectionRepo = new SectionRepository();
+    private final String feedId = UUID.randomUUID().toString();
+    private final Map<Integer, Entry> latest = new ConcurrentHashMap<>();
+    private volatile long sequence;
+    private final AtomicLong nudges = new AtomicLong();
+    private long watermark; // poller thread only
+    private boolean primed; // poller thread only
+    private volatile long lastDemand;
+    private volatile ScheduledExecutorService poller;
+    private long idleMillis;
+
+    private SeatFeed() {}
+
+    public static SeatFeed getInstance() {
+        return instance;
+    }
+
+    // Sections that changed after 'cursor' (0 for every section the feed knows); starts the poller if it is not running
+    public SeatChanges changes(long cursor) {
+        demanded();
+        long upTo = sequence;
+        List<SeatChange> changed = new ArrayList<>();
+        latest.forEach((sectionId, entry) -> {
+            if (entry.sequence() > cursor && entry.sequence() <= upTo) {
+                changed.add(new SeatChange(sectionId, entry.enrolledCount(), entry.capacity()));
+            }
+        });
+        return new SeatChanges(feedId, upTo, changed);
+    }
+
+    // Change marker of all seat numbers: moves at once with this process's enrollment changes and
+    // with other processes' within one poll interval
+    public String version() {
+        demanded();
+        return feedId + "/" + sequence + "." + nudges.get();
+    }
+
+    // Called after this process committed an enrollment change
+    public void nudge() {
+        nudges.incrementAndGet();
+        ScheduledExecutorService running = poller;
+        if (running != null) {
+            try {
+                running.execute(this::poll);
+            } catch (RejectedExecutionException e) {
+                // Stopped meanwhile: the next start catches up anyway
+            }
+        }
+    }
+
+    private void demanded() {
+        lastDemand = System.currentTimeMillis();
+        if (poller == null) {
+            startPolling();
+        }
+    }
+
+    private synchronized void startPolling() {
+        if (poller != null) {
+            return;
+        }
+        Duration interval = ConfigManager.getInstance().getSeatPollInterval();
+        idleMillis = IDLE_POLLS * Math.max(100, interval.toMillis());
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "seat-feed-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::poll, 0, Math.max(100, interval.toMillis()), TimeUnit.MILLISECONDS);
+        poller = executor;
+        log.info("Polling seat changes every {} ms for open catalogs.", interval.toMillis());
+    }
+
+    // Nobody asked for a while; synchronized with startPolling so a request arriving now restarts it
+    private synchronized boolean stopIfIdle() {
+        if (System.currentTimeMillis() - lastDemand <= idleMillis || poller == null) {
+            return false;
+        }
+        poller.shutdownNow(); // Also drops queued nudges, so no poll of the old thread overlaps the next one
+        poller = null;
+        log.info("No open catalogs; stopped polling seat changes.");
+        return true;
+    }
+
+    // Poller thread only
+    private void poll() {
+        if (stopIfIdle()) {
+            return;
+        }
+        List<SectionRepository.SeatRow> rows;
+        try {
+            rows = sectionRepo.findSeatsChangedSince(new Timestamp(Math.max(0, watermark - OVERLAP_MILLIS)));
+        } catch (DataAccessException e) {
+            log.warn("Seat change poll failed: {}", e.getMessage());
+            return;
+        }
+        long next = sequence;
+        for (SectionRepository.SeatRow row : rows) {
+            Entry known = latest.get(row.sectionId());
+            if (!primed) {
+                // First poll reads every section: the baseline, not changes (catalogs load it themselves)
+                latest.put(row.sectionId(), new Entry(0, row.enrolledCount(), row.capacity()));
+            } else if (known == null || known.enrolledCount() != row.enrolledCount() || known.capacity() != row.capacity()) {
+                latest.put(row.sectionId(), new Entry(++next, row.enrolledCount(), row.capacity()));
+            }
+            watermark = Math.max(watermark, row.changedAt().getTime());
+        }
+        primed = true;
+        // Published after the entries, so a reader never gets a cursor ahead of what it was shown
+        sequence = next;
+    }
+}
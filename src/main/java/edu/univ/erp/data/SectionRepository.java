@@ -1,169 +1,160 @@
 package edu.univ.erp.data;
 
+import edu.univ.erp.api.types.RowPage;
+import edu.univ.erp.api.types.SectionListRow;
+import edu.univ.erp.api.types.SectionListSort;
 import edu.univ.erp.domain.Section;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.sql.*;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class SectionRepository {
 
     private static final Logger log = LoggerFactory.getLogger(SectionRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+    // Catalog/gradebook/transcript reads; may be served by the read replica
+    private final JdbcExecutor replica = JdbcExecutor.erpReadOnly();
+
+    private static final String COLUMNS = "section_id, course_id, instructor_id, day_time, room, capacity, semester, year";
+    static final RowMapper<Section> SECTION = rs -> new Section(
+            rs.getInt(1), rs.getInt(2), RowMapper.getInteger(rs, 3), rs.getString(4),
+            rs.getString(5), rs.getInt(6), rs.getString(7), rs.getInt(8));
+
+    private static final SqlStatement FIND_BY_TERM = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM sections WHERE semester = ? AND year = ?");
+    private static final String STAMP = "seats_changed_at = CURRENT_TIMESTAMP(3)";
+    static final SqlStatement ENROLLED_COUNT = SqlStatement.of(
+            "SELECT enrolled_count FROM sections WHERE section_id = ?");
+    // sections.enrolled_count moves with every enrollment insert and delete, in the same transaction.
+    // seats_changed_at is stamped with it for the open catalogs (see SeatFeed).
+    static final SqlStatement TAKE_SEAT = SqlStatement.of(
+            "UPDATE sections SET enrolled_count = enrolled_count + 1, " + STAMP + " WHERE section_id = ?").unversioned();
+    static final SqlStatement FREE_SEAT_OF_ENROLLMENT = SqlStatement.of(
+            "UPDATE sections SET enrolled_count = enrolled_count - 1, " + STAMP + " " +
+            "WHERE section_id = (SELECT section_id FROM enrollments WHERE enrollment_id = ?)").unversioned();
+    private static final SqlStatement REPAIR_ENROLLED_COUNTS = SqlStatement.of(
+            "UPDATE sections s JOIN (SELECT sc.section_id, COUNT(e.enrollment_id) AS actual FROM sections sc " +
+            "LEFT JOIN enrollments e ON e.section_id = sc.section_id GROUP BY sc.section_id) c " +
+            "ON c.section_id = s.section_id SET s.enrolled_count = c.actual, s." + STAMP + " WHERE s.enrolled_count <> c.actual").unversioned();
+    private static final SqlStatement FIND_SEATS_CHANGED_SINCE = SqlStatement.of(
+            "SELECT section_id, enrolled_count, capacity, seats_changed_at FROM sections WHERE seats_changed_at >= ?");
+    private static final RowMapper<SeatRow> SEAT_ROW = rs -> new SeatRow(
+            rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getTimestamp(4));
+    private static final SqlStatement FIND_BY_ID = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM sections WHERE section_id = ?");
+    private static final SqlStatement FIND_BY_INSTRUCTOR_AND_TERM = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM sections WHERE instructor_id = ? AND semester = ? AND year = ?");
+    private static final SqlStatement INSERT = SqlStatement.of(
+            "INSERT INTO sections (course_id, instructor_id, day_time, room, capacity, semester, year) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)");
+    private static final SqlStatement UPDATE_INSTRUCTOR = SqlStatement.of(
+            "UPDATE sections SET instructor_id = ? WHERE section_id = ?");
+    private static final SqlStatement DELETE = SqlStatement.of("DELETE FROM sections WHERE section_id = ?");
+    private static final SqlStatement UPDATE = SqlStatement.of(
+            "UPDATE sections SET instructor_id = ?, day_time = ?, room = ?, capacity = ?, semester = ?, year = ?, " + STAMP + " WHERE section_id = ?");
+    private static final SqlStatement FIND_BY_COURSE = SqlStatement.of(
+            "SELECT " + COLUMNS + " FROM sections WHERE course_id = ?");
+    // Admin section list of a term, filtered by course code, instructor name or room
+    private static final PagedQuery<SectionListSort, SectionListRow> LIST = new PagedQuery<>(SectionListSort.class,
+            "s.section_id, c.code, i.name, s.day_time, s.room, s.capacity, s.enrolled_count", 7,
+            "FROM sections s JOIN courses c ON c.course_id = s.course_id " +
+            "LEFT JOIN instructors i ON i.user_id = s.instructor_id " +
+            "WHERE s.semester = ? AND s.year = ? AND (? IS NULL OR c.code LIKE ? OR i.name LIKE ? OR s.room LIKE ?)",
+            Map.of(SectionListSort.COURSE, "c.code",
+                    SectionListSort.INSTRUCTOR, "i.name",
+                    SectionListSort.DAY_TIME, "s.day_time",
+                    SectionListSort.ROOM, "s.room",
+                    SectionListSort.SEATS, "s.enrolled_count"),
+            "s.section_id",
+            rs -> new SectionListRow(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getInt(6), rs.getInt(7)));
 
     public List<Section> findAllBySemesterAndYear(String semester, int year) {
-        List<Section> sections = new ArrayList<>();
-        String sql = "SELECT section_id, course_id, instructor_id, day_time, room, capacity " +
-                "FROM sections WHERE semester = ? AND year = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, semester);
-            pstmt.setInt(2, year);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Section section = new Section(
-                            rs.getInt("section_id"), rs.getInt("course_id"),
-                            (Integer) rs.getObject("instructor_id"), rs.getString("day_time"),
-                            rs.getString("room"), rs.getInt("capacity"),
-                            semester, year
-                    );
-                    sections.add(section);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return replica.query(FIND_BY_TERM, SECTION, semester, year);
+        } catch (DataAccessException e) {
             log.error("SQL error finding all sections", e);
+            return new ArrayList<>();
         }
-        return sections;
+    }
+
+    // One page of the term's sections for the admin list; 'filter' (may be null) matches anywhere in
+    // the course code, instructor name or room
+    public RowPage<SectionListRow> findListPage(String semester, int year, String filter, SectionListSort sort,
+                                                boolean ascending, int offset, int limit) {
+        String pattern = PagedQuery.containing(filter);
+        return LIST.page(replica, sort, ascending, offset, limit, semester, year, pattern, pattern, pattern, pattern);
     }
 
     public int getEnrollmentCount(int sectionId) {
-        String sql = "SELECT COUNT(*) FROM enrollments WHERE section_id = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, sectionId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return jdbc.queryInt(ENROLLED_COUNT, sectionId);
+        } catch (DataAccessException e) {
             log.error("SQL error getting enrollment count for section: {}", sectionId, e);
+            return 0;
         }
-        return 0;
+    }
+
+    // Consistency repair of the seat counters: recounts every section and fixes the ones that drifted.
+    // Returns the number of sections corrected.
+    public int repairEnrolledCounts() {
+        return jdbc.update(REPAIR_ENROLLED_COUNTS);
+    }
+
+    public record SeatRow(int sectionId, int enrolledCount, int capacity, Timestamp changedAt) {}
+
+    // Seat numbers of the sections stamped at or after 'since'; read from the primary so a
+    // registration shows up in other catalogs without replica lag
+    public List<SeatRow> findSeatsChangedSince(Timestamp since) {
+        return jdbc.query(FIND_SEATS_CHANGED_SINCE, SEAT_ROW, since);
     }
 
     public Optional<Section> findById(int sectionId) {
-        String sql = "SELECT section_id, course_id, instructor_id, day_time, room, " +
-                "capacity, semester, year FROM sections WHERE section_id = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, sectionId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Section section = new Section(
-                            rs.getInt("section_id"), rs.getInt("course_id"),
-                            (Integer) rs.getObject("instructor_id"), rs.getString("day_time"),
-                            rs.getString("room"), rs.getInt("capacity"),
-                            rs.getString("semester"), rs.getInt("year")
-                    );
-                    return Optional.of(section);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return jdbc.queryOne(FIND_BY_ID, SECTION, sectionId);
+        } catch (DataAccessException e) {
             log.error("SQL error finding section by id: {}", sectionId, e);
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     public List<Section> findByInstructorIdAndTerm(int instructorId, String semester, int year) {
-        List<Section> sections = new ArrayList<>();
-        String sql = "SELECT section_id, course_id, instructor_id, day_time, room, capacity " +
-                "FROM sections WHERE instructor_id = ? AND semester = ? AND year = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, instructorId);
-            pstmt.setString(2, semester);
-            pstmt.setInt(3, year);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Section section = new Section(
-                            rs.getInt("section_id"), rs.getInt("course_id"),
-                            instructorId, // We know this
-                            rs.getString("day_time"), rs.getString("room"),
-                            rs.getInt("capacity"), semester, year
-                    );
-                    sections.add(section);
-                }
-            }
-        } catch (SQLException e) {
+        try {
+            return replica.query(FIND_BY_INSTRUCTOR_AND_TERM, SECTION, instructorId, semester, year);
+        } catch (DataAccessException e) {
             log.error("SQL error finding sections for instructor {}", instructorId, e);
+            return new ArrayList<>();
         }
-        return sections;
     }
 
     public boolean createSection(int courseId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) {
-        String sql = "INSERT INTO sections (course_id, instructor_id, day_time, room, capacity, semester, year) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            // 1. course_id
-            pstmt.setInt(1, courseId);
-
-            // 2. instructor_id (Conditional binding)
-            if (instructorId != null) {
-                pstmt.setInt(2, instructorId);
-            } else {
-                pstmt.setNull(2, Types.INTEGER);
-            }
-
-            pstmt.setString(3, dayTime);
-
-            pstmt.setString(4, room);
-
-            pstmt.setInt(5, capacity);
-
-            pstmt.setString(6, semester);
-
-            pstmt.setInt(7, year);
-
-            int rowsAffected = pstmt.executeUpdate();
-
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(INSERT, courseId, instructorId, dayTime, room, capacity, semester, year) > 0) {
                 log.info("Created section for courseId {} in {}-{}", courseId, semester, year);
                 return true;
-            } else {
-                log.warn("Section creation failed unexpectedly (0 rows affected) for courseId {}", courseId);
-                return false;
             }
-        } catch (SQLException e) {
+            log.warn("Section creation failed unexpectedly (0 rows affected) for courseId {}", courseId);
+            return false;
+        } catch (DataAccessException e) {
             log.error("SQL error creating section for courseId {}. Details: {}", courseId, e.getMessage(), e);
             return false;
         }
     }
 
     public boolean updateInstructor(int sectionId, Integer instructorId) {
-        String sql = "UPDATE sections SET instructor_id = ? WHERE section_id = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            if (instructorId != null) {
-                pstmt.setInt(1, instructorId);
-            } else {
-                pstmt.setNull(1, Types.INTEGER);
-            }
-            pstmt.setInt(2, sectionId);
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(UPDATE_INSTRUCTOR, instructorId, sectionId) > 0) {
                 log.info("Updated instructor for sectionId {} to instructorId {}", sectionId, instructorId);
                 return true;
-            } else {
-                log.warn("Failed to update instructor for sectionId {}: Section not found?", sectionId);
-                return false;
             }
-        } catch (SQLException e) {
-            if (e.getSQLState().startsWith("23")) {
+            log.warn("Failed to update instructor for sectionId {}: Section not found?", sectionId);
+            return false;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) {
                 log.warn("Failed to assign instructor {} to section {}: Instructor does not exist.", instructorId, sectionId);
             } else {
                 log.error("SQL error updating instructor for sectionId {}", sectionId, e);
@@ -173,24 +164,16 @@ public class SectionRepository {
     }
 
     public boolean deleteById(int sectionId) {
-        String sql = "DELETE FROM sections WHERE section_id = ?";
         log.debug("Attempting to delete section with ID {}", sectionId);
-
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, sectionId);
-            int rowsAffected = pstmt.executeUpdate();
-
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(DELETE, sectionId) > 0) {
                 log.info("Successfully deleted section {}", sectionId);
                 return true;
-            } else {
-                log.warn("Section deletion failed for ID {}: Section not found?", sectionId);
-                return false;
             }
-        } catch (SQLException e) {
-            if (e.getSQLState().startsWith("23")) {
+            log.warn("Section deletion failed for ID {}: Section not found?", sectionId);
+            return false;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) {
                 log.error("Cannot delete section {} because other records reference it.", sectionId, e);
             } else {
                 log.error("SQL error deleting section {}", sectionId, e);
@@ -200,58 +183,10 @@ public class SectionRepository {
     }
 
     public boolean updateSection(int sectionId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) {
-
-        String sql = "UPDATE sections SET instructor_id = ?, day_time = ?, room = ?, " + "capacity = ?, semester = ?, year = ? WHERE section_id = ?";
-
-        try (Connection con = dbManager.getErpConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-
-            if (instructorId == null) {
-                ps.setNull(1, Types.INTEGER);
-            } else {
-                ps.setInt(1, instructorId);
-            }
-
-            ps.setString(2, dayTime);
-            ps.setString(3, room);
-            ps.setInt(4, capacity);
-            ps.setString(5, semester);
-            ps.setInt(6, year);
-            ps.setInt(7, sectionId);
-
-            return ps.executeUpdate() == 1;
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to update section with ID " + sectionId, e);
-        }
+        return jdbc.update(UPDATE, instructorId, dayTime, room, capacity, semester, year, sectionId) == 1;
     }
 
     public List<Section> findSectionsByCourse(int courseId) {
-        String sql = "SELECT section_id, course_id, instructor_id, day_time, room, capacity, semester, year " +
-                "FROM sections WHERE course_id = ?";
-        List<Section> list = new ArrayList<>();
-
-        try (Connection con = dbManager.getErpConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-
-            ps.setInt(1, courseId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    list.add(new Section(
-                            rs.getInt("section_id"),
-                            rs.getInt("course_id"),
-                            (Integer) rs.getObject("instructor_id"),
-                            rs.getString("day_time"),
-                            rs.getString("room"),
-                            rs.getInt("capacity"),
-                            rs.getString("semester"),
-                            rs.getInt("year")
-                    ));
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to load sections for courseId " + courseId, e);
-        }
-
-        return list;
+        return jdbc.query(FIND_BY_COURSE, SECTION, courseId);
     }
-}
\ No newline at end of file
+}
@@ -2,56 +2,49 @@ package edu.univ.erp.data;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.sql.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.Optional;
+import java.util.Set;
 
 public class SettingsRepository {
 
     private static final Logger log = LoggerFactory.getLogger(SettingsRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+
+    private static final SqlStatement GET = SqlStatement.of("SELECT setting_value FROM settings WHERE setting_key = ?");
+    private static final SqlStatement SET = SqlStatement.of(
+            "INSERT INTO settings (setting_key, setting_value) VALUES (?, ?) ON DUPLICATE KEY UPDATE setting_value = ?");
+
+    // Display settings (the current term) are read on nearly every screen and change rarely, so they are
+    // cached. The write guards are not: a cache may lag other nodes by a poll interval, and a student must
+    // not register or drop after maintenance starts or a deadline passes. Services read them inside the
+    // write's unit of work.
+    private static final VersionedCache<String, Optional<String>> CACHE = new VersionedCache<>("settings");
+    private static final Set<String> GUARD_KEYS = Set.of("maintenance_on", "drop_deadline", "registration_deadline");
 
     // Helper method to get a specific setting value
     private Optional<String> getSettingValue(String key) {
-        String sql = "SELECT setting_value FROM settings WHERE setting_key = ?";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, key);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.ofNullable(rs.getString("setting_value"));
-                }
+        try {
+            if (GUARD_KEYS.contains(key)) {
+                return jdbc.queryOne(GET, rs -> rs.getString(1), key);
             }
-        } catch (SQLException e) {
+            return CACHE.get(key, k -> jdbc.queryOne(GET, rs -> rs.getString(1), k));
+        } catch (DataAccessException e) {
             log.error("SQL error getting setting '{}'", key, e);
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     // Helper method to set a specific setting value
     private boolean setSettingValue(String key, String value) {
-        String sql = "INSERT INTO settings (setting_key, setting_value) VALUES (?, ?) " +
-                "ON DUPLICATE KEY UPDATE setting_value = ?";
-        log.debug("Attempting to set setting: key='{}', value='{}' with SQL: {}", key, value, sql);
-
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, key);
-            pstmt.setString(2, value);
-            pstmt.setString(3, value);
-
-            log.debug("Executing update for setting '{}'...", key);
-            int rowsAffected = pstmt.executeUpdate();
-            log.info("Finished executing update for setting '{}'. Rows affected: {}", key, rowsAffected);
-
-            log.info("Set setting '{}' to '{}'", key, value);
+        log.debug("Attempting to set setting: key='{}', value='{}'", key, value);
+        try {
+            int rowsAffected = jdbc.update(SET, key, value, value);
+            log.info("Set setting '{}' to '{}'. Rows affected: {}", key, value, rowsAffected);
             return true;
-
-        } catch (SQLException e) {
-            log.error("SQL error setting '{}' to '{}'", key, value, e);
-            log.error("SQLState: {}, ErrorCode: {}", e.getSQLState(), e.getErrorCode()); // Log specifics
+        } catch (DataAccessException e) {
+            log.error("SQL error setting '{}' to '{}' (SQLState: {})", key, value, e.getSqlState(), e);
             return false;
         }
     }
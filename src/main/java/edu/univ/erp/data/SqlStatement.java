@@ -0,0 +1,37 @@
+package edu.univ.erp.data;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Immutable description of a statement, built once per repository and reused for every call.
+// The SQL text is the key of the driver's prepared statement cache (cachePrepStmts).
+// writtenTable is the target of an INSERT/UPDATE/DELETE (null for queries); see InvalidationBus.
+public record SqlStatement(String sql, int fetchSize, boolean returnGeneratedKeys, String writtenTable) {
+
+    private static final Pattern WRITE_TARGET = Pattern.compile(
+            "^\\s*(?:INSERT\\s+(?:IGNORE\\s+)?INTO|UPDATE|DELETE\\s+FROM)\\s+`?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+
+    public static SqlStatement of(String sql) {
+        Matcher target = WRITE_TARGET.matcher(sql);
+        return new SqlStatement(sql, 0, false, target.find() ? target.group(1).toLowerCase(Locale.ROOT) : null);
+    }
+
+    public SqlStatement withFetchSize(int fetchSize) {
+        return new SqlStatement(sql, fetchSize, returnGeneratedKeys, writtenTable);
+    }
+
+    // Connector/J only streams rows one at a time (instead of buffering the whole result) with this fetch size
+    public SqlStatement streaming() {
+        return withFetchSize(Integer.MIN_VALUE);
+    }
+
+    // For writes no cache depends on (such as seat counters), so they do not bump data_versions
+    public SqlStatement unversioned() {
+        return new SqlStatement(sql, fetchSize, returnGeneratedKeys, null);
+    }
+
+    public SqlStatement returningGeneratedKeys() {
+        return new SqlStatement(sql, fetchSize, true, writtenTable);
+    }
+}
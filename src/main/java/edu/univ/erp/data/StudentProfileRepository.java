@@ -4,41 +4,31 @@ import edu.univ.erp.domain.Student;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.Optional;
 
 public class StudentProfileRepository {
 
     private static final Logger log = LoggerFactory.getLogger(StudentProfileRepository.class);
-    private final DbManager dbManager = DbManager.getInstance();
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
 
-    public Optional<Student> findProfileByUserId(int userId) {
-        String sql = "SELECT roll_no, program FROM students WHERE user_id = ?";
+    private static final RowMapper<Student> STUDENT = rs -> new Student(
+            rs.getInt(1), rs.getString(2), rs.getString(3));
 
-        // Uses the ERP-specific connection pool
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // Profiles do not change once created, so found ones stay cached (missing ones are not cached);
+    // bounded, as there is one per user, and the least recently used are dropped
+    private static final int MAX_CACHED_PROFILES = 1000;
+    private static final VersionedCache<Integer, Student> PROFILES = new VersionedCache<>(MAX_CACHED_PROFILES);
 
-            pstmt.setInt(1, userId);
+    private static final SqlStatement FIND_BY_USER_ID = SqlStatement.of("SELECT user_id, roll_no, program FROM students WHERE user_id = ?");
+    private static final SqlStatement INSERT = SqlStatement.of("INSERT INTO students (user_id, roll_no, program, year) VALUES (?, ?, ?, ?)");
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Student student = new Student(
-                            userId,
-                            rs.getString("roll_no"),
-                            rs.getString("program")
-                    );
-                    return Optional.of(student);
-                }
-            }
-        } catch (SQLException e) {
+    public Optional<Student> findProfileByUserId(int userId) {
+        try {
+            return Optional.ofNullable(PROFILES.get(userId, id -> jdbc.queryOne(FIND_BY_USER_ID, STUDENT, id).orElse(null)));
+        } catch (DataAccessException e) {
             log.error("SQL error while finding student profile: {}", userId, e);
+            return Optional.empty();
         }
-
-        return Optional.empty();
     }
 
     public Optional<Student> findById(int userId) {
@@ -46,23 +36,15 @@ public class StudentProfileRepository {
     }
 
     public boolean createStudent(int userId, String rollNo, String program, int year) {
-        String sql = "INSERT INTO students (user_id, roll_no, program, year) VALUES (?, ?, ?, ?)";
-        try (Connection conn = dbManager.getErpConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.setString(2, rollNo);
-            pstmt.setString(3, program);
-            pstmt.setInt(4, year);
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(INSERT, userId, rollNo, program, year) > 0) {
                 log.info("Created student profile for user_id {}", userId);
                 return true;
-            } else {
-                log.warn("Student profile creation failed for user_id {}", userId);
-                return false;
             }
-        } catch (SQLException e) {
-            if (e.getSQLState().startsWith("23")) {
+            log.warn("Student profile creation failed for user_id {}", userId);
+            return false;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) {
                 log.warn("Student profile creation failed for user_id {} due to constraint violation (duplicate user_id or roll_no?).", userId);
             } else {
                 log.error("SQL error creating student profile for user_id {}", userId, e);
@@ -70,4 +52,4 @@ public class StudentProfileRepository {
             return false;
         }
     }
-}
\ No newline at end of file
+}
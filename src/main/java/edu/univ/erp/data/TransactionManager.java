@@ -0,0 +1,192 @@
+package edu.univ.erp.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Unit of work for service methods. While a unit is active on a thread, DbManager hands every
+// repository call the same connection per database, so the whole service method commits or
+// rolls back together. Nested units join the outermost one.
+public class TransactionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionManager.class);
+
+    private static final TransactionManager instance = new TransactionManager();
+    private final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface Work<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+
+    private TransactionManager() {}
+
+    public static TransactionManager getInstance() {
+        return instance;
+    }
+
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    // Runs the work in a unit of work: commits when it returns, rolls back when it throws.
+    public <T, E extends Exception> T execute(Work<T, E> work) throws E {
+        UnitOfWork outer = current.get();
+        if (outer != null) {
+            // Join the outer unit; an unchecked failure inside means it must not commit
+            try {
+                return work.run();
+            } catch (RuntimeException | Error e) {
+                outer.rollbackOnly = true;
+                throw e;
+            }
+        }
+        UnitOfWork unit = new UnitOfWork();
+        current.set(unit);
+        boolean completed = false;
+        try {
+            T result = work.run();
+            completed = true;
+            return result;
+        } finally {
+            current.remove();
+            unit.finish(completed);
+        }
+    }
+
+    public <E extends Exception> void run(Action<E> action) throws E {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Called by DbManager: the bound connection inside a unit of work, a plain pooled one outside.
+    Connection connectionFor(String database, ConnectionSource source) throws SQLException {
+        UnitOfWork unit = current.get();
+        if (unit == null) {
+            return source.open();
+        }
+        return unit.bind(database, source);
+    }
+
+    // Runs the callback once the current unit of work commits (dropped if it rolls back), or at once
+    // outside a unit. For side effects that must not be seen before the data is, e.g. cache eviction.
+    void afterCommit(Runnable callback) {
+        UnitOfWork unit = current.get();
+        if (unit == null) {
+            callback.run();
+        } else {
+            unit.afterCommit.add(callback);
+        }
+    }
+
+    private static class UnitOfWork {
+        // Insertion order is the commit order
+        private final Map<String, Connection> connections = new LinkedHashMap<>();
+        private final Map<String, Connection> handles = new LinkedHashMap<>();
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private boolean rollbackOnly;
+
+        Connection bind(String database, ConnectionSource source) throws SQLException {
+            Connection handle = handles.get(database);
+            if (handle != null) {
+                return handle;
+            }
+            Connection conn = source.open();
+            conn.setAutoCommit(false);
+            connections.put(database, conn);
+            handle = joinedHandle(conn);
+            handles.put(database, handle);
+            log.debug("Bound {} connection to unit of work", database);
+            return handle;
+        }
+
+        // Repositories close, commit and toggle auto-commit on the connections they get; inside a
+        // unit those calls must not end the shared transaction, and a rollback marks it rollback-only.
+        private Connection joinedHandle(Connection conn) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close", "commit", "setAutoCommit":
+                                return null;
+                            case "rollback":
+                                if (args == null) {
+                                    rollbackOnly = true;
+                                    return null;
+                                }
+                                break; // Rolling back to a savepoint is fine
+                            case "isClosed":
+                                return conn.isClosed();
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(conn, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        void finish(boolean completed) {
+            boolean commit = completed && !rollbackOnly;
+            SQLException failure = null;
+            for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+                Connection conn = entry.getValue();
+                try {
+                    if (commit && failure == null) {
+                        conn.commit();
+                    } else {
+                        conn.rollback();
+                    }
+                } catch (SQLException e) {
+                    log.error("Failed to {} {} transaction", commit ? "commit" : "roll back", entry.getKey(), e);
+                    if (failure == null) failure = e;
+                } finally {
+                    try {
+                        conn.setAutoCommit(true);
+                        conn.close();
+                    } catch (SQLException e) {
+                        log.error("Failed to release {} connection", entry.getKey(), e);
+                    }
+                }
+            }
+            if (completed && rollbackOnly) {
+                throw new DataAccessException("Transaction was rolled back by a failed database operation");
+            }
+            if (completed && failure != null) {
+                throw new DataAccessException("Failed to commit transaction", failure);
+            }
+            if (commit) {
+                for (Runnable callback : afterCommit) {
+                    try {
+                        callback.run();
+                    } catch (RuntimeException e) {
+                        log.error("After-commit callback failed", e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.univ.erp.data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Read-through cache of repository results, cleared whenever one of its source tables changes on any
+// node (see InvalidationBus). A load that overlaps an invalidation is returned but not cached.
+// A cache keyed by something that grows with the data (e.g. user ids) must be given a size bound:
+// it then keeps the most recently used entries.
+public class VersionedCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public VersionedCache(String... sourceTables) {
+        this(0, sourceTables);
+    }
+
+    // 'maxEntries' 0 means unbounded
+    public VersionedCache(int maxEntries, String... sourceTables) {
+        if (maxEntries > 0) {
+            entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+        } else {
+            entries = new ConcurrentHashMap<>();
+        }
+        for (String table : sourceTables) {
+            InvalidationBus.getInstance().subscribe(table, this::invalidateAll);
+        }
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        V value = loader.apply(key);
+        if (value != null && generation.get() == loadedAt) {
+            entries.put(key, value);
+            InvalidationBus.getInstance().cacheFilled();
+            // An invalidation may have slipped in between the check and the put
+            if (generation.get() != loadedAt) {
+                entries.remove(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+}
@@ -0,0 +1,127 @@
+package edu.univ.erp.data;
+
+import edu.univ.erp.domain.Section;
+import edu.univ.erp.domain.WaitlistEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Repository for the 'waitlist' table in the 'erp_db'.
+public class WaitlistRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistRepository.class);
+    private final JdbcExecutor jdbc = JdbcExecutor.erp();
+    private final TransactionManager txManager = TransactionManager.getInstance();
+
+    private static final String POSITION_SQL =
+            "(SELECT COUNT(*) FROM waitlist w2 WHERE w2.section_id = w.section_id AND w2.waitlist_id <= w.waitlist_id)";
+    private static final RowMapper<WaitlistEntry> ENTRY = rs -> new WaitlistEntry(
+            rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4));
+
+    private static final SqlStatement INSERT = SqlStatement.of("INSERT INTO waitlist (student_id, section_id) VALUES (?, ?)");
+    private static final SqlStatement DELETE = SqlStatement.of("DELETE FROM waitlist WHERE student_id = ? AND section_id = ?");
+    private static final SqlStatement FIND_POSITION = SqlStatement.of(
+            "SELECT " + POSITION_SQL + " AS position FROM waitlist w WHERE w.student_id = ? AND w.section_id = ?");
+    private static final SqlStatement FIND_BY_STUDENT = SqlStatement.of(
+            "SELECT w.waitlist_id, w.student_id, w.section_id, " + POSITION_SQL + " AS position " +
+            "FROM waitlist w WHERE w.student_id = ? ORDER BY w.waitlist_id");
+
+    private static final SqlStatement LOCK_SECTION = SqlStatement.of(
+            "SELECT section_id, course_id, instructor_id, day_time, room, capacity, semester, year " +
+            "FROM sections WHERE section_id = ? FOR UPDATE");
+    private static final SqlStatement LOCK_HEAD = SqlStatement.of(
+            "SELECT waitlist_id, student_id, section_id, 1 FROM waitlist WHERE section_id = ? ORDER BY waitlist_id LIMIT 1 FOR UPDATE");
+    private static final SqlStatement HOLDS_COURSE = SqlStatement.of(
+            "SELECT 1 FROM enrollments e JOIN sections s ON e.section_id = s.section_id " +
+            "WHERE e.student_id = ? AND s.course_id = ? AND s.semester = ? AND s.year = ? LIMIT 1");
+    private static final SqlStatement ENROLL = SqlStatement.of(
+            "INSERT INTO enrollments (student_id, section_id, status) VALUES (?, ?, 'Enrolled')");
+    private static final SqlStatement POP = SqlStatement.of("DELETE FROM waitlist WHERE waitlist_id = ?");
+
+    // Appends a student to the tail of a section's waitlist.
+    public boolean add(int studentId, int sectionId) {
+        try {
+            return jdbc.update(INSERT, studentId, sectionId) > 0;
+        } catch (DataAccessException e) {
+            if (e.isConstraintViolation()) {
+                log.warn("Student {} is already waitlisted for section {}", studentId, sectionId);
+            } else {
+                log.error("SQL error adding student {} to waitlist of section {}", studentId, sectionId, e);
+            }
+            return false;
+        }
+    }
+
+    public boolean remove(int studentId, int sectionId) {
+        try {
+            return jdbc.update(DELETE, studentId, sectionId) > 0;
+        } catch (DataAccessException e) {
+            log.error("SQL error removing student {} from waitlist of section {}", studentId, sectionId, e);
+            return false;
+        }
+    }
+
+    // Returns the 1-based queue position of a student, if waitlisted.
+    public Optional<Integer> findPosition(int studentId, int sectionId) {
+        try {
+            return jdbc.queryOne(FIND_POSITION, rs -> rs.getInt(1), studentId, sectionId);
+        } catch (DataAccessException e) {
+            log.error("SQL error finding waitlist position for student {} in section {}", studentId, sectionId, e);
+            return Optional.empty();
+        }
+    }
+
+    public List<WaitlistEntry> findByStudentId(int studentId) {
+        try {
+            return jdbc.query(FIND_BY_STUDENT, ENTRY, studentId);
+        } catch (DataAccessException e) {
+            log.error("SQL error finding waitlist entries for student {}", studentId, e);
+            return new ArrayList<>();
+        }
+    }
+
+    // Fills every free seat of a section from the head of its waitlist in one transaction.
+    // The section row is locked first, so concurrent drops and capacity changes promote in order.
+    // Entries whose student already holds this course in the same term are discarded.
+    // Returns the ids of the promoted students. A failure is thrown, not swallowed: callers run this inside
+    // their own unit of work, which a failed statement has already marked for rollback.
+    public List<Integer> promote(int sectionId) {
+        List<Integer> promoted = txManager.execute(() -> {
+            List<Integer> students = new ArrayList<>();
+            // 1. Lock the section row and read what the promotion depends on
+            Optional<Section> section = jdbc.queryOne(LOCK_SECTION, SectionRepository.SECTION, sectionId);
+            if (section.isEmpty()) {
+                return students;
+            }
+            Section s = section.get();
+            int enrolled = jdbc.queryInt(SectionRepository.ENROLLED_COUNT, sectionId);
+
+            // 2. Pop entries off the head of the queue until the section is full or the queue is empty
+            while (enrolled < s.capacity()) {
+                Optional<WaitlistEntry> head = jdbc.queryOne(LOCK_HEAD, ENTRY, sectionId);
+                if (head.isEmpty()) break;
+                int waitlistId = head.get().waitlistId();
+                int studentId = head.get().studentId();
+                jdbc.update(POP, waitlistId);
+
+                if (jdbc.queryOne(HOLDS_COURSE, rs -> true, studentId, s.courseId(), s.semester(), s.year()).isPresent()) {
+                    log.info("Discarding waitlist entry {}: student {} already holds course {}", waitlistId, studentId, s.courseId());
+                    continue;
+                }
+
+                jdbc.update(ENROLL, studentId, sectionId);
+                jdbc.update(SectionRepository.TAKE_SEAT, sectionId);
+                students.add(studentId);
+                enrolled++;
+            }
+            return students;
+        });
+        if (!promoted.isEmpty()) {
+            log.info("Promoted students {} from the waitlist of section {}", promoted, sectionId);
+        }
+        return promoted;
+    }
+}
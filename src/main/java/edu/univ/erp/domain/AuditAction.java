@@ -0,0 +1,25 @@
+package edu.univ.erp.domain;
+
+// State-changing operations recorded in the audit trail
+public enum AuditAction {
+    REGISTER,
+    DROP,
+    JOIN_WAITLIST,
+    LEAVE_WAITLIST,
+    PROMOTE_FROM_WAITLIST,
+    ENTER_SCORE,
+    COMPUTE_FINAL_GRADES,
+    CHANGE_PASSWORD,
+    CREATE_USER,
+    CREATE_COURSE,
+    UPDATE_COURSE,
+    CREATE_SECTION,
+    UPDATE_SECTION,
+    ASSIGN_INSTRUCTOR,
+    DELETE_SECTION,
+    SET_MAINTENANCE_MODE,
+    SET_DROP_DEADLINE,
+    SET_REGISTRATION_DEADLINE,
+    REBUILD_GRADE_STATISTICS,
+    REPAIR_SEAT_COUNTS
+}
@@ -0,0 +1,13 @@
+package edu.univ.erp.domain;
+
+import java.time.Instant;
+
+public record AuditEvent(
+        long auditId, // 0 until written to audit_log
+        Instant occurredAt,
+        Integer actorId, // null for actions without a logged-in user
+        String actorName,
+        AuditAction action,
+        String target, // e.g. "section:12"
+        String details
+) {}
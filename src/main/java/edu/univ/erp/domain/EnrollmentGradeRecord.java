@@ -0,0 +1,13 @@
+package edu.univ.erp.domain;
+
+// One enrollment's grading outcome in a term, flattened with the dimensions analytics group by.
+public record EnrollmentGradeRecord(
+        int enrollmentId,
+        int sectionId,
+        String courseCode,
+        String department, // Department of the section's instructor (null if unassigned)
+        String program,    // Student's program
+        int scoredComponents,
+        Double totalScore, // Sum of component scores, null if nothing was graded
+        String finalGrade
+) {}
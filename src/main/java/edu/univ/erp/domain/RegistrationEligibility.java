@@ -0,0 +1,15 @@
+package edu.univ.erp.domain;
+
+// Everything registerForSection checks about a section and a student, read in one query.
+public record RegistrationEligibility(
+        int sectionId,
+        int courseId,
+        int capacity,
+        int enrolledCount,
+        boolean alreadyInSection,     // any enrollment of the student in this section
+        boolean inSameCourseThisTerm  // enrolled in another section of the course in the current term
+) {
+    public boolean isFull() {
+        return enrolledCount >= capacity;
+    }
+}
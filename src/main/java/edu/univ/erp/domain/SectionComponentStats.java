@@ -0,0 +1,23 @@
+package edu.univ.erp.domain;
+
+// Running aggregates for one grade component of a section (a row of 'section_component_stats').
+public record SectionComponentStats(
+        int sectionId,
+        String component,
+        int count,
+        double sum,
+        double sumOfSquares,
+        int[] histogram // 10 bins of width 10, the last one also holds 100
+) {
+
+    public double mean() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    public double standardDeviation() {
+        if (count == 0) return 0.0;
+        double mean = mean();
+        // Guard against tiny negative values from rounding
+        return Math.sqrt(Math.max(0.0, sumOfSquares / count - mean * mean));
+    }
+}
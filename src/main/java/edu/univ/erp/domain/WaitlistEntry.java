@@ -0,0 +1,8 @@
+package edu.univ.erp.domain;
+
+public record WaitlistEntry(
+        int waitlistId,
+        int studentId,
+        int sectionId,
+        int position // 1-based place in the section's queue
+) {}
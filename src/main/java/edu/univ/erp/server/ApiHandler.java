@@ -0,0 +1,243 @@
+package edu.univ.erp.server;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.common.JsonCodec;
+import edu.univ.erp.auth.Permission;
+import edu.univ.erp.auth.Session;
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.auth.SessionStore;
+import edu.univ.erp.data.QueryRecorder;
+import edu.univ.erp.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Routes "METHOD /path" requests to endpoints and writes their ApiResponse as JSON.
+// Every endpoint except the public ones needs "Authorization: Bearer <token>" and may require a permission;
+// the endpoint then runs with the token's session as SessionManager's current session.
+public class ApiHandler implements HttpHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiHandler.class);
+
+    @FunctionalInterface
+    public interface Endpoint {
+        ApiResponse<?> handle(Request request);
+    }
+
+    // One incoming call: the session (null on public endpoints), the JSON body, the query parameters
+    // and the caller's IP address.
+    public record Request(Session session, JsonObject body, Map<String, String> query, String clientAddress) {
+
+        public User user() {
+            return session.user();
+        }
+
+        public String token() {
+            return session.token();
+        }
+
+        public int intParam(String name) {
+            String value = stringParam(name);
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Parameter '" + name + "' must be a number.");
+            }
+        }
+
+        public long longParam(String name) {
+            String value = stringParam(name);
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Parameter '" + name + "' must be a number.");
+            }
+        }
+
+        public String stringParam(String name) {
+            JsonElement element = body.get(name);
+            if (element != null && !element.isJsonNull()) {
+                return element.getAsString();
+            }
+            String value = query.get(name);
+            if (value == null) {
+                throw new BadRequestException("Missing parameter '" + name + "'.");
+            }
+            return value;
+        }
+
+        public <T> T field(String name, Type type) {
+            T value = optionalField(name, type);
+            if (value == null) {
+                throw new BadRequestException("Missing parameter '" + name + "'.");
+            }
+            return value;
+        }
+
+        public boolean booleanParam(String name) {
+            String value = stringParam(name);
+            if (!value.equals("true") && !value.equals("false")) {
+                throw new BadRequestException("Parameter '" + name + "' must be true or false.");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        // Like field, but null when the parameter is missing or null; taken from the body, else the query
+        public <T> T optionalField(String name, Type type) {
+            JsonElement element = body.get(name);
+            if (element == null || element.isJsonNull()) {
+                String value = query.get(name);
+                if (value == null) {
+                    return null;
+                }
+                element = new JsonPrimitive(value);
+            }
+            try {
+                return JsonCodec.GSON.fromJson(element, type);
+            } catch (JsonParseException | DateTimeParseException e) {
+                throw new BadRequestException("Parameter '" + name + "' is not valid.");
+            }
+        }
+
+        public <T> T bodyAs(Type type) {
+            return JsonCodec.GSON.fromJson(body, type);
+        }
+    }
+
+    static class BadRequestException extends RuntimeException {
+        BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    private record Route(boolean authenticated, Permission permission, Endpoint endpoint) {}
+
+    private final Map<String, Route> routes = new HashMap<>();
+    private final SessionManager sessionManager = SessionManager.getInstance();
+    private final SessionStore sessions = sessionManager.getStore();
+
+    // Route registration; permission == null means any logged-in user
+    public void publicPost(String path, Endpoint endpoint) {
+        routes.put("POST " + path, new Route(false, null, endpoint));
+    }
+
+    public void get(String path, Permission permission, Endpoint endpoint) {
+        routes.put("GET " + path, new Route(true, permission, endpoint));
+    }
+
+    public void post(String path, Permission permission, Endpoint endpoint) {
+        routes.put("POST " + path, new Route(true, permission, endpoint));
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        try {
+            Route route = routes.get(exchange.getRequestMethod() + " " + path);
+            if (route == null) {
+                send(exchange, 404, ApiResponse.error("Unknown endpoint: " + path));
+                return;
+            }
+
+            Session session = null;
+            if (route.authenticated()) {
+                session = sessions.find(bearerToken(exchange)).orElse(null);
+                if (session == null) {
+                    send(exchange, 401, ApiResponse.error("Your session has expired. Please log in again."));
+                    return;
+                }
+                if (route.permission() != null && !session.has(route.permission())) {
+                    log.warn("User {} ({}) denied access to {}", session.user().username(), session.user().role(), path);
+                    send(exchange, 403, ApiResponse.error("Unauthorized access."));
+                    return;
+                }
+            }
+
+            Request request = new Request(session, readBody(exchange), parseQuery(exchange.getRequestURI().getRawQuery()),
+                    exchange.getRemoteAddress().getAddress().getHostAddress());
+            ApiResponse<?> response = sessionManager.callAs(session, () -> route.endpoint().handle(request));
+            send(exchange, 200, response);
+        } catch (BadRequestException e) {
+            sendQuietly(exchange, 400, ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Server error handling {} {}", exchange.getRequestMethod(), path, e);
+            sendQuietly(exchange, 500, ApiResponse.error("An unexpected server error occurred."));
+        } finally {
+            QueryRecorder.getInstance().endOperation();
+            exchange.close();
+        }
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    private static JsonObject readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (json.isBlank()) {
+                return new JsonObject();
+            }
+            JsonElement element = JsonParser.parseString(json);
+            if (!element.isJsonObject()) {
+                throw new BadRequestException("Request body must be a JSON object.");
+            }
+            return element.getAsJsonObject();
+        } catch (JsonParseException e) {
+            throw new BadRequestException("Malformed JSON body.");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, ApiResponse<?> response) throws IOException {
+        byte[] bytes = JsonCodec.GSON.toJson(response).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Used on the error paths, where the response may already have been started
+    private static void sendQuietly(HttpExchange exchange, int status, ApiResponse<?> response) {
+        try {
+            send(exchange, status, response);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Could not send error response", e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package edu.univ.erp.server;
+
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpServer;
+import edu.univ.erp.api.admin.AdminApi;
+import edu.univ.erp.api.auth.AuthApi;
+import edu.univ.erp.api.catalog.CatalogApi;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.reports.ReportsApi;
+import edu.univ.erp.api.student.StudentApi;
+import edu.univ.erp.api.types.CourseListSort;
+import edu.univ.erp.api.types.LoginResponse;
+import edu.univ.erp.api.types.ScoreEntryRequest;
+import edu.univ.erp.api.types.SectionListSort;
+import edu.univ.erp.api.types.UserCreationRequest;
+import edu.univ.erp.auth.Permission;
+import edu.univ.erp.auth.Session;
+import edu.univ.erp.auth.SessionManager;
+import edu.univ.erp.data.ConfigManager;
+import edu.univ.erp.data.DbManager;
+import edu.univ.erp.data.PoolProfile;
+import edu.univ.erp.domain.AuditAction;
+import edu.univ.erp.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+// Headless server mode: one process owns the connection pools and serves every API the desktop
+// client uses as JSON over HTTP, one virtual thread per request. Desktop clients point
+// client.server_url at it instead of connecting to MySQL themselves.
+public class ErpServer {
+
+    private static final Logger log = LoggerFactory.getLogger(ErpServer.class);
+
+    private final AuthApi authApi = new AuthApi();
+    private final StudentApi studentApi = new StudentApi();
+    private final InstructorApi instructorApi = new InstructorApi();
+    private final CatalogApi catalogApi = new CatalogApi();
+    private final MaintenanceApi maintenanceApi = new MaintenanceApi();
+    private final AdminApi adminApi = new AdminApi();
+    private final ReportsApi reportsApi = new ReportsApi();
+    private final SessionManager sessionManager = SessionManager.getInstance();
+
+    private HttpServer server;
+
+    public void start(int port) throws IOException {
+        ApiHandler handler = new ApiHandler();
+        registerRoutes(handler);
+
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/", handler);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        log.info("ERP API server listening on port {}", port);
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(2);
+            log.info("ERP API server stopped.");
+        }
+    }
+
+    private void registerRoutes(ApiHandler api) {
+        // Auth
+        api.publicPost("/api/auth/login", req -> {
+            ApiResponse<User> response = authApi.login(req.stringParam("username"), req.stringParam("password"),
+                    req.clientAddress());
+            if (!response.isSuccess()) {
+                return response;
+            }
+            // The login ran in this request's scope, so the new session is the current one
+            Session session = sessionManager.getCurrentSession();
+            return ApiResponse.success(new LoginResponse(session.token(), response.getData()), response.getMessage());
+        });
+        api.post("/api/auth/logout", null, req -> {
+            sessionManager.endSession();
+            return ApiResponse.success(null, "Logged out.");
+        });
+        api.post("/api/auth/change-password", Permission.CHANGE_OWN_PASSWORD, req ->
+                authApi.changePassword(req.stringParam("oldPassword"), req.stringParam("newPassword")));
+
+        // Catalog and maintenance state
+        api.get("/api/catalog", Permission.VIEW_CATALOG, req -> catalogApi.getCurrentCatalog());
+        api.get("/api/catalog/changes", Permission.VIEW_CATALOG, req -> catalogApi.getCatalogChanges(req.stringParam("since")));
+        api.get("/api/catalog/term", Permission.VIEW_CATALOG, req -> catalogApi.getCurrentTerm());
+        api.get("/api/catalog/seats", Permission.VIEW_CATALOG, req -> catalogApi.getSeatChanges(req.longParam("cursor")));
+        api.get("/api/maintenance/read-only", null, req ->
+                ApiResponse.success(maintenanceApi.isReadOnlyNow(), "Maintenance state loaded."));
+        api.get("/api/maintenance/drop-deadline", null, req -> maintenanceApi.getDropDeadline());
+        api.get("/api/maintenance/registration-deadline", null, req -> maintenanceApi.getRegistrationDeadline());
+
+        // Student (always acting on the caller's own records)
+        api.get("/api/student/registrations", Permission.VIEW_OWN_RECORDS, req -> studentApi.getMyRegistrations(req.user().userId()));
+        api.get("/api/student/grades", Permission.VIEW_OWN_RECORDS, req -> studentApi.getMyGrades(req.user().userId()));
+        api.get("/api/student/timetable", Permission.VIEW_OWN_RECORDS, req -> studentApi.getMyTimetable(req.user().userId()));
+        api.get("/api/student/waitlist", Permission.VIEW_OWN_RECORDS, req -> studentApi.getMyWaitlist(req.user().userId()));
+        api.get("/api/student/queue-position", Permission.REGISTER_SECTIONS, req -> studentApi.getQueuePosition(req.user().userId()));
+        api.post("/api/student/register", Permission.REGISTER_SECTIONS, req ->
+                studentApi.registerForSection(req.user().userId(), req.intParam("sectionId")));
+        api.post("/api/student/drop", Permission.REGISTER_SECTIONS, req ->
+                studentApi.dropSection(req.user().userId(), req.intParam("enrollmentId")));
+        api.post("/api/student/waitlist/join", Permission.REGISTER_SECTIONS, req ->
+                studentApi.joinWaitlist(req.user().userId(), req.intParam("sectionId")));
+        api.post("/api/student/waitlist/leave", Permission.REGISTER_SECTIONS, req ->
+                studentApi.leaveWaitlist(req.user().userId(), req.intParam("sectionId")));
+        api.get("/api/student/transcript", Permission.VIEW_OWN_RECORDS, req -> reportsApi.getTranscript(req.user().userId()));
+
+        // Instructor (InstructorApi checks section assignment against the caller)
+        api.get("/api/instructor/sections", Permission.GRADE_SECTIONS, req -> instructorApi.getMySections());
+        api.get("/api/instructor/gradebook", Permission.GRADE_SECTIONS, req -> instructorApi.getGradebook(req.intParam("sectionId")));
+        api.get("/api/instructor/gradebook/changes", Permission.GRADE_SECTIONS, req ->
+                instructorApi.getGradebookChanges(req.intParam("sectionId"), req.stringParam("since")));
+        api.get("/api/instructor/statistics", Permission.GRADE_SECTIONS, req -> instructorApi.getSectionStatistics(req.intParam("sectionId")));
+        api.post("/api/instructor/scores", Permission.GRADE_SECTIONS, req ->
+                instructorApi.enterScore(req.bodyAs(ScoreEntryRequest.class)));
+        api.post("/api/instructor/final-grades", Permission.GRADE_SECTIONS, req -> {
+            List<Double> boundaries = req.field("gradeBoundaries", new TypeToken<List<Double>>() {}.getType());
+            return instructorApi.computeFinalGrades(req.intParam("sectionId"), boundaries);
+        });
+
+        // Admin: users, courses and sections, analytics and the audit trail
+        api.post("/api/admin/users", Permission.MANAGE_USERS, req -> adminApi.createUser(req.bodyAs(UserCreationRequest.class)));
+        api.get("/api/admin/courses", Permission.MANAGE_COURSES, req -> adminApi.getAllCourses());
+        api.get("/api/admin/courses/page", Permission.MANAGE_COURSES, req -> adminApi.getCoursePage(
+                req.optionalField("filter", String.class), req.optionalField("sort", CourseListSort.class),
+                req.booleanParam("ascending"), req.intParam("offset"), req.intParam("limit")));
+        api.post("/api/admin/courses/create", Permission.MANAGE_COURSES, req ->
+                adminApi.createCourse(req.stringParam("code"), req.stringParam("title"), req.intParam("credits")));
+        api.post("/api/admin/courses/edit", Permission.MANAGE_COURSES, req ->
+                adminApi.editCourse(req.intParam("courseId"), req.stringParam("title"), req.intParam("credits")));
+        api.get("/api/admin/instructors", Permission.MANAGE_COURSES, req -> adminApi.getAllInstructors());
+        api.get("/api/admin/sections", Permission.MANAGE_COURSES, req -> adminApi.getSectionsByCourse(req.intParam("courseId")));
+        api.get("/api/admin/sections/page", Permission.MANAGE_COURSES, req -> adminApi.getSectionPage(
+                req.optionalField("filter", String.class), req.optionalField("sort", SectionListSort.class),
+                req.booleanParam("ascending"), req.intParam("offset"), req.intParam("limit")));
+        api.post("/api/admin/sections/create", Permission.MANAGE_COURSES, req -> adminApi.createSection(
+                req.intParam("courseId"), req.optionalField("instructorId", Integer.class),
+                req.optionalField("dayTime", String.class), req.optionalField("room", String.class), req.intParam("capacity"),
+                req.optionalField("semester", String.class), req.intParam("year")));
+        api.post("/api/admin/sections/edit", Permission.MANAGE_COURSES, req -> adminApi.editSection(
+                req.intParam("sectionId"), req.optionalField("instructorId", Integer.class),
+                req.optionalField("dayTime", String.class), req.optionalField("room", String.class), req.intParam("capacity"),
+                req.optionalField("semester", String.class), req.intParam("year")));
+        api.post("/api/admin/sections/assign", Permission.MANAGE_COURSES, req ->
+                adminApi.assignInstructor(req.intParam("sectionId"), req.optionalField("instructorId", Integer.class)));
+        api.post("/api/admin/sections/delete", Permission.MANAGE_COURSES, req -> adminApi.deleteSection(req.intParam("sectionId")));
+        // Progress messages stay on the server; the client only sees the finished report
+        api.post("/api/admin/analytics", Permission.MANAGE_SETTINGS, req ->
+                adminApi.runGradeAnalytics(req.stringParam("semester"), req.intParam("year"), message -> {}));
+        api.get("/api/admin/audit", Permission.MANAGE_SETTINGS, req -> adminApi.getAuditLog(
+                req.optionalField("from", Instant.class), req.optionalField("to", Instant.class),
+                req.optionalField("actorId", Integer.class), req.optionalField("action", AuditAction.class), req.intParam("limit")));
+
+        // Maintenance and diagnostics (the pool, login and query figures are the server's)
+        api.post("/api/maintenance/mode", Permission.MANAGE_SETTINGS, req -> maintenanceApi.setMaintenanceMode(req.booleanParam("enabled")));
+        api.post("/api/maintenance/rebuild-grade-statistics", Permission.MANAGE_SETTINGS, req -> maintenanceApi.rebuildGradeStatistics());
+        api.post("/api/maintenance/repair-seat-counts", Permission.MANAGE_SETTINGS, req -> maintenanceApi.repairSeatCounts());
+        api.post("/api/maintenance/drop-deadline", Permission.MANAGE_SETTINGS, req ->
+                maintenanceApi.setDropDeadline(req.optionalField("deadline", LocalDate.class)));
+        api.post("/api/maintenance/registration-deadline", Permission.MANAGE_SETTINGS, req ->
+                maintenanceApi.setRegistrationDeadline(req.optionalField("deadline", LocalDate.class)));
+        api.get("/api/maintenance/pools", Permission.MANAGE_SETTINGS, req -> maintenanceApi.getPoolStats());
+        api.get("/api/maintenance/connections", Permission.MANAGE_SETTINGS, req -> maintenanceApi.getConnectionsByClient());
+        api.get("/api/maintenance/logins", Permission.MANAGE_SETTINGS, req -> maintenanceApi.getLoginStats());
+        api.get("/api/maintenance/queries", Permission.MANAGE_SETTINGS, req -> maintenanceApi.getQueryReport());
+        api.post("/api/maintenance/queries/reset", Permission.MANAGE_SETTINGS, req -> maintenanceApi.resetQueryReport());
+        api.get("/api/maintenance/queries/recording", Permission.MANAGE_SETTINGS, req -> maintenanceApi.isQueryRecordingOn());
+        api.post("/api/maintenance/queries/recording", Permission.MANAGE_SETTINGS, req ->
+                maintenanceApi.setQueryRecording(req.booleanParam("enabled")));
+    }
+
+    public static void main(String[] args) throws IOException {
+        DbManager.setDefaultProfile(PoolProfile.SERVER);
+        int port = ConfigManager.getInstance().getServerPort();
+        ErpServer erpServer = new ErpServer();
+        erpServer.start(port);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            erpServer.stop();
+            DbManager.getInstance().close();
+        }, "erp-server-shutdown"));
+    }
+}
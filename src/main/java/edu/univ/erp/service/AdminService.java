@@ -1,9 +1,16 @@
 package edu.univ.erp.service;
 
 import edu.univ.erp.access.AccessControl;
+import edu.univ.erp.audit.AuditLog;
 import edu.univ.erp.auth.PasswordHasher;
+import edu.univ.erp.api.types.CourseListSort;
+import edu.univ.erp.api.types.RowPage;
+import edu.univ.erp.api.types.SectionListRow;
+import edu.univ.erp.api.types.SectionListSort;
 import edu.univ.erp.auth.UserAuthRepository;
 import edu.univ.erp.data.*;
+import edu.univ.erp.domain.AuditAction;
+import edu.univ.erp.domain.AuditEvent;
 import edu.univ.erp.domain.Course;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Role;
@@ -11,6 +18,7 @@ import edu.univ.erp.domain.Section;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -26,7 +34,11 @@ public class AdminService {
     private final SectionRepository sectionRepo = new SectionRepository();
     private final SettingsRepository settingsRepo = new SettingsRepository();
     private final EnrollmentRepository enrollmentRepo = new EnrollmentRepository();
+    private final GradeRepository gradeRepo = new GradeRepository();
+    private final WaitlistRepository waitlistRepo = new WaitlistRepository();
+    private final TransactionManager txManager = TransactionManager.getInstance();
     private final AccessControl accessControl = new AccessControl();
+    private final AuditLog audit = AuditLog.getInstance();
 
     private void blockIfMaintenance() throws AdminException {
         if (accessControl.isMaintenanceModeOn()) {
@@ -36,58 +48,61 @@ public class AdminService {
 
     // User Management
     public void createUser(String username, String password, Role role, String name, String rollNo, String program, int year, String department) throws AdminException {
-        blockIfMaintenance();
-
-        log.info("Attempting to create user: username={}, role={}", username, role);
+        txManager.run(() -> {
+            blockIfMaintenance();
 
-        if (username == null || username.isBlank() || password == null || password.isBlank()) {
-            throw new AdminException("Username and password cannot be empty.");
-        }
+            log.info("Attempting to create user: username={}, role={}", username, role);
 
-        String hashedPassword = PasswordHasher.hash(password);
+            if (username == null || username.isBlank() || password == null || password.isBlank()) {
+                throw new AdminException("Username and password cannot be empty.");
+            }
 
-        Optional<Integer> newUserIdOpt = authRepo.createUserAuth(username, hashedPassword, role);
-        if (newUserIdOpt.isEmpty()) {
-            throw new AdminException("Failed to create user login. Username might already exist.");
-        }
-        int newUserId = newUserIdOpt.get();
+            String hashedPassword = PasswordHasher.hash(password);
 
-        boolean profileCreated = false;
-        try {
-            switch (role) {
-                case Student:
-                    if (rollNo == null || rollNo.isBlank())
-                        throw new AdminException("Roll number is required for students.");
-                    profileCreated = studentRepo.createStudent(newUserId, rollNo, program, year);
-                    break;
-                case Instructor:
-                    if (name == null || name.isBlank())
-                        throw new AdminException("Name is required for instructors.");
-                    profileCreated = instructorRepo.createInstructor(newUserId, name, department);
-                    break;
-                case Admin:
-                    profileCreated = true;
-                    break;
+            Optional<Integer> newUserIdOpt = authRepo.createUserAuth(username, hashedPassword, role);
+            if (newUserIdOpt.isEmpty()) {
+                throw new AdminException("Failed to create user login. Username might already exist.");
             }
-        } catch (Exception e) {
-            log.error("Error creating profile for user {}, attempting rollback of auth record.", newUserId, e);
-            boolean rollbackSuccess = authRepo.deleteUserAuthById(newUserId);
-            if (!rollbackSuccess) {
-                log.error("CRITICAL: Failed to rollback auth for user {}", newUserId);
+            int newUserId = newUserIdOpt.get();
+
+            boolean profileCreated = false;
+            try {
+                switch (role) {
+                    case Student:
+                        if (rollNo == null || rollNo.isBlank())
+                            throw new AdminException("Roll number is required for students.");
+                        profileCreated = studentRepo.createStudent(newUserId, rollNo, program, year);
+                        break;
+                    case Instructor:
+                        if (name == null || name.isBlank())
+                            throw new AdminException("Name is required for instructors.");
+                        profileCreated = instructorRepo.createInstructor(newUserId, name, department);
+                        break;
+                    case Admin:
+                        profileCreated = true;
+                        break;
+                }
+            } catch (Exception e) {
+                log.error("Error creating profile for user {}, attempting rollback of auth record.", newUserId, e);
+                boolean rollbackSuccess = authRepo.deleteUserAuthById(newUserId);
+                if (!rollbackSuccess) {
+                    log.error("CRITICAL: Failed to rollback auth for user {}", newUserId);
+                }
+                throw new AdminException("Failed to create user profile after creating login.", e);
             }
-            throw new AdminException("Failed to create user profile after creating login.", e);
-        }
 
-        if (!profileCreated) {
-            log.error("Profile creation failed for user {}, attempting rollback.", newUserId);
-            boolean rollbackSuccess = authRepo.deleteUserAuthById(newUserId);
-            if (!rollbackSuccess) {
-                log.error("CRITICAL: Failed to rollback auth for user {}", newUserId);
+            if (!profileCreated) {
+                log.error("Profile creation failed for user {}, attempting rollback.", newUserId);
+                boolean rollbackSuccess = authRepo.deleteUserAuthById(newUserId);
+                if (!rollbackSuccess) {
+                    log.error("CRITICAL: Failed to rollback auth for user {}", newUserId);
+                }
+                throw new AdminException("Failed to create user profile.");
             }
-            throw new AdminException("Failed to create user profile.");
-        }
 
-        log.info("Successfully created user {} with user_id {}", username, newUserId);
+            log.info("Successfully created user {} with user_id {}", username, newUserId);
+        });
+        audit.record(AuditAction.CREATE_USER, "user:" + username, "role " + role);
     }
 
     // Course & Section Read API
@@ -97,6 +112,25 @@ public class AdminService {
         return sectionRepo.findSectionsByCourse(courseId);
     }
 
+    // Pages of the admin course and section lists, sorted and filtered by the database
+    public RowPage<Course> getCoursePage(String filter, CourseListSort sort, boolean ascending, int offset, int limit) throws AdminException {
+        checkPage(offset, limit);
+        return courseRepo.findListPage(filter, sort, ascending, offset, limit);
+    }
+
+    public RowPage<SectionListRow> getCurrentTermSectionPage(String filter, SectionListSort sort, boolean ascending,
+                                                             int offset, int limit) throws AdminException {
+        checkPage(offset, limit);
+        return sectionRepo.findListPage(settingsRepo.getCurrentSemester(), settingsRepo.getCurrentYear(),
+                filter, sort, ascending, offset, limit);
+    }
+
+    private void checkPage(int offset, int limit) throws AdminException {
+        if (offset < 0 || limit <= 0 || limit > 500) {
+            throw new AdminException("Pages must start at 0 or later and hold between 1 and 500 rows.");
+        }
+    }
+
     // Course & Section Write API
     public void createCourse(String code, String title, int credits) throws AdminException {
         blockIfMaintenance();
@@ -112,6 +146,7 @@ public class AdminService {
             throw new AdminException("Failed to create course. Code might already exist.");
         }
         log.info("Successfully created course {}", code);
+        audit.record(AuditAction.CREATE_COURSE, "course:" + code, title + ", " + credits + " credits");
     }
 
     public void updateCourse(int courseId, String newTitle, int newCredits) throws AdminException {
@@ -129,6 +164,7 @@ public class AdminService {
             throw new AdminException("Failed to update course.");
         }
         log.info("Successfully updated course {}", courseId);
+        audit.record(AuditAction.UPDATE_COURSE, "course:" + courseId, newTitle.trim() + ", " + newCredits + " credits");
     }
 
     public void createSection(int courseId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) throws AdminException {
@@ -144,26 +180,51 @@ public class AdminService {
             throw new AdminException("Failed to create section.");
         }
         log.info("Successfully created section");
+        audit.record(AuditAction.CREATE_SECTION, "course:" + courseId,
+                semester + " " + year + ", " + dayTime + ", " + room + ", capacity " + capacity);
     }
 
     public void updateSection(int sectionId, Integer instructorId, String dayTime, String room, int capacity, String semester, int year) throws AdminException {
-        blockIfMaintenance();
-
-        log.info("Attempting to update section {}", sectionId);
-        if (capacity <= 0) throw new AdminException("Capacity must be positive.");
-        if (semester == null || semester.isBlank()) throw new AdminException("Semester cannot be empty.");
-        if (year < 2025 || year > 2026)
-            throw new AdminException("Invalid year. Allowed: 2025 or 2026");
-
-        int enrolledCount = enrollmentRepo.countEnrollmentsBySection(sectionId);
-        if (enrolledCount > 0 && capacity < enrolledCount) {
-            throw new AdminException("Cannot reduce capacity below enrolled count (" + enrolledCount + ").");
-        }
+        List<Integer> promoted = txManager.execute(() -> {
+            blockIfMaintenance();
+
+            log.info("Attempting to update section {}", sectionId);
+            if (capacity <= 0) throw new AdminException("Capacity must be positive.");
+            if (semester == null || semester.isBlank()) throw new AdminException("Semester cannot be empty.");
+            if (year < 2025 || year > 2026)
+                throw new AdminException("Invalid year. Allowed: 2025 or 2026");
+
+            int enrolledCount = enrollmentRepo.countEnrollmentsBySection(sectionId);
+            if (enrolledCount > 0 && capacity < enrolledCount) {
+                throw new AdminException("Cannot reduce capacity below enrolled count (" + enrolledCount + ").");
+            }
 
-        if (!sectionRepo.updateSection(sectionId, instructorId, dayTime, room, capacity, semester, year)) {
-            throw new AdminException("Failed to update section.");
+            if (!sectionRepo.updateSection(sectionId, instructorId, dayTime, room, capacity, semester, year)) {
+                throw new AdminException("Failed to update section.");
+            }
+            log.info("Successfully updated section {}", sectionId);
+
+            // Seats added by a capacity increase go to the waitlist first
+            List<Integer> students = List.of();
+            if (capacity > enrolledCount) {
+                try {
+                    students = waitlistRepo.promote(sectionId);
+                } catch (DataAccessException e) {
+                    log.error("SQL error promoting the waitlist of section {}", sectionId, e);
+                    throw new AdminException("Failed to update the section's waitlist. Section not updated.");
+                }
+                if (!students.isEmpty()) {
+                    log.info("Promoted {} waitlisted students into section {}", students.size(), sectionId);
+                }
+            }
+            return students;
+        });
+        audit.record(AuditAction.UPDATE_SECTION, "section:" + sectionId,
+                semester + " " + year + ", " + dayTime + ", " + room + ", capacity " + capacity + ", instructor " + instructorId);
+        for (int promotedStudent : promoted) {
+            audit.record(AuditAction.PROMOTE_FROM_WAITLIST, "section:" + sectionId,
+                    "student " + promotedStudent + " took an added seat");
         }
-        log.info("Successfully updated section {}", sectionId);
     }
 
     public void assignInstructor(int sectionId, Integer instructorId) throws AdminException {
@@ -174,20 +235,24 @@ public class AdminService {
             throw new AdminException("Failed to assign instructor.");
         }
         log.info("Successfully assigned instructor");
+        audit.record(AuditAction.ASSIGN_INSTRUCTOR, "section:" + sectionId, "instructor " + instructorId);
     }
 
     public void deleteSection(int sectionId) throws AdminException {
-        blockIfMaintenance();
+        txManager.run(() -> {
+            blockIfMaintenance();
 
-        log.info("Attempting to delete section {}", sectionId);
-        int enrolledCount = enrollmentRepo.countEnrollmentsBySection(sectionId);
-        if (enrolledCount > 0) {
-            throw new AdminException("Cannot delete section — students are enrolled.");
-        }
-        if (!sectionRepo.deleteById(sectionId)) {
-            throw new AdminException("Failed to delete section.");
-        }
-        log.info("Successfully deleted section {}", sectionId);
+            log.info("Attempting to delete section {}", sectionId);
+            int enrolledCount = enrollmentRepo.countEnrollmentsBySection(sectionId);
+            if (enrolledCount > 0) {
+                throw new AdminException("Cannot delete section — students are enrolled.");
+            }
+            if (!sectionRepo.deleteById(sectionId)) {
+                throw new AdminException("Failed to delete section.");
+            }
+            log.info("Successfully deleted section {}", sectionId);
+        });
+        audit.record(AuditAction.DELETE_SECTION, "section:" + sectionId, null);
     }
 
     // Maintenance setters (NOT BLOCKED by maintenance check)
@@ -198,6 +263,34 @@ public class AdminService {
             throw new AdminException("Failed to update maintenance mode.");
         }
         log.info("Successfully set maintenance mode");
+        audit.record(AuditAction.SET_MAINTENANCE_MODE, "settings:maintenance_on", String.valueOf(enabled));
+    }
+
+    // Repair job for the maintained grade aggregates (allowed, and most useful, during maintenance)
+    public void rebuildGradeStatistics() throws AdminException {
+        log.info("Attempting to rebuild section grade statistics");
+        if (!gradeRepo.rebuildAllSectionStats()) {
+            throw new AdminException("Failed to rebuild grade statistics.");
+        }
+        log.info("Successfully rebuilt section grade statistics");
+        audit.record(AuditAction.REBUILD_GRADE_STATISTICS, "section_component_stats", null);
+    }
+
+    // Repair job for sections.enrolled_count; returns how many sections had drifted
+    public int repairSeatCounts() throws AdminException {
+        log.info("Attempting to repair section seat counts");
+        int repaired;
+        try {
+            repaired = sectionRepo.repairEnrolledCounts();
+        } catch (DataAccessException e) {
+            log.error("SQL error repairing section seat counts", e);
+            throw new AdminException("Failed to repair seat counts.");
+        }
+        if (repaired > 0) {
+            log.warn("Corrected the seat count of {} sections", repaired);
+        }
+        audit.record(AuditAction.REPAIR_SEAT_COUNTS, "sections", repaired + " corrected");
+        return repaired;
     }
 
     public void setDropDeadline(LocalDate deadline) throws AdminException {
@@ -209,6 +302,7 @@ public class AdminService {
             throw new AdminException("Failed to update drop deadline.");
         }
         log.info("Successfully set drop deadline");
+        audit.record(AuditAction.SET_DROP_DEADLINE, "settings:drop_deadline", deadline.toString());
     }
 
     public void setRegistrationDeadline(LocalDate deadline) throws AdminException {
@@ -220,5 +314,17 @@ public class AdminService {
             throw new AdminException("Failed to update registration deadline.");
         }
         log.info("Successfully set registration deadline");
+        audit.record(AuditAction.SET_REGISTRATION_DEADLINE, "settings:registration_deadline", deadline.toString());
+    }
+
+    // Audit trail query; null filters match everything
+    public List<AuditEvent> getAuditLog(Instant from, Instant to, Integer actorId, AuditAction action, int limit) throws AdminException {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new AdminException("Please choose a valid time range.");
+        }
+        if (limit <= 0 || limit > 5000) {
+            throw new AdminException("Limit must be between 1 and 5000.");
+        }
+        return audit.find(from, to, actorId, action, limit);
     }
 }
@@ -1,17 +1,24 @@
 package edu.univ.erp.service;
 
+import edu.univ.erp.audit.AuditLog;
+import edu.univ.erp.auth.LastLoginRecorder;
+import edu.univ.erp.auth.LoginThrottle;
 import edu.univ.erp.auth.PasswordHasher;
+import edu.univ.erp.auth.PasswordVerifier;
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.auth.UserAuthData;
 import edu.univ.erp.auth.UserAuthRepository;
 import edu.univ.erp.data.InstructorProfileRepository;
 import edu.univ.erp.data.StudentProfileRepository;
+import edu.univ.erp.domain.AuditAction;
 import edu.univ.erp.domain.Role;
 import edu.univ.erp.domain.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.RejectedExecutionException;
 
 // It coordinates repositories and services to log a user in.
 public class AuthService {
@@ -22,33 +29,63 @@ public class AuthService {
     private final StudentProfileRepository studentRepository = new StudentProfileRepository();
     private final InstructorProfileRepository instructorRepository = new InstructorProfileRepository();
     private final SessionManager sessionManager = SessionManager.getInstance();
+    private final AuditLog audit = AuditLog.getInstance();
+    private final LoginThrottle loginThrottle = LoginThrottle.getInstance();
+    private final LastLoginRecorder lastLogins = LastLoginRecorder.getInstance();
 
-    // Attempts to log in a user.
+    // Attempts to log in a user from the desktop client.
     public User login(String username, String password) throws AuthException {
+        return login(username, password, "local");
+    }
+
+    // Attempts to log in a user; 'source' is the client address the attempt is throttled under.
+    public User login(String username, String password, String source) throws AuthException {
         log.info("Login attempt for user: {}", username);
 
-        // 1. Find user auth data
-        UserAuthData authData = authRepository.findUserAuthDataByUsername(username)
-                .orElseThrow(() -> new AuthException("Invalid username or password."));
+        // 1. Refuse the attempt if this username or source is over its rate or locked out
+        OptionalLong wait = loginThrottle.tryAcquire(username, source, System.currentTimeMillis());
+        if (wait.isPresent()) {
+            long seconds = Math.max(1, (wait.getAsLong() + 999) / 1000);
+            log.warn("Login attempt for user {} from {} throttled for {}s", username, source, seconds);
+            throw new AuthException("Too many login attempts. Please try again in " + seconds + " seconds.");
+        }
 
-        // 2. Check the password
-        boolean passwordMatches = PasswordHasher.checkPassword(password, authData.passwordHash());
+        // 2. Find user auth data
+        Optional<UserAuthData> found = authRepository.findUserAuthDataByUsername(username);
+        if (found.isEmpty()) {
+            loginThrottle.recordFailure(username, System.currentTimeMillis());
+            throw new AuthException("Invalid username or password.");
+        }
+        UserAuthData authData = found.get();
+
+        // 3. Check the password
+        boolean passwordMatches;
+        try {
+            passwordMatches = PasswordHasher.checkPassword(password, authData.passwordHash());
+        } catch (RejectedExecutionException e) {
+            throw new AuthException("The server is busy. Please try to log in again in a moment.");
+        }
 
         if (!passwordMatches) {
             log.warn("Invalid password for user: {}", username);
+            loginThrottle.recordFailure(username, System.currentTimeMillis());
             throw new AuthException("Invalid username or password.");
         }
+        loginThrottle.recordSuccess(username);
+        if (PasswordHasher.needsRehash(authData.passwordHash())) {
+            rehashInBackground(authData, password);
+        }
 
-        // 3. Update last login on success
-        authRepository.updateLastLogin(authData.userId());
+        // 4. Note the login time; it is written to users_auth in a later batch
+        lastLogins.record(authData.userId());
 
-        // 4. Load the user's profile from the ERP database
+        // 5. Load the user's profile (cached by the profile repositories after the first login)
         Object profile = loadUserProfile(authData.userId(), authData.role());
 
-        // 5. Create the complete User session object
+        // 6. Create the complete User session object
         User user = new User(authData.userId(), username, authData.role(), profile);
 
-        // 6. Start the session
+        // 7. Start the session
         sessionManager.startSession(user);
         log.info("Login successful for user: {}", username);
         return user;
@@ -65,6 +102,14 @@ public class AuthService {
             throw new AuthException("New password cannot be the same as the old password.");
         }
 
+        // The old password is a credential check like a login: same throttle, so it cannot be guessed here instead
+        OptionalLong wait = loginThrottle.tryAcquire(username, "user:" + userId, System.currentTimeMillis());
+        if (wait.isPresent()) {
+            long seconds = Math.max(1, (wait.getAsLong() + 999) / 1000);
+            log.warn("Password change for user_id {} throttled for {}s", userId, seconds);
+            throw new AuthException("Too many attempts. Please try again in " + seconds + " seconds.");
+        }
+
         // Fetch current user auth data using username for hash comparison
         Optional<UserAuthData> authDataOpt = authRepository.findUserAuthDataByUsername(username);
 
@@ -76,13 +121,26 @@ public class AuthService {
         UserAuthData authData = authDataOpt.get();
 
         // Verify old password
-        if (!PasswordHasher.checkPassword(oldPassword, authData.passwordHash())) {
+        boolean oldPasswordMatches;
+        try {
+            oldPasswordMatches = PasswordHasher.checkPassword(oldPassword, authData.passwordHash());
+        } catch (RejectedExecutionException e) {
+            throw new AuthException("The server is busy. Please try again in a moment.");
+        }
+        if (!oldPasswordMatches) {
             log.warn("Incorrect old password provided for password change user_id {}", userId);
+            loginThrottle.recordFailure(username, System.currentTimeMillis());
             throw new AuthException("Incorrect current password.");
         }
-
-        // Hash the new password
-        String newHashedPassword = PasswordHasher.hash(newPassword);
+        loginThrottle.recordSuccess(username);
+
+        // Hash the new password on the verifier threads, like the check above
+        String newHashedPassword;
+        try {
+            newHashedPassword = PasswordHasher.hashBounded(newPassword);
+        } catch (RejectedExecutionException e) {
+            throw new AuthException("The server is busy. Please try again in a moment.");
+        }
 
         // Update the hash in the database
         boolean success = authRepository.updatePasswordHash(userId, newHashedPassword);
@@ -93,6 +151,21 @@ public class AuthService {
         }
 
         log.info("Password successfully changed for user_id {}", userId);
+        audit.record(AuditAction.CHANGE_PASSWORD, "user:" + userId, null);
+    }
+
+    // Upgrades a hash made at an older cost while the plain password is at hand; the login does not wait
+    private void rehashInBackground(UserAuthData authData, String password) {
+        int userId = authData.userId();
+        PasswordVerifier.getInstance().runInBackground("rehash of user " + userId, () -> {
+            try {
+                if (authRepository.replacePasswordHash(userId, authData.passwordHash(), PasswordHasher.hash(password))) {
+                    log.info("Rehashed password of user_id {} at the current cost", userId);
+                }
+            } catch (Exception e) {
+                log.warn("Could not rehash password of user_id {}", userId, e);
+            }
+        });
     }
 
     // Helper method to fetch the correct profile (Student, Instructor) from the erp_db.
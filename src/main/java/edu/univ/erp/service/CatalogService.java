@@ -54,7 +54,8 @@ public class CatalogService {
             catalog.add(row);
         }
 
-        log.info("Catalog fetch complete, found {} sections.", catalog.size());
+        log.atInfo().addKeyValue("event", "catalog").addKeyValue("semester", semester).addKeyValue("year", year)
+                .addKeyValue("sections", catalog.size()).log("Catalog fetch complete");
         return catalog;
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package edu.univ.erp.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Mergeable running aggregate of enrollment outcomes: partial results built on different
+// fork-join workers are combined with merge(), so the order of rows never matters.
+public class GradeAccumulator {
+
+    static final int HISTOGRAM_BINS = 10;
+
+    private long count;
+    private long scoredCount;
+    private double sum;
+    private double sumOfSquares;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final long[] histogram = new long[HISTOGRAM_BINS];
+    private final Map<String, Long> letterGrades = new TreeMap<>();
+
+    public void add(Double totalScore, String finalGrade) {
+        count++;
+        if (totalScore != null) {
+            double score = totalScore;
+            scoredCount++;
+            sum += score;
+            sumOfSquares += score * score;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+            histogram[Math.max(0, Math.min((int) (score / 10), HISTOGRAM_BINS - 1))]++;
+        }
+        if (finalGrade != null && !finalGrade.isBlank()) {
+            letterGrades.merge(finalGrade, 1L, Long::sum);
+        }
+    }
+
+    public GradeAccumulator merge(GradeAccumulator other) {
+        count += other.count;
+        scoredCount += other.scoredCount;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int bin = 0; bin < HISTOGRAM_BINS; bin++) {
+            histogram[bin] += other.histogram[bin];
+        }
+        other.letterGrades.forEach((grade, n) -> letterGrades.merge(grade, n, Long::sum));
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long scoredCount() {
+        return scoredCount;
+    }
+
+    public double mean() {
+        return scoredCount == 0 ? 0.0 : sum / scoredCount;
+    }
+
+    public double standardDeviation() {
+        if (scoredCount == 0) return 0.0;
+        double mean = mean();
+        return Math.sqrt(Math.max(0.0, sumOfSquares / scoredCount - mean * mean));
+    }
+
+    public double min() {
+        return scoredCount == 0 ? 0.0 : min;
+    }
+
+    public double max() {
+        return scoredCount == 0 ? 0.0 : max;
+    }
+
+    public long[] histogram() {
+        return histogram.clone();
+    }
+
+    public Map<String, Long> letterGrades() {
+        return new TreeMap<>(letterGrades);
+    }
+}
@@ -0,0 +1,168 @@
+package edu.univ.erp.service;
+
+import edu.univ.erp.api.types.GradeAnalyticsReport;
+import edu.univ.erp.api.types.GradeDistributionRow;
+import edu.univ.erp.api.types.OutlierSectionRow;
+import edu.univ.erp.data.GradeRepository;
+import edu.univ.erp.domain.EnrollmentGradeRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+// Term-wide grade analytics: streams every enrollment of a term once and aggregates the rows
+// on a fork-join pool into per-course, per-department and per-program accumulators.
+public class GradeAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GradeAnalyticsService.class);
+
+    static final String DIM_COURSE = "Course";
+    static final String DIM_DEPARTMENT = "Department";
+    static final String DIM_PROGRAM = "Program";
+    private static final String DIM_SECTION = "Section"; // internal, used for outlier detection
+
+    private static final int BATCH_SIZE = 4096;     // rows handed to the pool at a time
+    private static final int SPLIT_THRESHOLD = 512; // rows a single fork-join leaf aggregates
+    private static final double OUTLIER_Z = 2.0;    // |z| of a section mean against its course
+    private static final int MIN_OUTLIER_SECTION_SIZE = 3;
+
+    private final GradeRepository gradeRepo = new GradeRepository();
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private record GroupKey(String dimension, String key) {}
+
+    public GradeAnalyticsReport analyzeTerm(String semester, int year, Consumer<String> progress) throws AdminException {
+        if (semester == null || semester.isBlank()) {
+            throw new AdminException("Semester cannot be empty.");
+        }
+        log.info("Starting grade analytics for {} {}", semester, year);
+        progress.accept("Streaming grades for " + semester + " " + year + "...");
+
+        List<ForkJoinTask<Map<GroupKey, GradeAccumulator>>> partials = new ArrayList<>();
+        Map<Integer, String> sectionCourses = new HashMap<>();
+        List<EnrollmentGradeRecord> batch = new ArrayList<>(BATCH_SIZE);
+
+        long scanned;
+        try {
+            scanned = gradeRepo.streamTermEnrollmentGrades(semester, year, record -> {
+                batch.add(record);
+                sectionCourses.putIfAbsent(record.sectionId(), record.courseCode());
+                if (batch.size() == BATCH_SIZE) {
+                    partials.add(pool.submit(new AggregateTask(List.copyOf(batch))));
+                    batch.clear();
+                    progress.accept("Read " + (partials.size() * (long) BATCH_SIZE) + " enrollments...");
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Grade analytics failed while streaming {} {}", semester, year, e);
+            throw new AdminException("Could not read grades for the selected term.", e);
+        }
+        if (!batch.isEmpty()) {
+            partials.add(pool.submit(new AggregateTask(List.copyOf(batch))));
+        }
+        progress.accept("Read " + scanned + " enrollments. Aggregating " + partials.size() + " batches...");
+
+        Map<GroupKey, GradeAccumulator> totals = new HashMap<>();
+        try {
+            for (ForkJoinTask<Map<GroupKey, GradeAccumulator>> partial : partials) {
+                mergeInto(totals, partial.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdminException("Grade analytics was interrupted.", e);
+        } catch (ExecutionException e) {
+            log.error("Grade analytics aggregation failed", e.getCause());
+            throw new AdminException("Failed to aggregate grades.", e.getCause());
+        }
+
+        List<GradeDistributionRow> distributions = toDistributionRows(totals);
+        List<OutlierSectionRow> outliers = findOutlierSections(totals, sectionCourses);
+        progress.accept("Found " + distributions.size() + " groups and " + outliers.size() + " outlier sections.");
+
+        log.info("Grade analytics for {} {} complete: {} enrollments, {} groups, {} outliers",
+                semester, year, scanned, distributions.size(), outliers.size());
+        return new GradeAnalyticsReport(semester, year, scanned, distributions, outliers);
+    }
+
+    // Aggregates a slice of rows, splitting it in halves until slices are small enough.
+    private static class AggregateTask extends RecursiveTask<Map<GroupKey, GradeAccumulator>> {
+        private final List<EnrollmentGradeRecord> rows;
+
+        AggregateTask(List<EnrollmentGradeRecord> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        protected Map<GroupKey, GradeAccumulator> compute() {
+            if (rows.size() <= SPLIT_THRESHOLD) {
+                Map<GroupKey, GradeAccumulator> result = new HashMap<>();
+                for (EnrollmentGradeRecord row : rows) {
+                    add(result, DIM_COURSE, row.courseCode(), row);
+                    add(result, DIM_DEPARTMENT, Objects.requireNonNullElse(row.department(), "Unassigned"), row);
+                    add(result, DIM_PROGRAM, Objects.requireNonNullElse(row.program(), "Unknown"), row);
+                    add(result, DIM_SECTION, String.valueOf(row.sectionId()), row);
+                }
+                return result;
+            }
+            int mid = rows.size() / 2;
+            AggregateTask left = new AggregateTask(rows.subList(0, mid));
+            AggregateTask right = new AggregateTask(rows.subList(mid, rows.size()));
+            left.fork();
+            Map<GroupKey, GradeAccumulator> result = right.compute();
+            mergeInto(result, left.join());
+            return result;
+        }
+
+        private static void add(Map<GroupKey, GradeAccumulator> result, String dimension, String key, EnrollmentGradeRecord row) {
+            result.computeIfAbsent(new GroupKey(dimension, key), k -> new GradeAccumulator())
+                    .add(row.totalScore(), row.finalGrade());
+        }
+    }
+
+    private static void mergeInto(Map<GroupKey, GradeAccumulator> target, Map<GroupKey, GradeAccumulator> source) {
+        source.forEach((key, acc) -> target.merge(key, acc, GradeAccumulator::merge));
+    }
+
+    private List<GradeDistributionRow> toDistributionRows(Map<GroupKey, GradeAccumulator> totals) {
+        List<String> order = List.of(DIM_COURSE, DIM_DEPARTMENT, DIM_PROGRAM);
+        return totals.entrySet().stream()
+                .filter(e -> order.contains(e.getKey().dimension()))
+                .sorted(Comparator.comparing((Map.Entry<GroupKey, GradeAccumulator> e) -> order.indexOf(e.getKey().dimension()))
+                        .thenComparing(e -> e.getKey().key()))
+                .map(e -> {
+                    GradeAccumulator acc = e.getValue();
+                    return new GradeDistributionRow(e.getKey().dimension(), e.getKey().key(), acc.count(),
+                            acc.mean(), acc.standardDeviation(), acc.min(), acc.max(),
+                            acc.histogram(), acc.letterGrades());
+                })
+                .toList();
+    }
+
+    // A section is an outlier when its mean is more than OUTLIER_Z standard errors from its course mean.
+    private List<OutlierSectionRow> findOutlierSections(Map<GroupKey, GradeAccumulator> totals, Map<Integer, String> sectionCourses) {
+        List<OutlierSectionRow> outliers = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : sectionCourses.entrySet()) {
+            GradeAccumulator section = totals.get(new GroupKey(DIM_SECTION, String.valueOf(entry.getKey())));
+            GradeAccumulator course = totals.get(new GroupKey(DIM_COURSE, entry.getValue()));
+            if (section == null || course == null
+                    || section.scoredCount() < MIN_OUTLIER_SECTION_SIZE
+                    || section.scoredCount() == course.scoredCount() // only section of its course
+                    || course.standardDeviation() == 0.0) {
+                continue;
+            }
+            double standardError = course.standardDeviation() / Math.sqrt(section.scoredCount());
+            double z = (section.mean() - course.mean()) / standardError;
+            if (Math.abs(z) >= OUTLIER_Z) {
+                outliers.add(new OutlierSectionRow(entry.getKey(), entry.getValue(), section.scoredCount(),
+                        section.mean(), course.mean(), z));
+            }
+        }
+        outliers.sort(Comparator.comparingDouble((OutlierSectionRow o) -> Math.abs(o.zScore())).reversed());
+        return outliers;
+    }
+}
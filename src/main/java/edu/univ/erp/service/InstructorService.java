@@ -1,5 +1,6 @@
 package edu.univ.erp.service;
 
+import edu.univ.erp.audit.AuditLog;
 import edu.univ.erp.access.AccessControl;
 import edu.univ.erp.api.types.GradebookRow;
 import edu.univ.erp.api.types.InstructorSectionRow;
@@ -17,6 +18,8 @@ import java.util.stream.Collectors;
 public class InstructorService {
 
     private static final Logger log = LoggerFactory.getLogger(InstructorService.class);
+    private static final List<String> REQUIRED_COMPONENTS = List.of(GradebookPanel.QUIZ, GradebookPanel.MIDTERM, GradebookPanel.ENDSEM);
+    private static final double MAX_POSSIBLE_SCORE = 100.0;
 
     private final SectionRepository sectionRepo = new SectionRepository();
     private final CourseRepository courseRepo = new CourseRepository();
@@ -25,6 +28,8 @@ public class InstructorService {
     private final StudentProfileRepository studentRepo = new StudentProfileRepository();
     private final AccessControl accessControl = new AccessControl();
     private final SettingsRepository settingsRepo = new SettingsRepository();
+    private final TransactionManager txManager = TransactionManager.getInstance();
+    private final AuditLog audit = AuditLog.getInstance();
 
 
     public List<InstructorSectionRow> getMySections(int instructorId) {
@@ -113,26 +118,32 @@ public class InstructorService {
 
 
     public void enterScore(User instructor, ScoreEntryRequest request) throws GradeException {
-        log.info("Attempting score entry by instructor {}: {}", instructor.userId(), request);
-        if (accessControl.isMaintenanceModeOn()) {
-            throw new GradeException("Grading is currently disabled due to system maintenance.");
-        }
-        Optional<Enrollment> enrollOpt = enrollmentRepo.findById(request.enrollmentId());
-        if (enrollOpt.isEmpty()) {
-            log.error("Score entry failed: Enrollment {} not found.", request.enrollmentId());
-            throw new GradeException("Enrollment record not found.");
-        }
-        int sectionId = enrollOpt.get().sectionId();
-        if (!accessControl.canInstructorGradeSection(instructor, sectionId)) {
-            throw new GradeException("You are not authorized to enter grades for this section.");
-        }
-        if (request.score() != null && (request.score() < 0 || request.score() > 100)) {
-            throw new GradeException("Score must be between 0 and 100 (or empty).");
-        }
-        if (!gradeRepo.saveOrUpdateScore(request.enrollmentId(), request.component(), request.score())) {
-            throw new GradeException("Could not save the score due to a database error.");
-        }
-        log.info("Score entry successful.");
+        txManager.run(() -> {
+            log.debug("Attempting score entry by instructor {}: {}", instructor.userId(), request);
+            if (accessControl.isMaintenanceModeOn()) {
+                throw new GradeException("Grading is currently disabled due to system maintenance.");
+            }
+            Optional<Enrollment> enrollOpt = enrollmentRepo.findById(request.enrollmentId());
+            if (enrollOpt.isEmpty()) {
+                log.error("Score entry failed: Enrollment {} not found.", request.enrollmentId());
+                throw new GradeException("Enrollment record not found.");
+            }
+            int sectionId = enrollOpt.get().sectionId();
+            if (!accessControl.canInstructorGradeSection(instructor, sectionId)) {
+                throw new GradeException("You are not authorized to enter grades for this section.");
+            }
+            if (request.score() != null && (request.score() < 0 || request.score() > 100)) {
+                throw new GradeException("Score must be between 0 and 100 (or empty).");
+            }
+            if (!gradeRepo.saveOrUpdateScore(request.enrollmentId(), request.component(), request.score())) {
+                throw new GradeException("Could not save the score due to a database error.");
+            }
+        });
+        log.atInfo().addKeyValue("event", "score_entry").addKeyValue("instructorId", instructor.userId())
+                .addKeyValue("enrollmentId", request.enrollmentId()).addKeyValue("component", request.component())
+                .log("Score saved");
+        audit.record(AuditAction.ENTER_SCORE, "enrollment:" + request.enrollmentId(),
+                request.component() + " = " + request.score());
     }
 
     public void computeFinalGrades(User instructor, int sectionId, List<Double> gradeBoundaries) throws GradeException {
@@ -159,52 +170,15 @@ public class InstructorService {
         int failCount = 0;
         int incompleteCount = 0;
 
-        final String quizComp = GradebookPanel.QUIZ;
-        final String midtermComp = GradebookPanel.MIDTERM;
-        final String endSemComp = GradebookPanel.ENDSEM;
-        final List<String> requiredComponents = List.of(quizComp, midtermComp, endSemComp);
-        final double maxPossibleScore = 100.0;
-
+        // Each student's grade commits on its own, so one bad row does not undo the grades already saved
         for (Enrollment enrollment : enrollments) {
             try {
-                List<Grade> grades = gradeRepo.findByEnrollmentId(enrollment.enrollmentId());
-                Map<String, Double> scores = grades.stream()
-                        .filter(g -> g.score() != null && g.component() != null)
-                        .collect(Collectors.toMap(Grade::component, Grade::score, (s1, s2) -> s1));
-                log.debug("Calculating final grade for enrollment {}. Scores: {}", enrollment.enrollmentId(), scores);
-
-                boolean missingComponent = false;
-                for (String required : requiredComponents) {
-                    if (!scores.containsKey(required)) {
-                        log.warn("Skipping final grade for enrollment {}: Missing required score for component '{}'.", enrollment.enrollmentId(), required);
-                        missingComponent = true;
-                        break;
-                    }
+                FinalGradeOutcome outcome = txManager.execute(() -> computeFinalGrade(enrollment.enrollmentId(), gradeBoundaries));
+                switch (outcome) {
+                    case GRADED -> successCount++;
+                    case INCOMPLETE -> incompleteCount++;
+                    case NOT_SAVED -> failCount++;
                 }
-
-                if (missingComponent) {
-                    boolean savedIncomplete = gradeRepo.updateFinalGradeForEnrollment(enrollment.enrollmentId(), "I");
-                    if (savedIncomplete) incompleteCount++; else failCount++;
-                    continue;
-                }
-
-                double finalNumericScore = scores.get(quizComp) + scores.get(midtermComp) + scores.get(endSemComp);
-                log.debug("Calculated raw score sum: {:.2f} for enrollment {}", finalNumericScore, enrollment.enrollmentId());
-
-                if (finalNumericScore > maxPossibleScore) {
-                    log.error("Final score calculation error for enrollment {}: Score sum ({:.2f}) exceeds {}.", enrollment.enrollmentId(), finalNumericScore, maxPossibleScore);
-                    throw new GradeException("Calculated score sum ("+String.format("%.2f", finalNumericScore)+") exceeds "+maxPossibleScore+" for student with enrollment ID " + enrollment.enrollmentId() + ". Please check component scores.");
-                } else if (finalNumericScore < 0) {
-                    log.warn("Calculated score sum ({:.2f}) is negative for enrollment {}. Clamping to 0.", finalNumericScore, enrollment.enrollmentId());
-                    finalNumericScore = 0.0;
-                }
-                // Determine letter grade using the given boundaries
-                String finalLetterGrade = calculateLetterGrade(finalNumericScore, gradeBoundaries);
-                log.debug("Final score used for grading: {:.2f}, Letter Grade: {} for enrollment {}", finalNumericScore, finalLetterGrade, enrollment.enrollmentId());
-
-                boolean saved = gradeRepo.updateFinalGradeForEnrollment(enrollment.enrollmentId(), finalLetterGrade);
-                if (saved) successCount++; else failCount++;
-
             } catch (GradeException ge) { // Catch calculation errors (like score > 100)
                 log.error("Grade computation error for enrollment {}: {}", enrollment.enrollmentId(), ge.getMessage());
                 failCount++;
@@ -216,13 +190,52 @@ public class InstructorService {
         }
 
         log.info("Final grade computation complete for section {}. Success: {}, Failed: {}, Incomplete: {}", sectionId, successCount, failCount, incompleteCount);
+        audit.record(AuditAction.COMPUTE_FINAL_GRADES, "section:" + sectionId, "boundaries " + gradeBoundaries
+                + ", " + successCount + " graded, " + incompleteCount + " incomplete, " + failCount + " failed");
         if (failCount > 0) {
-            throw new GradeException("Failed to compute or save final grades for " + failCount + " student(s) due to errors (e.g., score sum > "+maxPossibleScore+"). Check logs.");
+            throw new GradeException("Failed to compute or save final grades for " + failCount + " student(s) due to errors (e.g., score sum > "+MAX_POSSIBLE_SCORE+"). Check logs.");
         }
     }
 
+    private enum FinalGradeOutcome { GRADED, INCOMPLETE, NOT_SAVED }
+
+    private FinalGradeOutcome computeFinalGrade(int enrollmentId, List<Double> gradeBoundaries) throws GradeException {
+        // Checked again in each student's unit: maintenance may start while a large section is graded
+        if (accessControl.isMaintenanceModeOn()) { throw new GradeException("Grading disabled due to maintenance."); }
+        List<Grade> grades = gradeRepo.findByEnrollmentId(enrollmentId);
+        Map<String, Double> scores = grades.stream()
+                .filter(g -> g.score() != null && g.component() != null)
+                .collect(Collectors.toMap(Grade::component, Grade::score, (s1, s2) -> s1));
+        log.debug("Calculating final grade for enrollment {}. Scores: {}", enrollmentId, scores);
+
+        for (String required : REQUIRED_COMPONENTS) {
+            if (!scores.containsKey(required)) {
+                log.warn("Skipping final grade for enrollment {}: Missing required score for component '{}'.", enrollmentId, required);
+                boolean savedIncomplete = gradeRepo.updateFinalGradeForEnrollment(enrollmentId, "I");
+                return savedIncomplete ? FinalGradeOutcome.INCOMPLETE : FinalGradeOutcome.NOT_SAVED;
+            }
+        }
+
+        double finalNumericScore = scores.get(GradebookPanel.QUIZ) + scores.get(GradebookPanel.MIDTERM) + scores.get(GradebookPanel.ENDSEM);
+        log.debug("Calculated raw score sum: {} for enrollment {}", finalNumericScore, enrollmentId);
+
+        if (finalNumericScore > MAX_POSSIBLE_SCORE) {
+            log.error("Final score calculation error for enrollment {}: Score sum ({}) exceeds {}.", enrollmentId, finalNumericScore, MAX_POSSIBLE_SCORE);
+            throw new GradeException("Calculated score sum ("+String.format("%.2f", finalNumericScore)+") exceeds "+MAX_POSSIBLE_SCORE+" for student with enrollment ID " + enrollmentId + ". Please check component scores.");
+        } else if (finalNumericScore < 0) {
+            log.warn("Calculated score sum ({}) is negative for enrollment {}. Clamping to 0.", finalNumericScore, enrollmentId);
+            finalNumericScore = 0.0;
+        }
+        // Determine letter grade using the given boundaries
+        String finalLetterGrade = calculateLetterGrade(finalNumericScore, gradeBoundaries);
+        log.debug("Final score used for grading: {}, Letter Grade: {} for enrollment {}", finalNumericScore, finalLetterGrade, enrollmentId);
+
+        boolean saved = gradeRepo.updateFinalGradeForEnrollment(enrollmentId, finalLetterGrade);
+        return saved ? FinalGradeOutcome.GRADED : FinalGradeOutcome.NOT_SAVED;
+    }
+
     private String calculateLetterGrade(double score, List<Double> boundaries) {
-        log.debug("Calculating grade for score: {:.2f} using boundaries: {}", score, boundaries);
+        log.debug("Calculating grade for score: {} using boundaries: {}", score, boundaries);
         if (score >= boundaries.get(0)) { log.debug("Score >= {} (A+), returning A+", boundaries.get(0)); return "A+"; }
         if (score >= boundaries.get(1)) { log.debug("Score >= {} (A), returning A", boundaries.get(1)); return "A"; }
         if (score >= boundaries.get(2)) { log.debug("Score >= {} (B), returning B", boundaries.get(2)); return "B"; }
@@ -233,33 +246,16 @@ public class InstructorService {
     }
 
     public Map<String, Double> getSectionStatistics(int sectionId) {
-        log.debug("Calculating statistics for section {}", sectionId);
+        log.debug("Loading statistics for section {}", sectionId);
         Map<String, Double> averageScores = new HashMap<>();
-        Map<String, List<Double>> scoresByComponent = new HashMap<>();
-        List<Enrollment> enrollments = enrollmentRepo.findBySectionId(sectionId);
-        if (enrollments.isEmpty()) {
-            log.info("No enrollments for section {}. Cannot calculate stats.", sectionId);
-            return averageScores;
-        }
-        for (Enrollment enrollment : enrollments) {
-            List<Grade> grades = gradeRepo.findByEnrollmentId(enrollment.enrollmentId());
-            for (Grade grade : grades) {
-                if (grade.component() != null && grade.score() != null) {
-                    scoresByComponent.computeIfAbsent(grade.component(), k -> new ArrayList<>()).add(grade.score());
-                }
-            }
-        }
-        for (Map.Entry<String, List<Double>> entry : scoresByComponent.entrySet()) {
-            String component = entry.getKey();
-            List<Double> scores = entry.getValue();
-            if (!scores.isEmpty()) {
-                double sum = scores.stream().mapToDouble(Double::doubleValue).sum();
-                double average = sum / scores.size();
-                averageScores.put(component, average);
-                log.debug("Section {}: Average for '{}' is {:.2f} ({} scores)", sectionId, component, average, scores.size());
+        // Aggregates are maintained on every score write, so this is a single keyed read
+        for (SectionComponentStats stats : gradeRepo.findStatsBySection(sectionId)) {
+            if (stats.count() > 0) {
+                averageScores.put(stats.component(), stats.mean());
+                log.debug("Section {}: Average for '{}' is {} ({} scores)", sectionId, stats.component(), stats.mean(), stats.count());
             }
         }
-        log.info("Calculated statistics for {} components in section {}", averageScores.size(), sectionId);
+        log.info("Loaded statistics for {} components in section {}", averageScores.size(), sectionId);
         return averageScores;
     }
-}
\ No newline at end of file
+}
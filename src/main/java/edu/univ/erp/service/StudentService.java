@@ -1,10 +1,12 @@
 package edu.univ.erp.service;
 
+import edu.univ.erp.audit.AuditLog;
 import edu.univ.erp.access.AccessControl;
 import edu.univ.erp.api.types.GradeRow;
 import edu.univ.erp.api.types.RegistrationRow;
 import edu.univ.erp.api.types.TimetableEntry;
 import edu.univ.erp.api.types.TranscriptEntry;
+import edu.univ.erp.api.types.WaitlistRow;
 import edu.univ.erp.data.*;
 import edu.univ.erp.domain.*;
 import org.slf4j.Logger;
@@ -25,73 +27,81 @@ public class StudentService {
     private final InstructorProfileRepository instructorRepo = new InstructorProfileRepository();
     private final AccessControl accessControl = new AccessControl();
     private final GradeRepository gradeRepo = new GradeRepository();
+    private final WaitlistRepository waitlistRepo = new WaitlistRepository();
+    private final TransactionManager txManager = TransactionManager.getInstance();
+    private final AuditLog audit = AuditLog.getInstance();
+    private final SeatFeed seatFeed = SeatFeed.getInstance();
 
     public void registerForSection(int studentId, int sectionId) throws RegistrationException {
-        log.info("Attempting registration for student {} in section {}", studentId, sectionId);
+        txManager.run(() -> {
+            log.debug("Attempting registration for student {} in section {}", studentId, sectionId);
 
-        // 1. Check Maintenance Mode
-        if (accessControl.isMaintenanceModeOn()) {
-            throw new RegistrationException("Registration is currently disabled due to system maintenance.");
-        }
-        log.debug("Maintenance mode check passed.");
-
-        // 2. Check Registration Deadline
-        Optional<LocalDate> deadlineOpt = settingsRepo.getRegistrationDeadline();
-        if (deadlineOpt.isEmpty()) {
-            log.error("Registration blocked: Registration deadline is not configured in settings.");
-            throw new RegistrationException("The registration deadline has not been set by the administrator.");
-        }
-        LocalDate deadline = deadlineOpt.get();
-        LocalDate today = LocalDate.now();
-        log.debug("Comparing current date ({}) with registration deadline ({}) for section {}", today, deadline, sectionId);
-        if (today.isAfter(deadline)) {
-            log.warn("Registration blocked: Deadline {} has passed for section {}.", deadline, sectionId);
-            throw new RegistrationException("The deadline to register for courses (" + deadline + ") has passed.");
-        }
-        log.debug("Registration deadline check passed.");
-
-        // 3. Check for Duplicate Enrollment in the same section
-        if (enrollmentRepo.exists(studentId, sectionId)) {
-            log.warn("Registration blocked: student {} already enrolled in section {}", studentId, sectionId);
-            throw new RegistrationException("You are already registered for this section.");
-        }
-        log.debug("Duplicate enrollment check passed.");
+            // 1. Check Maintenance Mode
+            if (accessControl.isMaintenanceModeOn()) {
+                throw new RegistrationException("Registration is currently disabled due to system maintenance.");
+            }
+            log.debug("Maintenance mode check passed.");
 
-        // 4. Fetch Target Section (used for both course check and capacity)
-        Optional<Section> sectionOpt = sectionRepo.findById(sectionId);
-        if (sectionOpt.isEmpty()) {
-            throw new RegistrationException("The selected section does not exist.");
-        }
-        Section section = sectionOpt.get();
-        int targetCourseId = section.courseId();
+            // 2. Check Registration Deadline
+            Optional<LocalDate> deadlineOpt = settingsRepo.getRegistrationDeadline();
+            if (deadlineOpt.isEmpty()) {
+                log.error("Registration blocked: Registration deadline is not configured in settings.");
+                throw new RegistrationException("The registration deadline has not been set by the administrator.");
+            }
+            LocalDate deadline = deadlineOpt.get();
+            LocalDate today = LocalDate.now();
+            log.debug("Comparing current date ({}) with registration deadline ({}) for section {}", today, deadline, sectionId);
+            if (today.isAfter(deadline)) {
+                log.warn("Registration blocked: Deadline {} has passed for section {}.", deadline, sectionId);
+                throw new RegistrationException("The deadline to register for courses (" + deadline + ") has passed.");
+            }
+            log.debug("Registration deadline check passed.");
+
+            // 3. Read every section and enrollment check in one query (settings above come from the cache)
+            String currentSemester = settingsRepo.getCurrentSemester();
+            int currentYear = settingsRepo.getCurrentYear();
+            Optional<RegistrationEligibility> eligibilityOpt;
+            try {
+                eligibilityOpt = enrollmentRepo.findRegistrationEligibility(studentId, sectionId, currentSemester, currentYear);
+            } catch (DataAccessException e) {
+                log.error("SQL error checking registration eligibility for student {} in section {}", studentId, sectionId, e);
+                throw new RegistrationException("An unexpected error occurred during registration.");
+            }
 
-        // 5. Disallow multiple sections of the same course in the current term
-        String currentSemester = settingsRepo.getCurrentSemester();
-        int currentYear = settingsRepo.getCurrentYear();
+            if (eligibilityOpt.isEmpty()) {
+                throw new RegistrationException("The selected section does not exist.");
+            }
+            RegistrationEligibility eligibility = eligibilityOpt.get();
 
-        List<Enrollment> existingEnrollments = enrollmentRepo.findByStudentId(studentId);
-        boolean alreadyRegisteredForCourse = existingEnrollments.stream().filter(e -> "Enrolled".equalsIgnoreCase(e.status())).map(e -> sectionRepo.findById(e.sectionId())).filter(Optional::isPresent).map(Optional::get).anyMatch(s ->
-                        s.courseId() == targetCourseId && currentSemester.equalsIgnoreCase(s.semester()) && s.year() == currentYear);
+            // 4. Check for Duplicate Enrollment in the same section
+            if (eligibility.alreadyInSection()) {
+                log.warn("Registration blocked: student {} already enrolled in section {}", studentId, sectionId);
+                throw new RegistrationException("You are already registered for this section.");
+            }
 
-        if (alreadyRegisteredForCourse) {
-            log.warn("Registration blocked: student {} already enrolled in another section of course {} for {} {}", studentId, targetCourseId, currentSemester, currentYear);
-            throw new RegistrationException(
-                    "You are already registered in another section of this course for the current term.");
-        }
-        log.debug("Same-course check passed.");
+            // 5. Disallow multiple sections of the same course in the current term
+            if (eligibility.inSameCourseThisTerm()) {
+                log.warn("Registration blocked: student {} already enrolled in another section of course {} for {} {}", studentId, eligibility.courseId(), currentSemester, currentYear);
+                throw new RegistrationException(
+                        "You are already registered in another section of this course for the current term.");
+            }
+            log.debug("Duplicate and same-course checks passed.");
 
-        // 6. Check Section Capacity
-        int currentEnrollment = sectionRepo.getEnrollmentCount(sectionId);
-        if (currentEnrollment >= section.capacity()) {
-            throw new RegistrationException("Registration failed: The section is full.");
-        }
-        log.debug("Capacity check passed.");
+            // 6. Check Section Capacity
+            if (eligibility.isFull()) {
+                throw new RegistrationException("Registration failed: The section is full.");
+            }
+            log.debug("Capacity check passed.");
 
-        // 7. Create Enrollment
-        if (!enrollmentRepo.create(studentId, sectionId)) {
-            throw new RegistrationException("An unexpected error occurred during registration.");
-        }
-        log.info("Registration successful.");
+            // 7. Create Enrollment
+            if (!enrollmentRepo.create(studentId, sectionId)) {
+                throw new RegistrationException("An unexpected error occurred during registration.");
+            }
+        });
+        log.atInfo().addKeyValue("event", "registration").addKeyValue("studentId", studentId)
+                .addKeyValue("sectionId", sectionId).log("Registration successful");
+        audit.record(AuditAction.REGISTER, "section:" + sectionId, "student " + studentId);
+        seatFeed.nudge();
     }
 
     public List<RegistrationRow> getMyRegistrations(int studentId) {
@@ -133,58 +143,147 @@ public class StudentService {
     }
 
     public void dropSection(int studentId, int enrollmentId) throws DropException {
-        log.info("Attempting to drop enrollment {} for student {}", enrollmentId, studentId);
+        List<Integer> promoted = txManager.execute(() -> {
+            log.info("Attempting to drop enrollment {} for student {}", enrollmentId, studentId);
 
-        // 1. Check Maintenance Mode
-        if (accessControl.isMaintenanceModeOn()) {
-            log.warn("Drop blocked: Maintenance mode is ON.");
-            throw new DropException("Cannot drop courses during system maintenance.");
-        }
-        log.debug("Maintenance mode check passed.");
+            // 1. Check Maintenance Mode
+            if (accessControl.isMaintenanceModeOn()) {
+                log.warn("Drop blocked: Maintenance mode is ON.");
+                throw new DropException("Cannot drop courses during system maintenance.");
+            }
+            log.debug("Maintenance mode check passed.");
 
-        // 2. Check Drop Deadline
-        Optional<LocalDate> deadlineOpt = settingsRepo.getDropDeadline();
-        if (deadlineOpt.isEmpty()) {
-            log.error("Drop blocked: Drop deadline is not configured in settings.");
-            throw new DropException("The drop deadline has not been set by the administrator.");
-        }
-        LocalDate deadline = deadlineOpt.get();
-        LocalDate today = LocalDate.now();
-        log.debug("Comparing current date ({}) with deadline ({}) for enrollment {}", today, deadline, enrollmentId);
-        if (today.isAfter(deadline)) {
-            log.warn("Drop blocked: Deadline {} has passed for enrollment {}.", deadline, enrollmentId);
-            throw new DropException("The deadline to drop this section (" + deadline + ") has passed.");
-        }
-        log.debug("Deadline check passed.");
-
-        // 3. Verify Ownership
-        log.debug("Verifying ownership for student {} and enrollment {}", studentId, enrollmentId);
-        Optional<Enrollment> enrollOpt = enrollmentRepo.findById(enrollmentId);
-        if (enrollOpt.isEmpty() || enrollOpt.get().studentId() != studentId) {
-            log.error("Drop blocked: Enrollment {} not found or does not belong to student {}.", enrollmentId, studentId);
-            throw new DropException("You are not enrolled in the section you are trying to drop, or the enrollment ID is incorrect.");
-        }
-        log.debug("Ownership check passed.");
-
-        // 4. Delete Associated Grades first
-        log.debug("Attempting to delete grades associated with enrollment {}", enrollmentId);
-        boolean gradesDeleted = gradeRepo.deleteByEnrollmentId(enrollmentId); // Need to add this method to GradeRepository
-        if (!gradesDeleted) {
-            log.error("Drop failed: Could not delete associated grades for enrollment {}.", enrollmentId);
-            throw new DropException("An error occurred while removing grade records. Drop cancelled.");
+            // 2. Check Drop Deadline
+            Optional<LocalDate> deadlineOpt = settingsRepo.getDropDeadline();
+            if (deadlineOpt.isEmpty()) {
+                log.error("Drop blocked: Drop deadline is not configured in settings.");
+                throw new DropException("The drop deadline has not been set by the administrator.");
+            }
+            LocalDate deadline = deadlineOpt.get();
+            LocalDate today = LocalDate.now();
+            log.debug("Comparing current date ({}) with deadline ({}) for enrollment {}", today, deadline, enrollmentId);
+            if (today.isAfter(deadline)) {
+                log.warn("Drop blocked: Deadline {} has passed for enrollment {}.", deadline, enrollmentId);
+                throw new DropException("The deadline to drop this section (" + deadline + ") has passed.");
+            }
+            log.debug("Deadline check passed.");
+
+            // 3. Verify Ownership
+            log.debug("Verifying ownership for student {} and enrollment {}", studentId, enrollmentId);
+            Optional<Enrollment> enrollOpt = enrollmentRepo.findById(enrollmentId);
+            if (enrollOpt.isEmpty() || enrollOpt.get().studentId() != studentId) {
+                log.error("Drop blocked: Enrollment {} not found or does not belong to student {}.", enrollmentId, studentId);
+                throw new DropException("You are not enrolled in the section you are trying to drop, or the enrollment ID is incorrect.");
+            }
+            log.debug("Ownership check passed.");
+
+            // 4. Delete Associated Grades first
+            log.debug("Attempting to delete grades associated with enrollment {}", enrollmentId);
+            boolean gradesDeleted = gradeRepo.deleteByEnrollmentId(enrollmentId); // Need to add this method to GradeRepository
+            if (!gradesDeleted) {
+                log.error("Drop failed: Could not delete associated grades for enrollment {}.", enrollmentId);
+                throw new DropException("An error occurred while removing grade records. Drop cancelled.");
+            }
+            log.debug("Successfully deleted grades for enrollment {}", enrollmentId);
+
+            // 5. Perform the enrollment drop (delete the record)
+            log.debug("Attempting database delete for enrollment {}", enrollmentId);
+            boolean enrollmentDeleted = enrollmentRepo.deleteById(enrollmentId);
+            log.debug("Database delete result for enrollment: {}", enrollmentDeleted);
+            if (!enrollmentDeleted) {
+                log.error("Drop failed: Could not delete enrollment record {} after deleting grades.", enrollmentId);
+                throw new DropException("An unexpected error occurred while dropping the section itself. Please contact support.");
+            }
+
+            log.info("Drop successful for enrollment {} by student {}", enrollmentId, studentId);
+
+            // 6. Hand the freed seat to the head of the waitlist; if that fails the drop is rolled back with it
+            List<Integer> students;
+            try {
+                students = waitlistRepo.promote(enrollOpt.get().sectionId());
+            } catch (DataAccessException e) {
+                log.error("SQL error promoting the waitlist after dropping enrollment {}", enrollmentId, e);
+                throw new DropException("An error occurred while updating the waitlist. Drop cancelled.");
+            }
+            if (!students.isEmpty()) {
+                log.info("Seat freed by enrollment {} given to waitlisted students {}", enrollmentId, students);
+            }
+            return students;
+        });
+        audit.record(AuditAction.DROP, "enrollment:" + enrollmentId, "student " + studentId);
+        for (int promotedStudent : promoted) {
+            audit.record(AuditAction.PROMOTE_FROM_WAITLIST, "enrollment:" + enrollmentId,
+                    "student " + promotedStudent + " took the freed seat");
         }
-        log.debug("Successfully deleted grades for enrollment {}", enrollmentId);
-
-        // 5. Perform the enrollment drop (delete the record)
-        log.debug("Attempting database delete for enrollment {}", enrollmentId);
-        boolean enrollmentDeleted = enrollmentRepo.deleteById(enrollmentId);
-        log.debug("Database delete result for enrollment: {}", enrollmentDeleted);
-        if (!enrollmentDeleted) {
-            log.error("Drop failed: Could not delete enrollment record {} after deleting grades.", enrollmentId);
-            throw new DropException("An unexpected error occurred while dropping the section itself. Please contact support.");
+        seatFeed.nudge();
+    }
+
+    // Joins the FIFO waitlist of a full section and returns the student's position in it.
+    public int joinWaitlist(int studentId, int sectionId) throws RegistrationException {
+        int joinedAt = txManager.execute(() -> {
+            log.info("Student {} requesting to join waitlist of section {}", studentId, sectionId);
+
+            if (accessControl.isMaintenanceModeOn()) {
+                throw new RegistrationException("Registration is currently disabled due to system maintenance.");
+            }
+            Optional<LocalDate> deadlineOpt = settingsRepo.getRegistrationDeadline();
+            if (deadlineOpt.isEmpty()) {
+                throw new RegistrationException("The registration deadline has not been set by the administrator.");
+            }
+            if (LocalDate.now().isAfter(deadlineOpt.get())) {
+                throw new RegistrationException("The deadline to register for courses (" + deadlineOpt.get() + ") has passed.");
+            }
+            if (enrollmentRepo.exists(studentId, sectionId)) {
+                throw new RegistrationException("You are already registered for this section.");
+            }
+            Optional<Section> sectionOpt = sectionRepo.findById(sectionId);
+            if (sectionOpt.isEmpty()) {
+                throw new RegistrationException("The selected section does not exist.");
+            }
+            if (sectionRepo.getEnrollmentCount(sectionId) < sectionOpt.get().capacity()) {
+                throw new RegistrationException("This section still has free seats. Please register directly.");
+            }
+
+            Optional<Integer> existing = waitlistRepo.findPosition(studentId, sectionId);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+            if (!waitlistRepo.add(studentId, sectionId)) {
+                throw new RegistrationException("An unexpected error occurred while joining the waitlist.");
+            }
+            int position = waitlistRepo.findPosition(studentId, sectionId)
+                    .orElseThrow(() -> new RegistrationException("An unexpected error occurred while joining the waitlist."));
+            log.info("Student {} joined waitlist of section {} at position {}", studentId, sectionId, position);
+            return position;
+        });
+        audit.record(AuditAction.JOIN_WAITLIST, "section:" + sectionId, "student " + studentId + ", position " + joinedAt);
+        return joinedAt;
+    }
+
+    public void leaveWaitlist(int studentId, int sectionId) throws RegistrationException {
+        log.info("Student {} leaving waitlist of section {}", studentId, sectionId);
+        if (!waitlistRepo.remove(studentId, sectionId)) {
+            throw new RegistrationException("You are not on the waitlist for this section.");
         }
+        audit.record(AuditAction.LEAVE_WAITLIST, "section:" + sectionId, "student " + studentId);
+    }
 
-        log.info("Drop successful for enrollment {} by student {}", enrollmentId, studentId);
+    public List<WaitlistRow> getMyWaitlist(int studentId) {
+        List<WaitlistRow> rows = new ArrayList<>();
+        for (WaitlistEntry entry : waitlistRepo.findByStudentId(studentId)) {
+            Optional<Section> sectionOpt = sectionRepo.findById(entry.sectionId());
+            if (sectionOpt.isEmpty()) continue;
+            Section section = sectionOpt.get();
+            Optional<Course> courseOpt = courseRepo.findById(section.courseId());
+            rows.add(new WaitlistRow(
+                    section.sectionId(),
+                    courseOpt.map(Course::code).orElse("N/A"),
+                    courseOpt.map(Course::title).orElse("Course Not Found"),
+                    section.dayTime(),
+                    entry.position()
+            ));
+        }
+        return rows;
     }
 
     public List<GradeRow> getMyGrades(int studentId) {
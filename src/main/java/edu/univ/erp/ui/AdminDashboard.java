@@ -1,6 +1,7 @@
 package edu.univ.erp.ui;
 
 import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.domain.User;
 import edu.univ.erp.ui.component.*;
@@ -37,7 +38,7 @@ public class AdminDashboard extends JFrame {
 
     private JLabel maintenanceBannerLabel;
     private Timer maintenanceCheckTimer;
-    private final MaintenanceApi maintenanceApi = new MaintenanceApi();
+    private final MaintenanceApi maintenanceApi = ApiClients.maintenance();
 
     public AdminDashboard(User user) {
         this.adminUser = user;
@@ -118,6 +119,14 @@ public class AdminDashboard extends JFrame {
         settingsPanel.setBackground(CARD_BG);
         tabbedPane.addTab("System Settings", settingsPanel);
 
+        GradeAnalyticsPanel analyticsPanel = new GradeAnalyticsPanel();
+        analyticsPanel.setBackground(CARD_BG);
+        tabbedPane.addTab("Grade Analytics", analyticsPanel);
+
+        DiagnosticsPanel diagnosticsPanel = new DiagnosticsPanel();
+        diagnosticsPanel.setBackground(CARD_BG);
+        tabbedPane.addTab("Diagnostics", diagnosticsPanel);
+
         JPanel contentPanel = new JPanel(new MigLayout("fill, insets 10"));
         contentPanel.setBackground(MAIN_BG);
         contentPanel.add(tabbedPane, "grow");
@@ -176,6 +185,8 @@ public class AdminDashboard extends JFrame {
         addNavItem("📘", "Course Creation", false, 1);
         addNavItem("📝", "Course Management", false, 2);
         addNavItem("🔧", "System Settings", false, 3);
+        addNavItem("📊", "Grade Analytics", false, 4);
+        addNavItem("🩺", "Diagnostics", false, 5);
 
         // Divider
         sidebarPanel.add(new JSeparator(JSeparator.HORIZONTAL) {{
@@ -323,6 +334,8 @@ public class AdminDashboard extends JFrame {
         addNavItem("📘", "Course Creation", selectedIndex == 1, 1);
         addNavItem("📝", "Course Management", selectedIndex == 2, 2);
         addNavItem("🔧", "System Settings", selectedIndex == 3, 3);
+        addNavItem("📊", "Grade Analytics", selectedIndex == 4, 4);
+        addNavItem("🩺", "Diagnostics", selectedIndex == 5, 5);
 
         // Divider
         sidebarPanel.add(new JSeparator(JSeparator.HORIZONTAL) {{
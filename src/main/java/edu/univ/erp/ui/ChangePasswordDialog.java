@@ -2,6 +2,7 @@ package edu.univ.erp.ui;
 
 import edu.univ.erp.api.auth.AuthApi;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,7 +13,7 @@ import java.util.Arrays;
 public class ChangePasswordDialog extends JDialog {
 
     private static final Logger log = LoggerFactory.getLogger(ChangePasswordDialog.class);
-    private final AuthApi authApi = new AuthApi();
+    private final AuthApi authApi = ApiClients.auth();
 
     private JPasswordField txtOldPassword;
     private JPasswordField txtNewPassword;
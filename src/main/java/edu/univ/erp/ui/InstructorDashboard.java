@@ -1,13 +1,15 @@
 package edu.univ.erp.ui;
 
+import edu.univ.erp.api.catalog.CatalogApi;
 import edu.univ.erp.api.common.ApiResponse;
 import edu.univ.erp.api.instructor.InstructorApi;
 import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.api.types.InstructorSectionRow;
 import edu.univ.erp.auth.SessionManager;
-import edu.univ.erp.data.SettingsRepository;
 import edu.univ.erp.domain.User;
 import edu.univ.erp.ui.component.GradebookPanel;
+import edu.univ.erp.ui.component.SectionDataPrefetcher;
 import edu.univ.erp.ui.component.StatisticsPanel;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
@@ -42,8 +44,9 @@ public class InstructorDashboard extends JFrame {
 
     private JPanel selectedSectionItem;
 
-    private final InstructorApi instructorApi = new InstructorApi();
-    private final SettingsRepository settingsRepo = new SettingsRepository();
+    private final InstructorApi instructorApi = ApiClients.instructor();
+    private final CatalogApi catalogApi = ApiClients.catalog();
+    private final SectionDataPrefetcher prefetcher = SectionDataPrefetcher.getInstance();
     private List<InstructorSectionRow> sectionData = Collections.emptyList();
 
     public InstructorDashboard(User user) {
@@ -118,9 +121,8 @@ public class InstructorDashboard extends JFrame {
 
         sidebarPanel.add(brandWrapper, "growx, wrap");
 
-        String currentSemester = settingsRepo.getCurrentSemester();
-        int currentYear = settingsRepo.getCurrentYear();
-        String termText = currentSemester + " " + currentYear;
+        ApiResponse<String> termResponse = catalogApi.getCurrentTerm();
+        String termText = termResponse.isSuccess() ? termResponse.getData() : "";
 
         JPanel sectionsHeader = new JPanel(
                 new MigLayout("insets 10 15 5 15, fillx", "[]10[][grow]", "[]"));
@@ -202,6 +204,8 @@ public class InstructorDashboard extends JFrame {
                 for (InstructorSectionRow row : sectionData) {
                     addSectionSidebarItem(row, idx++);
                 }
+                // Warm every section's gradebook and statistics in the background, so a click shows them at once
+                prefetcher.prefetch(sectionData.stream().map(InstructorSectionRow::sectionId).toList());
             }
         } else {
             sectionData = Collections.emptyList();
@@ -291,7 +295,7 @@ public class InstructorDashboard extends JFrame {
     }
 
     private void checkAndShowMaintenanceBanner(JPanel mainContentPanel) {
-        MaintenanceApi maintenanceApi = new MaintenanceApi();
+        MaintenanceApi maintenanceApi = ApiClients.maintenance();
         if (maintenanceApi.isReadOnlyNow()) {
             log.warn("Maintenance mode is ON. Displaying banner.");
             JLabel banner = new JLabel(
@@ -355,6 +359,7 @@ public class InstructorDashboard extends JFrame {
                 JOptionPane.YES_NO_OPTION
         );
         if (choice == JOptionPane.YES_OPTION) {
+            prefetcher.clear();
             SessionManager.getInstance().endSession();
             dispose();
             SwingUtilities.invokeLater(() -> new LoginWindow().setVisible(true));
@@ -3,6 +3,7 @@ package edu.univ.erp.ui;
 import com.formdev.flatlaf.FlatClientProperties;
 import edu.univ.erp.api.auth.AuthApi;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.domain.User;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
@@ -30,7 +31,7 @@ public class LoginWindow extends JFrame {
     private static final Color ACCENT = new Color(144, 238, 144);
 
     public LoginWindow() {
-        this.authApi = new AuthApi();
+        this.authApi = ApiClients.auth();
 
         setTitle("University ERP - Login");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -1,6 +1,7 @@
 package edu.univ.erp.ui;
 
 import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.domain.User;
 import edu.univ.erp.ui.component.*;
@@ -336,7 +337,7 @@ public class StudentDashboard extends JFrame {
     }
 
     private void checkAndShowMaintenanceBanner(JPanel mainContentPanel) {
-        MaintenanceApi maintenanceApi = new MaintenanceApi();
+        MaintenanceApi maintenanceApi = ApiClients.maintenance();
         if (maintenanceApi.isReadOnlyNow()) {
             log.warn("Maintenance mode is ON. Displaying banner.");
             JLabel banner = new JLabel(
@@ -2,8 +2,12 @@ package edu.univ.erp.ui.component;
 
 import edu.univ.erp.api.catalog.CatalogApi;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.api.student.StudentApi;
 import edu.univ.erp.api.types.CourseRow;
+import edu.univ.erp.api.types.RowDelta;
+import edu.univ.erp.api.types.SeatChange;
+import edu.univ.erp.api.types.SeatChanges;
 import edu.univ.erp.domain.User;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
@@ -13,14 +17,14 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
-import java.util.List;
 
 public class CourseCatalogPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(CourseCatalogPanel.class);
 
-    private final CatalogApi catalogApi = new CatalogApi();
-    private final StudentApi studentApi = new StudentApi();
+    private final CatalogApi catalogApi = ApiClients.catalog();
+    private final StudentApi studentApi = ApiClients.student();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
     private final User currentUser;
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
@@ -30,10 +34,20 @@ public class CourseCatalogPanel extends JPanel implements Refreshable {
     private static final Font FONT_TITLE = new Font("SansSerif", Font.BOLD, 18);
     private static final Font FONT_SECTION_TITLE = new Font("SansSerif", Font.BOLD, 15);
     private static final Font FONT_LABEL = new Font("SansSerif", Font.PLAIN, 13);
+    private static final String HINT_TEXT = "Select a course section from the table to register.";
+    private static final int SEAT_POLL_MILLIS = 2000;
 
     private JTable table;
     private DefaultTableModel tableModel;
-    private List<CourseRow> catalogData;
+    private DeltaTableRows<CourseRow> catalogRows;
+    private JLabel hintLabel;
+    private JButton btnRegister;
+
+    // Seat changes by other users are applied to just their rows while the catalog is on screen
+    private final Timer seatPoll = new Timer(SEAT_POLL_MILLIS, e -> pollSeatChanges());
+    private String seatFeedId;
+    private long seatCursor;
+    private boolean seatPollInFlight;
 
     public CourseCatalogPanel(User user) {
         this.currentUser = user;
@@ -69,6 +83,10 @@ public class CourseCatalogPanel extends JPanel implements Refreshable {
             }
         };
 
+        catalogRows = new DeltaTableRows<>(tableModel, CourseRow::sectionId, row -> new Object[]{
+                row.courseCode(), row.title(), row.credits(), row.instructorName(), row.dayTime(), row.room(), row.getAvailability()
+        }, null);
+
         table = new JTable(tableModel);
         table.setFillsViewportHeight(true);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -102,12 +120,12 @@ public class CourseCatalogPanel extends JPanel implements Refreshable {
         ));
         actionsPanel.setOpaque(false);
 
-        JLabel hintLabel = new JLabel("Select a course section from the table to register.");
+        hintLabel = new JLabel(HINT_TEXT);
         hintLabel.setForeground(COLOR_TEXT_SECONDARY);
         hintLabel.setFont(FONT_LABEL);
         actionsPanel.add(hintLabel, "growx");
 
-        JButton btnRegister = new JButton("Register for Selected Course");
+        btnRegister = new JButton("Register for Selected Course");
         actionsPanel.add(btnRegister, "h 32!");
 
         add(actionsPanel, "growx");
@@ -120,17 +138,19 @@ public class CourseCatalogPanel extends JPanel implements Refreshable {
 
     private void loadCatalogData() {
         log.info("Loading course catalog data...");
-        tableModel.setRowCount(0);
 
-        ApiResponse<List<CourseRow>> response = catalogApi.getCurrentCatalog();
+        // Only rows changed since the last load come back; an unchanged catalog costs one small round trip
+        String since = catalogRows.version();
+        tasks.call("catalog", UiTaskScheduler.Priority.INTERACTIVE, () -> catalogApi.getCatalogChanges(since), this::showCatalog);
+    }
 
+    private void showCatalog(ApiResponse<RowDelta<CourseRow>> response) {
         if (response.isSuccess()) {
-            this.catalogData = response.getData();
-            for (CourseRow row : catalogData) {
-                tableModel.addRow(new Object[]{row.courseCode(), row.title(), row.credits(), row.instructorName(), row.dayTime(), row.room(), row.getAvailability()});
+            if (catalogRows.apply(response.getData())) {
+                log.info("Catalog data loaded into table.");
             }
-            log.info("Catalog data loaded into table.");
         } else {
+            catalogRows.reset();
             log.error("Failed to load catalog: {}", response.getMessage());
             JOptionPane.showMessageDialog(
                     this,
@@ -141,6 +161,55 @@ public class CourseCatalogPanel extends JPanel implements Refreshable {
         }
     }
 
+    private void pollSeatChanges() {
+        if (seatPollInFlight || !isShowing()) {
+            return;
+        }
+        seatPollInFlight = true;
+        long cursor = seatCursor;
+        tasks.call("catalog-seats", UiTaskScheduler.Priority.BULK, () -> catalogApi.getSeatChanges(cursor), response -> {
+            seatPollInFlight = false;
+            if (!response.isSuccess()) {
+                log.debug("Seat change poll failed: {}", response.getMessage());
+                return;
+            }
+            SeatChanges seatChanges = response.getData();
+            boolean feedRestarted = seatFeedId != null && !seatFeedId.equals(seatChanges.feedId());
+            seatFeedId = seatChanges.feedId();
+            seatCursor = seatChanges.cursor();
+            if (feedRestarted) {
+                // Changes made while the feed was down are not in it
+                catalogRows.reset();
+                loadCatalogData();
+                return;
+            }
+            for (SeatChange change : seatChanges.changes()) {
+                applySeatChange(change);
+            }
+        });
+    }
+
+    private void applySeatChange(SeatChange change) {
+        CourseRow old = catalogRows.find(change.sectionId());
+        if (old == null) {
+            return; // Section of another term, or added after the catalog loaded
+        }
+        catalogRows.replace(new CourseRow(old.sectionId(), old.courseCode(), old.title(), old.credits(),
+                old.instructorName(), old.dayTime(), old.room(), change.capacity(), change.enrolledCount()));
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        seatPoll.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        seatPoll.stop();
+        super.removeNotify();
+    }
+
     private void onRegister() {
         int selectedRow = table.getSelectedRow();
         if (selectedRow == -1) {
@@ -153,12 +222,17 @@ public class CourseCatalogPanel extends JPanel implements Refreshable {
             return;
         }
 
-        CourseRow selectedCourse = catalogData.get(selectedRow);
+        CourseRow selectedCourse = catalogRows.rows().get(selectedRow);
         int sectionId = selectedCourse.sectionId();
         int studentId = currentUser.userId();
 
         log.debug("Register button clicked for sectionId {} by studentId {}", sectionId, studentId);
 
+        if (selectedCourse.isFull()) {
+            onJoinWaitlist(selectedCourse);
+            return;
+        }
+
         int choice = JOptionPane.showConfirmDialog(
                 this,
                 "Register for " + selectedCourse.courseCode() + " - " + selectedCourse.title() + "?",
@@ -167,25 +241,66 @@ public class CourseCatalogPanel extends JPanel implements Refreshable {
         );
 
         if (choice == JOptionPane.YES_OPTION) {
-            ApiResponse<Void> response = studentApi.registerForSection(studentId, sectionId);
+            // Registration may wait in the server's admission queue; show the place in line meanwhile
+            btnRegister.setEnabled(false);
+            hintLabel.setText("Registering...");
+            Timer positionPoll = new Timer(1000, e -> tasks.call("queue-position:" + studentId, UiTaskScheduler.Priority.INTERACTIVE,
+                    () -> studentApi.getQueuePosition(studentId), position -> {
+                if (position.isSuccess() && position.getData() > 0) {
+                    hintLabel.setText(position.getMessage());
+                }
+            }));
+            positionPoll.start();
+
+            // Writes are submitted without a key: a superseding request must never cancel one mid-call
+            tasks.call(null, UiTaskScheduler.Priority.INTERACTIVE,
+                    () -> studentApi.registerForSection(studentId, sectionId), response -> {
+                positionPoll.stop();
+                btnRegister.setEnabled(true);
+                hintLabel.setText(HINT_TEXT);
+                showRegistrationResult(response);
+            });
+        }
+    }
 
-            if (response.isSuccess()) {
-                JOptionPane.showMessageDialog(
-                        this,
-                        response.getMessage(),
-                        "Registration Successful",
-                        JOptionPane.INFORMATION_MESSAGE
-                );
-                loadCatalogData();
-            } else {
+    private void showRegistrationResult(ApiResponse<Void> response) {
+        if (response.isSuccess()) {
+            JOptionPane.showMessageDialog(
+                    this,
+                    response.getMessage(),
+                    "Registration Successful",
+                    JOptionPane.INFORMATION_MESSAGE
+            );
+            loadCatalogData();
+        } else {
+            JOptionPane.showMessageDialog(
+                    this,
+                    response.getMessage(),
+                    "Registration Failed",
+                    JOptionPane.WARNING_MESSAGE
+            );
+        }
+    }
+
+    // Full sections: offer a place in the waitlist instead of a registration that would fail.
+    private void onJoinWaitlist(CourseRow selectedCourse) {
+        int choice = JOptionPane.showConfirmDialog(
+                this,
+                selectedCourse.courseCode() + " - " + selectedCourse.title() + " is full.\n"
+                        + "Join the waitlist? You will be registered automatically when a seat opens.",
+                "Section Full",
+                JOptionPane.YES_NO_OPTION
+        );
+        if (choice != JOptionPane.YES_OPTION) return;
+
+        tasks.call(null, UiTaskScheduler.Priority.INTERACTIVE,
+                () -> studentApi.joinWaitlist(currentUser.userId(), selectedCourse.sectionId()), response ->
                 JOptionPane.showMessageDialog(
                         this,
                         response.getMessage(),
-                        "Registration Failed",
-                        JOptionPane.WARNING_MESSAGE
-                );
-            }
-        }
+                        response.isSuccess() ? "Joined Waitlist" : "Waitlist Failed",
+                        response.isSuccess() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE
+                ));
     }
 
     @Override
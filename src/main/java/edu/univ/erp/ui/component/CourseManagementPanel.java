@@ -2,32 +2,31 @@ package edu.univ.erp.ui.component;
 
 import com.formdev.flatlaf.FlatClientProperties;
 import edu.univ.erp.api.admin.AdminApi;
+import edu.univ.erp.api.catalog.CatalogApi;
 import edu.univ.erp.api.common.ApiResponse;
-import edu.univ.erp.data.CourseRepository;
-import edu.univ.erp.data.SectionRepository;
-import edu.univ.erp.data.SettingsRepository;
+import edu.univ.erp.api.remote.ApiClients;
+import edu.univ.erp.api.types.SectionListRow;
+import edu.univ.erp.api.types.SectionListSort;
 import edu.univ.erp.domain.Course;
 import edu.univ.erp.domain.Instructor;
-import edu.univ.erp.domain.Section;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 public class CourseManagementPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(CourseManagementPanel.class);
-    private final AdminApi adminApi = new AdminApi();
-    private final SectionRepository sectionRepo = new SectionRepository();
-    private final SettingsRepository settingsRepo = new SettingsRepository();
-    private final CourseRepository courseRepo = new CourseRepository();
+    private final AdminApi adminApi = ApiClients.admin();
+    private final CatalogApi catalogApi = ApiClients.catalog();
+
+    // Section list columns, in SectionListSort order
+    private static final String[] SECTION_COLUMNS = {"Course", "Instructor", "Time", "Room", "Seats"};
+    private static final int SECTION_PAGE_SIZE = 100;
+    private static final int SECTION_CACHED_PAGES = 10;
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
     private static final Color COLOR_TEXT_PRIMARY = new Color(233, 236, 239);
@@ -46,20 +45,10 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
     private JSpinner spnCapacity;
     private JTextField txtSemester;
     private JSpinner spnSectionYear;
-    private JComboBox<SectionDisplay> cmbSections;
+    private JTable tblSections;
     private DefaultComboBoxModel<Course> courseModel;
     private DefaultComboBoxModel<Instructor> instructorModel;
-    private DefaultComboBoxModel<SectionDisplay> sectionModel;
-
-    private record SectionDisplay(int sectionId, String displayText) {
-        @Override
-        public String toString() {
-            return displayText;
-        }
-
-        public static Comparator<SectionDisplay> CODE_COMPARATOR =
-                Comparator.comparing(sd -> sd.displayText().split(" ")[0]);
-    }
+    private PagedTableModel<SectionListRow> sectionRows;
 
     public CourseManagementPanel() {
         setLayout(new MigLayout(
@@ -179,14 +168,30 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
         JPanel assignPanel = new JPanel(new MigLayout(
                 "wrap 2, fillx, insets 10 0 5 0",
                 "[right,130:pref]15[grow,fill]",
-                "[]10[]15[]"
+                "[]10[]10[]15[]"
         ));
         assignPanel.setOpaque(false);
 
-        assignPanel.add(createLabel("Section:"));
-        sectionModel = new DefaultComboBoxModel<>();
-        cmbSections = new JComboBox<>(sectionModel);
-        assignPanel.add(cmbSections, "growx");
+        // The term's sections, fetched a page at a time and sorted/filtered by the database
+        sectionRows = new PagedTableModel<>("course-management-sections", SECTION_COLUMNS,
+                row -> new Object[]{row.courseCode(), instructorText(row), timeText(row), row.room(), row.getSeats()},
+                (filter, sort, ascending, offset, limit) ->
+                        adminApi.getSectionPage(filter, SectionListSort.values()[sort], ascending, offset, limit),
+                SECTION_PAGE_SIZE, SECTION_CACHED_PAGES);
+        sectionRows.setOnError(message -> log.error("Failed to load sections: {}", message));
+
+        assignPanel.add(createLabel("Find Section:"));
+        JTextField txtSectionFilter = new JTextField();
+        txtSectionFilter.putClientProperty(FlatClientProperties.PLACEHOLDER_TEXT, "Course code, instructor or room");
+        sectionRows.filterFrom(txtSectionFilter);
+        assignPanel.add(txtSectionFilter, "growx");
+
+        assignPanel.add(createLabel("Section:"), "top");
+        tblSections = new JTable(sectionRows);
+        tblSections.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tblSections.setFillsViewportHeight(true);
+        sectionRows.sortOnHeaderClick(tblSections);
+        assignPanel.add(new JScrollPane(tblSections), "growx, h 200!");
 
         assignPanel.add(createLabel("Assign Instructor:"));
         JComboBox<Instructor> cmbAssignInstructor = new JComboBox<>(instructorModel);
@@ -220,7 +225,6 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
         log.info("Loading/Refreshing initial data for Course Management Panel...");
         Object selectedCourse = courseModel.getSelectedItem();
         Object selectedInstructor = instructorModel.getSelectedItem();
-        Object selectedSection = sectionModel.getSelectedItem();
 
         ApiResponse<List<Course>> courseResponse = adminApi.getAllCourses();
         courseModel.removeAllElements();
@@ -241,55 +245,33 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
             log.error("Failed to load instructors for dropdown: {}", instructorResponse.getMessage());
         }
 
-        txtSemester.setText(settingsRepo.getCurrentSemester());
-        spnSectionYear.setValue(settingsRepo.getCurrentYear());
+        // Current term label, e.g. "Monsoon 2025"
+        ApiResponse<String> termResponse = catalogApi.getCurrentTerm();
+        if (termResponse.isSuccess()) {
+            String term = termResponse.getData();
+            int space = term.lastIndexOf(' ');
+            txtSemester.setText(term.substring(0, space));
+            spnSectionYear.setValue(Integer.parseInt(term.substring(space + 1)));
+        } else {
+            log.error("Failed to load the current term: {}", termResponse.getMessage());
+        }
 
-        loadSectionsForAssignment(selectedSection);
+        sectionRows.refresh();
         log.info("Finished loading/refreshing data.");
     }
 
-    private void loadSectionsForAssignment(Object previousSelection) {
-        sectionModel.removeAllElements();
-        String semester = settingsRepo.getCurrentSemester();
-        int year = settingsRepo.getCurrentYear();
-        List<Section> sections = sectionRepo.findAllBySemesterAndYear(semester, year);
-        List<SectionDisplay> displayList = new ArrayList<>();
-
-        Map<Integer, String> courseCodeMap = courseRepo.findAll().stream()
-                .collect(Collectors.toMap(Course::courseId, Course::code));
-
-        // Fetch all instructors once and map by userId
-        Map<Integer, String> instructorNameMap = adminApi.getAllInstructors()
-                .getData()
-                .stream()
-                .collect(Collectors.toMap(Instructor::userId, Instructor::name));
-
-        for (Section s : sections) {
-            String courseCode = courseCodeMap.getOrDefault(s.courseId(), "???");
-
-            // Instructor name or Unassigned
-            String instructorName = "Unassigned";
-            if (s.instructorId() != null && instructorNameMap.containsKey(s.instructorId())) {
-                instructorName = instructorNameMap.get(s.instructorId());
-            }
-
-            // Time text
-            String timeText = (s.dayTime() != null ? s.dayTime() : "Time TBD");
-
-            String display = String.format(
-                    "%s — %s — %s",
-                    courseCode,
-                    instructorName,
-                    timeText
-            );
+    private static String instructorText(SectionListRow row) {
+        return (row.instructorName() != null) ? row.instructorName() : "Unassigned";
+    }
 
-            displayList.add(new SectionDisplay(s.sectionId(), display));
-        }
+    private static String timeText(SectionListRow row) {
+        return (row.dayTime() != null) ? row.dayTime() : "Time TBD";
+    }
 
-        displayList.sort(SectionDisplay.CODE_COMPARATOR);
-        sectionModel.addAll(displayList);
-        sectionModel.setSelectedItem(previousSelection);
-        log.debug("Loaded/Refreshed {} sections into assignment dropdown.", displayList.size());
+    // The selected section, or null (also while its page is still loading)
+    private SectionListRow selectedSection() {
+        int row = tblSections.getSelectedRow();
+        return (row >= 0) ? sectionRows.rowAt(row) : null;
     }
 
     private static class InstructorRenderer extends DefaultListCellRenderer {
@@ -389,7 +371,7 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
             );
             txtDayTime.setText("");
             txtRoom.setText("");
-            loadSectionsForAssignment(sectionModel.getSelectedItem());
+            sectionRows.refresh();
         } else {
             JOptionPane.showMessageDialog(this, response.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -397,15 +379,15 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
     }
 
     private void assignInstructor(JComboBox<Instructor> instructorComboBox) {
-        SectionDisplay selectedSectionDisp = (SectionDisplay) cmbSections.getSelectedItem();
+        SectionListRow selectedSection = selectedSection();
         Instructor selectedInstructor = (Instructor) instructorComboBox.getSelectedItem();
-        if (selectedSectionDisp == null) {
+        if (selectedSection == null) {
             JOptionPane.showMessageDialog(this, "Please select a section to assign.",
                     "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        int sectionId = selectedSectionDisp.sectionId();
+        int sectionId = selectedSection.sectionId();
         Integer instructorId = (selectedInstructor != null) ? selectedInstructor.userId() : null;
         ApiResponse<Void> response = adminApi.assignInstructor(sectionId, instructorId);
 
@@ -424,7 +406,7 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
                     JOptionPane.INFORMATION_MESSAGE
             );
 
-            loadSectionsForAssignment(selectedSectionDisp);
+            sectionRows.refresh();
         } else {
             JOptionPane.showMessageDialog(this, response.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -432,16 +414,16 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
     }
 
     private void deleteSection() {
-        SectionDisplay selectedSectionDisp = (SectionDisplay) cmbSections.getSelectedItem();
-        if (selectedSectionDisp == null) {
+        SectionListRow selectedSection = selectedSection();
+        if (selectedSection == null) {
             JOptionPane.showMessageDialog(this, "Please select a section to delete.",
                     "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        int sectionId = selectedSectionDisp.sectionId();
+        int sectionId = selectedSection.sectionId();
         int choice = JOptionPane.showConfirmDialog(this,
                 "<html><font color='red'><b>WARNING:</b></font> Deleting section '" +
-                        selectedSectionDisp.displayText() +
+                        selectedSection.courseCode() + " — " + instructorText(selectedSection) + " — " + timeText(selectedSection) +
                         "' is permanent.<br>" +
                         "Any existing student enrollments and grades for this section may become inaccessible.<br><br>" +
                         "<b>Are you absolutely sure you want to delete this section?</b></html>",
@@ -458,7 +440,8 @@ public class CourseManagementPanel extends JPanel implements Refreshable {
                         "Success",
                         JOptionPane.INFORMATION_MESSAGE
                 );
-                loadSectionsForAssignment(null);
+                tblSections.clearSelection();
+                sectionRows.refresh();
             } else {
                 JOptionPane.showMessageDialog(this, response.getMessage(),
                         "Error", JOptionPane.ERROR_MESSAGE);
@@ -0,0 +1,124 @@
+package edu.univ.erp.ui.component;
+
+import edu.univ.erp.api.types.RowDelta;
+
+import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Keeps a table model in step with an API's RowDelta answers: an unchanged answer touches nothing,
+// changed rows rewrite only the cells that differ, and only a full answer rebuilds the table. Holds
+// the rows behind the table (row i of the model is rows().get(i)) and the version to ask from next.
+class DeltaTableRows<R> {
+
+    private final DefaultTableModel model;
+    private final ToIntFunction<R> keyOf;
+    private final Function<R, Object[]> cellsOf;
+    private final Object[] emptyRow;
+    private final List<R> rows = new ArrayList<>();
+    private final Map<Integer, Integer> indexOf = new HashMap<>();
+    private String version;
+
+    // 'emptyRow' is shown while there are no rows (null for an empty table)
+    DeltaTableRows(DefaultTableModel model, ToIntFunction<R> keyOf, Function<R, Object[]> cellsOf, Object[] emptyRow) {
+        this.model = model;
+        this.keyOf = keyOf;
+        this.cellsOf = cellsOf;
+        this.emptyRow = emptyRow;
+    }
+
+    String version() {
+        return version;
+    }
+
+    List<R> rows() {
+        return rows;
+    }
+
+    // The row with this key, or null
+    R find(int key) {
+        Integer index = indexOf.get(key);
+        return (index != null) ? rows.get(index) : null;
+    }
+
+    // The next request gets every row, e.g. after the table showed an error or unsaved edits
+    void reset() {
+        version = null;
+    }
+
+    // Returns whether the table changed
+    boolean apply(RowDelta<R> delta) {
+        version = delta.version();
+        if (delta.unchanged()) {
+            return false;
+        }
+        if (delta.full()) {
+            rows.clear();
+            rows.addAll(delta.rows());
+            model.setRowCount(0);
+            for (R row : rows) {
+                model.addRow(cellsOf.apply(row));
+            }
+            reindex();
+            showEmptyRow();
+            return true;
+        }
+        if (rows.isEmpty()) {
+            model.setRowCount(0); // the empty row
+        }
+        if (!delta.removedKeys().isEmpty()) {
+            Set<Integer> removed = new HashSet<>(delta.removedKeys());
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                if (removed.contains(keyOf.applyAsInt(rows.get(i)))) {
+                    rows.remove(i);
+                    model.removeRow(i);
+                }
+            }
+            reindex();
+        }
+        for (R row : delta.rows()) {
+            replace(row);
+        }
+        showEmptyRow();
+        return true;
+    }
+
+    // Puts 'row' in place of the row with its key (appended if new), rewriting the cells that differ
+    void replace(R row) {
+        int key = keyOf.applyAsInt(row);
+        Object[] cells = cellsOf.apply(row);
+        Integer index = indexOf.get(key);
+        if (index == null) {
+            indexOf.put(key, rows.size());
+            rows.add(row);
+            model.addRow(cells);
+            return;
+        }
+        rows.set(index, row);
+        for (int column = 0; column < cells.length; column++) {
+            if (!Objects.equals(model.getValueAt(index, column), cells[column])) {
+                model.setValueAt(cells[column], index, column);
+            }
+        }
+    }
+
+    private void reindex() {
+        indexOf.clear();
+        for (int i = 0; i < rows.size(); i++) {
+            indexOf.put(keyOf.applyAsInt(rows.get(i)), i);
+        }
+    }
+
+    private void showEmptyRow() {
+        if (rows.isEmpty() && emptyRow != null) {
+            model.addRow(emptyRow);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package edu.univ.erp.ui.component;
+
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.remote.ApiClients;
+import edu.univ.erp.api.types.ConnectionUsageRow;
+import edu.univ.erp.api.types.OperationQueryRow;
+import edu.univ.erp.api.types.PoolStatsRow;
+import net.miginfocom.swing.MigLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.JTableHeader;
+import java.awt.*;
+import java.util.List;
+
+// Admin panel showing the connections this client holds, the server connections held by each client host,
+// how many statements each API operation issued, and how long this client's UI tasks wait.
+public class DiagnosticsPanel extends JPanel {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticsPanel.class);
+
+    private final MaintenanceApi maintenanceApi = ApiClients.maintenance();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+
+    private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
+    private static final Color COLOR_TEXT_PRIMARY = new Color(233, 236, 239);
+    private static final Color COLOR_TEXT_SECONDARY = new Color(173, 181, 189);
+    private static final Color COLOR_TABLE_GRID = new Color(60, 60, 60);
+    private static final Font FONT_TITLE = new Font("SansSerif", Font.BOLD, 18);
+    private static final Font FONT_SECTION_TITLE = new Font("SansSerif", Font.BOLD, 15);
+    private static final Font FONT_LABEL = new Font("SansSerif", Font.PLAIN, 13);
+
+    private JLabel lblPoolSummary;
+    private JLabel lblLoginSummary;
+    private JLabel lblUiTasks;
+    private JLabel lblServerSummary;
+    private DefaultTableModel poolModel;
+    private DefaultTableModel clientModel;
+    private JLabel lblQuerySummary;
+    private DefaultTableModel queryModel;
+    private JCheckBox chkRecordQueries;
+
+    public DiagnosticsPanel() {
+        setLayout(new MigLayout(
+                "wrap 1, fill, insets 20",
+                "[grow,fill]",
+                "[]10[]5[]5[]5[]5[grow 30]10[]5[]5[grow 30]10[]5[]5[grow]10[]"
+        ));
+        setBackground(COLOR_BACKGROUND);
+
+        JLabel mainTitle = new JLabel("Connection Diagnostics");
+        mainTitle.setFont(FONT_TITLE);
+        mainTitle.setForeground(COLOR_TEXT_PRIMARY);
+        add(mainTitle, "growx, wrap");
+
+        add(createSectionTitle("This Client's Pools"), "growx");
+        lblPoolSummary = createLabel(" ");
+        add(lblPoolSummary, "growx");
+        lblLoginSummary = createLabel(" ");
+        add(lblLoginSummary, "growx");
+        lblUiTasks = createLabel(" ");
+        add(lblUiTasks, "growx");
+        poolModel = createModel(new String[]{"Pool", "State", "Active", "Idle", "Total", "Waiting", "Max"});
+        add(createTableScroll(poolModel), "grow, wrap");
+
+        add(createSectionTitle("Server Connections per Client"), "growx");
+        lblServerSummary = createLabel(" ");
+        add(lblServerSummary, "growx");
+        clientModel = createModel(new String[]{"Client Host", "Database", "Connections", "Idle"});
+        add(createTableScroll(clientModel), "grow, wrap");
+
+        add(createSectionTitle("Statements per Operation"), "growx");
+        lblQuerySummary = createLabel(" ");
+        add(lblQuerySummary, "growx");
+        queryModel = createModel(new String[]{"Operation", "Calls", "Avg Statements", "Max Statements",
+                "Avg DB ms", "Flagged", "Most Repeated Statement", "Repeats"});
+        add(createTableScroll(queryModel), "grow, wrap");
+
+        // Off by default: recording walks the stack on every statement
+        chkRecordQueries = new JCheckBox("Record Statements");
+        chkRecordQueries.setForeground(COLOR_TEXT_PRIMARY);
+        chkRecordQueries.setOpaque(false);
+        chkRecordQueries.addActionListener(e -> {
+            ApiResponse<Void> response = maintenanceApi.setQueryRecording(chkRecordQueries.isSelected());
+            if (!response.isSuccess()) {
+                log.warn("UI: Could not change statement recording: {}", response.getMessage());
+            }
+            refresh();
+        });
+        JButton btnResetQueries = new JButton("Reset Statement Counts");
+        btnResetQueries.addActionListener(e -> {
+            maintenanceApi.resetQueryReport();
+            refresh();
+        });
+        JButton btnRefresh = new JButton("Refresh");
+        btnRefresh.addActionListener(e -> refresh());
+        add(chkRecordQueries, "split 3");
+        add(btnResetQueries, "gapleft push, h 32!");
+        add(btnRefresh, "h 32!");
+
+        refresh();
+    }
+
+    private void refresh() {
+        ApiResponse<List<PoolStatsRow>> pools = maintenanceApi.getPoolStats();
+        poolModel.setRowCount(0);
+        for (PoolStatsRow row : pools.getData()) {
+            poolModel.addRow(new Object[]{
+                    row.poolName(), row.started() ? "Running" : "Not started",
+                    row.active(), row.idle(), row.total(), row.waiting(), row.maxSize()
+            });
+        }
+        lblPoolSummary.setText(pools.getMessage());
+        lblLoginSummary.setText(maintenanceApi.getLoginStats().getMessage());
+        lblUiTasks.setText("UI tasks - " + tasks.summary());
+
+        ApiResponse<List<OperationQueryRow>> queries = maintenanceApi.getQueryReport();
+        queryModel.setRowCount(0);
+        for (OperationQueryRow row : queries.getData()) {
+            queryModel.addRow(new Object[]{
+                    row.operation(), row.invocations(), String.format("%.1f", row.avgStatements()), row.maxStatements(),
+                    String.format("%.1f", row.avgDbMillis()), row.flaggedInvocations(),
+                    row.mostRepeatedStatement(), row.mostRepeatedCount()
+            });
+        }
+        lblQuerySummary.setText(queries.getMessage());
+        ApiResponse<Boolean> recording = maintenanceApi.isQueryRecordingOn();
+        chkRecordQueries.setSelected(recording.isSuccess() && Boolean.TRUE.equals(recording.getData()));
+
+        // The server view needs a connection, so it loads off the EDT
+        lblServerSummary.setText("Loading...");
+        tasks.call("diagnostics-connections", UiTaskScheduler.Priority.INTERACTIVE,
+                maintenanceApi::getConnectionsByClient, this::showConnections);
+    }
+
+    private void showConnections(ApiResponse<List<ConnectionUsageRow>> response) {
+        clientModel.setRowCount(0);
+        if (!response.isSuccess()) {
+            log.warn("UI: Could not load server connections: {}", response.getMessage());
+            lblServerSummary.setText(response.getMessage());
+            return;
+        }
+        for (ConnectionUsageRow row : response.getData()) {
+            clientModel.addRow(new Object[]{row.clientHost(), row.database(), row.connections(), row.idle()});
+        }
+        lblServerSummary.setText(response.getMessage());
+    }
+
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setForeground(COLOR_TEXT_SECONDARY);
+        label.setFont(FONT_LABEL);
+        return label;
+    }
+
+    private JLabel createSectionTitle(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(FONT_SECTION_TITLE);
+        label.setForeground(COLOR_TEXT_PRIMARY);
+        return label;
+    }
+
+    private DefaultTableModel createModel(String[] columnNames) {
+        return new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private JScrollPane createTableScroll(DefaultTableModel model) {
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setAutoCreateRowSorter(true);
+        table.setRowHeight(22);
+        table.setBackground(COLOR_BACKGROUND);
+        table.setForeground(COLOR_TEXT_PRIMARY);
+        table.setGridColor(COLOR_TABLE_GRID);
+        table.setSelectionBackground(new Color(45, 45, 45));
+        table.setSelectionForeground(COLOR_TEXT_PRIMARY);
+        table.setFont(FONT_LABEL);
+
+        JTableHeader header = table.getTableHeader();
+        header.setFont(FONT_LABEL.deriveFont(Font.BOLD));
+        header.setBackground(new Color(20, 20, 20));
+        header.setForeground(COLOR_TEXT_PRIMARY);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(null);
+        scrollPane.getViewport().setBackground(COLOR_BACKGROUND);
+        return scrollPane;
+    }
+}
@@ -1,7 +1,10 @@
 package edu.univ.erp.ui.component;
 
+import com.formdev.flatlaf.FlatClientProperties;
 import edu.univ.erp.api.admin.AdminApi;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
+import edu.univ.erp.api.types.CourseListSort;
 import edu.univ.erp.domain.Course;
 import edu.univ.erp.domain.Instructor;
 import edu.univ.erp.domain.Section;
@@ -20,7 +23,12 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(EditCoursesPanel.class);
 
-    private final AdminApi adminApi = new AdminApi();
+    private final AdminApi adminApi = ApiClients.admin();
+
+    // Course list columns, in CourseListSort order
+    private static final String[] COURSE_COLUMNS = {"Code", "Title", "Credits"};
+    private static final int COURSE_PAGE_SIZE = 100;
+    private static final int COURSE_CACHED_PAGES = 10;
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
     private static final Color COLOR_TEXT_PRIMARY = new Color(233, 236, 239);
@@ -29,7 +37,9 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
     private static final Font FONT_SECTION_TITLE = new Font("SansSerif", Font.BOLD, 15);
     private static final Font FONT_LABEL = new Font("SansSerif", Font.PLAIN, 13);
 
-    private JComboBox<Course> cmbCourses;
+    private JTable tblCourses;
+    private PagedTableModel<Course> courseRows;
+    private Course selectedCourse;
     private JComboBox<SectionDisplayItem> cmbSections;
 
     private JLabel lblCourseHeader;
@@ -73,36 +83,43 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
 
         setCourseSectionVisible(false);
         setSectionEditVisible(false);
-
-        loadCourses();
     }
 
     private void initSelectors() {
         JPanel pnlSelectors = new JPanel(new MigLayout(
                 "wrap 2, fillx, insets 10 0 5 0",
                 "[right,110:pref]15[grow,fill]",
-                "[]8[]"
+                "[]8[]8[]"
         ));
         pnlSelectors.setOpaque(false);
 
-        // Select Course
-        pnlSelectors.add(createLabel("Select Course:"));
-        cmbCourses = new JComboBox<>();
-        cmbCourses.setRenderer(new DefaultListCellRenderer() {
-            @Override
-            public Component getListCellRendererComponent(
-                    JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
-
-                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-                if (value instanceof Course c) {
-                    setText(String.format("%s (%s)", c.code(), c.title()));
-                } else if (value == null && index == -1) {
-                    setText("-- Select Course --");
-                }
-                return this;
-            }
+        // Every course, fetched a page at a time and sorted/filtered by the database
+        courseRows = new PagedTableModel<>("edit-courses", COURSE_COLUMNS,
+                c -> new Object[]{c.code(), c.title(), c.credits()},
+                (filter, sort, ascending, offset, limit) ->
+                        adminApi.getCoursePage(filter, CourseListSort.values()[sort], ascending, offset, limit),
+                COURSE_PAGE_SIZE, COURSE_CACHED_PAGES);
+        courseRows.setOnError(message -> {
+            log.error("Failed to load courses: {}", message);
+            JOptionPane.showMessageDialog(this,
+                    "Could not load courses: " + message,
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
         });
-        pnlSelectors.add(cmbCourses, "growx");
+
+        pnlSelectors.add(createLabel("Find Course:"));
+        JTextField txtCourseFilter = new JTextField();
+        txtCourseFilter.putClientProperty(FlatClientProperties.PLACEHOLDER_TEXT, "Code or title");
+        courseRows.filterFrom(txtCourseFilter);
+        pnlSelectors.add(txtCourseFilter, "growx");
+
+        // Select Course
+        pnlSelectors.add(createLabel("Select Course:"), "top");
+        tblCourses = new JTable(courseRows);
+        tblCourses.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tblCourses.setFillsViewportHeight(true);
+        courseRows.sortOnHeaderClick(tblCourses);
+        pnlSelectors.add(new JScrollPane(tblCourses), "growx, h 180!");
 
         // Select Section
         pnlSelectors.add(createLabel("Select Section:"));
@@ -128,7 +145,11 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
         add(pnlSelectors, "growx");
 
         // Selection listeners
-        cmbCourses.addActionListener(e -> onCourseSelected());
+        tblCourses.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                onCourseSelected();
+            }
+        });
         cmbSections.addActionListener(e -> onSectionSelected());
     }
 
@@ -250,30 +271,16 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
     }
 
     // Action / helper methods
-    private void loadCourses() {
-        ApiResponse<List<Course>> resp = adminApi.getAllCourses();
-        cmbCourses.removeAllItems();
-        if (resp.isSuccess() && resp.getData() != null) {
-            for (Course c : resp.getData()) {
-                cmbCourses.addItem(c);
-            }
-            cmbCourses.setSelectedIndex(-1);
-        } else {
-            log.error("Failed to load courses: {}", resp.getMessage());
-            JOptionPane.showMessageDialog(this,
-                    "Could not load courses: " + resp.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
-
-        // Hide everything when reloading
-        setCourseSectionVisible(false);
-        setSectionEditVisible(false);
-        cmbSections.removeAllItems();
+    private void reloadCourses() {
+        tblCourses.clearSelection();
+        courseRows.refresh();
     }
 
     private void onCourseSelected() {
-        Course selected = (Course) cmbCourses.getSelectedItem();
+        int row = tblCourses.getSelectedRow();
+        // A row whose page is still loading cannot be edited yet
+        Course selected = (row >= 0) ? courseRows.rowAt(row) : null;
+        selectedCourse = selected;
         if (selected == null) {
             // No course -> hide course + section editors
             setCourseSectionVisible(false);
@@ -388,7 +395,6 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
 
     // Update actions
     private void updateCourseAction() {
-        Course selectedCourse = (Course) cmbCourses.getSelectedItem();
         if (selectedCourse == null) {
             JOptionPane.showMessageDialog(this,
                     "No course selected.",
@@ -422,16 +428,9 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
                     "Success",
                     JOptionPane.INFORMATION_MESSAGE);
 
-            int updatedId = selectedCourse.courseId();
-            loadCourses();
-            // Re-select same course
-            for (int i = 0; i < cmbCourses.getItemCount(); i++) {
-                Course c = cmbCourses.getItemAt(i);
-                if (c != null && c.courseId() == updatedId) {
-                    cmbCourses.setSelectedIndex(i);
-                    break;
-                }
-            }
+            // Fetch the list again; the row stays selected and the form already shows the new values
+            selectedCourse = new Course(selectedCourse.courseId(), selectedCourse.code(), newTitle, newCredits);
+            courseRows.refresh();
         } else {
             JOptionPane.showMessageDialog(this,
                     resp.getMessage(),
@@ -485,7 +484,7 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
                     JOptionPane.INFORMATION_MESSAGE);
 
             // Reload sections for the currently selected course and re-select updated section
-            Course selCourse = (Course) cmbCourses.getSelectedItem();
+            Course selCourse = selectedCourse;
             if (selCourse != null) {
                 int courseId = selCourse.courseId();
                 int updatedSectionId = selectedSection.sectionId();
@@ -539,6 +538,6 @@ public class EditCoursesPanel extends JPanel implements Refreshable {
 
     @Override
     public void refreshData() {
-        loadCourses();
+        reloadCourses();
     }
 }
@@ -0,0 +1,233 @@
+package edu.univ.erp.ui.component;
+
+import edu.univ.erp.api.admin.AdminApi;
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
+import edu.univ.erp.api.reports.ReportsApi;
+import edu.univ.erp.api.types.GradeAnalyticsReport;
+import edu.univ.erp.api.types.GradeDistributionRow;
+import edu.univ.erp.api.types.OutlierSectionRow;
+import net.miginfocom.swing.MigLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.JTableHeader;
+import java.awt.*;
+import java.io.File;
+import java.time.Year;
+import java.util.List;
+
+// Admin panel that runs the term-wide grade analytics job and shows its distributions and outlier sections.
+public class GradeAnalyticsPanel extends JPanel {
+
+    private static final Logger log = LoggerFactory.getLogger(GradeAnalyticsPanel.class);
+
+    private final AdminApi adminApi = ApiClients.admin();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final ReportsApi reportsApi = ApiClients.reports();
+
+    private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
+    private static final Color COLOR_TEXT_PRIMARY = new Color(233, 236, 239);
+    private static final Color COLOR_TEXT_SECONDARY = new Color(173, 181, 189);
+    private static final Color COLOR_TABLE_GRID = new Color(60, 60, 60);
+    private static final Font FONT_TITLE = new Font("SansSerif", Font.BOLD, 18);
+    private static final Font FONT_SECTION_TITLE = new Font("SansSerif", Font.BOLD, 15);
+    private static final Font FONT_LABEL = new Font("SansSerif", Font.PLAIN, 13);
+
+    private JComboBox<String> cmbSemester;
+    private JSpinner spnYear;
+    private JButton btnRun;
+    private JButton btnExport;
+    private JLabel lblSummary;
+    private DefaultTableModel distributionModel;
+    private DefaultTableModel outlierModel;
+
+    private GradeAnalyticsReport lastReport;
+
+    public GradeAnalyticsPanel() {
+        setLayout(new MigLayout(
+                "wrap 1, fill, insets 20",
+                "[grow,fill]",
+                "[]10[]10[]5[grow]10[]5[grow 50]10[]"
+        ));
+        setBackground(COLOR_BACKGROUND);
+
+        JLabel mainTitle = new JLabel("Grade Analytics");
+        mainTitle.setFont(FONT_TITLE);
+        mainTitle.setForeground(COLOR_TEXT_PRIMARY);
+        add(mainTitle, "growx, wrap");
+
+        // Term selection
+        JPanel termPanel = new JPanel(new MigLayout("insets 0", "[]10[120!]20[]10[90!]20[]", "[]"));
+        termPanel.setOpaque(false);
+        termPanel.add(createLabel("Semester:"));
+        cmbSemester = new JComboBox<>(new String[]{"Monsoon", "Winter", "Summer"});
+        cmbSemester.setEditable(true); // Semesters are free text when sections are created
+        termPanel.add(cmbSemester, "growx");
+        termPanel.add(createLabel("Year:"));
+        spnYear = new JSpinner(new SpinnerNumberModel(Year.now().getValue(), 2000, 2100, 1));
+        spnYear.setEditor(new JSpinner.NumberEditor(spnYear, "#"));
+        termPanel.add(spnYear, "growx");
+        btnRun = new JButton("Run Analytics");
+        btnRun.addActionListener(e -> runAnalytics());
+        termPanel.add(btnRun, "h 32!");
+        add(termPanel, "growx, wrap");
+
+        add(createSectionTitle("Score Distributions"), "growx");
+        distributionModel = createModel(new String[]{"Dimension", "Group", "Enrollments", "Mean", "Std Dev", "Min", "Max", "Letter Grades"});
+        add(createTableScroll(distributionModel), "grow, wrap");
+
+        add(createSectionTitle("Outlier Sections"), "growx");
+        outlierModel = createModel(new String[]{"Section ID", "Course", "Scored", "Section Mean", "Course Mean", "Z-Score"});
+        add(createTableScroll(outlierModel), "grow, wrap");
+
+        JPanel actionsPanel = new JPanel(new MigLayout("insets 0, fillx", "[grow][]", "[]"));
+        actionsPanel.setOpaque(false);
+        lblSummary = createLabel("Select a term and run the analytics job.");
+        actionsPanel.add(lblSummary, "growx");
+        btnExport = new JButton("Export Report (CSV)");
+        btnExport.setEnabled(false);
+        btnExport.addActionListener(e -> exportReport());
+        actionsPanel.add(btnExport, "h 32!");
+        add(actionsPanel, "growx");
+    }
+
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setForeground(COLOR_TEXT_SECONDARY);
+        label.setFont(FONT_LABEL);
+        return label;
+    }
+
+    private JLabel createSectionTitle(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(FONT_SECTION_TITLE);
+        label.setForeground(COLOR_TEXT_PRIMARY);
+        return label;
+    }
+
+    private DefaultTableModel createModel(String[] columnNames) {
+        return new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private JScrollPane createTableScroll(DefaultTableModel model) {
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setAutoCreateRowSorter(true);
+        table.setRowHeight(22);
+        table.setBackground(COLOR_BACKGROUND);
+        table.setForeground(COLOR_TEXT_PRIMARY);
+        table.setGridColor(COLOR_TABLE_GRID);
+        table.setSelectionBackground(new Color(45, 45, 45));
+        table.setSelectionForeground(COLOR_TEXT_PRIMARY);
+        table.setFont(FONT_LABEL);
+
+        JTableHeader header = table.getTableHeader();
+        header.setFont(FONT_LABEL.deriveFont(Font.BOLD));
+        header.setBackground(new Color(20, 20, 20));
+        header.setForeground(COLOR_TEXT_PRIMARY);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(null);
+        scrollPane.getViewport().setBackground(COLOR_BACKGROUND);
+        return scrollPane;
+    }
+
+    // Runs the job in the background; the progress dialog shows the job's status messages.
+    private void runAnalytics() {
+        final String semester = String.valueOf(cmbSemester.getSelectedItem()).trim();
+        final int year = (Integer) spnYear.getValue();
+        log.info("UI: Running grade analytics for {} {}", semester, year);
+
+        btnRun.setEnabled(false);
+        btnExport.setEnabled(false);
+        Frame owner = (Frame) SwingUtilities.getWindowAncestor(this);
+        ProgressDialog dialog = new ProgressDialog(owner, "Grade Analytics");
+
+        // A long job: bulk priority, so it does not hold up other panels' loads
+        tasks.submit("grade-analytics", UiTaskScheduler.Priority.BULK,
+                () -> adminApi.runGradeAnalytics(semester, year, dialog::appendMessage), (response, error) -> {
+            boolean success = false;
+            if (error != null) {
+                log.error("Error running grade analytics", error);
+                dialog.appendMessage("Error: " + error.getMessage());
+            } else {
+                dialog.appendMessage(response.getMessage());
+                if (response.isSuccess()) {
+                    showReport(response.getData());
+                    success = true;
+                }
+            }
+            dialog.complete(success);
+            btnRun.setEnabled(true);
+        });
+        dialog.setVisible(true); // Blocks until the user closes it after completion
+    }
+
+    private void showReport(GradeAnalyticsReport report) {
+        lastReport = report;
+        distributionModel.setRowCount(0);
+        outlierModel.setRowCount(0);
+
+        List<GradeDistributionRow> distributions = report.distributions();
+        for (GradeDistributionRow row : distributions) {
+            distributionModel.addRow(new Object[]{
+                    row.dimension(), row.groupKey(), row.enrollments(),
+                    String.format("%.2f", row.meanScore()), String.format("%.2f", row.stdDevScore()),
+                    String.format("%.2f", row.minScore()), String.format("%.2f", row.maxScore()),
+                    row.getLetterGradeSummary()
+            });
+        }
+        for (OutlierSectionRow row : report.outlierSections()) {
+            outlierModel.addRow(new Object[]{
+                    row.sectionId(), row.courseCode(), row.enrollments(),
+                    String.format("%.2f", row.sectionMean()), String.format("%.2f", row.courseMean()),
+                    String.format("%.2f", row.zScore())
+            });
+        }
+
+        lblSummary.setText(report.semester() + " " + report.year() + ": " + report.enrollmentsScanned()
+                + " enrollments, " + report.outlierSections().size() + " outlier sections.");
+        btnExport.setEnabled(report.enrollmentsScanned() > 0);
+    }
+
+    private void exportReport() {
+        if (lastReport == null) return;
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Save Report As");
+        fileChooser.setSelectedFile(new File("GradeAnalytics_" + lastReport.semester() + "_" + lastReport.year() + ".csv"));
+        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV Files (*.csv)", "csv"));
+
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            log.info("User cancelled analytics export dialog.");
+            return;
+        }
+        File fileToSave = fileChooser.getSelectedFile();
+        if (!fileToSave.getName().toLowerCase().endsWith(".csv")) {
+            fileToSave = new File(fileToSave.getParentFile(), fileToSave.getName() + ".csv");
+        }
+        if (fileToSave.exists()) {
+            int overwriteChoice = JOptionPane.showConfirmDialog(this, "File already exists. Overwrite?",
+                    "Confirm Overwrite", JOptionPane.YES_NO_OPTION);
+            if (overwriteChoice != JOptionPane.YES_OPTION) return;
+        }
+
+        ApiResponse<Void> response = reportsApi.exportGradeAnalytics(lastReport, fileToSave);
+        if (response.isSuccess()) {
+            JOptionPane.showMessageDialog(this, response.getMessage(), "Report Saved", JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(this, "Error saving report:\n" + response.getMessage(),
+                    "Export Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package edu.univ.erp.ui.component;
 
 import edu.univ.erp.api.common.ApiResponse;
 import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.api.types.GradebookRow;
+import edu.univ.erp.api.types.RowDelta;
 import edu.univ.erp.api.types.ScoreEntryRequest;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
@@ -22,11 +24,14 @@ public class GradebookPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(GradebookPanel.class);
 
-    private final InstructorApi instructorApi = new InstructorApi();
+    private final InstructorApi instructorApi = ApiClients.instructor();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final SectionDataPrefetcher prefetcher = SectionDataPrefetcher.getInstance();
     private final int sectionId;
     private JTable table;
     private DefaultTableModel tableModel;
-    private List<GradebookRow> gradebookData;
+    private DeltaTableRows<GradebookRow> gradebookRows;
+    private List<GradebookRow> gradebookData; // rows of gradebookRows, null after a failed load
     private boolean isUpdatingTable = false;
     private JButton btnComputeFinal;
 
@@ -76,6 +81,10 @@ public class GradebookPanel extends JPanel implements Refreshable {
             }
         };
 
+        gradebookRows = new DeltaTableRows<>(tableModel, GradebookRow::enrollmentId, row -> new Object[]{
+                row.enrollmentId(), row.studentRollNo(), row.quizScore(), row.midtermScore(), row.endSemScore(), row.finalGrade()
+        }, new Object[]{"", "No students enrolled.", null, null, null, null});
+
         table = new JTable(tableModel);
         table.setFillsViewportHeight(true);
         table.setCellSelectionEnabled(true);
@@ -135,38 +144,37 @@ public class GradebookPanel extends JPanel implements Refreshable {
 
         btnComputeFinal.addActionListener(e -> computeFinalGrades());
 
+        // A prefetched gradebook is shown at once; the load below then only asks what changed since
+        SectionDataPrefetcher.Gradebook prefetched = prefetcher.gradebook(sectionId);
+        if (prefetched != null) {
+            showGradebook(ApiResponse.success(RowDelta.full(prefetched.version(), prefetched.rows()), "Gradebook prefetched."));
+        }
         loadGradebookData();
     }
 
     private void loadGradebookData() {
         log.info("Loading gradebook for section {}", sectionId);
         stopCellEditing();
+        // Only rows changed since the last load come back, and only their changed cells are redrawn
+        String since = gradebookRows.version();
+        tasks.call("gradebook:" + sectionId, UiTaskScheduler.Priority.INTERACTIVE,
+                () -> instructorApi.getGradebookChanges(sectionId, since), this::showGradebook);
+    }
+
+    private void showGradebook(ApiResponse<RowDelta<GradebookRow>> response) {
         isUpdatingTable = true;
         try {
-            tableModel.setRowCount(0);
-
-            ApiResponse<List<GradebookRow>> response = instructorApi.getGradebook(sectionId);
-
             if (response.isSuccess()) {
-                this.gradebookData = response.getData();
-                if (gradebookData == null || gradebookData.isEmpty()) {
-                    tableModel.addRow(new Object[]{"", "No students enrolled.", null, null, null, null});
-                } else {
-                    for (GradebookRow row : gradebookData) {
-                        tableModel.addRow(new Object[]{
-                                row.enrollmentId(),
-                                row.studentRollNo(),
-                                row.quizScore(),
-                                row.midtermScore(),
-                                row.endSemScore(),
-                                row.finalGrade()
-                        });
-                    }
+                if (gradebookRows.apply(response.getData())) {
+                    log.info("Gradebook data loaded.");
                 }
-                log.info("Gradebook data loaded.");
+                this.gradebookData = gradebookRows.rows();
+                prefetcher.storeGradebook(sectionId, gradebookRows.version(), gradebookData);
             } else {
                 log.error("Failed to load gradebook: {}", response.getMessage());
                 this.gradebookData = null;
+                gradebookRows.reset();
+                tableModel.setRowCount(0);
                 tableModel.addRow(new Object[]{"", "Error loading data.", null, null, null, null});
                 JOptionPane.showMessageDialog(this,
                         "Could not load gradebook: " + response.getMessage(),
@@ -210,7 +218,7 @@ public class GradebookPanel extends JPanel implements Refreshable {
             JOptionPane.showMessageDialog(this,
                     "Invalid score: '" + valueFromTable + "'.\nPlease enter a number between 0 and 100, or leave blank.",
                     "Invalid Input", JOptionPane.WARNING_MESSAGE);
-            SwingUtilities.invokeLater(this::loadGradebookData);
+            SwingUtilities.invokeLater(this::revertEdits);
             return;
         }
 
@@ -222,41 +230,36 @@ public class GradebookPanel extends JPanel implements Refreshable {
 
             setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 
-            SwingWorker<ApiResponse<Void>, Void> worker = new SwingWorker<>() {
-                @Override
-                protected ApiResponse<Void> doInBackground() throws Exception {
-                    return instructorApi.enterScore(request);
-                }
-
-                @Override
-                protected void done() {
-                    setCursor(Cursor.getDefaultCursor());
-                    try {
-                        ApiResponse<Void> response = get();
-                        if (!response.isSuccess()) {
-                            log.error("Failed to save score via API: {}", response.getMessage());
-                            JOptionPane.showMessageDialog(GradebookPanel.this,
-                                    "Failed to save score: " + response.getMessage() + "\nChange reverted.",
-                                    "Save Error", JOptionPane.ERROR_MESSAGE);
-                            loadGradebookData(); // Revert
-                        } else {
-                            log.info("Successfully saved score: enrollId={}, component={}, score={}",
-                                    enrollmentId, component, scoreToSave);
-                            updateInternalGradebookData(row, component, scoreToSave);
-                        }
-                    } catch (Exception e) {
-                        log.error("Error saving score during background task", e);
-                        JOptionPane.showMessageDialog(GradebookPanel.this,
-                                "An unexpected error occurred while saving the score.\nChange reverted.",
-                                "Save Error", JOptionPane.ERROR_MESSAGE);
-                        loadGradebookData();
-                    }
+            // Writes are never merged: every edit is saved
+            tasks.submit(null, UiTaskScheduler.Priority.INTERACTIVE, () -> instructorApi.enterScore(request), (response, error) -> {
+                setCursor(Cursor.getDefaultCursor());
+                if (error != null) {
+                    log.error("Error saving score during background task", error);
+                    JOptionPane.showMessageDialog(GradebookPanel.this,
+                            "An unexpected error occurred while saving the score.\nChange reverted.",
+                            "Save Error", JOptionPane.ERROR_MESSAGE);
+                    revertEdits();
+                } else if (!response.isSuccess()) {
+                    log.error("Failed to save score via API: {}", response.getMessage());
+                    JOptionPane.showMessageDialog(GradebookPanel.this,
+                            "Failed to save score: " + response.getMessage() + "\nChange reverted.",
+                            "Save Error", JOptionPane.ERROR_MESSAGE);
+                    revertEdits();
+                } else {
+                    log.info("Successfully saved score: enrollId={}, component={}, score={}",
+                            enrollmentId, component, scoreToSave);
+                    updateInternalGradebookData(row, component, scoreToSave);
                 }
-            };
-            worker.execute();
+            });
         }
     }
 
+    // The table holds an edit the server does not have, so a delta would not undo it: reload every row
+    private void revertEdits() {
+        gradebookRows.reset();
+        loadGradebookData();
+    }
+
     private void stopCellEditing() {
         if (table.isEditing()) {
             TableCellEditor editor = table.getCellEditor();
@@ -283,7 +286,14 @@ public class GradebookPanel extends JPanel implements Refreshable {
                     oldRow.quizScore(), oldRow.midtermScore(), newScore, oldRow.finalGrade());
             default -> oldRow;
         };
-        gradebookData.set(rowIndex, updatedRow);
+        isUpdatingTable = true;
+        try {
+            gradebookRows.replace(updatedRow);
+        } finally {
+            isUpdatingTable = false;
+        }
+        prefetcher.storeGradebook(sectionId, gradebookRows.version(), gradebookData);
+        prefetcher.scoresChanged(sectionId);
     }
 
     // Compute final grades
@@ -340,36 +350,25 @@ public class GradebookPanel extends JPanel implements Refreshable {
 
         final List<Double> finalBoundaries = boundaries;
 
-        SwingWorker<ApiResponse<Void>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ApiResponse<Void> doInBackground() throws Exception {
-                return instructorApi.computeFinalGrades(sectionId, finalBoundaries);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    ApiResponse<Void> response = get();
-                    if (response.isSuccess()) {
-                        JOptionPane.showMessageDialog(GradebookPanel.this,
-                                response.getMessage(), "Success", JOptionPane.INFORMATION_MESSAGE);
-                        loadGradebookData();
-                    } else {
-                        JOptionPane.showMessageDialog(GradebookPanel.this,
-                                response.getMessage(), "Computation Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                } catch (Exception e) {
-                    log.error("Error retrieving result from computeFinalGrades worker", e);
-                    JOptionPane.showMessageDialog(GradebookPanel.this,
-                            "An unexpected error occurred: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                } finally {
-                    setCursor(Cursor.getDefaultCursor());
-                    btnComputeFinal.setEnabled(true);
-                }
+        // A long job: bulk priority, so score edits and other panels' loads go first
+        tasks.submit(null, UiTaskScheduler.Priority.BULK,
+                () -> instructorApi.computeFinalGrades(sectionId, finalBoundaries), (response, error) -> {
+            if (error != null) {
+                log.error("Error computing final grades", error);
+                JOptionPane.showMessageDialog(GradebookPanel.this,
+                        "An unexpected error occurred: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (response.isSuccess()) {
+                JOptionPane.showMessageDialog(GradebookPanel.this,
+                        response.getMessage(), "Success", JOptionPane.INFORMATION_MESSAGE);
+                loadGradebookData();
+            } else {
+                JOptionPane.showMessageDialog(GradebookPanel.this,
+                        response.getMessage(), "Computation Error", JOptionPane.ERROR_MESSAGE);
             }
-        };
-        worker.execute();
+            setCursor(Cursor.getDefaultCursor());
+            btnComputeFinal.setEnabled(true);
+        });
     }
 
     private void showValidationError(String message) {
@@ -1,6 +1,7 @@
 package edu.univ.erp.ui.component;
 
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.api.reports.ReportsApi;
 import edu.univ.erp.api.student.StudentApi;
 import edu.univ.erp.api.types.GradeRow;
@@ -22,8 +23,9 @@ public class MyGradesPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(MyGradesPanel.class);
 
-    private final StudentApi studentApi = new StudentApi();
-    private final ReportsApi reportsApi = new ReportsApi();
+    private final StudentApi studentApi = ApiClients.student();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final ReportsApi reportsApi = ApiClients.reports();
     private final User currentUser;
     private JTable table;
     private DefaultTableModel tableModel;
@@ -118,11 +120,14 @@ public class MyGradesPanel extends JPanel implements Refreshable {
 
     // Data loading
     private void loadGradeData() {
-        log.info("Loading grades for student {}", currentUser.userId());
-        tableModel.setRowCount(0);
-
-        ApiResponse<List<GradeRow>> response = studentApi.getMyGrades(currentUser.userId());
+        int studentId = currentUser.userId();
+        log.info("Loading grades for student {}", studentId);
+        tasks.call("my-grades:" + studentId, UiTaskScheduler.Priority.INTERACTIVE,
+                () -> studentApi.getMyGrades(studentId), this::showGrades);
+    }
 
+    private void showGrades(ApiResponse<List<GradeRow>> response) {
+        tableModel.setRowCount(0);
         if (response.isSuccess()) {
             List<GradeRow> grades = response.getData();
             if (grades.isEmpty()) {
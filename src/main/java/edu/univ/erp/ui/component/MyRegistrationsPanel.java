@@ -1,8 +1,11 @@
 package edu.univ.erp.ui.component;
 
+import edu.univ.erp.api.common.ApiExecutor;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.api.student.StudentApi;
 import edu.univ.erp.api.types.RegistrationRow;
+import edu.univ.erp.api.types.WaitlistRow;
 import edu.univ.erp.domain.User;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
@@ -13,12 +16,14 @@ import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class MyRegistrationsPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(MyRegistrationsPanel.class);
 
-    private final StudentApi studentApi = new StudentApi();
+    private final StudentApi studentApi = ApiClients.student();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
     private final User currentUser;
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
@@ -31,7 +36,11 @@ public class MyRegistrationsPanel extends JPanel implements Refreshable {
 
     private JTable table;
     private DefaultTableModel tableModel;
+    private JButton btnDrop;
     private List<RegistrationRow> registrationData;
+    private List<WaitlistRow> waitlistData = List.of(); // Shown below the registrations
+
+    private record Loaded(ApiResponse<List<RegistrationRow>> registrations, ApiResponse<List<WaitlistRow>> waitlist) {}
 
     public MyRegistrationsPanel(User user) {
         this.currentUser = user;
@@ -95,12 +104,12 @@ public class MyRegistrationsPanel extends JPanel implements Refreshable {
         ));
         actionsPanel.setOpaque(false);
 
-        JLabel hintLabel = new JLabel("Select a registered section and click Drop to remove it.");
+        JLabel hintLabel = new JLabel("Select a registered or waitlisted section and click Drop to remove it.");
         hintLabel.setForeground(COLOR_TEXT_SECONDARY);
         hintLabel.setFont(FONT_LABEL);
         actionsPanel.add(hintLabel, "growx");
 
-        JButton btnDrop = new JButton("Drop Selected Section");
+        btnDrop = new JButton("Drop Selected Section");
         actionsPanel.add(btnDrop, "h 32!");
 
         add(actionsPanel, "growx");
@@ -110,13 +119,30 @@ public class MyRegistrationsPanel extends JPanel implements Refreshable {
         loadRegistrationData();
     }
 
-    // Data loading
+    // Data loading: registrations and waitlist are fetched in parallel off the EDT, as one task
+    // so a refresh supersedes both; the waitlist rows are appended below the registrations.
     private void loadRegistrationData() {
-        log.info("Loading registrations for student {}", currentUser.userId());
-        tableModel.setRowCount(0);
-        ApiResponse<List<RegistrationRow>> response =
-                studentApi.getMyRegistrations(currentUser.userId());
+        int studentId = currentUser.userId();
+        log.info("Loading registrations for student {}", studentId);
+        tasks.submit("my-registrations:" + studentId, UiTaskScheduler.Priority.INTERACTIVE, () -> {
+            CompletableFuture<ApiResponse<List<WaitlistRow>>> waitlist = studentApi.getMyWaitlistAsync(studentId);
+            try {
+                return new Loaded(studentApi.getMyRegistrations(studentId), waitlist.get());
+            } finally {
+                ApiExecutor.cancel(waitlist);
+            }
+        }, (loaded, error) -> {
+            if (error != null) {
+                log.error("Failed to load registrations", error);
+                showRegistrations(ApiResponse.error("An unexpected error occurred. Please contact support."), null);
+            } else {
+                showRegistrations(loaded.registrations(), loaded.waitlist());
+            }
+        });
+    }
 
+    private void showRegistrations(ApiResponse<List<RegistrationRow>> response, ApiResponse<List<WaitlistRow>> waitlist) {
+        tableModel.setRowCount(0);
         if (response.isSuccess()) {
             this.registrationData = response.getData();
             if (registrationData.isEmpty()) {
@@ -135,6 +161,7 @@ public class MyRegistrationsPanel extends JPanel implements Refreshable {
                     });
                 }
             }
+            showWaitlist(waitlist);
             log.info("Registration data loaded into table.");
         } else {
             log.error("Failed to load registrations: {}", response.getMessage());
@@ -147,9 +174,36 @@ public class MyRegistrationsPanel extends JPanel implements Refreshable {
         }
     }
 
+    private void showWaitlist(ApiResponse<List<WaitlistRow>> response) {
+        if (!response.isSuccess()) {
+            log.warn("Failed to load waitlist: {}", response.getMessage());
+            waitlistData = List.of();
+            return;
+        }
+        waitlistData = response.getData();
+        if (!waitlistData.isEmpty() && registrationData.isEmpty()) {
+            tableModel.setRowCount(0); // Drop the "not registered" placeholder
+        }
+        for (WaitlistRow row : waitlistData) {
+            tableModel.addRow(new Object[]{
+                    row.courseCode(),
+                    row.title(),
+                    "",
+                    row.dayTime(),
+                    "",
+                    "Waitlisted (#" + row.position() + ")"
+            });
+        }
+    }
+
     // Drop action
     private void onDrop() {
         int selectedRow = table.getSelectedRow();
+        if (registrationData != null && selectedRow >= registrationData.size()
+                && selectedRow - registrationData.size() < waitlistData.size()) {
+            onLeaveWaitlist(waitlistData.get(selectedRow - registrationData.size()));
+            return;
+        }
         if (selectedRow == -1
                 || registrationData == null
                 || registrationData.isEmpty()
@@ -179,25 +233,53 @@ public class MyRegistrationsPanel extends JPanel implements Refreshable {
         );
 
         if (choice == JOptionPane.YES_OPTION) {
-            ApiResponse<Void> response =
-                    studentApi.dropSection(currentUser.userId(), enrollmentId);
+            // A write: no key, so a second request never cancels it mid-call; the button waits for it instead
+            btnDrop.setEnabled(false);
+            tasks.call(null, UiTaskScheduler.Priority.INTERACTIVE,
+                    () -> studentApi.dropSection(currentUser.userId(), enrollmentId), response -> {
+                btnDrop.setEnabled(true);
+                showDropResult(response);
+            });
+        }
+    }
+
+    private void showDropResult(ApiResponse<Void> response) {
+        if (response.isSuccess()) {
+            JOptionPane.showMessageDialog(
+                    this,
+                    response.getMessage(),
+                    "Drop Successful",
+                    JOptionPane.INFORMATION_MESSAGE
+            );
+            loadRegistrationData();
+        } else {
+            JOptionPane.showMessageDialog(
+                    this,
+                    response.getMessage(),
+                    "Drop Failed",
+                    JOptionPane.WARNING_MESSAGE
+            );
+        }
+    }
+
+    private void onLeaveWaitlist(WaitlistRow selected) {
+        int choice = JOptionPane.showConfirmDialog(
+                this,
+                "Leave the waitlist for " + selected.courseCode() + " - " + selected.title() + "?",
+                "Confirm Leave Waitlist",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE
+        );
+        if (choice != JOptionPane.YES_OPTION) return;
+
+        tasks.call(null, UiTaskScheduler.Priority.INTERACTIVE,
+                () -> studentApi.leaveWaitlist(currentUser.userId(), selected.sectionId()), response -> {
             if (response.isSuccess()) {
-                JOptionPane.showMessageDialog(
-                        this,
-                        response.getMessage(),
-                        "Drop Successful",
-                        JOptionPane.INFORMATION_MESSAGE
-                );
                 loadRegistrationData();
             } else {
-                JOptionPane.showMessageDialog(
-                        this,
-                        response.getMessage(),
-                        "Drop Failed",
-                        JOptionPane.WARNING_MESSAGE
-                );
+                JOptionPane.showMessageDialog(this, response.getMessage(), "Leave Waitlist Failed", JOptionPane.WARNING_MESSAGE);
             }
-        }
+        });
     }
 
     @Override
@@ -0,0 +1,278 @@
+package edu.univ.erp.ui.component;
+
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.RowPage;
+
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.JTableHeader;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Table model over a list too long to load whole (the admin course and section lists). A JTable only
+// asks for the rows it paints, so rows are fetched a page at a time as they come into view, on the
+// UiTaskScheduler; until its page arrives a row reads "Loading...". At most maxPages pages are kept,
+// the least recently used dropped first. Sorting and filtering run in the query, so changing either
+// only drops the cached pages. EDT only, like any table model.
+public class PagedTableModel<R> extends AbstractTableModel {
+
+    // Fetches one page; runs off the EDT
+    @FunctionalInterface
+    public interface PageLoader<R> {
+        ApiResponse<RowPage<R>> load(String filter, int sortColumn, boolean ascending, int offset, int limit);
+    }
+
+    private static final String LOADING = "Loading...";
+    private static final int FILTER_DELAY_MILLIS = 300;
+
+    private record Page<R>(List<R> rows, Object[][] cells) {}
+
+    private final String name;
+    private final String[] columns;
+    private final Function<R, Object[]> cellsOf;
+    private final PageLoader<R> loader;
+    private final int pageSize;
+    private final Map<Integer, Page<R>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private Consumer<String> onError = message -> {};
+
+    private int rowCount;
+    private String filter;
+    private int sortColumn;
+    private boolean ascending = true;
+    private int generation; // bumped whenever the cached pages go stale
+
+    // 'name' keys the page loads on the scheduler, so it must differ between models.
+    // The first page is requested at once; it brings the row count.
+    public PagedTableModel(String name, String[] columns, Function<R, Object[]> cellsOf, PageLoader<R> loader,
+                           int pageSize, int maxPages) {
+        this.name = name;
+        this.columns = columns;
+        this.cellsOf = cellsOf;
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page<R>> eldest) {
+                return size() > maxPages;
+            }
+        };
+        requestPage(0);
+    }
+
+    // Gets the message of a failed page load (the page then stays empty until the next refresh)
+    public void setOnError(Consumer<String> onError) {
+        this.onError = onError;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column != sortColumn) {
+            return columns[column];
+        }
+        return columns[column] + (ascending ? " ▲" : " ▼");
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Page<R> page = page(row);
+        if (page == null) {
+            return (column == 0) ? LOADING : null;
+        }
+        int index = row % pageSize;
+        return (index < page.cells().length) ? page.cells()[index][column] : null;
+    }
+
+    // The row at this index, or null while its page is loading
+    public R rowAt(int row) {
+        Page<R> page = page(row);
+        if (page == null) {
+            return null;
+        }
+        int index = row % pageSize;
+        return (index < page.rows().size()) ? page.rows().get(index) : null;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        String normalized = (filter == null || filter.isBlank()) ? null : filter.strip();
+        if (!Objects.equals(normalized, this.filter)) {
+            this.filter = normalized;
+            reload(false);
+        }
+    }
+
+    // Sorts by the column; again on the sorted column reverses the order
+    public void sortBy(int column) {
+        if (column == sortColumn) {
+            ascending = !ascending;
+        } else {
+            sortColumn = column;
+            ascending = true;
+        }
+        reload(false);
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    // Fetches the rows again (e.g. after an edit); the table keeps its selection and scroll position
+    public void refresh() {
+        reload(true);
+    }
+
+    // Clicking a column header sorts the table by that column
+    public void sortOnHeaderClick(JTable table) {
+        JTableHeader header = table.getTableHeader();
+        header.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int viewColumn = header.columnAtPoint(e.getPoint());
+                if (viewColumn < 0) {
+                    return;
+                }
+                sortBy(table.convertColumnIndexToModel(viewColumn));
+                for (int i = 0; i < table.getColumnCount(); i++) {
+                    table.getColumnModel().getColumn(i).setHeaderValue(getColumnName(table.convertColumnIndexToModel(i)));
+                }
+                header.repaint();
+            }
+        });
+    }
+
+    // Filters by the field's text once typing pauses, instead of one query per keystroke
+    public void filterFrom(JTextField field) {
+        Timer delay = new Timer(FILTER_DELAY_MILLIS, e -> setFilter(field.getText()));
+        delay.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                delay.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                delay.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                delay.restart();
+            }
+        });
+    }
+
+    // The cached page of this row; a missing page is requested
+    private Page<R> page(int row) {
+        int index = row / pageSize;
+        Page<R> page = pages.get(index);
+        if (page == null) {
+            requestPage(index);
+        }
+        return page;
+    }
+
+    private void reload(boolean keepSelection) {
+        generation++;
+        pages.clear();
+        loading.clear();
+        requestPage(0);
+        if (keepSelection) {
+            if (rowCount > 0) {
+                fireTableRowsUpdated(0, rowCount - 1);
+            }
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    // A page already being fetched is not asked for twice; a load of the same page from before the
+    // last reload is superseded on the scheduler (same key)
+    private void requestPage(int index) {
+        if (!loading.add(index)) {
+            return;
+        }
+        int requestGeneration = generation;
+        String requestFilter = filter;
+        int requestSort = sortColumn;
+        boolean requestAscending = ascending;
+        tasks.call(name + ":page:" + index, UiTaskScheduler.Priority.INTERACTIVE,
+                () -> loader.load(requestFilter, requestSort, requestAscending, index * pageSize, pageSize),
+                response -> pageLoaded(requestGeneration, index, response));
+    }
+
+    private void pageLoaded(int requestGeneration, int index, ApiResponse<RowPage<R>> response) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(index);
+        if (!response.isSuccess()) {
+            // Kept empty, so painting does not ask again and again; refresh() retries
+            pages.put(index, new Page<>(List.of(), new Object[0][]));
+            onError.accept(response.getMessage());
+            return;
+        }
+
+        RowPage<R> loaded = response.getData();
+        List<R> rows = loaded.rows();
+        Object[][] cells = new Object[rows.size()][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = cellsOf.apply(rows.get(i));
+        }
+        pages.put(index, new Page<>(rows, cells));
+
+        resize(loaded.total());
+        int first = index * pageSize;
+        int last = Math.min(first + pageSize, rowCount) - 1;
+        if (first <= last) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    // Inserted/deleted events (not a data change) so the table keeps its selection
+    private void resize(int total) {
+        int previous = rowCount;
+        rowCount = total;
+        if (total > previous) {
+            fireTableRowsInserted(previous, total - 1);
+        } else if (total < previous) {
+            fireTableRowsDeleted(total, previous - 1);
+        }
+    }
+}
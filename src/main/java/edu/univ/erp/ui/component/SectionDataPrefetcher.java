@@ -0,0 +1,116 @@
+package edu.univ.erp.ui.component;
+
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.remote.ApiClients;
+import edu.univ.erp.api.types.GradebookRow;
+import edu.univ.erp.api.types.RowDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Warms the gradebook and statistics of the instructor's sections right after the dashboard lists
+// them, so opening a section shows its data at once instead of waiting for two cold queries. The
+// loads are BULK tasks on the UiTaskScheduler, which runs one bulk task at a time and always lets
+// what the user clicked go first. The panels show the cached data, revalidate it (the gradebook with
+// a delta request, usually "unchanged") and store what they load; a score edit re-warms the
+// section's statistics. EDT only; clear() on logout.
+public class SectionDataPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SectionDataPrefetcher.class);
+    private static SectionDataPrefetcher instance;
+
+    // The rows of a section's gradebook as of 'version' (see RowDelta), plus any edits saved since
+    public record Gradebook(String version, List<GradebookRow> rows) {}
+
+    private final InstructorApi instructorApi;
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final Map<Integer, Gradebook> gradebooks = new HashMap<>();
+    private final Map<Integer, Map<String, Double>> statistics = new HashMap<>();
+    private final Map<String, UiTaskScheduler.Handle> pending = new HashMap<>();
+
+    public SectionDataPrefetcher(InstructorApi instructorApi) {
+        this.instructorApi = instructorApi;
+    }
+
+    public static synchronized SectionDataPrefetcher getInstance() {
+        if (instance == null) {
+            instance = new SectionDataPrefetcher(ApiClients.instructor());
+        }
+        return instance;
+    }
+
+    public void prefetch(List<Integer> sectionIds) {
+        log.info("Prefetching gradebooks and statistics of {} sections", sectionIds.size());
+        for (int sectionId : sectionIds) {
+            if (!gradebooks.containsKey(sectionId)) {
+                warmGradebook(sectionId);
+            }
+            if (!statistics.containsKey(sectionId)) {
+                warmStatistics(sectionId);
+            }
+        }
+    }
+
+    // Cached data, or null when the section was not prefetched (yet)
+    public Gradebook gradebook(int sectionId) {
+        return gradebooks.get(sectionId);
+    }
+
+    public Map<String, Double> statistics(int sectionId) {
+        return statistics.get(sectionId);
+    }
+
+    // Fresher data a panel loaded (or, for the gradebook, edited) itself
+    public void storeGradebook(int sectionId, String version, List<GradebookRow> rows) {
+        gradebooks.put(sectionId, new Gradebook(version, List.copyOf(rows)));
+    }
+
+    public void storeStatistics(int sectionId, Map<String, Double> stats) {
+        statistics.put(sectionId, stats);
+    }
+
+    // A score was saved: the averages are out of date
+    public void scoresChanged(int sectionId) {
+        statistics.remove(sectionId);
+        warmStatistics(sectionId);
+    }
+
+    // Drops everything, e.g. on logout, so the next instructor never sees this one's data
+    public void clear() {
+        pending.values().forEach(UiTaskScheduler.Handle::cancel);
+        pending.clear();
+        gradebooks.clear();
+        statistics.clear();
+    }
+
+    private void warmGradebook(int sectionId) {
+        String key = "prefetch-gradebook:" + sectionId;
+        pending.put(key, tasks.call(key, UiTaskScheduler.Priority.BULK,
+                () -> instructorApi.getGradebookChanges(sectionId, null), response -> {
+            pending.remove(key);
+            if (response.isSuccess()) {
+                RowDelta<GradebookRow> delta = response.getData();
+                storeGradebook(sectionId, delta.version(), delta.rows());
+            } else {
+                log.warn("Could not prefetch the gradebook of section {}: {}", sectionId, response.getMessage());
+            }
+        }));
+    }
+
+    private void warmStatistics(int sectionId) {
+        String key = "prefetch-statistics:" + sectionId;
+        pending.put(key, tasks.call(key, UiTaskScheduler.Priority.BULK,
+                () -> instructorApi.getSectionStatistics(sectionId), response -> {
+            pending.remove(key);
+            if (response.isSuccess() && response.getData() != null) {
+                storeStatistics(sectionId, response.getData());
+            } else {
+                log.warn("Could not prefetch the statistics of section {}: {}", sectionId, response.getMessage());
+            }
+        }));
+    }
+}
@@ -2,6 +2,7 @@ package edu.univ.erp.ui.component;
 
 import edu.univ.erp.api.common.ApiResponse;
 import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.remote.ApiClients;
 import net.miginfocom.swing.MigLayout;
 import org.jfree.chart.ChartPanel;
 import org.slf4j.Logger;
@@ -15,7 +16,9 @@ import java.util.Map;
 public class StatisticsPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(StatisticsPanel.class);
-    private final InstructorApi instructorApi = new InstructorApi();
+    private final InstructorApi instructorApi = ApiClients.instructor();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
+    private final SectionDataPrefetcher prefetcher = SectionDataPrefetcher.getInstance();
     private final int sectionId;
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
@@ -52,17 +55,27 @@ public class StatisticsPanel extends JPanel implements Refreshable {
         contentPanel.add(chartPanel, "grow");
         add(contentPanel, "grow");
 
+        // Prefetched averages are shown at once, then loaded again in case they moved
+        Map<String, Double> prefetched = prefetcher.statistics(sectionId);
+        if (prefetched != null) {
+            showStatistics(ApiResponse.success(prefetched, "Statistics prefetched."));
+        }
         loadStatistics();
     }
 
-    // Data loading
+    // Data loading (off the EDT; a refresh supersedes the load still in flight)
     private void loadStatistics() {
         log.info("Loading statistics for section {}", sectionId);
+        tasks.call("statistics:" + sectionId, UiTaskScheduler.Priority.INTERACTIVE,
+                () -> instructorApi.getSectionStatistics(sectionId), this::showStatistics);
+    }
 
-        ApiResponse<Map<String, Double>> response = instructorApi.getSectionStatistics(sectionId);
-
+    private void showStatistics(ApiResponse<Map<String, Double>> response) {
         if (response.isSuccess()) {
             Map<String, Double> stats = response.getData();
+            if (stats != null) {
+                prefetcher.storeStatistics(sectionId, stats);
+            }
             if (stats == null || stats.isEmpty()) {
                 log.info("No statistics data available for section {}", sectionId);
                 displayNoDataMessage();
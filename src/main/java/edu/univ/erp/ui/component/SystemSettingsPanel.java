@@ -6,6 +6,7 @@ import edu.univ.erp.access.AccessControl;
 import edu.univ.erp.api.admin.AdminApi;
 import edu.univ.erp.api.common.ApiResponse;
 import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.remote.ApiClients;
 import net.miginfocom.swing.MigLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +20,9 @@ import java.time.LocalDate;
 public class SystemSettingsPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(SystemSettingsPanel.class);
-    private final MaintenanceApi maintenanceApi = new MaintenanceApi();
-    private final AdminApi adminApi = new AdminApi();
+    private final MaintenanceApi maintenanceApi = ApiClients.maintenance();
+    private final AdminApi adminApi = ApiClients.admin();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
     private final AccessControl accessControl = new AccessControl();
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
@@ -43,6 +45,8 @@ public class SystemSettingsPanel extends JPanel implements Refreshable {
 
     private JButton btnBackup;
     private JButton btnRestore;
+    private JButton btnRebuildStats;
+    private JButton btnRepairSeats;
 
     private boolean isProgrammaticallyUpdating = false;
 
@@ -158,6 +162,31 @@ public class SystemSettingsPanel extends JPanel implements Refreshable {
 
         add(dropDeadlinePanel, "growx, wrap");
 
+        // Data Maintenance
+        JLabel lblDataTitle = new JLabel("Data Maintenance");
+        lblDataTitle.setFont(FONT_SECTION_TITLE);
+        lblDataTitle.setForeground(COLOR_TEXT_PRIMARY);
+        add(lblDataTitle, "growx");
+
+        JPanel dataPanel = new JPanel(new MigLayout(
+                "wrap 2, fillx, insets 10 0 5 0",
+                "[grow,fill][]",
+                "[]"
+        ));
+        dataPanel.setOpaque(false);
+
+        dataPanel.add(createLabel("Recompute per-section grade statistics from the stored scores."), "growx");
+        btnRebuildStats = new JButton("Rebuild Grade Statistics");
+        dataPanel.add(btnRebuildStats);
+        btnRebuildStats.addActionListener(e -> rebuildGradeStatistics());
+
+        dataPanel.add(createLabel("Recount enrolled students of every section and fix seat counts that drifted."), "growx");
+        btnRepairSeats = new JButton("Repair Seat Counts");
+        dataPanel.add(btnRepairSeats);
+        btnRepairSeats.addActionListener(e -> repairSeatCounts());
+
+        add(dataPanel, "growx, wrap");
+
         refreshStatus();
     }
 
@@ -175,39 +204,26 @@ public class SystemSettingsPanel extends JPanel implements Refreshable {
         setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
         chkMaintenanceMode.setEnabled(false);
 
-        SwingWorker<ApiResponse<Void>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ApiResponse<Void> doInBackground() throws Exception {
-                return maintenanceApi.setMaintenanceMode(desiredState);
-            }
-
-            @Override
-            protected void done() {
+        tasks.submit(null, UiTaskScheduler.Priority.INTERACTIVE, () -> maintenanceApi.setMaintenanceMode(desiredState), (response, error) -> {
+            if (error != null) {
+                log.error("Error during maintenance mode update", error);
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        "An unexpected error occurred: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (!response.isSuccess()) {
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        response.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                isProgrammaticallyUpdating = true;
                 try {
-                    ApiResponse<Void> response = get();
-                    if (!response.isSuccess()) {
-                        JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                                response.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                        isProgrammaticallyUpdating = true;
-                        try {
-                            chkMaintenanceMode.setSelected(!desiredState);
-                        } finally {
-                            isProgrammaticallyUpdating = false;
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("Error during maintenance mode update worker", e);
-                    JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                            "An unexpected error occurred: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
+                    chkMaintenanceMode.setSelected(!desiredState);
                 } finally {
-                    setCursor(Cursor.getDefaultCursor());
-                    chkMaintenanceMode.setEnabled(true);
-                    refreshStatus();
+                    isProgrammaticallyUpdating = false;
                 }
             }
-        };
-        worker.execute();
+            setCursor(Cursor.getDefaultCursor());
+            chkMaintenanceMode.setEnabled(true);
+            refreshStatus();
+        });
     }
 
     // Refreshes the display of maintenance mode and deadlines by fetching current value from the backend in a background thread.
@@ -221,76 +237,50 @@ public class SystemSettingsPanel extends JPanel implements Refreshable {
         btnSetDropDeadline.setEnabled(false);
         setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
-            private boolean currentMaintenanceState;
-            private LocalDate currentDropDeadline;
-            private String dropDeadlineError = null;
-            private LocalDate currentRegDeadline;
-            private String regDeadlineError = null;
-
-            @Override
-            protected Void doInBackground() throws Exception {
-                currentMaintenanceState = maintenanceApi.isReadOnlyNow();
-
-                ApiResponse<LocalDate> dropDeadlineResponse = maintenanceApi.getDropDeadline();
-                if (dropDeadlineResponse.isSuccess()) {
-                    currentDropDeadline = dropDeadlineResponse.getData();
-                } else {
-                    dropDeadlineError = dropDeadlineResponse.getMessage();
-                }
-
-                ApiResponse<LocalDate> regDeadlineResponse = maintenanceApi.getRegistrationDeadline();
-                if (regDeadlineResponse.isSuccess()) {
-                    currentRegDeadline = regDeadlineResponse.getData();
-                } else {
-                    regDeadlineError = regDeadlineResponse.getMessage();
-                }
-                return null;
-            }
-
-            @Override
-            protected void done() {
+        tasks.submit("settings-status", UiTaskScheduler.Priority.INTERACTIVE, () -> {
+            boolean maintenance = maintenanceApi.isReadOnlyNow();
+            ApiResponse<LocalDate> dropDeadline = maintenanceApi.getDropDeadline();
+            ApiResponse<LocalDate> regDeadline = maintenanceApi.getRegistrationDeadline();
+            return new SettingsStatus(maintenance, dropDeadline, regDeadline);
+        }, (status, error) -> {
+            if (error != null) {
+                log.error("Error refreshing statuses", error);
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        "Failed to refresh settings status: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                // Maintenance state
+                isProgrammaticallyUpdating = true;
                 try {
-                    get();
-                    // Maintenance state
-                    isProgrammaticallyUpdating = true;
-                    try {
-                        chkMaintenanceMode.setSelected(currentMaintenanceState);
-                    } finally {
-                        isProgrammaticallyUpdating = false;
-                    }
-                    lblStatus.setText("Current Status: " +
-                            (currentMaintenanceState ? "ON (Read-Only)" : "OFF (Normal)"));
-                    lblStatus.setForeground(
-                            currentMaintenanceState ? new Color(248, 113, 113) : new Color(56, 189, 248)
-                    );
-                    // Deadlines
-                    updateDeadlineLabel(lblCurrentDropDeadline, datePickerDropDeadline,
-                            currentDropDeadline, dropDeadlineError, "drop");
-                    updateDeadlineLabel(lblCurrentRegDeadline, datePickerRegDeadline,
-                            currentRegDeadline, regDeadlineError, "registration");
-
-                } catch (Exception e) {
-                    log.error("Error refreshing statuses", e);
-                    JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                            "Failed to refresh settings status: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
+                    chkMaintenanceMode.setSelected(status.maintenance());
                 } finally {
-                    setCursor(Cursor.getDefaultCursor());
-                    chkMaintenanceMode.setEnabled(true);
-                    datePickerRegDeadline.setEnabled(true);
-                    btnSetRegDeadline.setEnabled(true);
-                    datePickerDropDeadline.setEnabled(true);
-                    btnSetDropDeadline.setEnabled(true);
-                    log.debug("Finished refreshing statuses.");
+                    isProgrammaticallyUpdating = false;
                 }
+                lblStatus.setText("Current Status: " +
+                        (status.maintenance() ? "ON (Read-Only)" : "OFF (Normal)"));
+                lblStatus.setForeground(
+                        status.maintenance() ? new Color(248, 113, 113) : new Color(56, 189, 248)
+                );
+                // Deadlines
+                updateDeadlineLabel(lblCurrentDropDeadline, datePickerDropDeadline, status.dropDeadline(), "drop");
+                updateDeadlineLabel(lblCurrentRegDeadline, datePickerRegDeadline, status.regDeadline(), "registration");
             }
-        };
-        worker.execute();
+            setCursor(Cursor.getDefaultCursor());
+            chkMaintenanceMode.setEnabled(true);
+            datePickerRegDeadline.setEnabled(true);
+            btnSetRegDeadline.setEnabled(true);
+            datePickerDropDeadline.setEnabled(true);
+            btnSetDropDeadline.setEnabled(true);
+            log.debug("Finished refreshing statuses.");
+        });
     }
 
+    private record SettingsStatus(boolean maintenance, ApiResponse<LocalDate> dropDeadline, ApiResponse<LocalDate> regDeadline) {}
+
     // Helper to update label & picker for a deadline.
-    private void updateDeadlineLabel(JLabel label, DatePicker picker, LocalDate deadline, String errorMsg, String type) {
+    private void updateDeadlineLabel(JLabel label, DatePicker picker, ApiResponse<LocalDate> response, String type) {
+        LocalDate deadline = response.isSuccess() ? response.getData() : null;
+        String errorMsg = response.isSuccess() ? null : response.getMessage();
         if (deadline != null) {
             label.setText(deadline.toString());
             picker.setDate(deadline);
@@ -325,39 +315,22 @@ public class SystemSettingsPanel extends JPanel implements Refreshable {
         datePickerRegDeadline.setEnabled(false);
         btnSetRegDeadline.setEnabled(false);
 
-        SwingWorker<ApiResponse<Void>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ApiResponse<Void> doInBackground() throws Exception {
-                return maintenanceApi.setRegistrationDeadline(selectedDate);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    ApiResponse<Void> response = get();
-                    if (response.isSuccess()) {
-                        JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                                response.getMessage(), "Success",
-                                JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                                response.getMessage(), "Error",
-                                JOptionPane.ERROR_MESSAGE);
-                    }
-                } catch (Exception e) {
-                    log.error("Error setting registration deadline", e);
-                    JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                            "Failed to set deadline: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                } finally {
-                    setCursor(Cursor.getDefaultCursor());
-                    datePickerRegDeadline.setEnabled(true);
-                    btnSetRegDeadline.setEnabled(true);
-                    refreshStatus();
-                }
+        tasks.submit(null, UiTaskScheduler.Priority.INTERACTIVE, () -> maintenanceApi.setRegistrationDeadline(selectedDate), (response, error) -> {
+            if (error != null) {
+                log.error("Error setting registration deadline", error);
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        "Failed to set deadline: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        response.getMessage(), response.isSuccess() ? "Success" : "Error",
+                        response.isSuccess() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE);
             }
-        };
-        worker.execute();
+            setCursor(Cursor.getDefaultCursor());
+            datePickerRegDeadline.setEnabled(true);
+            btnSetRegDeadline.setEnabled(true);
+            refreshStatus();
+        });
     }
 
     private void setDropDeadline() {
@@ -378,39 +351,65 @@ public class SystemSettingsPanel extends JPanel implements Refreshable {
         datePickerDropDeadline.setEnabled(false);
         btnSetDropDeadline.setEnabled(false);
 
-        SwingWorker<ApiResponse<Void>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ApiResponse<Void> doInBackground() throws Exception {
-                return maintenanceApi.setDropDeadline(selectedDate);
+        tasks.submit(null, UiTaskScheduler.Priority.INTERACTIVE, () -> maintenanceApi.setDropDeadline(selectedDate), (response, error) -> {
+            if (error != null) {
+                log.error("Error setting drop deadline", error);
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        "Failed to set deadline: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        response.getMessage(), response.isSuccess() ? "Success" : "Error",
+                        response.isSuccess() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE);
             }
+            setCursor(Cursor.getDefaultCursor());
+            datePickerDropDeadline.setEnabled(true);
+            btnSetDropDeadline.setEnabled(true);
+            refreshStatus();
+        });
+    }
 
-            @Override
-            protected void done() {
-                try {
-                    ApiResponse<Void> response = get();
-                    if (response.isSuccess()) {
-                        JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                                response.getMessage(), "Success",
-                                JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                                response.getMessage(), "Error",
-                                JOptionPane.ERROR_MESSAGE);
-                    }
-                } catch (Exception e) {
-                    log.error("Error setting drop deadline", e);
-                    JOptionPane.showMessageDialog(SystemSettingsPanel.this,
-                            "Failed to set deadline: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                } finally {
-                    setCursor(Cursor.getDefaultCursor());
-                    datePickerDropDeadline.setEnabled(true);
-                    btnSetDropDeadline.setEnabled(true);
-                    refreshStatus();
-                }
+    private void rebuildGradeStatistics() {
+        log.info("UI: Requesting grade statistics rebuild");
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        btnRebuildStats.setEnabled(false);
+
+        // A long job: bulk priority, so it does not hold up other panels' loads
+        tasks.submit(null, UiTaskScheduler.Priority.BULK, maintenanceApi::rebuildGradeStatistics, (response, error) -> {
+            if (error != null) {
+                log.error("Error rebuilding grade statistics", error);
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        "Failed to rebuild statistics: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        response.getMessage(), response.isSuccess() ? "Success" : "Error",
+                        response.isSuccess() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE);
+            }
+            setCursor(Cursor.getDefaultCursor());
+            btnRebuildStats.setEnabled(true);
+        });
+    }
+
+    private void repairSeatCounts() {
+        log.info("UI: Requesting seat count repair");
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        btnRepairSeats.setEnabled(false);
+
+        tasks.submit(null, UiTaskScheduler.Priority.BULK, maintenanceApi::repairSeatCounts, (response, error) -> {
+            if (error != null) {
+                log.error("Error repairing seat counts", error);
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        "Failed to repair seat counts: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(SystemSettingsPanel.this,
+                        response.getMessage(), response.isSuccess() ? "Success" : "Error",
+                        response.isSuccess() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE);
             }
-        };
-        worker.execute();
+            setCursor(Cursor.getDefaultCursor());
+            btnRepairSeats.setEnabled(true);
+        });
     }
 
     @Override
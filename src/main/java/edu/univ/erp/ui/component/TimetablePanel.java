@@ -1,6 +1,7 @@
 package edu.univ.erp.ui.component;
 
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.api.student.StudentApi;
 import edu.univ.erp.api.types.TimetableEntry;
 import edu.univ.erp.domain.User;
@@ -20,7 +21,8 @@ public class TimetablePanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(TimetablePanel.class);
 
-    private final StudentApi studentApi = new StudentApi();
+    private final StudentApi studentApi = ApiClients.student();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
     private final User currentUser;
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
@@ -75,13 +77,15 @@ public class TimetablePanel extends JPanel implements Refreshable {
     }
 
     private void loadTimetableData() {
-        log.info("Loading timetable for student {}", currentUser.userId());
+        int studentId = currentUser.userId();
+        log.info("Loading timetable for student {}", studentId);
+        tasks.call("my-timetable:" + studentId, UiTaskScheduler.Priority.INTERACTIVE,
+                () -> studentApi.getMyTimetable(studentId), this::showTimetable);
+    }
 
+    private void showTimetable(ApiResponse<List<TimetableEntry>> response) {
         contentPanel.removeAll();
 
-        ApiResponse<List<TimetableEntry>> response =
-                studentApi.getMyTimetable(currentUser.userId());
-
         if (!response.isSuccess()) {
             log.error("Failed to load timetable: {}", response.getMessage());
             JOptionPane.showMessageDialog(
@@ -0,0 +1,225 @@
+package edu.univ.erp.ui.component;
+
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.data.QueryRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Runs the panels' background work. Interactive tasks (loads the user is looking at, button clicks)
+// always start before bulk ones (long jobs such as computing final grades, and polls), and bulk work
+// never holds more than MAX_BULK_RUNNING of the MAX_RUNNING slots, so it cannot starve clicks.
+// Tasks with the same key replace each other: a queued one is coalesced into the newer request and a
+// running one is left to finish and its result discarded (an interrupt would close the JDBC socket
+// under a blocking read), so rapid tab switching costs at most two loads. Callbacks run on the EDT,
+// and never for a cancelled or superseded task.
+public class UiTaskScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(UiTaskScheduler.class);
+    private static final UiTaskScheduler instance = new UiTaskScheduler(4, 1);
+
+    // An interactive task waiting this long for a slot is logged
+    private static final long SLOW_WAIT_MILLIS = 500;
+
+    public enum Priority { INTERACTIVE, BULK }
+
+    private final int maxRunning;
+    private final int maxBulkRunning;
+    private final Map<Priority, Deque<Task<?>>> queues = new HashMap<>();
+    private final Map<String, Task<?>> byKey = new HashMap<>();
+    private final Map<Priority, Stats> stats = new HashMap<>();
+    private int running;
+    private int bulkRunning;
+
+    public UiTaskScheduler(int maxRunning, int maxBulkRunning) {
+        this.maxRunning = maxRunning;
+        this.maxBulkRunning = maxBulkRunning;
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            stats.put(priority, new Stats());
+        }
+    }
+
+    public static UiTaskScheduler getInstance() {
+        return instance;
+    }
+
+    // 'key' names what the task loads (e.g. "catalog"); null for work that must not be merged with other
+    // requests, which includes every write: a queued task is dropped when superseded. 'onDone' gets the
+    // result, or null and the exception the work threw (as SwingWorker.done).
+    public synchronized <T> Handle submit(String key, Priority priority, Callable<T> work, BiConsumer<T, Exception> onDone) {
+        Task<T> task = new Task<>(key, priority, work, onDone);
+        if (key != null) {
+            Task<?> previous = byKey.put(key, task);
+            if (previous != null) {
+                if (previous.thread == null) {
+                    queues.get(previous.priority).remove(previous);
+                    stats.get(previous.priority).coalesced++;
+                } else {
+                    stats.get(previous.priority).cancelled++;
+                }
+                previous.done = true;
+            }
+        }
+        queues.get(priority).add(task);
+        dispatch();
+        return task;
+    }
+
+    // For an API call: an unexpected failure arrives as an error response, as with ApiExecutor.onEdt
+    public <T> Handle call(String key, Priority priority, Callable<ApiResponse<T>> call, Consumer<ApiResponse<T>> onResponse) {
+        return submit(key, priority, call, (response, error) -> {
+            if (error != null) {
+                log.error("UI task {} failed", key, error);
+                response = ApiResponse.error("An unexpected error occurred. Please contact support.");
+            }
+            onResponse.accept(response);
+        });
+    }
+
+    // One line per priority for the diagnostics view
+    public synchronized String summary() {
+        StringBuilder text = new StringBuilder();
+        for (Priority priority : Priority.values()) {
+            Stats s = stats.get(priority);
+            if (!text.isEmpty()) {
+                text.append(" | ");
+            }
+            text.append(String.format("%s: %d run, wait avg %d ms / max %d ms, run avg %d ms, %d coalesced, %d cancelled",
+                    priority.name().toLowerCase(), s.completed,
+                    s.completed == 0 ? 0 : s.totalWaitMillis / s.completed, s.maxWaitMillis,
+                    s.completed == 0 ? 0 : s.totalRunMillis / s.completed, s.coalesced, s.cancelled));
+        }
+        return text.toString();
+    }
+
+    private void dispatch() {
+        while (running < maxRunning) {
+            Task<?> next = queues.get(Priority.INTERACTIVE).poll();
+            if (next == null && bulkRunning < maxBulkRunning) {
+                next = queues.get(Priority.BULK).poll();
+            }
+            if (next == null) {
+                return;
+            }
+            start(next);
+        }
+    }
+
+    private <T> void start(Task<T> task) {
+        running++;
+        if (task.priority == Priority.BULK) {
+            bulkRunning++;
+        }
+        task.startedAt = System.nanoTime();
+        long waitMillis = (task.startedAt - task.submittedAt) / 1_000_000;
+        if (task.priority == Priority.INTERACTIVE && waitMillis > SLOW_WAIT_MILLIS) {
+            log.warn("UI task {} waited {} ms for a free slot", task.key, waitMillis);
+        }
+        // One virtual thread per task, as in ApiExecutor; the slots above bound how many run
+        task.thread = Thread.ofVirtual().name("ui-task-" + task.key).start(() -> run(task));
+    }
+
+    private <T> void run(Task<T> task) {
+        T result = null;
+        Exception failure = null;
+        try {
+            result = task.work.call();
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            QueryRecorder.getInstance().endOperation();
+        }
+        if (!finished(task)) {
+            return; // cancelled or superseded while running: the result is discarded
+        }
+        T delivered = result;
+        Exception error = failure;
+        SwingUtilities.invokeLater(() -> task.onDone.accept(delivered, error));
+    }
+
+    // Frees the slot and records the timings; returns whether the callback should run
+    private synchronized boolean finished(Task<?> task) {
+        running--;
+        if (task.priority == Priority.BULK) {
+            bulkRunning--;
+        }
+        boolean deliver = !task.done;
+        task.done = true;
+        if (task.key != null) {
+            byKey.remove(task.key, task);
+        }
+        if (deliver) {
+            long now = System.nanoTime();
+            Stats s = stats.get(task.priority);
+            long waitMillis = (task.startedAt - task.submittedAt) / 1_000_000;
+            s.completed++;
+            s.totalWaitMillis += waitMillis;
+            s.maxWaitMillis = Math.max(s.maxWaitMillis, waitMillis);
+            s.totalRunMillis += (now - task.startedAt) / 1_000_000;
+            log.debug("UI task {} ({}) waited {} ms, ran {} ms", task.key, task.priority, waitMillis,
+                    (now - task.startedAt) / 1_000_000);
+        }
+        dispatch();
+        return deliver;
+    }
+
+    private synchronized void cancel(Task<?> task) {
+        if (task.done) {
+            return;
+        }
+        task.done = true;
+        stats.get(task.priority).cancelled++;
+        if (task.key != null) {
+            byKey.remove(task.key, task);
+        }
+        if (task.thread == null) {
+            queues.get(task.priority).remove(task);
+        }
+    }
+
+    public interface Handle {
+        // Drops the task if it has not started, lets it finish otherwise; either way its callback does not run
+        void cancel();
+    }
+
+    private final class Task<T> implements Handle {
+        private final String key;
+        private final Priority priority;
+        private final Callable<T> work;
+        private final BiConsumer<T, Exception> onDone;
+        private final long submittedAt = System.nanoTime();
+        private long startedAt;
+        private Thread thread; // set when started
+        private boolean done; // finished, cancelled or superseded
+
+        private Task(String key, Priority priority, Callable<T> work, BiConsumer<T, Exception> onDone) {
+            this.key = key;
+            this.priority = priority;
+            this.work = work;
+            this.onDone = onDone;
+        }
+
+        @Override
+        public void cancel() {
+            UiTaskScheduler.this.cancel(this);
+        }
+    }
+
+    private static final class Stats {
+        private long completed;
+        private long totalWaitMillis;
+        private long maxWaitMillis;
+        private long totalRunMillis;
+        private long coalesced;
+        private long cancelled;
+    }
+}
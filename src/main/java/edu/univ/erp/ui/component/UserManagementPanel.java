@@ -3,6 +3,7 @@ package edu.univ.erp.ui.component;
 import com.formdev.flatlaf.FlatClientProperties;
 import edu.univ.erp.api.admin.AdminApi;
 import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.remote.ApiClients;
 import edu.univ.erp.api.types.UserCreationRequest;
 import edu.univ.erp.domain.Role;
 import net.miginfocom.swing.MigLayout;
@@ -15,7 +16,8 @@ import java.awt.*;
 public class UserManagementPanel extends JPanel implements Refreshable {
 
     private static final Logger log = LoggerFactory.getLogger(UserManagementPanel.class);
-    private final AdminApi adminApi = new AdminApi();
+    private final AdminApi adminApi = ApiClients.admin();
+    private final UiTaskScheduler tasks = UiTaskScheduler.getInstance();
 
     private static final Color COLOR_BACKGROUND = new Color(26, 26, 26);
     private static final Color COLOR_TEXT_PRIMARY = new Color(233, 236, 239);
@@ -152,41 +154,28 @@ public class UserManagementPanel extends JPanel implements Refreshable {
         btnCreateUser.setText("Creating...");
         setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 
-        SwingWorker<ApiResponse<Void>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ApiResponse<Void> doInBackground() throws Exception {
-                return adminApi.createUser(request);
+        tasks.submit(null, UiTaskScheduler.Priority.INTERACTIVE, () -> adminApi.createUser(request), (response, error) -> {
+            if (error != null) {
+                log.error("Failed to create user", error);
+                JOptionPane.showMessageDialog(UserManagementPanel.this, "An unexpected error occurred: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (response.isSuccess()) {
+                JOptionPane.showMessageDialog(UserManagementPanel.this, response.getMessage(), "Success", JOptionPane.INFORMATION_MESSAGE);
+                txtUsername.setText("");
+                txtPassword.setText("");
+                txtName.setText("");
+                txtDepartment.setText("");
+                txtRollNo.setText("");
+                txtProgram.setText("");
+                spnYear.setValue(1);
+                cmbRole.setSelectedIndex(0);
+            } else {
+                JOptionPane.showMessageDialog(UserManagementPanel.this, response.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
-
-            @Override
-            protected void done() {
-                try {
-                    ApiResponse<Void> response = get();
-                    if (response.isSuccess()) {
-                        JOptionPane.showMessageDialog(UserManagementPanel.this, response.getMessage(), "Success", JOptionPane.INFORMATION_MESSAGE);
-                        txtUsername.setText("");
-                        txtPassword.setText("");
-                        txtName.setText("");
-                        txtDepartment.setText("");
-                        txtRollNo.setText("");
-                        txtProgram.setText("");
-                        spnYear.setValue(1);
-                        cmbRole.setSelectedIndex(0);
-                    } else {
-                        JOptionPane.showMessageDialog(UserManagementPanel.this, response.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to create user", e);
-                    JOptionPane.showMessageDialog(UserManagementPanel.this, "An unexpected error occurred: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                } finally {
-                    // Re-enable button and reset cursor
-                    btnCreateUser.setEnabled(true);
-                    btnCreateUser.setText("Create User");
-                    setCursor(Cursor.getDefaultCursor());
-                }
-            }
-        };
-        worker.execute();
+            // Re-enable button and reset cursor
+            btnCreateUser.setEnabled(true);
+            btnCreateUser.setText("Create User");
+            setCursor(Cursor.getDefaultCursor());
+        });
     }
 
     @Override
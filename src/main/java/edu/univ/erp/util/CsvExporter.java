@@ -1,6 +1,9 @@
 package edu.univ.erp.util;
 
 import com.opencsv.CSVWriter;
+import edu.univ.erp.api.types.GradeAnalyticsReport;
+import edu.univ.erp.api.types.GradeDistributionRow;
+import edu.univ.erp.api.types.OutlierSectionRow;
 import edu.univ.erp.api.types.TranscriptEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,4 +41,45 @@ public class CsvExporter {
             return false;
         }
     }
+
+    public boolean exportGradeAnalytics(GradeAnalyticsReport report, File outputFile) {
+        log.info("Exporting grade analytics for {} {} to file: {}", report.semester(), report.year(), outputFile.getAbsolutePath());
+
+        try (CSVWriter writer = new CSVWriter(new FileWriter(outputFile))) {
+            writer.writeNext(new String[]{"Dimension", "Group", "Enrollments", "Mean", "Std Dev", "Min", "Max",
+                    "0-9", "10-19", "20-29", "30-39", "40-49", "50-59", "60-69", "70-79", "80-89", "90-100", "Letter Grades"});
+            for (GradeDistributionRow row : report.distributions()) {
+                String[] data = new String[18];
+                data[0] = row.dimension();
+                data[1] = row.groupKey();
+                data[2] = String.valueOf(row.enrollments());
+                data[3] = String.format("%.2f", row.meanScore());
+                data[4] = String.format("%.2f", row.stdDevScore());
+                data[5] = String.format("%.2f", row.minScore());
+                data[6] = String.format("%.2f", row.maxScore());
+                for (int bin = 0; bin < 10; bin++) {
+                    data[7 + bin] = String.valueOf(row.scoreHistogram()[bin]);
+                }
+                data[17] = row.getLetterGradeSummary();
+                writer.writeNext(data);
+            }
+
+            // Outlier sections follow the distributions as a second block
+            writer.writeNext(new String[0]);
+            writer.writeNext(new String[]{"Outlier Section", "Course", "Enrollments", "Section Mean", "Course Mean", "Z-Score"});
+            for (OutlierSectionRow row : report.outlierSections()) {
+                writer.writeNext(new String[]{
+                        String.valueOf(row.sectionId()), row.courseCode(), String.valueOf(row.enrollments()),
+                        String.format("%.2f", row.sectionMean()), String.format("%.2f", row.courseMean()),
+                        String.format("%.2f", row.zScore())});
+            }
+
+            log.info("Grade analytics CSV export successful.");
+            return true;
+
+        } catch (IOException e) {
+            log.error("Error writing grade analytics CSV file: {}", outputFile.getAbsolutePath(), e);
+            return false;
+        }
+    }
 }
\ No newline at end of file
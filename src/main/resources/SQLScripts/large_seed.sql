@@ -19,6 +19,16 @@ CREATE TABLE users_auth (
     last_login TIMESTAMP NULL
 );
 
+/* Persisted login sessions (token stored as SHA-256 hex) */
+CREATE TABLE user_sessions (
+    token_hash CHAR(64) PRIMARY KEY,
+    user_id INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_access TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    KEY idx_user_sessions_last_access (last_access),
+    FOREIGN KEY (user_id) REFERENCES users_auth(user_id) ON DELETE CASCADE
+);
+
 USE erp_db;
 
 /* Profile for students, linked to auth_db by user_id */
@@ -54,6 +64,13 @@ CREATE TABLE sections (
     capacity INT,
     semester VARCHAR(50),
     year INT,
+    /* Rows in enrollments for this section; kept in step by the application in the same transaction */
+    enrolled_count INT NOT NULL DEFAULT 0,
+    /* Last change of enrolled_count or capacity; open catalogs poll for sections changed since their last look */
+    seats_changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idx_sections_seats_changed (seats_changed_at),
+    /* Term lookups: the catalog, the admin section list */
+    INDEX idx_sections_term (semester, year),
     FOREIGN KEY (course_id) REFERENCES courses(course_id),
     FOREIGN KEY (instructor_id) REFERENCES instructors(user_id)
 );
@@ -69,6 +86,18 @@ CREATE TABLE enrollments (
     FOREIGN KEY (section_id) REFERENCES sections(section_id)
 );
 
+/* FIFO waitlist of students waiting for a seat in a full section */
+CREATE TABLE waitlist (
+    waitlist_id INT AUTO_INCREMENT PRIMARY KEY, /* Increasing id gives the queue order */
+    student_id INT NOT NULL,
+    section_id INT NOT NULL,
+    joined_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_waitlist (student_id, section_id),
+    KEY idx_waitlist_section (section_id, waitlist_id),
+    FOREIGN KEY (student_id) REFERENCES students(user_id),
+    FOREIGN KEY (section_id) REFERENCES sections(section_id)
+);
+
 /* Stores grades for each enrollment */
 CREATE TABLE grades (
     grade_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -79,12 +108,54 @@ CREATE TABLE grades (
     FOREIGN KEY (enrollment_id) REFERENCES enrollments(enrollment_id)
 );
 
+/* Running per-section aggregates of each grade component, maintained on every score write */
+CREATE TABLE section_component_stats (
+    section_id INT NOT NULL,
+    component VARCHAR(50) NOT NULL,
+    score_count INT NOT NULL DEFAULT 0,
+    score_sum DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    score_sum_sq DECIMAL(16, 4) NOT NULL DEFAULT 0,
+    bin_0 INT NOT NULL DEFAULT 0, /* [0, 10) */
+    bin_1 INT NOT NULL DEFAULT 0,
+    bin_2 INT NOT NULL DEFAULT 0,
+    bin_3 INT NOT NULL DEFAULT 0,
+    bin_4 INT NOT NULL DEFAULT 0,
+    bin_5 INT NOT NULL DEFAULT 0,
+    bin_6 INT NOT NULL DEFAULT 0,
+    bin_7 INT NOT NULL DEFAULT 0,
+    bin_8 INT NOT NULL DEFAULT 0,
+    bin_9 INT NOT NULL DEFAULT 0, /* [90, 100] */
+    PRIMARY KEY (section_id, component),
+    FOREIGN KEY (section_id) REFERENCES sections(section_id)
+);
+
 /* Stores application settings, like Maintenance Mode */
 CREATE TABLE settings (
     setting_key VARCHAR(50) PRIMARY KEY,
     setting_value VARCHAR(100)
 );
 
+/* Version counter per cached table, bumped with every write; app nodes poll it to evict their caches */
+CREATE TABLE data_versions (
+    table_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO data_versions (table_name) VALUES ('courses'), ('sections'), ('settings'), ('grades');
+
+/* Audit trail of state-changing operations, written in batches by the app's audit writer */
+CREATE TABLE audit_log (
+    audit_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    occurred_at TIMESTAMP(3) NOT NULL,
+    actor_id INT NULL,
+    actor_name VARCHAR(50),
+    action VARCHAR(40) NOT NULL,
+    target VARCHAR(100),
+    details VARCHAR(255),
+    INDEX idx_audit_time (occurred_at),
+    INDEX idx_audit_actor (actor_id, occurred_at)
+);
+
 USE auth_db;
 
 -- Admin users (5 admins total)
@@ -555,6 +626,9 @@ INSERT INTO enrollments (student_id, section_id, status) VALUES
 (99, 3, 'Enrolled'), (99, 16, 'Enrolled'), (99, 31, 'Enrolled'),
 (100, 7, 'Enrolled'), (100, 17, 'Enrolled'), (100, 9, 'Enrolled');
 
+/* Seat counters of the seeded enrollments */
+UPDATE sections s SET enrolled_count = (SELECT COUNT(*) FROM enrollments e WHERE e.section_id = s.section_id);
+
 INSERT INTO settings (setting_key, setting_value) VALUES
 ('maintenance_on', 'false'),
 ('current_semester', 'Monsoon'),
@@ -16,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.lang.reflect.Field;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -96,4 +97,12 @@ class AdminServiceTest {
 
         verify(courseRepo, never()).createCourse(anyString(), anyString(), anyInt());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Repair Seat Counts: Reports corrected sections")
+    void repairSeatCounts_ReportsCorrected() throws AdminException {
+        when(sectionRepo.repairEnrolledCounts()).thenReturn(2);
+
+        assertEquals(2, adminService.repairSeatCounts());
+    }
+}
@@ -0,0 +1,107 @@
+package edu.univ.erp;
+
+import edu.univ.erp.api.common.AdmissionController;
+import edu.univ.erp.api.common.AdmissionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    @Test
+    @DisplayName("Admission: Runs immediately while under the limit")
+    void enter_UnderLimit_Admits() throws Exception {
+        AdmissionController admission = new AdmissionController(2, 10, Duration.ofSeconds(1));
+        AdmissionController.Ticket first = admission.enter(1);
+        AdmissionController.Ticket second = admission.enter(2);
+        try {
+            assertEquals(0, admission.getQueueLength());
+        } finally {
+            second.close();
+            first.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Admission: Failure - Second request of the same student")
+    void enter_DuplicateStudent_Rejected() throws Exception {
+        AdmissionController admission = new AdmissionController(2, 10, Duration.ofSeconds(1));
+        AdmissionController.Ticket ticket = admission.enter(1);
+        try {
+            AdmissionException e = assertThrows(AdmissionException.class, () -> admission.enter(1));
+            assertTrue(e.getMessage().contains("still being processed"));
+        } finally {
+            ticket.close();
+        }
+        // Once finished the student can enter again
+        admission.enter(1).close();
+    }
+
+    @Test
+    @DisplayName("Admission: Failure - Queue full rejects at once")
+    void enter_QueueFull_Rejected() throws Exception {
+        AdmissionController admission = new AdmissionController(1, 0, Duration.ofSeconds(1));
+        AdmissionController.Ticket ticket = admission.enter(1);
+        try {
+            AdmissionException e = assertThrows(AdmissionException.class, () -> admission.enter(2));
+            assertTrue(e.getMessage().startsWith("System busy"));
+        } finally {
+            ticket.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Admission: Failure - Waiting past max wait reports the place in line")
+    void enter_WaitExpires_ReportsPosition() throws Exception {
+        AdmissionController admission = new AdmissionController(1, 10, Duration.ofMillis(50));
+        AdmissionController.Ticket ticket = admission.enter(1);
+        try {
+            AdmissionException e = assertThrows(AdmissionException.class, () -> admission.enter(2));
+            assertTrue(e.getMessage().contains("#1"));
+            assertEquals(0, admission.getQueueLength());
+        } finally {
+            ticket.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Admission: Queued requests run in arrival order")
+    void enter_Queued_RunsInArrivalOrder() throws Exception {
+        AdmissionController admission = new AdmissionController(1, 10, Duration.ofSeconds(5));
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        AdmissionController.Ticket blocker = admission.enter(0);
+
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        for (int studentId = 1; studentId <= 3; studentId++) {
+            int id = studentId;
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    AdmissionController.Ticket ticket = admission.enter(id);
+                    try {
+                        order.add(id);
+                    } finally {
+                        ticket.close();
+                    }
+                } catch (AdmissionException e) {
+                    fail(e.getMessage());
+                }
+            }));
+            // Wait until this student is in line before the next one arrives
+            while (admission.queuePosition(id) != id) {
+                Thread.onSpinWait();
+            }
+        }
+
+        assertEquals(2, admission.queuePosition(2));
+        blocker.close();
+        for (Thread thread : threads) {
+            assertTrue(thread.join(Duration.ofSeconds(5)));
+        }
+        assertEquals(List.of(1, 2, 3), order);
+    }
+}
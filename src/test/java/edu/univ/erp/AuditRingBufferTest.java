@@ -0,0 +1,123 @@
+package edu.univ.erp;
+
+import edu.univ.erp.audit.AuditRingBuffer;
+import edu.univ.erp.domain.AuditAction;
+import edu.univ.erp.domain.AuditEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    // The producer and its running number travel in the event's id: producer * 1_000_000 + n
+    private static AuditEvent event(long id) {
+        return new AuditEvent(id, Instant.EPOCH, null, null, AuditAction.REGISTER, null, null);
+    }
+
+    @Test
+    @DisplayName("Audit buffer: Failure - Offer fails when full, succeeds again after a drain")
+    void offer_Full_Rejected() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event(i)));
+        }
+        assertFalse(buffer.offer(event(4)));
+        assertEquals(4, buffer.size());
+
+        List<AuditEvent> sink = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(sink, 1));
+        assertTrue(buffer.offer(event(4)));
+        assertFalse(buffer.offer(event(5)));
+    }
+
+    @Test
+    @DisplayName("Audit buffer: Drain stops at a claimed slot that is not published yet")
+    void drainTo_UnpublishedSlot_Stops() {
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        long claimed = buffer.claim();
+        assertTrue(buffer.offer(event(1)));
+
+        List<AuditEvent> sink = new ArrayList<>();
+        assertEquals(0, buffer.drainTo(sink, 10));
+        assertEquals(2, buffer.size());
+
+        buffer.publish(claimed, event(0));
+        assertEquals(2, buffer.drainTo(sink, 10));
+        assertEquals(List.of(0L, 1L), sink.stream().map(AuditEvent::auditId).toList());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Audit buffer: Sequences wrap around the slots in order")
+    void offer_WrapsAround_KeepsOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        List<AuditEvent> sink = new ArrayList<>();
+        long next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(event(next++)));
+            }
+            assertEquals(3, buffer.drainTo(sink, 3));
+        }
+
+        assertEquals(next, sink.size());
+        for (int i = 0; i < sink.size(); i++) {
+            assertEquals(i, sink.get(i).auditId());
+        }
+    }
+
+    @Test
+    @DisplayName("Audit buffer: Concurrent producers lose nothing and keep each producer's order")
+    void offer_ConcurrentProducers_DeliversAllInOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(64); // small, so producers keep hitting a full buffer
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = p * 1_000_000L;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int n = 0; n < perProducer; n++) {
+                    while (!buffer.offer(event(base + n))) {
+                        Thread.yield();
+                    }
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+
+        start.countDown();
+        List<AuditEvent> sink = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (sink.size() < producers * perProducer && System.nanoTime() < deadline) {
+            if (buffer.drainTo(sink, 16) == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread t : threads) {
+            t.join(1000);
+        }
+
+        assertEquals(producers * perProducer, sink.size());
+        int[] nextOf = new int[producers];
+        for (AuditEvent e : sink) {
+            int producer = (int) (e.auditId() / 1_000_000);
+            assertEquals(nextOf[producer], e.auditId() % 1_000_000, "producer " + producer + " out of order");
+            nextOf[producer]++;
+        }
+        assertEquals(0, buffer.size());
+    }
+}
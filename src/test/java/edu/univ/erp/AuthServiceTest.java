@@ -1,5 +1,7 @@
 package edu.univ.erp;
 
+import edu.univ.erp.auth.LastLoginRecorder;
+import edu.univ.erp.auth.LoginThrottle;
 import edu.univ.erp.auth.PasswordHasher;
 import edu.univ.erp.auth.SessionManager;
 import edu.univ.erp.auth.UserAuthData;
@@ -21,7 +23,9 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,6 +40,7 @@ class AuthServiceTest {
     @Mock private StudentProfileRepository studentRepo;
     @Mock private InstructorProfileRepository instructorRepo;
     @Mock private SessionManager sessionManager;
+    @Mock private LastLoginRecorder lastLogins;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -44,6 +49,9 @@ class AuthServiceTest {
         injectMock(authService, "studentRepository", studentRepo);
         injectMock(authService, "instructorRepository", instructorRepo);
         injectMock(authService, "sessionManager", sessionManager);
+        injectMock(authService, "lastLogins", lastLogins);
+        injectMock(authService, "loginThrottle", new LoginThrottle(3, Duration.ofMinutes(1), 100, Duration.ofSeconds(1),
+                2, Duration.ofMinutes(5)));
     }
 
     private void injectMock(Object target, String fieldName, Object mock) throws Exception {
@@ -76,7 +84,7 @@ class AuthServiceTest {
             assertEquals(Role.Student, result.role());
             assertEquals(studentProfile, result.profile());
 
-            verify(authRepo).updateLastLogin(100);
+            verify(lastLogins).record(100);
             verify(sessionManager).startSession(any(User.class));
         }
     }
@@ -105,7 +113,7 @@ class AuthServiceTest {
             assertEquals(Role.Instructor, result.role());
             assertEquals(instructorProfile, result.profile());
 
-            verify(authRepo).updateLastLogin(200);
+            verify(lastLogins).record(200);
             verify(sessionManager).startSession(any(User.class));
         }
     }
@@ -132,11 +140,32 @@ class AuthServiceTest {
             assertEquals(Role.Admin, result.role());
             assertNull(result.profile());
 
-            verify(authRepo).updateLastLogin(1);
+            verify(lastLogins).record(1);
             verify(sessionManager).startSession(any(User.class));
         }
     }
 
+    @Test
+    @DisplayName("Login: Success - Outdated Hash Rehashed In Background")
+    void login_Success_OutdatedHashRehashed() throws AuthException {
+        String username = "admin1";
+        String password = "pass123";
+        String hashedPassword = "$2a$04$outdated";
+
+        UserAuthData authData = new UserAuthData(1, Role.Admin, hashedPassword);
+        when(authRepo.findUserAuthDataByUsername(username)).thenReturn(Optional.of(authData));
+
+        try (MockedStatic<PasswordHasher> mockedHasher = mockStatic(PasswordHasher.class)) {
+            mockedHasher.when(() -> PasswordHasher.checkPassword(password, hashedPassword)).thenReturn(true);
+            mockedHasher.when(() -> PasswordHasher.needsRehash(hashedPassword)).thenReturn(true);
+
+            authService.login(username, password);
+
+            // The rehash runs on a password thread, where the real hasher is used
+            verify(authRepo, timeout(5000)).replacePasswordHash(eq(1), eq(hashedPassword), startsWith("$2a$"));
+        }
+    }
+
     @Test
     @DisplayName("Login: Fail - Invalid Username")
     void login_Fail_InvalidUsername() {
@@ -150,7 +179,7 @@ class AuthServiceTest {
         });
 
         assertEquals("Invalid username or password.", exception.getMessage());
-        verify(authRepo, never()).updateLastLogin(anyInt());
+        verify(lastLogins, never()).record(anyInt());
         verify(sessionManager, never()).startSession(any(User.class));
     }
 
@@ -173,7 +202,7 @@ class AuthServiceTest {
             });
 
             assertEquals("Invalid username or password.", exception.getMessage());
-            verify(authRepo, never()).updateLastLogin(anyInt());
+            verify(lastLogins, never()).record(anyInt());
             verify(sessionManager, never()).startSession(any(User.class));
         }
     }
@@ -198,7 +227,7 @@ class AuthServiceTest {
             });
 
             assertEquals("User profile data is missing. Please contact administrator.", exception.getMessage());
-            verify(authRepo).updateLastLogin(100);
+            verify(lastLogins).record(100);
             verify(sessionManager, never()).startSession(any(User.class));
         }
     }
@@ -223,7 +252,47 @@ class AuthServiceTest {
             });
 
             assertEquals("User profile data is missing. Please contact administrator.", exception.getMessage());
-            verify(authRepo).updateLastLogin(200);
+            verify(lastLogins).record(200);
+            verify(sessionManager, never()).startSession(any(User.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Login: Fail - Throttled After Burst")
+    void login_Fail_Throttled() throws Exception {
+        String username = "stu1";
+        injectMock(authService, "loginThrottle", new LoginThrottle(3, Duration.ofMinutes(1), 100, Duration.ofSeconds(1),
+                100, Duration.ofMinutes(5)));
+        when(authRepo.findUserAuthDataByUsername(username)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            String source = "10.0.0." + i;
+            assertThrows(AuthException.class, () -> authService.login(username, "pass123", source));
+        }
+        AuthException exception = assertThrows(AuthException.class, () -> authService.login(username, "pass123", "10.0.0.9"));
+
+        assertTrue(exception.getMessage().startsWith("Too many login attempts"));
+        verify(authRepo, times(3)).findUserAuthDataByUsername(username);
+    }
+
+    @Test
+    @DisplayName("Login: Fail - Locked After Repeated Wrong Passwords")
+    void login_Fail_LockedOut() {
+        String username = "stu1";
+        String hashedPassword = "$2a$10$hash";
+        UserAuthData authData = new UserAuthData(100, Role.Student, hashedPassword);
+        when(authRepo.findUserAuthDataByUsername(username)).thenReturn(Optional.of(authData));
+
+        try (MockedStatic<PasswordHasher> mockedHasher = mockStatic(PasswordHasher.class)) {
+            mockedHasher.when(() -> PasswordHasher.checkPassword("wrongpass", hashedPassword)).thenReturn(false);
+            mockedHasher.when(() -> PasswordHasher.checkPassword("pass123", hashedPassword)).thenReturn(true);
+
+            assertThrows(AuthException.class, () -> authService.login(username, "wrongpass"));
+            assertThrows(AuthException.class, () -> authService.login(username, "wrongpass"));
+            // Even the right password is refused while locked
+            AuthException exception = assertThrows(AuthException.class, () -> authService.login(username, "pass123"));
+
+            assertTrue(exception.getMessage().startsWith("Too many login attempts"));
             verify(sessionManager, never()).startSession(any(User.class));
         }
     }
@@ -245,7 +314,7 @@ class AuthServiceTest {
 
         try (MockedStatic<PasswordHasher> mockedHasher = mockStatic(PasswordHasher.class)) {
             mockedHasher.when(() -> PasswordHasher.checkPassword(oldPassword, oldHashedPassword)).thenReturn(true);
-            mockedHasher.when(() -> PasswordHasher.hash(newPassword)).thenReturn(newHashedPassword);
+            mockedHasher.when(() -> PasswordHasher.hashBounded(newPassword)).thenReturn(newHashedPassword);
 
             assertDoesNotThrow(() -> {
                 authService.changePassword(userId, username, oldPassword, newPassword);
@@ -280,6 +349,66 @@ class AuthServiceTest {
         }
     }
 
+    @Test
+    @DisplayName("Change Password: Fail - Locked After Repeated Wrong Old Passwords")
+    void changePassword_Fail_LockedOut() {
+        String username = "stu1";
+        String hashedPassword = "$2a$10$hash";
+        UserAuthData authData = new UserAuthData(100, Role.Student, hashedPassword);
+        when(authRepo.findUserAuthDataByUsername(username)).thenReturn(Optional.of(authData));
+
+        try (MockedStatic<PasswordHasher> mockedHasher = mockStatic(PasswordHasher.class)) {
+            mockedHasher.when(() -> PasswordHasher.checkPassword("wrongpass", hashedPassword)).thenReturn(false);
+
+            assertThrows(AuthException.class, () -> authService.changePassword(100, username, "wrongpass", "newpass123"));
+            assertThrows(AuthException.class, () -> authService.changePassword(100, username, "wrongpass", "newpass123"));
+            AuthException exception = assertThrows(AuthException.class,
+                    () -> authService.changePassword(100, username, "wrongpass", "newpass123"));
+
+            assertTrue(exception.getMessage().startsWith("Too many attempts"));
+            mockedHasher.verify(() -> PasswordHasher.checkPassword(anyString(), anyString()), times(2));
+        }
+    }
+
+    @Test
+    @DisplayName("Change Password: Fail - Server Busy Verifying")
+    void changePassword_Fail_Busy() {
+        String username = "stu1";
+        String hashedPassword = "$2a$10$hash";
+        when(authRepo.findUserAuthDataByUsername(username)).thenReturn(Optional.of(new UserAuthData(100, Role.Student, hashedPassword)));
+
+        try (MockedStatic<PasswordHasher> mockedHasher = mockStatic(PasswordHasher.class)) {
+            mockedHasher.when(() -> PasswordHasher.checkPassword("oldpass", hashedPassword))
+                    .thenThrow(new RejectedExecutionException("queue full"));
+
+            AuthException exception = assertThrows(AuthException.class,
+                    () -> authService.changePassword(100, username, "oldpass", "newpass123"));
+
+            assertTrue(exception.getMessage().startsWith("The server is busy"));
+            verify(authRepo, never()).updatePasswordHash(anyInt(), anyString());
+        }
+    }
+
+    @Test
+    @DisplayName("Change Password: Fail - Server Busy Hashing the New Password")
+    void changePassword_Fail_BusyHashing() {
+        String username = "stu1";
+        String hashedPassword = "$2a$10$hash";
+        when(authRepo.findUserAuthDataByUsername(username)).thenReturn(Optional.of(new UserAuthData(100, Role.Student, hashedPassword)));
+
+        try (MockedStatic<PasswordHasher> mockedHasher = mockStatic(PasswordHasher.class)) {
+            mockedHasher.when(() -> PasswordHasher.checkPassword("oldpass", hashedPassword)).thenReturn(true);
+            mockedHasher.when(() -> PasswordHasher.hashBounded("newpass123"))
+                    .thenThrow(new RejectedExecutionException("queue full"));
+
+            AuthException exception = assertThrows(AuthException.class,
+                    () -> authService.changePassword(100, username, "oldpass", "newpass123"));
+
+            assertTrue(exception.getMessage().startsWith("The server is busy"));
+            verify(authRepo, never()).updatePasswordHash(anyInt(), anyString());
+        }
+    }
+
     @Test
     @DisplayName("Change Password: Fail - New Password Too Short")
     void changePassword_Fail_NewPasswordTooShort() {
@@ -368,7 +497,7 @@ class AuthServiceTest {
 
         try (MockedStatic<PasswordHasher> mockedHasher = mockStatic(PasswordHasher.class)) {
             mockedHasher.when(() -> PasswordHasher.checkPassword(oldPassword, oldHashedPassword)).thenReturn(true);
-            mockedHasher.when(() -> PasswordHasher.hash(newPassword)).thenReturn("newhash");
+            mockedHasher.when(() -> PasswordHasher.hashBounded(newPassword)).thenReturn("newhash");
 
             AuthException exception = assertThrows(AuthException.class, () -> {
                 authService.changePassword(userId, username, oldPassword, newPassword);
@@ -0,0 +1,39 @@
+package edu.univ.erp;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Time of one password check at each BCrypt cost on this machine, to choose login.bcrypt_cost.
+// Each step doubles the time; pick the highest cost whose check time is acceptable per login,
+// bearing in mind that login.verify_threads checks run at once.
+// Run with: java -cp <test classpath> edu.univ.erp.BcryptCostBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BcryptCostBenchmark {
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int cost;
+
+    private final String password = "correct horse battery";
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hash = BCrypt.hashpw(password, BCrypt.gensalt(cost));
+    }
+
+    @Benchmark
+    public boolean checkPassword() {
+        return BCrypt.checkpw(password, hash);
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{BcryptCostBenchmark.class.getSimpleName()});
+    }
+}
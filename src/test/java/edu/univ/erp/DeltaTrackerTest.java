@@ -0,0 +1,92 @@
+package edu.univ.erp;
+
+import com.google.gson.reflect.TypeToken;
+import edu.univ.erp.api.common.DeltaTracker;
+import edu.univ.erp.api.common.JsonCodec;
+import edu.univ.erp.api.types.CourseRow;
+import edu.univ.erp.api.types.RowDelta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaTrackerTest {
+
+    private static CourseRow row(int sectionId, int enrolled) {
+        return new CourseRow(sectionId, "CS10" + sectionId, "Course " + sectionId, 4, "Dr. A", "Mon 10:00", "R1", 30, enrolled);
+    }
+
+    @Test
+    @DisplayName("Delta: First request gets every row")
+    void since_NoVersion_Full() {
+        DeltaTracker<CourseRow> tracker = new DeltaTracker<>(CourseRow::sectionId);
+        RowDelta<CourseRow> delta = tracker.since("term", null, null, () -> List.of(row(1, 5), row(2, 7)));
+        assertTrue(delta.full());
+        assertEquals(2, delta.rows().size());
+    }
+
+    @Test
+    @DisplayName("Delta: Same rows answer unchanged")
+    void since_NothingChanged_Unchanged() {
+        DeltaTracker<CourseRow> tracker = new DeltaTracker<>(CourseRow::sectionId);
+        String version = tracker.since("term", null, null, () -> List.of(row(1, 5))).version();
+        RowDelta<CourseRow> delta = tracker.since("term", version, null, () -> List.of(row(1, 5)));
+        assertTrue(delta.unchanged());
+        assertEquals(version, delta.version());
+        assertTrue(delta.rows().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Delta: Only changed, added and removed rows are sent")
+    void since_RowsChanged_OnlyDifferences() {
+        DeltaTracker<CourseRow> tracker = new DeltaTracker<>(CourseRow::sectionId);
+        String version = tracker.since("term", null, null, () -> List.of(row(1, 5), row(2, 7), row(3, 0))).version();
+        RowDelta<CourseRow> delta = tracker.since("term", version, null, () -> List.of(row(1, 5), row(2, 8), row(4, 1)));
+        assertFalse(delta.full());
+        assertFalse(delta.unchanged());
+        assertEquals(List.of(row(2, 8), row(4, 1)), delta.rows());
+        assertEquals(List.of(3), delta.removedKeys());
+    }
+
+    @Test
+    @DisplayName("Delta: Unknown or expired version gets every row")
+    void since_UnknownVersion_Full() {
+        DeltaTracker<CourseRow> tracker = new DeltaTracker<>(CourseRow::sectionId, 2);
+        String first = tracker.since("term", null, null, () -> List.of(row(1, 0))).version();
+        for (int enrolled = 1; enrolled <= 3; enrolled++) {
+            int count = enrolled;
+            tracker.since("term", null, null, () -> List.of(row(1, count)));
+        }
+        assertTrue(tracker.since("term", first, null, () -> List.of(row(1, 3))).full());
+        assertTrue(tracker.since("term", "another-process-1", null, () -> List.of(row(1, 3))).full());
+    }
+
+    @Test
+    @DisplayName("Delta: Unchanged source version skips the load")
+    void since_SameSourceVersion_NoLoad() {
+        DeltaTracker<CourseRow> tracker = new DeltaTracker<>(CourseRow::sectionId);
+        AtomicInteger loads = new AtomicInteger();
+        List<CourseRow> rows = new ArrayList<>(List.of(row(1, 5)));
+        String version = tracker.since("term", null, "v1", () -> { loads.incrementAndGet(); return rows; }).version();
+
+        assertTrue(tracker.since("term", version, "v1", () -> { loads.incrementAndGet(); return rows; }).unchanged());
+        assertEquals(1, loads.get());
+
+        RowDelta<CourseRow> delta = tracker.since("term", version, "v2", () -> { loads.incrementAndGet(); return List.of(row(1, 6)); });
+        assertEquals(2, loads.get());
+        assertEquals(List.of(row(1, 6)), delta.rows());
+    }
+
+    @Test
+    @DisplayName("Delta: Survives the JSON round trip of server mode")
+    void rowDelta_Json_RoundTrip() {
+        RowDelta<CourseRow> delta = RowDelta.changes("abc-3", List.of(row(2, 8)), List.of(3));
+        String json = JsonCodec.GSON.toJson(delta);
+        RowDelta<CourseRow> decoded = JsonCodec.GSON.fromJson(json, new TypeToken<RowDelta<CourseRow>>() {}.getType());
+        assertEquals(delta, decoded);
+    }
+}
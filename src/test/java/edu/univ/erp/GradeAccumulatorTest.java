@@ -0,0 +1,103 @@
+package edu.univ.erp;
+
+import edu.univ.erp.service.GradeAccumulator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeAccumulatorTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private static final Double[] SCORES = {95.0, 72.5, null, 88.0, 40.0, 100.0, 61.0, null, 79.5, 0.0};
+    private static final String[] GRADES = {"A", "B", null, "A", "F", "A", "C", "", "B", "F"};
+
+    private static GradeAccumulator accumulate(int from, int to) {
+        GradeAccumulator acc = new GradeAccumulator();
+        for (int i = from; i < to; i++) {
+            acc.add(SCORES[i], GRADES[i]);
+        }
+        return acc;
+    }
+
+    @Test
+    @DisplayName("Accumulator: Merged partials equal one pass over all rows")
+    void merge_Partials_EqualsSinglePass() {
+        GradeAccumulator whole = accumulate(0, SCORES.length);
+        GradeAccumulator merged = accumulate(0, 3).merge(accumulate(3, 7)).merge(accumulate(7, SCORES.length));
+
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.scoredCount(), merged.scoredCount());
+        assertEquals(whole.mean(), merged.mean(), EPSILON);
+        assertEquals(whole.standardDeviation(), merged.standardDeviation(), EPSILON);
+        assertEquals(whole.min(), merged.min(), EPSILON);
+        assertEquals(whole.max(), merged.max(), EPSILON);
+        assertArrayEquals(whole.histogram(), merged.histogram());
+        assertEquals(whole.letterGrades(), merged.letterGrades());
+    }
+
+    @Test
+    @DisplayName("Accumulator: Merge order does not matter")
+    void merge_Reversed_SameResult() {
+        GradeAccumulator forward = accumulate(0, 5).merge(accumulate(5, SCORES.length));
+        GradeAccumulator backward = accumulate(5, SCORES.length).merge(accumulate(0, 5));
+
+        assertEquals(forward.mean(), backward.mean(), EPSILON);
+        assertEquals(forward.standardDeviation(), backward.standardDeviation(), EPSILON);
+        assertArrayEquals(forward.histogram(), backward.histogram());
+        assertEquals(forward.letterGrades(), backward.letterGrades());
+    }
+
+    @Test
+    @DisplayName("Accumulator: Ungraded rows are counted but not scored")
+    void add_NullScore_CountedNotScored() {
+        GradeAccumulator acc = accumulate(0, SCORES.length);
+
+        assertEquals(10, acc.count());
+        assertEquals(8, acc.scoredCount());
+        assertEquals(536.0 / 8, acc.mean(), EPSILON);
+        assertEquals(0.0, acc.min(), EPSILON);
+        assertEquals(100.0, acc.max(), EPSILON);
+        assertEquals(Map.of("A", 3L, "B", 2L, "C", 1L, "F", 2L), acc.letterGrades());
+    }
+
+    @Test
+    @DisplayName("Accumulator: Histogram bins are [0,10), ..., [90,100]")
+    void add_BinEdges_Binned() {
+        GradeAccumulator acc = new GradeAccumulator();
+        acc.add(0.0, null);
+        acc.add(9.99, null);
+        acc.add(10.0, null);
+        acc.add(89.99, null);
+        acc.add(90.0, null);
+        acc.add(100.0, null);
+
+        long[] bins = acc.histogram();
+        assertEquals(10, bins.length);
+        assertEquals(2, bins[0]);
+        assertEquals(1, bins[1]);
+        assertEquals(1, bins[8]);
+        assertEquals(2, bins[9]); // 100 falls into the last bin
+    }
+
+    @Test
+    @DisplayName("Accumulator: Empty accumulator reports zeros and merges as identity")
+    void merge_Empty_Identity() {
+        GradeAccumulator empty = new GradeAccumulator();
+        assertEquals(0.0, empty.mean());
+        assertEquals(0.0, empty.standardDeviation());
+        assertEquals(0.0, empty.min());
+        assertEquals(0.0, empty.max());
+
+        GradeAccumulator some = accumulate(0, 4);
+        double mean = some.mean();
+        double min = some.min();
+        some.merge(new GradeAccumulator());
+        assertEquals(mean, some.mean(), EPSILON);
+        assertEquals(min, some.min(), EPSILON);
+        assertEquals(4, some.count());
+    }
+}
@@ -0,0 +1,155 @@
+package edu.univ.erp;
+
+import edu.univ.erp.api.types.GradeAnalyticsReport;
+import edu.univ.erp.api.types.GradeDistributionRow;
+import edu.univ.erp.api.types.OutlierSectionRow;
+import edu.univ.erp.data.GradeRepository;
+import edu.univ.erp.domain.EnrollmentGradeRecord;
+import edu.univ.erp.service.AdminException;
+import edu.univ.erp.service.GradeAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GradeAnalyticsServiceTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private GradeAnalyticsService analyticsService;
+    private final List<EnrollmentGradeRecord> rows = new ArrayList<>();
+
+    @Mock private GradeRepository gradeRepo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        analyticsService = new GradeAnalyticsService();
+        injectMock(analyticsService, "gradeRepo", gradeRepo);
+    }
+
+    // Helper to inject mocks into private final fields.
+    private void injectMock(Object target, String fieldName, Object mock) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, mock);
+    }
+
+    private void addRows(int sectionId, String courseCode, String department, double... scores) {
+        for (double score : scores) {
+            rows.add(new EnrollmentGradeRecord(rows.size() + 1, sectionId, courseCode, department, "B.Tech", 3, score,
+                    score >= 80 ? "A" : "B"));
+        }
+    }
+
+    private GradeAnalyticsReport analyze() throws AdminException {
+        doAnswer(invocation -> {
+            Consumer<EnrollmentGradeRecord> consumer = invocation.getArgument(2);
+            rows.forEach(consumer);
+            return (long) rows.size();
+        }).when(gradeRepo).streamTermEnrollmentGrades(eq("Fall"), eq(2025), any());
+        return analyticsService.analyzeTerm("Fall", 2025, message -> {});
+    }
+
+    private static GradeDistributionRow find(GradeAnalyticsReport report, String dimension, String key) {
+        return report.distributions().stream()
+                .filter(r -> r.dimension().equals(dimension) && r.groupKey().equals(key))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Analytics: Groups by course, department and program in that order")
+    void analyzeTerm_Groups_OrderedByDimensionAndKey() throws AdminException {
+        addRows(1, "CS201", "CSE", 70, 80);
+        addRows(2, "CS101", null, 90);
+        rows.add(new EnrollmentGradeRecord(99, 2, "CS101", null, "B.Tech", 0, null, null)); // not graded yet
+
+        GradeAnalyticsReport report = analyze();
+
+        assertEquals(4, report.enrollmentsScanned());
+        assertEquals(List.of("Course:CS101", "Course:CS201", "Department:CSE", "Department:Unassigned", "Program:B.Tech"),
+                report.distributions().stream().map(r -> r.dimension() + ":" + r.groupKey()).toList());
+        GradeDistributionRow cs101 = find(report, "Course", "CS101");
+        assertEquals(2, cs101.enrollments());
+        assertEquals(90.0, cs101.meanScore(), EPSILON);
+        assertEquals(75.0, find(report, "Course", "CS201").meanScore(), EPSILON);
+        assertEquals(4, find(report, "Program", "B.Tech").enrollments());
+    }
+
+    @Test
+    @DisplayName("Analytics: Batches aggregated in parallel match a sequential count")
+    void analyzeTerm_ManyBatches_MatchesSequential() throws AdminException {
+        double sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            double score = i % 101;
+            addRows(i % 7, "CS" + (i % 3), "CSE", score);
+            if (i % 3 == 0) sum += score;
+        }
+
+        GradeAnalyticsReport report = analyze();
+
+        assertEquals(10_000, report.enrollmentsScanned());
+        assertEquals(10_000, find(report, "Department", "CSE").enrollments());
+        GradeDistributionRow cs0 = find(report, "Course", "CS0");
+        assertEquals(3334, cs0.enrollments());
+        assertEquals(sum / 3334, cs0.meanScore(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Analytics: A section far from its course mean is an outlier")
+    void analyzeTerm_FarSection_ReportedAsOutlier() throws AdminException {
+        addRows(1, "MA101", "Math", 90, 92, 88, 91);
+        addRows(2, "MA101", "Math", 70, 72, 68, 71);
+        addRows(3, "MA101", "Math", 69, 71, 70, 72);
+
+        GradeAnalyticsReport report = analyze();
+
+        assertEquals(1, report.outlierSections().size());
+        OutlierSectionRow outlier = report.outlierSections().getFirst();
+        assertEquals(1, outlier.sectionId());
+        assertEquals("MA101", outlier.courseCode());
+        assertEquals(90.25, outlier.sectionMean(), EPSILON);
+        assertTrue(outlier.zScore() >= 2.0);
+    }
+
+    @Test
+    @DisplayName("Analytics: Small sections and sole sections of a course are never outliers")
+    void analyzeTerm_SmallOrSoleSections_NotOutliers() throws AdminException {
+        addRows(10, "PH101", "Physics", 0, 0);                 // below the minimum section size
+        addRows(11, "PH101", "Physics", 80, 81, 79, 80, 82, 78);
+        addRows(20, "CH101", "Chemistry", 10, 20, 95, 99);      // only section of its course
+
+        GradeAnalyticsReport report = analyze();
+
+        assertTrue(report.outlierSections().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Analytics: Failure - Empty semester")
+    void analyzeTerm_EmptySemester_Rejected() {
+        assertThrows(AdminException.class, () -> analyticsService.analyzeTerm(" ", 2025, message -> {}));
+        verifyNoInteractions(gradeRepo);
+    }
+
+    @Test
+    @DisplayName("Analytics: Failure - Streaming error is reported")
+    void analyzeTerm_StreamFails_Rejected() {
+        when(gradeRepo.streamTermEnrollmentGrades(eq("Fall"), eq(2025), any())).thenThrow(new IllegalStateException("boom"));
+
+        AdminException e = assertThrows(AdminException.class, () -> analyticsService.analyzeTerm("Fall", 2025, message -> {}));
+        assertTrue(e.getMessage().contains("Could not read grades"));
+    }
+}
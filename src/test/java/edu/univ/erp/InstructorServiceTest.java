@@ -5,6 +5,7 @@ import edu.univ.erp.data.*;
 import edu.univ.erp.domain.Enrollment;
 import edu.univ.erp.domain.Grade;
 import edu.univ.erp.domain.Role;
+import edu.univ.erp.domain.SectionComponentStats;
 import edu.univ.erp.domain.User;
 import edu.univ.erp.service.GradeException;
 import edu.univ.erp.service.InstructorService;
@@ -17,10 +18,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -115,4 +122,54 @@ class InstructorServiceTest {
             instructorService.computeFinalGrades(instructor, sectionId, boundaries);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Compute Final Grades: One failing student does not stop the others being graded")
+    void computeFinalGrades_PartialFailure_KeepsOtherGrades() {
+        int sectionId = 201;
+        User instructor = new User(2, "inst1", Role.Instructor, null);
+
+        when(accessControl.isMaintenanceModeOn()).thenReturn(false);
+        when(accessControl.canInstructorGradeSection(instructor, sectionId)).thenReturn(true);
+        when(enrollmentRepo.findBySectionId(sectionId)).thenReturn(List.of(
+            new Enrollment(1001, 50, sectionId, "Enrolled"),
+            new Enrollment(1002, 51, sectionId, "Enrolled")));
+
+        // 1001 sums to 110, 1002 to 65
+        when(gradeRepo.findByEnrollmentId(1001)).thenReturn(List.of(
+            new Grade(1, 1001, "Quiz", 50.0, null),
+            new Grade(2, 1001, "Midterm", 30.0, null),
+            new Grade(3, 1001, "EndSem", 30.0, null)));
+        when(gradeRepo.findByEnrollmentId(1002)).thenReturn(List.of(
+            new Grade(4, 1002, "Quiz", 15.0, null),
+            new Grade(5, 1002, "Midterm", 20.0, null),
+            new Grade(6, 1002, "EndSem", 30.0, null)));
+        when(gradeRepo.updateFinalGradeForEnrollment(1002, "B")).thenReturn(true);
+
+        List<Double> boundaries = List.of(80.0, 70.0, 60.0, 50.0, 40.0);
+
+        GradeException e = assertThrows(GradeException.class,
+            () -> instructorService.computeFinalGrades(instructor, sectionId, boundaries));
+        assertTrue(e.getMessage().contains("1 student(s)"));
+        verify(gradeRepo).updateFinalGradeForEnrollment(1002, "B");
+        verify(gradeRepo, never()).updateFinalGradeForEnrollment(eq(1001), anyString());
+    }
+
+    @Test
+    @DisplayName("Section Statistics: Averages come from the maintained aggregates")
+    void getSectionStatistics_UsesMaintainedAggregates() {
+        int sectionId = 201;
+        List<SectionComponentStats> stats = List.of(
+            new SectionComponentStats(sectionId, "Quiz", 4, 60.0, 1000.0, new int[10]),
+            new SectionComponentStats(sectionId, "Midterm", 0, 0.0, 0.0, new int[10])
+        );
+        when(gradeRepo.findStatsBySection(sectionId)).thenReturn(stats);
+
+        Map<String, Double> averages = instructorService.getSectionStatistics(sectionId);
+
+        assertEquals(15.0, averages.get("Quiz"), 1e-9);
+        // Components without any scores are left out
+        assertFalse(averages.containsKey("Midterm"));
+        verify(enrollmentRepo, never()).findBySectionId(sectionId);
+    }
+}
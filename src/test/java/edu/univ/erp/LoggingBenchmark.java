@@ -0,0 +1,159 @@
+package edu.univ.erp;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Logging cost of one registration (service, repository and API log calls) with the old setup:
+// four INFO lines per registration written synchronously to a console and a file, and with the
+// new one: a single structured INFO event handed to async appenders. The console is replaced by a
+// discarding stream so only formatting and I/O on the caller's side are measured. The async
+// appenders block instead of dropping when full, so the result is the sustained cost, not the cost
+// of discarding events. Run with: java -cp <test classpath> edu.univ.erp.LoggingBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg %kvp{NONE}%n";
+
+    private LoggerContext syncContext;
+    private LoggerContext asyncContext;
+    private Logger syncService;
+    private Logger syncRepository;
+    private Logger syncApi;
+    private Logger asyncService;
+    private Logger asyncRepository;
+    private Logger asyncApi;
+    private File logDir;
+
+    private final int studentId = 3;
+    private final int sectionId = 12;
+    private final LocalDate deadline = LocalDate.of(2025, 12, 30);
+
+    @Setup
+    public void setUp() throws IOException {
+        logDir = java.nio.file.Files.createTempDirectory("erp-log-bench").toFile();
+
+        syncContext = new LoggerContext();
+        attach(syncContext, console(syncContext), file(syncContext, "sync.log"));
+        syncService = syncContext.getLogger("edu.univ.erp.service.StudentService");
+        syncRepository = syncContext.getLogger("edu.univ.erp.data.EnrollmentRepository");
+        syncApi = syncContext.getLogger("edu.univ.erp.api.student.StudentApi");
+
+        asyncContext = new LoggerContext();
+        attach(asyncContext, async(asyncContext, console(asyncContext)), async(asyncContext, file(asyncContext, "async.log")));
+        asyncService = asyncContext.getLogger("edu.univ.erp.service.StudentService");
+        asyncRepository = asyncContext.getLogger("edu.univ.erp.data.EnrollmentRepository");
+        asyncApi = asyncContext.getLogger("edu.univ.erp.api.student.StudentApi");
+    }
+
+    @TearDown
+    public void tearDown() {
+        syncContext.stop();
+        asyncContext.stop();
+        File[] files = logDir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        logDir.delete();
+    }
+
+    // The log calls one registration made before: four INFO lines and the DEBUG checks
+    @Benchmark
+    public void registrationBefore() {
+        LocalDate today = LocalDate.now();
+        syncService.info("Attempting registration for student {} in section {}", studentId, sectionId);
+        syncService.debug("Maintenance mode check passed.");
+        syncService.debug("Comparing current date ({}) with registration deadline ({}) for section {}", today, deadline, sectionId);
+        syncService.debug("Registration deadline check passed.");
+        syncService.debug("Duplicate enrollment check passed.");
+        syncService.debug("Same-course check passed.");
+        syncService.debug("Capacity check passed.");
+        syncRepository.info("Created new enrollment for student {} in section {}", studentId, sectionId);
+        syncService.info("Registration successful.");
+        syncApi.info("API: Registration successful for student {} in section {}", studentId, sectionId);
+    }
+
+    // The same registration now: DEBUG checks and one structured INFO event
+    @Benchmark
+    public void registrationAfter() {
+        LocalDate today = LocalDate.now();
+        asyncService.debug("Attempting registration for student {} in section {}", studentId, sectionId);
+        asyncService.debug("Maintenance mode check passed.");
+        asyncService.debug("Comparing current date ({}) with registration deadline ({}) for section {}", today, deadline, sectionId);
+        asyncService.debug("Registration deadline check passed.");
+        asyncService.debug("Duplicate enrollment check passed.");
+        asyncService.debug("Same-course check passed.");
+        asyncService.debug("Capacity check passed.");
+        asyncRepository.debug("Created new enrollment for student {} in section {}", studentId, sectionId);
+        asyncService.atInfo().addKeyValue("event", "registration").addKeyValue("studentId", studentId)
+                .addKeyValue("sectionId", sectionId).log("Registration successful");
+        asyncApi.debug("API: Registration successful for student {} in section {}", studentId, sectionId);
+    }
+
+    private void attach(LoggerContext context, Appender<ILoggingEvent> first, Appender<ILoggingEvent> second) {
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(first);
+        root.addAppender(second);
+    }
+
+    private PatternLayoutEncoder encoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private Appender<ILoggingEvent> console(LoggerContext context) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder(context));
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> file(LoggerContext context, String name) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(new File(logDir, name).getPath());
+        appender.setEncoder(encoder(context));
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> async(LoggerContext context, Appender<ILoggingEvent> target) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(0);
+        appender.addAppender(target);
+        appender.start();
+        return appender;
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{LoggingBenchmark.class.getSimpleName()});
+    }
+}
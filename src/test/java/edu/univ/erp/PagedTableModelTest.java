@@ -0,0 +1,111 @@
+package edu.univ.erp;
+
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.types.RowPage;
+import edu.univ.erp.ui.component.PagedTableModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedTableModelTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    // 95 numbered rows, sorted and filtered the way the repository queries would
+    private static final List<Integer> ROWS = IntStream.range(0, 95).boxed().toList();
+
+    private record Request(String filter, boolean ascending, int offset) {}
+
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    private ApiResponse<RowPage<Integer>> load(String filter, int sortColumn, boolean ascending, int offset, int limit) {
+        requests.add(new Request(filter, ascending, offset));
+        List<Integer> matching = new ArrayList<>(ROWS.stream()
+                .filter(row -> filter == null || String.valueOf(row).contains(filter)).toList());
+        matching.sort(ascending ? Comparator.naturalOrder() : Comparator.reverseOrder());
+        List<Integer> page = matching.subList(Math.min(offset, matching.size()), Math.min(offset + limit, matching.size()));
+        return ApiResponse.success(new RowPage<>(matching.size(), offset, List.copyOf(page)), "ok");
+    }
+
+    private static <T> T onEdt(Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> result.set(action.get()));
+        return result.get();
+    }
+
+    // Polls on the EDT until the page callbacks have arrived
+    private static Object valueWhenLoaded(PagedTableModel<Integer> model, int row) throws Exception {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            Object value = onEdt(() -> model.getValueAt(row, 0));
+            if (!"Loading...".equals(value)) {
+                return value;
+            }
+            Thread.sleep(10);
+        }
+        fail("Row " + row + " never loaded");
+        return null;
+    }
+
+    private PagedTableModel<Integer> newModel(String name, int maxPages) throws Exception {
+        return onEdt(() -> new PagedTableModel<>(name, new String[]{"Number"}, row -> new Object[]{row},
+                this::load, PAGE_SIZE, maxPages));
+    }
+
+    @Test
+    @DisplayName("Paged table: Only the pages shown are fetched, and the first one brings the row count")
+    void getValueAt_FetchesPagesOnDemand() throws Exception {
+        PagedTableModel<Integer> model = newModel("paged-test-demand", 4);
+
+        assertEquals(0, valueWhenLoaded(model, 0));
+        assertEquals(95, (int) onEdt(model::getRowCount));
+        assertEquals(94, valueWhenLoaded(model, 94));
+        assertEquals(List.of(0, 90), requests.stream().map(Request::offset).toList());
+    }
+
+    @Test
+    @DisplayName("Paged table: Least recently used pages are dropped beyond the cache size")
+    void getValueAt_BeyondCache_EvictsOldestPage() throws Exception {
+        PagedTableModel<Integer> model = newModel("paged-test-lru", 2);
+        valueWhenLoaded(model, 0);
+        valueWhenLoaded(model, 10);
+        valueWhenLoaded(model, 20); // page 0 is dropped here
+
+        requests.clear();
+        assertEquals(10, valueWhenLoaded(model, 10));
+        assertTrue(requests.isEmpty());
+        assertEquals(0, valueWhenLoaded(model, 0));
+        assertEquals(List.of(0), requests.stream().map(Request::offset).toList());
+    }
+
+    @Test
+    @DisplayName("Paged table: Sorting and filtering are passed to the query and replace the cached rows")
+    void sortAndFilter_ReloadFromQuery() throws Exception {
+        PagedTableModel<Integer> model = newModel("paged-test-sort", 4);
+        valueWhenLoaded(model, 0);
+
+        onEdt(() -> {
+            model.sortBy(0); // same column: now descending
+            return null;
+        });
+        assertEquals(94, valueWhenLoaded(model, 0));
+        assertFalse(requests.getLast().ascending());
+
+        onEdt(() -> {
+            model.setFilter(" 9 ");
+            return null;
+        });
+        assertEquals(94, valueWhenLoaded(model, 0));
+        assertEquals("9", requests.getLast().filter());
+        assertEquals(14, (int) onEdt(model::getRowCount)); // 9, 19, ..., 89 and 90..94
+    }
+}
@@ -0,0 +1,78 @@
+package edu.univ.erp;
+
+import edu.univ.erp.api.admin.AdminApi;
+import edu.univ.erp.api.auth.AuthApi;
+import edu.univ.erp.api.catalog.CatalogApi;
+import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.maintenance.MaintenanceApi;
+import edu.univ.erp.api.remote.RemoteAdminApi;
+import edu.univ.erp.api.remote.RemoteAuthApi;
+import edu.univ.erp.api.remote.RemoteCatalogApi;
+import edu.univ.erp.api.remote.RemoteInstructorApi;
+import edu.univ.erp.api.remote.RemoteMaintenanceApi;
+import edu.univ.erp.api.remote.RemoteReportsApi;
+import edu.univ.erp.api.remote.RemoteStudentApi;
+import edu.univ.erp.api.reports.ReportsApi;
+import edu.univ.erp.api.student.StudentApi;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteApiCoverageTest {
+
+    // Local methods a remote API may inherit: the *Async variants call the overridden ones, and
+    // these read no data or delegate to a method that is overridden
+    private static final Set<String> INHERITED = Set.of(
+            "AuthApi.login(String,String)",
+            "ReportsApi.downloadStudentTranscript(int,File)",
+            "ReportsApi.exportGradeAnalytics(GradeAnalyticsReport,File)");
+
+    @Test
+    @DisplayName("Remote APIs: Every public method goes to the server, none falls through to the local database")
+    void remoteApis_OverrideEveryPublicMethod() {
+        Map<Class<?>, Class<?>> remotes = Map.of(
+                AuthApi.class, RemoteAuthApi.class,
+                StudentApi.class, RemoteStudentApi.class,
+                InstructorApi.class, RemoteInstructorApi.class,
+                CatalogApi.class, RemoteCatalogApi.class,
+                MaintenanceApi.class, RemoteMaintenanceApi.class,
+                AdminApi.class, RemoteAdminApi.class,
+                ReportsApi.class, RemoteReportsApi.class);
+
+        List<String> missing = new ArrayList<>();
+        remotes.forEach((local, remote) -> {
+            for (Method method : local.getDeclaredMethods()) {
+                if (!Modifier.isPublic(method.getModifiers()) || method.getName().endsWith("Async")) {
+                    continue;
+                }
+                String signature = signature(local, method);
+                if (INHERITED.contains(signature)) {
+                    continue;
+                }
+                try {
+                    remote.getDeclaredMethod(method.getName(), method.getParameterTypes());
+                } catch (NoSuchMethodException e) {
+                    missing.add(signature);
+                }
+            }
+        });
+
+        assertTrue(missing.isEmpty(), "Not overridden by the remote API: " + missing);
+    }
+
+    private static String signature(Class<?> owner, Method method) {
+        List<String> parameters = new ArrayList<>();
+        for (Class<?> type : method.getParameterTypes()) {
+            parameters.add(type.getSimpleName());
+        }
+        return owner.getSimpleName() + "." + method.getName() + "(" + String.join(",", parameters) + ")";
+    }
+}
@@ -0,0 +1,68 @@
+package edu.univ.erp;
+
+import edu.univ.erp.data.ReplicaRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRouterTest {
+
+    private ReplicaRouter router;
+    private Object currentWriter;
+
+    @BeforeEach
+    void setUp() {
+        currentWriter = 1;
+        router = new ReplicaRouter(Duration.ofSeconds(2), Duration.ofSeconds(5), () -> currentWriter);
+    }
+
+    @Test
+    @DisplayName("Routing: Primary until the first lag probe")
+    void useReplica_NotProbed_UsesPrimary() {
+        assertFalse(router.useReplica(0));
+        assertNotNull(router.getUnavailableReason());
+    }
+
+    @Test
+    @DisplayName("Routing: Replica when lag is within the limit")
+    void useReplica_LagWithinLimit_UsesReplica() {
+        router.updateLag(OptionalLong.of(1));
+        assertTrue(router.useReplica(0));
+    }
+
+    @Test
+    @DisplayName("Routing: Fallback - Lag over the limit")
+    void useReplica_LagOverLimit_UsesPrimary() {
+        router.updateLag(OptionalLong.of(3));
+        assertFalse(router.useReplica(0));
+
+        router.updateLag(OptionalLong.of(0));
+        assertTrue(router.useReplica(0));
+    }
+
+    @Test
+    @DisplayName("Routing: Fallback - Replica not replicating")
+    void useReplica_NotReplicating_UsesPrimary() {
+        router.updateLag(OptionalLong.of(0));
+        router.updateLag(OptionalLong.empty());
+        assertFalse(router.useReplica(0));
+    }
+
+    @Test
+    @DisplayName("Routing: Writer reads its own writes from the primary within the sticky window")
+    void useReplica_AfterOwnWrite_StickyToPrimary() {
+        router.updateLag(OptionalLong.of(0));
+        router.recordWrite(1_000);
+
+        assertFalse(router.useReplica(5_999));
+        currentWriter = 2;
+        assertTrue(router.useReplica(2_000), "Other users are not affected by the write");
+        currentWriter = 1;
+        assertTrue(router.useReplica(6_000));
+    }
+}
@@ -0,0 +1,106 @@
+package edu.univ.erp;
+
+import edu.univ.erp.data.RowMapper;
+import edu.univ.erp.domain.Section;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compares label-based and index-based row mapping over an in-memory result set, so only the
+// mapping cost is measured. Run with: java -cp <test classpath> edu.univ.erp.RowMappingBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMappingBenchmark {
+
+    private static final String[] LABELS = {
+            "section_id", "course_id", "instructor_id", "day_time", "room", "capacity", "semester", "year"};
+
+    private static final RowMapper<Section> BY_LABEL = rs -> {
+        int instructorId = rs.getInt("instructor_id");
+        return new Section(rs.getInt("section_id"), rs.getInt("course_id"),
+                rs.wasNull() ? null : instructorId, rs.getString("day_time"), rs.getString("room"),
+                rs.getInt("capacity"), rs.getString("semester"), rs.getInt("year"));
+    };
+
+    private static final RowMapper<Section> BY_INDEX = rs -> new Section(
+            rs.getInt(1), rs.getInt(2), RowMapper.getInteger(rs, 3), rs.getString(4),
+            rs.getString(5), rs.getInt(6), rs.getString(7), rs.getInt(8));
+
+    @Param({"1000"})
+    private int rows;
+
+    private Object[][] data;
+
+    @Setup
+    public void setUp() {
+        data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new Object[]{i, i % 50, (i % 7 == 0) ? null : 1000 + i % 20, "Mon 10:00-11:30",
+                    "B-" + (100 + i % 30), 60, "Monsoon", 2025};
+        }
+    }
+
+    @Benchmark
+    public void mapByLabel(Blackhole bh) throws SQLException {
+        map(BY_LABEL, bh);
+    }
+
+    @Benchmark
+    public void mapByIndex(Blackhole bh) throws SQLException {
+        map(BY_INDEX, bh);
+    }
+
+    private void map(RowMapper<Section> mapper, Blackhole bh) throws SQLException {
+        ResultSet rs = resultSet(data);
+        while (rs.next()) {
+            bh.consume(mapper.map(rs));
+        }
+    }
+
+    // Minimal forward-only ResultSet. Label lookups go through a case-insensitive column map,
+    // the way the driver resolves them.
+    private static ResultSet resultSet(Object[][] rows) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < LABELS.length; i++) {
+            columns.put(LABELS[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] < rows.length;
+                        case "wasNull":
+                            return wasNull[0];
+                        case "getInt", "getString":
+                            int column = (args[0] instanceof String label)
+                                    ? columns.get(label.toLowerCase(Locale.ROOT))
+                                    : (Integer) args[0];
+                            Object value = rows[cursor[0]][column - 1];
+                            wasNull[0] = value == null;
+                            if (method.getName().equals("getInt")) {
+                                return (value == null) ? 0 : (Integer) value;
+                            }
+                            return value;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{RowMappingBenchmark.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,119 @@
+package edu.univ.erp;
+
+import edu.univ.erp.api.common.ApiResponse;
+import edu.univ.erp.api.instructor.InstructorApi;
+import edu.univ.erp.api.types.GradebookRow;
+import edu.univ.erp.api.types.RowDelta;
+import edu.univ.erp.ui.component.SectionDataPrefetcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class SectionDataPrefetcherTest {
+
+    private InstructorApi instructorApi;
+    private SectionDataPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        instructorApi = mock(InstructorApi.class);
+        when(instructorApi.getGradebookChanges(anyInt(), isNull())).thenAnswer(call -> {
+            int sectionId = call.getArgument(0);
+            GradebookRow row = new GradebookRow(sectionId * 10, 1, "2024001", 80.0, null, null, null);
+            return ApiResponse.success(RowDelta.full("v1", List.of(row)), "Gradebook loaded.");
+        });
+        when(instructorApi.getSectionStatistics(anyInt()))
+                .thenReturn(ApiResponse.success(Map.of("Quiz", 80.0), "Statistics loaded."));
+        prefetcher = new SectionDataPrefetcher(instructorApi);
+    }
+
+    private static <T> T onEdt(Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> result.set(action.get()));
+        return result.get();
+    }
+
+    // The prefetch callbacks run on the EDT, so the condition is checked there
+    private static void awaitOnEdt(BooleanSupplier condition) throws Exception {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            if (onEdt(condition::getAsBoolean)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Prefetch did not finish");
+    }
+
+    @Test
+    @DisplayName("Prefetch: Every section's gradebook and statistics are loaded once")
+    void prefetch_LoadsEachSectionOnce() throws Exception {
+        onEdt(() -> {
+            prefetcher.prefetch(List.of(1, 2));
+            return null;
+        });
+        awaitOnEdt(() -> prefetcher.gradebook(1) != null && prefetcher.gradebook(2) != null
+                && prefetcher.statistics(1) != null && prefetcher.statistics(2) != null);
+
+        SectionDataPrefetcher.Gradebook gradebook = onEdt(() -> prefetcher.gradebook(2));
+        assertEquals("v1", gradebook.version());
+        assertEquals(20, gradebook.rows().getFirst().enrollmentId());
+
+        // Already warm: nothing is fetched again
+        onEdt(() -> {
+            prefetcher.prefetch(List.of(1, 2));
+            return null;
+        });
+        verify(instructorApi, times(2)).getGradebookChanges(anyInt(), isNull());
+        verify(instructorApi, times(2)).getSectionStatistics(anyInt());
+    }
+
+    @Test
+    @DisplayName("Prefetch: A saved score reloads that section's statistics")
+    void scoresChanged_ReloadsStatistics() throws Exception {
+        onEdt(() -> {
+            prefetcher.prefetch(List.of(1));
+            return null;
+        });
+        awaitOnEdt(() -> prefetcher.statistics(1) != null);
+
+        when(instructorApi.getSectionStatistics(1))
+                .thenReturn(ApiResponse.success(Map.of("Quiz", 95.0), "Statistics loaded."));
+        onEdt(() -> {
+            prefetcher.scoresChanged(1);
+            return null;
+        });
+        awaitOnEdt(() -> prefetcher.statistics(1) != null);
+
+        assertEquals(95.0, onEdt(() -> prefetcher.statistics(1).get("Quiz")));
+        verify(instructorApi, times(1)).getGradebookChanges(anyInt(), isNull());
+    }
+
+    @Test
+    @DisplayName("Prefetch: Logout drops the cached data")
+    void clear_DropsCachedData() throws Exception {
+        onEdt(() -> {
+            prefetcher.prefetch(List.of(1));
+            return null;
+        });
+        awaitOnEdt(() -> prefetcher.gradebook(1) != null && prefetcher.statistics(1) != null);
+
+        onEdt(() -> {
+            prefetcher.clear();
+            return null;
+        });
+        assertNull(onEdt(() -> prefetcher.gradebook(1)));
+        assertNull(onEdt(() -> prefetcher.statistics(1)));
+    }
+}
@@ -0,0 +1,61 @@
+package edu.univ.erp;
+
+import edu.univ.erp.auth.Session;
+import edu.univ.erp.auth.SessionPersistence;
+import edu.univ.erp.auth.SessionStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionStoreTest {
+
+    // Knows no sessions; records the lookups it gets
+    private static class RecordingPersistence implements SessionPersistence {
+        final List<Instant> cutoffs = new CopyOnWriteArrayList<>();
+
+        @Override public void save(Session session) {}
+        @Override public void touch(Session session) {}
+        @Override public void delete(String token) {}
+        @Override public void deleteIdleSince(Instant cutoff) {}
+
+        @Override
+        public Optional<Session> load(String token, Instant idleCutoff) {
+            cutoffs.add(idleCutoff);
+            return Optional.empty();
+        }
+    }
+
+    @Test
+    @DisplayName("Sessions: Restoring asks only for sessions used within the idle timeout")
+    void find_Unknown_RestoresWithIdleCutoff() {
+        RecordingPersistence persistence = new RecordingPersistence();
+        SessionStore store = new SessionStore(Duration.ofMinutes(30), 100, true, persistence);
+
+        long before = System.currentTimeMillis();
+        assertTrue(store.find("unknown-token").isEmpty());
+
+        Instant cutoff = persistence.cutoffs.getFirst();
+        long expected = before - Duration.ofMinutes(30).toMillis();
+        assertTrue(Math.abs(cutoff.toEpochMilli() - expected) < 1000, "cutoff " + cutoff);
+    }
+
+    @Test
+    @DisplayName("Sessions: A repeated unknown token does not query the persistence again")
+    void find_UnknownTwice_QueriesOnce() {
+        RecordingPersistence persistence = new RecordingPersistence();
+        SessionStore store = new SessionStore(Duration.ofMinutes(30), 100, true, persistence);
+
+        assertTrue(store.find("forged-token").isEmpty());
+        assertTrue(store.find("forged-token").isEmpty());
+        assertTrue(store.find("other-token").isEmpty());
+
+        assertEquals(2, persistence.cutoffs.size());
+    }
+}
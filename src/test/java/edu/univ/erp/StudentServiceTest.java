@@ -2,7 +2,9 @@ package edu.univ.erp;
 
 import edu.univ.erp.access.AccessControl;
 import edu.univ.erp.data.*;
-import edu.univ.erp.domain.Section;
+import edu.univ.erp.domain.Enrollment;
+import edu.univ.erp.domain.RegistrationEligibility;
+import edu.univ.erp.service.DropException;
 import edu.univ.erp.service.RegistrationException;
 import edu.univ.erp.service.StudentService;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +15,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +39,7 @@ class StudentServiceTest {
     @Mock private CourseRepository courseRepo; 
     @Mock private GradeRepository gradeRepo;
     @Mock private InstructorProfileRepository instructorRepo;
+    @Mock private WaitlistRepository waitlistRepo;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -45,6 +52,7 @@ class StudentServiceTest {
         injectMock(studentService, "courseRepo", courseRepo);
         injectMock(studentService, "gradeRepo", gradeRepo);
         injectMock(studentService, "instructorRepo", instructorRepo);
+        injectMock(studentService, "waitlistRepo", waitlistRepo);
     }
 
     // Helper to inject mocks into private final fields.
@@ -83,18 +91,32 @@ class StudentServiceTest {
     void register_Fail_SectionFull() {
         when(accessControl.isMaintenanceModeOn()).thenReturn(false);
         when(settingsRepo.getRegistrationDeadline()).thenReturn(Optional.of(LocalDate.now().plusDays(1)));
-        when(enrollmentRepo.exists(1, 101)).thenReturn(false);
 
-        // Section with capacity 30
-        Section fullSection = new Section(101, 500, 2, "Mon", "Room 1", 30, "Fall", 2025);
-        when(sectionRepo.findById(101)).thenReturn(Optional.of(fullSection));
-        
-        // Current enrollment is 30
-        when(sectionRepo.getEnrollmentCount(101)).thenReturn(30);
+        // Section with capacity 30 and current enrollment 30
+        RegistrationEligibility fullSection = new RegistrationEligibility(101, 500, 30, 30, false, false);
+        when(enrollmentRepo.findRegistrationEligibility(eq(1), eq(101), any(), anyInt())).thenReturn(Optional.of(fullSection));
 
         assertThrows(RegistrationException.class, () -> {
             studentService.registerForSection(1, 101);
         }, "Should throw exception when section is full");
+        verify(enrollmentRepo, never()).create(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Register: Should fail if registered in another section of the course this term")
+    void register_Fail_SameCourseThisTerm() {
+        when(accessControl.isMaintenanceModeOn()).thenReturn(false);
+        when(settingsRepo.getRegistrationDeadline()).thenReturn(Optional.of(LocalDate.now().plusDays(1)));
+        when(settingsRepo.getCurrentSemester()).thenReturn("Monsoon");
+        when(settingsRepo.getCurrentYear()).thenReturn(2025);
+
+        RegistrationEligibility eligibility = new RegistrationEligibility(101, 500, 30, 10, false, true);
+        when(enrollmentRepo.findRegistrationEligibility(1, 101, "Monsoon", 2025)).thenReturn(Optional.of(eligibility));
+
+        assertThrows(RegistrationException.class, () -> {
+            studentService.registerForSection(1, 101);
+        });
+        verify(enrollmentRepo, never()).create(anyInt(), anyInt());
     }
 
     @Test
@@ -102,16 +124,45 @@ class StudentServiceTest {
     void register_Success() throws RegistrationException {
         when(accessControl.isMaintenanceModeOn()).thenReturn(false);
         when(settingsRepo.getRegistrationDeadline()).thenReturn(Optional.of(LocalDate.now().plusDays(1)));
-        when(enrollmentRepo.exists(1, 101)).thenReturn(false);
 
         // Section with capacity 30, currently has 29
-        Section section = new Section(101, 500, 2, "Mon", "Room 1", 30, "Monsoon", 2025);
-        when(sectionRepo.findById(101)).thenReturn(Optional.of(section));
-        when(sectionRepo.getEnrollmentCount(101)).thenReturn(29);
-        
+        RegistrationEligibility section = new RegistrationEligibility(101, 500, 30, 29, false, false);
+        when(enrollmentRepo.findRegistrationEligibility(eq(1), eq(101), any(), anyInt())).thenReturn(Optional.of(section));
+
         when(enrollmentRepo.create(1, 101)).thenReturn(true);
 
         studentService.registerForSection(1, 101);
         verify(enrollmentRepo, times(1)).create(1, 101);
+        // No separate section lookups: the eligibility query plus create(), which runs the INSERT and the
+        // enrolled_count update (three statements in all)
+        verifyNoInteractions(sectionRepo);
+    }
+
+    @Test
+    @DisplayName("Drop: Freed seat is handed to the waitlist")
+    void drop_Success_PromotesWaitlist() throws DropException {
+        when(accessControl.isMaintenanceModeOn()).thenReturn(false);
+        when(settingsRepo.getDropDeadline()).thenReturn(Optional.of(LocalDate.now().plusDays(1)));
+        when(enrollmentRepo.findById(7)).thenReturn(Optional.of(new Enrollment(7, 1, 101, "Enrolled")));
+        when(gradeRepo.deleteByEnrollmentId(7)).thenReturn(true);
+        when(enrollmentRepo.deleteById(7)).thenReturn(true);
+        when(waitlistRepo.promote(101)).thenReturn(List.of(2));
+
+        studentService.dropSection(1, 7);
+
+        verify(waitlistRepo, times(1)).promote(101);
+    }
+
+    @Test
+    @DisplayName("Drop: Fails when the waitlist cannot be promoted")
+    void drop_Fails_WhenPromotionFails() {
+        when(accessControl.isMaintenanceModeOn()).thenReturn(false);
+        when(settingsRepo.getDropDeadline()).thenReturn(Optional.of(LocalDate.now().plusDays(1)));
+        when(enrollmentRepo.findById(7)).thenReturn(Optional.of(new Enrollment(7, 1, 101, "Enrolled")));
+        when(gradeRepo.deleteByEnrollmentId(7)).thenReturn(true);
+        when(enrollmentRepo.deleteById(7)).thenReturn(true);
+        when(waitlistRepo.promote(101)).thenThrow(new DataAccessException("SQL failed", new SQLException("deadlock")));
+
+        assertThrows(DropException.class, () -> studentService.dropSection(1, 7));
     }
-}
\ No newline at end of file
+}
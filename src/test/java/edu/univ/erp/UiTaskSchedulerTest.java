@@ -0,0 +1,113 @@
+package edu.univ.erp;
+
+import edu.univ.erp.ui.component.UiTaskScheduler;
+import edu.univ.erp.ui.component.UiTaskScheduler.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UiTaskSchedulerTest {
+
+    // Occupies a slot until 'release' opens
+    private static void block(UiTaskScheduler scheduler, Priority priority, CountDownLatch release) {
+        scheduler.submit(null, priority, () -> release.await(5, TimeUnit.SECONDS), (result, error) -> {});
+    }
+
+    @Test
+    @DisplayName("UI tasks: Interactive work starts before queued bulk work")
+    void submit_InteractiveQueuedAfterBulk_RunsFirst() throws Exception {
+        UiTaskScheduler scheduler = new UiTaskScheduler(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> started = new CopyOnWriteArrayList<>();
+        block(scheduler, Priority.INTERACTIVE, release);
+
+        scheduler.submit(null, Priority.BULK, () -> started.add("bulk"), (result, error) -> done.countDown());
+        scheduler.submit(null, Priority.INTERACTIVE, () -> started.add("interactive"), (result, error) -> done.countDown());
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("interactive", "bulk"), started);
+    }
+
+    @Test
+    @DisplayName("UI tasks: A queued request is coalesced into the newer one with the same key")
+    void submit_SameKeyQueued_OnlyNewestRuns() throws Exception {
+        UiTaskScheduler scheduler = new UiTaskScheduler(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        block(scheduler, Priority.INTERACTIVE, release);
+
+        scheduler.submit("catalog", Priority.INTERACTIVE, () -> "first", (result, error) -> delivered.add(result));
+        scheduler.submit("catalog", Priority.INTERACTIVE, () -> "second", (result, error) -> {
+            delivered.add(result);
+            done.countDown();
+        });
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("second"), delivered);
+        assertTrue(scheduler.summary().contains("1 coalesced"));
+    }
+
+    @Test
+    @DisplayName("UI tasks: A running load superseded by a newer one finishes, but its result is dropped")
+    void submit_SameKeyRunning_OldDiscarded() throws Exception {
+        UiTaskScheduler scheduler = new UiTaskScheduler(2, 1);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch firstFinished = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean firstInterrupted = new AtomicBoolean();
+        List<String> delivered = new CopyOnWriteArrayList<>();
+
+        scheduler.submit("gradebook:1", Priority.INTERACTIVE, () -> {
+            firstStarted.countDown();
+            try {
+                releaseFirst.await();
+            } catch (InterruptedException e) {
+                firstInterrupted.set(true);
+            }
+            firstFinished.countDown();
+            return "first";
+        }, (result, error) -> delivered.add("first"));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        scheduler.submit("gradebook:1", Priority.INTERACTIVE, () -> "second", (result, error) -> {
+            delivered.add(result);
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        releaseFirst.countDown();
+        assertTrue(firstFinished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100); // a late callback of the first would have arrived by now
+        assertFalse(firstInterrupted.get());
+        assertEquals(List.of("second"), delivered);
+    }
+
+    @Test
+    @DisplayName("UI tasks: Bulk work never takes every slot")
+    void submit_BulkAtLimit_InteractiveStillRuns() throws Exception {
+        UiTaskScheduler scheduler = new UiTaskScheduler(2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interactiveDone = new CountDownLatch(1);
+        List<String> started = new CopyOnWriteArrayList<>();
+        block(scheduler, Priority.BULK, release);
+
+        scheduler.submit(null, Priority.BULK, () -> started.add("second bulk"), (result, error) -> {});
+        scheduler.submit(null, Priority.INTERACTIVE, () -> started.add("interactive"), (result, error) -> interactiveDone.countDown());
+
+        assertTrue(interactiveDone.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("interactive"), started); // the second bulk task waits for the first
+        release.countDown();
+    }
+}